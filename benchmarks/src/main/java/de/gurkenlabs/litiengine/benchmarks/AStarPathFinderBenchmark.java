@@ -0,0 +1,86 @@
+package de.gurkenlabs.litiengine.benchmarks;
+
+import de.gurkenlabs.litiengine.entities.behavior.AStarGrid;
+import de.gurkenlabs.litiengine.entities.behavior.AStarNode;
+import de.gurkenlabs.litiengine.entities.behavior.AStarPathFinder;
+import de.gurkenlabs.litiengine.entities.behavior.HierarchicalPathFinder;
+import java.awt.Dimension;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a single long A* search across a square {@code AStarGrid} with randomly placed obstacles. The {@code legacy} implementation is the list
+ * based search that was used before the {@code AStarPathFinder} switched to an indexed binary heap; expect it to be orders of magnitude slower on
+ * large grids. The {@code hierarchical} implementation searches the same grid with a {@code HierarchicalPathFinder} whose clusters are built
+ * once during the setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class AStarPathFinderBenchmark {
+  private static final int NODE_SIZE = 16;
+
+  @Param({"legacy", "heap", "hierarchical"})
+  private String implementation;
+
+  @Param({"128", "512"})
+  private int gridSize;
+
+  @Param({"0.3"})
+  private double obstacleDensity;
+
+  private AStarPathFinder pathFinder;
+  private LegacyAStarSearch legacySearch;
+  private HierarchicalPathFinder hierarchicalPathFinder;
+  private AStarNode start;
+  private AStarNode target;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    pathFinder = new AStarPathFinder(new Dimension(gridSize * NODE_SIZE, gridSize * NODE_SIZE), NODE_SIZE);
+    legacySearch = new LegacyAStarSearch(pathFinder.getGrid());
+
+    final AStarGrid grid = pathFinder.getGrid();
+    final Random random = new Random(1337);
+    do {
+      for (AStarNode[] column : grid.getGrid()) {
+        for (AStarNode node : column) {
+          node.setWalkable(random.nextDouble() >= obstacleDensity);
+        }
+      }
+
+      start = grid.getGrid()[0][0];
+      target = grid.getGrid()[gridSize - 1][gridSize - 1];
+      start.setWalkable(true);
+      target.setWalkable(true);
+    } while (pathFinder.findPath(start, target) == null);
+
+    hierarchicalPathFinder = new HierarchicalPathFinder(grid);
+  }
+
+  /** Finds the path between two opposite corners of the grid. */
+  @Benchmark
+  public Object findPath() {
+    return switch (implementation) {
+      case "legacy" -> legacySearch.find(start, target);
+      case "heap" -> pathFinder.findPath(start, target);
+      case "hierarchical" -> hierarchicalPathFinder.findPath(start, target);
+      default -> throw new IllegalArgumentException("Unknown implementation: " + implementation);
+    };
+  }
+}
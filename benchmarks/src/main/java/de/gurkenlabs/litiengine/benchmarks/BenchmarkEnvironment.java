@@ -0,0 +1,195 @@
+package de.gurkenlabs.litiengine.benchmarks;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.entities.Creature;
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.environment.tilemap.IMap;
+import de.gurkenlabs.litiengine.graphics.Camera;
+import de.gurkenlabs.litiengine.graphics.Spritesheet;
+import de.gurkenlabs.litiengine.graphics.animation.EntityAnimationController;
+import de.gurkenlabs.litiengine.graphics.animation.IEntityAnimationController;
+import de.gurkenlabs.litiengine.resources.Resources;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import javax.imageio.ImageIO;
+
+/**
+ * Sets up the engine for headless benchmarks and generates the maps and entity populations that are measured. The game is initialized with
+ * {@link Game#COMMANDLINE_ARG_NOGUI} and everything is rendered onto offscreen {@code BufferedImage}s, so the benchmarks also run on machines
+ * without a display (e.g. with {@code -Djava.awt.headless=true}).
+ */
+final class BenchmarkEnvironment {
+  static final int TILE_SIZE = 16;
+  static final int VIEWPORT_WIDTH = 1920;
+  static final int VIEWPORT_HEIGHT = 1080;
+
+  private static final int TILESET_COLUMNS = 8;
+  private static final int TILESET_ROWS = 8;
+
+  private BenchmarkEnvironment() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Initializes the game without GUI and sets a camera whose viewport has the size of a full HD screen, since there is no window that defines the
+   * resolution. The render scale is reset so that the viewport covers exactly one pixel per map unit.
+   */
+  static synchronized void init() {
+    Game.init(Game.COMMANDLINE_ARG_NOGUI);
+    Game.graphics().setBaseRenderScale(1);
+    Game.world().setCamera(new OffscreenCamera());
+  }
+
+  /**
+   * Creates an offscreen image with the size of the benchmark viewport.
+   *
+   * @return A new offscreen image.
+   */
+  static BufferedImage createOffscreenImage() {
+    return new BufferedImage(VIEWPORT_WIDTH, VIEWPORT_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+  }
+
+  /**
+   * Generates an orthogonal map with the specified number of tile layers that are randomly filled with the tiles of a generated tileset. The map
+   * is written to a temporary directory as TMX file and loaded from there, just like a map of a game.
+   *
+   * @param width  The width of the map in tiles.
+   * @param height The height of the map in tiles.
+   * @param layers The number of tile layers.
+   * @param seed   The seed for the random tiles.
+   * @return The loaded map.
+   */
+  static IMap createMap(int width, int height, int layers, long seed) {
+    try {
+      final Path directory = Files.createTempDirectory("litiengine-benchmark");
+      directory.toFile().deleteOnExit();
+
+      final Path tileset = directory.resolve("tiles.png");
+      ImageIO.write(createTilesetImage(seed), "png", tileset.toFile());
+      tileset.toFile().deleteOnExit();
+
+      final Path map = directory.resolve("benchmark-" + width + "x" + height + "-" + layers + ".tmx");
+      Files.writeString(map, createTmx(width, height, layers, new Random(seed)), StandardCharsets.UTF_8);
+      map.toFile().deleteOnExit();
+
+      return Resources.maps().get(map.toUri().toURL());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Creates the specified number of animated creatures at random locations within the specified area.
+   *
+   * @param count  The number of creatures.
+   * @param width  The width of the area in pixels.
+   * @param height The height of the area in pixels.
+   * @param random The random number generator for the locations.
+   * @return The created creatures.
+   */
+  static List<IEntity> createCreatures(int count, double width, double height, Random random) {
+    final Spritesheet spritesheet = new Spritesheet(createSpriteImage(), "benchmark-creature.png", TILE_SIZE, TILE_SIZE * 2);
+    final List<IEntity> creatures = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      final Creature creature = new Creature();
+      creature.setSize(TILE_SIZE, TILE_SIZE * 2);
+      creature.setLocation(random.nextDouble() * width, random.nextDouble() * height);
+      final EntityAnimationController<Creature> animations = new EntityAnimationController<>(creature, spritesheet);
+      creature.setController(IEntityAnimationController.class, animations);
+
+      // the default animation is started with the first update of the controller
+      animations.update();
+      creatures.add(creature);
+    }
+
+    return creatures;
+  }
+
+  private static String createTmx(int width, int height, int layers, Random random) {
+    final StringBuilder tmx = new StringBuilder();
+    tmx.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+    tmx.append("<map version=\"1.10\" orientation=\"orthogonal\" renderorder=\"right-down\" width=\"").append(width).append("\" height=\"")
+        .append(height).append("\" tilewidth=\"").append(TILE_SIZE).append("\" tileheight=\"").append(TILE_SIZE)
+        .append("\" infinite=\"0\" nextlayerid=\"").append(layers + 1).append("\" nextobjectid=\"1\">\n");
+    tmx.append(" <tileset firstgid=\"1\" name=\"tiles\" tilewidth=\"").append(TILE_SIZE).append("\" tileheight=\"").append(TILE_SIZE)
+        .append("\" tilecount=\"").append(TILESET_COLUMNS * TILESET_ROWS).append("\" columns=\"").append(TILESET_COLUMNS).append("\">\n");
+    tmx.append("  <image source=\"tiles.png\" width=\"").append(TILESET_COLUMNS * TILE_SIZE).append("\" height=\"")
+        .append(TILESET_ROWS * TILE_SIZE).append("\"/>\n");
+    tmx.append(" </tileset>\n");
+
+    for (int layer = 0; layer < layers; layer++) {
+      tmx.append(" <layer id=\"").append(layer + 1).append("\" name=\"layer").append(layer).append("\" width=\"").append(width)
+          .append("\" height=\"").append(height).append("\">\n");
+      tmx.append("  <data encoding=\"csv\">\n");
+      for (int y = 0; y < height; y++) {
+        for (int x = 0; x < width; x++) {
+          // the ground layer is filled completely, the layers above it are sparse
+          final boolean empty = layer > 0 && random.nextInt(4) != 0;
+          tmx.append(empty ? 0 : 1 + random.nextInt(TILESET_COLUMNS * TILESET_ROWS));
+          if (x < width - 1 || y < height - 1) {
+            tmx.append(',');
+          }
+        }
+
+        tmx.append('\n');
+      }
+
+      tmx.append("  </data>\n");
+      tmx.append(" </layer>\n");
+    }
+
+    tmx.append("</map>\n");
+    return tmx.toString();
+  }
+
+  private static BufferedImage createTilesetImage(long seed) {
+    final Random random = new Random(seed);
+    final BufferedImage image = new BufferedImage(TILESET_COLUMNS * TILE_SIZE, TILESET_ROWS * TILE_SIZE, BufferedImage.TYPE_INT_ARGB);
+    final Graphics2D g = image.createGraphics();
+    for (int column = 0; column < TILESET_COLUMNS; column++) {
+      for (int row = 0; row < TILESET_ROWS; row++) {
+        g.setColor(new Color(random.nextInt(256), random.nextInt(256), random.nextInt(256)));
+        g.fillRect(column * TILE_SIZE, row * TILE_SIZE, TILE_SIZE, TILE_SIZE);
+      }
+    }
+
+    g.dispose();
+    return image;
+  }
+
+  private static BufferedImage createSpriteImage() {
+    final BufferedImage image = new BufferedImage(TILE_SIZE * 4, TILE_SIZE * 2, BufferedImage.TYPE_INT_ARGB);
+    final Graphics2D g = image.createGraphics();
+    for (int frame = 0; frame < 4; frame++) {
+      g.setColor(new Color(60 * frame, 100, 200, 200));
+      g.fillOval(frame * TILE_SIZE, 0, TILE_SIZE, TILE_SIZE * 2);
+    }
+
+    g.dispose();
+    return image;
+  }
+
+  /**
+   * A camera with a fixed viewport size. Without GUI, the game window has no resolution from which the viewport could be derived.
+   */
+  private static class OffscreenCamera extends Camera {
+    @Override
+    protected double getViewportWidth() {
+      return VIEWPORT_WIDTH / this.getRenderScale();
+    }
+
+    @Override
+    protected double getViewportHeight() {
+      return VIEWPORT_HEIGHT / this.getRenderScale();
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package de.gurkenlabs.litiengine.benchmarks;
+
+import de.gurkenlabs.litiengine.graphics.emitters.Emitter;
+import de.gurkenlabs.litiengine.graphics.emitters.particles.ParticleType;
+import de.gurkenlabs.litiengine.graphics.emitters.xml.EmitterData;
+import de.gurkenlabs.litiengine.graphics.emitters.xml.ParticleParameter;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code Emitter.update} and {@code Emitter.render} for an emitter that is filled up to its maximum number of particles. The particles
+ * never expire, so every invocation updates the same number of particles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmitterBenchmark {
+  @Param({"1000", "10000"})
+  private int particles;
+
+  private Emitter emitter;
+  private BufferedImage image;
+  private Graphics2D graphics;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    BenchmarkEnvironment.init();
+
+    final EmitterData data = new EmitterData();
+    data.setParticleType(ParticleType.RECTANGLE);
+    data.setColors(Color.ORANGE, Color.RED);
+    data.setMaxParticles(particles);
+    data.setSpawnAmount(particles);
+    data.setSpawnRate(0);
+    data.setParticleTTL(new ParticleParameter(0));
+    data.setVelocityX(new ParticleParameter(-1, 1));
+    data.setVelocityY(new ParticleParameter(-1, 1));
+    data.setAccelerationX(new ParticleParameter(-0.01f, 0.01f));
+    data.setAccelerationY(new ParticleParameter(-0.01f, 0.01f));
+
+    // the emitter is updated manually and therefore not activated, which would attach it to the game loop
+    emitter = new Emitter(BenchmarkEnvironment.VIEWPORT_WIDTH / 2.0, BenchmarkEnvironment.VIEWPORT_HEIGHT / 2.0, data);
+    emitter.update();
+    if (emitter.getParticleCount() != particles) {
+      throw new IllegalStateException("The emitter spawned " + emitter.getParticleCount() + " instead of " + particles + " particles.");
+    }
+
+    image = BenchmarkEnvironment.createOffscreenImage();
+    graphics = image.createGraphics();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    graphics.dispose();
+  }
+
+  @Benchmark
+  public Emitter update() {
+    emitter.update();
+    return emitter;
+  }
+
+  @Benchmark
+  public BufferedImage render() {
+    emitter.render(graphics);
+    return image;
+  }
+}
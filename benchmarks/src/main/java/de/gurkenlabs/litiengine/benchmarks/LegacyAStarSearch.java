@@ -0,0 +1,89 @@
+package de.gurkenlabs.litiengine.benchmarks;
+
+import de.gurkenlabs.litiengine.entities.behavior.AStarGrid;
+import de.gurkenlabs.litiengine.entities.behavior.AStarNode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The list based A* search that was used by the {@code AStarPathFinder} before the open set was moved into an indexed binary heap. It is only kept
+ * as a baseline for the {@link AStarPathFinderBenchmark}.
+ */
+final class LegacyAStarSearch {
+  private final AStarGrid grid;
+
+  LegacyAStarSearch(AStarGrid grid) {
+    this.grid = grid;
+  }
+
+  List<AStarNode> find(AStarNode startNode, AStarNode targetNode) {
+    final List<AStarNode> opened = new ArrayList<>();
+    final List<AStarNode> closed = new ArrayList<>();
+    opened.add(startNode);
+
+    while (!opened.isEmpty()) {
+      AStarNode currentNode = findNodeWithLowestCost(opened);
+      opened.remove(currentNode);
+      closed.add(currentNode);
+
+      if (currentNode.equals(targetNode)) {
+        List<AStarNode> path = retracePath(startNode, targetNode);
+        clear(opened);
+        clear(closed);
+        return path;
+      }
+
+      for (final AStarNode neighbor : this.grid.getNeighbors(currentNode)) {
+        if (!neighbor.equals(targetNode) && !neighbor.isWalkable() || closed.contains(neighbor)) {
+          continue;
+        }
+
+        final double newGCostOfNeighbor = currentNode.getGCost() + currentNode.getCosts(neighbor);
+        if (newGCostOfNeighbor < neighbor.getGCost() || !opened.contains(neighbor)) {
+          neighbor.setGCost(newGCostOfNeighbor);
+          neighbor.setHCost(neighbor.getCosts(targetNode));
+          neighbor.setPredecessor(currentNode);
+
+          if (!opened.contains(neighbor)) {
+            opened.add(neighbor);
+          }
+        }
+      }
+    }
+
+    clear(opened);
+    clear(closed);
+    return null;
+  }
+
+  private static AStarNode findNodeWithLowestCost(List<AStarNode> openedNodes) {
+    AStarNode lowestCostNode = openedNodes.getFirst();
+    for (int i = 1; i < openedNodes.size(); i++) {
+      if (openedNodes.get(i).getFCost() < lowestCostNode.getFCost()
+        || openedNodes.get(i).getFCost() == lowestCostNode.getFCost() && openedNodes.get(i).getHCost() < lowestCostNode.getHCost()) {
+        lowestCostNode = openedNodes.get(i);
+      }
+    }
+
+    return lowestCostNode;
+  }
+
+  private static void clear(List<AStarNode> nodes) {
+    for (AStarNode op : nodes) {
+      op.clear();
+    }
+  }
+
+  private static List<AStarNode> retracePath(final AStarNode startNode, final AStarNode targetNode) {
+    final List<AStarNode> path = new ArrayList<>();
+    AStarNode currentNode = targetNode.getPredecessor();
+    while (currentNode != startNode) {
+      path.add(currentNode);
+      currentNode = currentNode.getPredecessor();
+    }
+
+    Collections.reverse(path);
+    return path;
+  }
+}
@@ -0,0 +1,89 @@
+package de.gurkenlabs.litiengine.benchmarks;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.environment.tilemap.IMap;
+import de.gurkenlabs.litiengine.environment.tilemap.MapRenderer;
+import de.gurkenlabs.litiengine.graphics.RenderType;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the rendering of a full HD viewport of a generated orthogonal map onto an offscreen image. The viewport moves across the map between
+ * the invocations, so the results include the culling of invisible tiles and (if enabled) the maintenance of the tile layer cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapRendererBenchmark {
+  @Param({"128", "1024"})
+  private int mapSize;
+
+  @Param({"3"})
+  private int layers;
+
+  @Param({"false", "true"})
+  private boolean cacheTileLayers;
+
+  private IMap map;
+  private BufferedImage image;
+  private Graphics2D graphics;
+  private Random random;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    BenchmarkEnvironment.init();
+    Game.config().graphics().setCacheTileLayers(cacheTileLayers);
+    MapRenderer.clearTileLayerCache();
+
+    map = BenchmarkEnvironment.createMap(mapSize, mapSize, layers, 1337);
+    image = BenchmarkEnvironment.createOffscreenImage();
+    graphics = image.createGraphics();
+    random = new Random(1337);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    graphics.dispose();
+    MapRenderer.clearTileLayerCache();
+    Game.config().graphics().setCacheTileLayers(false);
+  }
+
+  /** Renders all layers of the map within a viewport that scrolls by a few pixels per frame, like a camera following a player. */
+  @Benchmark
+  public BufferedImage renderScrolling() {
+    final double maxX = Math.max(0, map.getSizeInPixels().getWidth() - BenchmarkEnvironment.VIEWPORT_WIDTH);
+    final double x = (System.nanoTime() / 1_000_000 / 4) % Math.max(1, (long) maxX);
+    MapRenderer.render(graphics, map, new Rectangle2D.Double(x, 0, BenchmarkEnvironment.VIEWPORT_WIDTH, BenchmarkEnvironment.VIEWPORT_HEIGHT),
+        RenderType.NONE, RenderType.GROUND, RenderType.SURFACE, RenderType.NORMAL, RenderType.OVERLAY, RenderType.UI);
+    return image;
+  }
+
+  /** Renders all layers of the map within a viewport at a random location, which defeats the reuse of cached chunks. */
+  @Benchmark
+  public BufferedImage renderRandom() {
+    final double x = random.nextDouble() * Math.max(0, map.getSizeInPixels().getWidth() - BenchmarkEnvironment.VIEWPORT_WIDTH);
+    final double y = random.nextDouble() * Math.max(0, map.getSizeInPixels().getHeight() - BenchmarkEnvironment.VIEWPORT_HEIGHT);
+    MapRenderer.render(graphics, map, new Rectangle2D.Double(x, y, BenchmarkEnvironment.VIEWPORT_WIDTH, BenchmarkEnvironment.VIEWPORT_HEIGHT),
+        RenderType.NONE, RenderType.GROUND, RenderType.SURFACE, RenderType.NORMAL, RenderType.OVERLAY, RenderType.UI);
+    return image;
+  }
+}
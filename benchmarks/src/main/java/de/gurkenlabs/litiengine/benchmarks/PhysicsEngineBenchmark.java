@@ -0,0 +1,126 @@
+package de.gurkenlabs.litiengine.benchmarks;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.entities.CollisionBox;
+import de.gurkenlabs.litiengine.entities.Creature;
+import de.gurkenlabs.litiengine.entities.IMobileEntity;
+import de.gurkenlabs.litiengine.physics.GridSpatialIndex;
+import de.gurkenlabs.litiengine.physics.ISpatialIndex;
+import de.gurkenlabs.litiengine.physics.LinearSpatialIndex;
+import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the collision queries of the {@code PhysicsEngine} with the different broad-phase implementations on a randomly generated environment
+ * with static collision boxes and moving creatures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PhysicsEngineBenchmark {
+  private static final double TILE_SIZE = 16;
+
+  @Param({"linear", "grid"})
+  private String spatialIndex;
+
+  @Param({"300", "3000"})
+  private int collisionBoxes;
+
+  @Param({"300"})
+  private int creatures;
+
+  private final List<IMobileEntity> movers = new ArrayList<>();
+  private final List<Line2D> rays = new ArrayList<>();
+  private Random random;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    // keep the density of the environment constant while its size grows with the number of collision boxes
+    final double size = Math.sqrt(collisionBoxes) * TILE_SIZE * 4;
+    random = new Random(1337);
+
+    Game.physics().clear();
+    Game.physics().setSpatialIndex(createSpatialIndex(spatialIndex));
+    Game.physics().setBounds(new Rectangle2D.Double(0, 0, size, size));
+
+    for (int i = 0; i < collisionBoxes; i++) {
+      Game.physics().add(new CollisionBox(random.nextDouble() * size, random.nextDouble() * size, TILE_SIZE, TILE_SIZE));
+    }
+
+    movers.clear();
+    for (int i = 0; i < creatures; i++) {
+      Creature creature = new Creature("benchmark");
+      creature.setCollision(true);
+      creature.setCollisionBoxWidth(TILE_SIZE / 2);
+      creature.setCollisionBoxHeight(TILE_SIZE / 2);
+      creature.setLocation(random.nextDouble() * size, random.nextDouble() * size);
+      Game.physics().add(creature);
+      movers.add(creature);
+    }
+
+    rays.clear();
+    for (int i = 0; i < 100; i++) {
+      rays.add(new Line2D.Double(random.nextDouble() * size, random.nextDouble() * size, random.nextDouble() * size, random.nextDouble() * size));
+    }
+
+    Game.physics().update();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    Game.physics().clear();
+    Game.physics().setSpatialIndex(GridSpatialIndex::new);
+  }
+
+  /** Moves every creature once, which corresponds to the physics workload of a single tick. */
+  @Benchmark
+  public void moveAll(Blackhole blackhole) {
+    for (IMobileEntity mover : movers) {
+      blackhole.consume(Game.physics().move(mover, random.nextInt(360), 2));
+    }
+  }
+
+  @Benchmark
+  public void collidesAll(Blackhole blackhole) {
+    for (IMobileEntity mover : movers) {
+      blackhole.consume(Game.physics().collides(mover));
+    }
+  }
+
+  @Benchmark
+  public void raycast(Blackhole blackhole) {
+    for (Line2D ray : rays) {
+      blackhole.consume(Game.physics().raycast(ray));
+    }
+  }
+
+  private static Supplier<ISpatialIndex> createSpatialIndex(String name) {
+    return switch (name) {
+      case "linear" -> LinearSpatialIndex::new;
+      case "grid" -> GridSpatialIndex::new;
+      default -> throw new IllegalArgumentException("Unknown spatial index: " + name);
+    };
+  }
+}
@@ -0,0 +1,96 @@
+package de.gurkenlabs.litiengine.benchmarks;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.graphics.EntityRenderList;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code RenderEngine.renderEntities} for a population of animated creatures of which roughly a quarter is within the viewport. Some
+ * creatures move between the invocations, so the depth sorting of the entities is measured on data that is nearly, but not entirely, sorted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RenderEngineBenchmark {
+  @Param({"1000", "10000"})
+  private int entities;
+
+  @Param({"0.1"})
+  private double movingRatio;
+
+  private List<IEntity> population;
+  private EntityRenderList renderList;
+  private BufferedImage image;
+  private Graphics2D graphics;
+  private Random random;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    BenchmarkEnvironment.init();
+    random = new Random(1337);
+
+    // the area is twice the size of the viewport in both dimensions
+    final double width = BenchmarkEnvironment.VIEWPORT_WIDTH * 2.0;
+    final double height = BenchmarkEnvironment.VIEWPORT_HEIGHT * 2.0;
+    population = BenchmarkEnvironment.createCreatures(entities, width, height, random);
+    renderList = new EntityRenderList(true);
+    population.forEach(renderList::add);
+
+    Game.world().camera().setFocus(BenchmarkEnvironment.VIEWPORT_WIDTH / 2.0, BenchmarkEnvironment.VIEWPORT_HEIGHT / 2.0);
+    Game.world().camera().updateFocus();
+
+    image = BenchmarkEnvironment.createOffscreenImage();
+    graphics = image.createGraphics();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    renderList.clear();
+    graphics.dispose();
+  }
+
+  /** Collects, culls and sorts the entities for every frame. */
+  @Benchmark
+  public BufferedImage renderEntities() {
+    move();
+    Game.graphics().renderEntities(graphics, population);
+    return image;
+  }
+
+  /** Renders the entities from a render list that repairs its order incrementally. */
+  @Benchmark
+  public BufferedImage renderEntityList() {
+    move();
+    Game.graphics().renderEntities(graphics, renderList);
+    return image;
+  }
+
+  private void move() {
+    final int moving = (int) (population.size() * movingRatio);
+    for (int i = 0; i < moving; i++) {
+      final IEntity entity = population.get(random.nextInt(population.size()));
+      entity.setLocation(entity.getX() + random.nextDouble() * 4 - 2, entity.getY() + random.nextDouble() * 4 - 2);
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package de.gurkenlabs.litiengine.benchmarks;
+
+import de.gurkenlabs.litiengine.environment.tilemap.xml.Tile;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.TileData;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the parsing of the tile data of a layer with all encodings and compressions that are supported by the TMX format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TileDataBenchmark {
+  @Param({"csv", "base64", "base64-zlib", "base64-gzip"})
+  private String format;
+
+  @Param({"256"})
+  private int size;
+
+  private String encoding;
+  private String compression;
+  private String value;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    final String[] parts = format.split("-");
+    encoding = parts[0];
+    compression = parts.length > 1 ? parts[1] : TileData.Compression.NONE;
+
+    final Random random = new Random(1337);
+    final List<Tile> tiles = new ArrayList<>(size * size);
+    for (int i = 0; i < size * size; i++) {
+      tiles.add(new Tile(random.nextInt(4) == 0 ? 0 : 1 + random.nextInt(64)));
+    }
+
+    value = TileData.encode(new TileData(tiles, size, size, encoding, compression));
+  }
+
+  @Benchmark
+  public List<Tile> parse() {
+    final TileData data = new TileData();
+    data.setEncoding(encoding);
+    data.setCompression(compression);
+    data.setValue(value);
+    return data.getTiles();
+  }
+}
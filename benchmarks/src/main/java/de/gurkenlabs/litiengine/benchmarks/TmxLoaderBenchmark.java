@@ -0,0 +1,138 @@
+package de.gurkenlabs.litiengine.benchmarks;
+
+import de.gurkenlabs.litiengine.environment.tilemap.xml.BinaryMap;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.Tile;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.TileData;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.TmxMap;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.TmxReader;
+import de.gurkenlabs.litiengine.util.io.XmlUtilities;
+import jakarta.xml.bind.JAXBException;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the streaming {@link TmxReader}, the JAXB unmarshaller and the precompiled {@link BinaryMap} for a large map with CSV and base64 encoded
+ * tile layers and an object layer with custom properties. The maps are finished after reading, so the results include the decoding of the tile data
+ * for all loaders.
+ * Run it with {@code -prof gc} to compare the allocation rates of the loaders.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TmxLoaderBenchmark {
+  @Param({"stax", "jaxb", "binary"})
+  private String loader;
+
+  @Param({"256"})
+  private int size;
+
+  @Param({"500"})
+  private int objects;
+
+  private URL location;
+  private URL binaryLocation;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    final Path directory = Files.createTempDirectory("litiengine-benchmark");
+    directory.toFile().deleteOnExit();
+
+    final Path tileset = directory.resolve("tiles.png");
+    ImageIO.write(new BufferedImage(128, 128, BufferedImage.TYPE_INT_ARGB), "png", tileset.toFile());
+    tileset.toFile().deleteOnExit();
+
+    final Path map = directory.resolve("loader-" + size + ".tmx");
+    Files.writeString(map, createTmx(new Random(1337)), StandardCharsets.UTF_8);
+    map.toFile().deleteOnExit();
+    location = map.toUri().toURL();
+
+    final Path binary = directory.resolve("loader-" + size + "." + BinaryMap.FILE_EXTENSION);
+    BinaryMap.convert(map, binary);
+    binary.toFile().deleteOnExit();
+    binaryLocation = binary.toUri().toURL();
+  }
+
+  @Benchmark
+  public TmxMap load() throws IOException, JAXBException {
+    final TmxMap map = switch (loader) {
+      case "stax" -> TmxReader.readMap(location);
+      case "binary" -> BinaryMap.read(binaryLocation);
+      default -> XmlUtilities.read(TmxMap.class, location);
+    };
+
+    // JAXB defers the decoding of the tile data until the map is finished, so both loaders are measured including it
+    map.finish(location);
+    return map;
+  }
+
+  private String createTmx(Random random) throws IOException {
+    final StringBuilder tmx = new StringBuilder();
+    tmx.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+    tmx.append("<map version=\"1.10\" tiledversion=\"1.10.2\" orientation=\"orthogonal\" renderorder=\"right-down\" width=\"").append(size).append("\" height=\"")
+        .append(size).append("\" tilewidth=\"16\" tileheight=\"16\" infinite=\"0\" nextlayerid=\"4\" nextobjectid=\"").append(objects + 1)
+        .append("\">\n");
+    tmx.append(" <tileset firstgid=\"1\" name=\"tiles\" tilewidth=\"16\" tileheight=\"16\" tilecount=\"64\" columns=\"8\">\n");
+    tmx.append("  <image source=\"tiles.png\" width=\"128\" height=\"128\"/>\n");
+    tmx.append(" </tileset>\n");
+
+    final String[][] formats = {{TileData.Encoding.CSV, TileData.Compression.NONE}, {TileData.Encoding.BASE64, TileData.Compression.ZLIB}};
+    for (int layer = 0; layer < formats.length; layer++) {
+      final List<Tile> tiles = new ArrayList<>(size * size);
+      for (int i = 0; i < size * size; i++) {
+        tiles.add(new Tile(random.nextInt(4) == 0 ? 0 : 1 + random.nextInt(64)));
+      }
+
+      final String encoding = formats[layer][0];
+      final String compression = formats[layer][1];
+      tmx.append(" <layer id=\"").append(layer + 1).append("\" name=\"layer").append(layer).append("\" width=\"").append(size)
+          .append("\" height=\"").append(size).append("\">\n");
+      tmx.append("  <data encoding=\"").append(encoding).append('"');
+      if (compression != null) {
+        tmx.append(" compression=\"").append(compression).append('"');
+      }
+
+      tmx.append('>').append(TileData.encode(new TileData(tiles, size, size, encoding, compression))).append("</data>\n");
+      tmx.append(" </layer>\n");
+    }
+
+    tmx.append(" <objectgroup id=\"3\" name=\"objects\">\n");
+    for (int i = 0; i < objects; i++) {
+      tmx.append("  <object id=\"").append(i + 1).append("\" name=\"object").append(i).append("\" type=\"PROP\" x=\"")
+          .append(random.nextInt(size * 16)).append("\" y=\"").append(random.nextInt(size * 16)).append("\" width=\"16\" height=\"16\">\n");
+      tmx.append("   <properties>\n");
+      tmx.append("    <property name=\"prop-spritesheet\" value=\"barrel\"/>\n");
+      tmx.append("    <property name=\"collision\" type=\"bool\" value=\"true\"/>\n");
+      tmx.append("    <property name=\"health\" type=\"int\" value=\"").append(random.nextInt(100)).append("\"/>\n");
+      tmx.append("   </properties>\n");
+      tmx.append("  </object>\n");
+    }
+
+    tmx.append(" </objectgroup>\n");
+    tmx.append("</map>\n");
+    return tmx.toString();
+  }
+}
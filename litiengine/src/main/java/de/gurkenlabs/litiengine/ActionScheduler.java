@@ -0,0 +1,351 @@
+package de.gurkenlabs.litiengine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The {@code ActionScheduler} executes actions at specific ticks of a loop. It is used by the {@code GameLoop} to perform timed actions.
+ *
+ * <p>
+ * The scheduled actions are kept in an indexed binary min-heap that is ordered by their execution tick. Scheduling, cancelling and rescheduling an
+ * action therefore takes O(log n) and determining the due actions of a tick only touches the actions that are actually due, no matter how many
+ * actions are scheduled. Actions that are due at the same tick are executed in the order in which they were scheduled.
+ *
+ * <p>
+ * Actions can be scheduled, rescheduled and cancelled from any thread, whereas {@link #execute(long)} must only be called by the thread of the
+ * loop. The actions are executed without holding the lock of the scheduler, so they can schedule or cancel other actions themselves.
+ *
+ * @see IGameLoop#perform(int, Runnable)
+ */
+public final class ActionScheduler {
+  private static final Logger log = Logger.getLogger(ActionScheduler.class.getName());
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final AtomicInteger ids = new AtomicInteger(-1);
+  private final Map<Integer, ScheduledAction> lookup = new HashMap<>();
+  private ScheduledAction[] heap = new ScheduledAction[INITIAL_CAPACITY];
+  private int size;
+  private long sequence;
+
+  // only accessed by the executing thread; reused to avoid allocations for every tick
+  private final List<ScheduledAction> due = new ArrayList<>();
+
+  /**
+   * Schedules the specified action to be executed once at the specified tick.
+   *
+   * @param tick   The tick at which the action is executed.
+   * @param action The action to execute.
+   * @return The id of the scheduled action, which can be used to reschedule or cancel it.
+   */
+  public int schedule(long tick, Runnable action) {
+    return this.schedule(tick, 0, action);
+  }
+
+  /**
+   * Schedules the specified action to be executed at the specified tick and then repeatedly after the specified interval until it is cancelled.
+   *
+   * @param tick     The tick at which the action is executed for the first time.
+   * @param interval The number of ticks between two executions or 0 to execute the action only once.
+   * @param action   The action to execute.
+   * @return The id of the scheduled action, which can be used to reschedule or cancel it.
+   */
+  public int schedule(long tick, long interval, Runnable action) {
+    if (action == null) {
+      throw new IllegalArgumentException("The action must not be null.");
+    }
+
+    if (interval < 0) {
+      throw new IllegalArgumentException("The interval must not be negative.");
+    }
+
+    final ScheduledAction scheduled = new ScheduledAction(this.ids.incrementAndGet(), action, interval);
+    synchronized (this) {
+      scheduled.tick = tick;
+      this.lookup.put(scheduled.id, scheduled);
+      this.insert(scheduled);
+    }
+
+    return scheduled.id;
+  }
+
+  /**
+   * Changes the tick at which the action with the specified id is executed next. This overwrites the originally scheduled tick.
+   *
+   * @param id   The id of the action.
+   * @param tick The tick at which the action is executed instead.
+   * @return True if the action is scheduled; false if it has already been executed or cancelled.
+   */
+  public synchronized boolean reschedule(int id, long tick) {
+    final ScheduledAction scheduled = this.lookup.get(id);
+    if (scheduled == null) {
+      return false;
+    }
+
+    scheduled.tick = tick;
+    if (scheduled.index < 0) {
+      // the action is currently executed and will be scheduled again afterwards
+      scheduled.rescheduled = true;
+      return true;
+    }
+
+    scheduled.sequence = this.sequence++;
+    if (!this.siftUp(scheduled.index)) {
+      this.siftDown(scheduled.index);
+    }
+
+    return true;
+  }
+
+  /**
+   * Cancels the action with the specified id.
+   *
+   * @param id The id of the action.
+   * @return True if the action was cancelled; false if it has already been executed or cancelled.
+   */
+  public synchronized boolean cancel(int id) {
+    final ScheduledAction scheduled = this.lookup.remove(id);
+    if (scheduled == null) {
+      return false;
+    }
+
+    if (scheduled.index >= 0) {
+      this.removeAt(scheduled.index);
+    }
+
+    return true;
+  }
+
+  /**
+   * Determines whether the action with the specified id is scheduled.
+   *
+   * @param id The id of the action.
+   * @return True if the action has neither been executed nor cancelled yet; otherwise false.
+   */
+  public synchronized boolean isScheduled(int id) {
+    return this.lookup.containsKey(id);
+  }
+
+  /**
+   * Gets the tick at which the action with the specified id is executed next.
+   *
+   * @param id The id of the action.
+   * @return The execution tick of the action or -1 if it is not scheduled.
+   */
+  public synchronized long getExecutionTick(int id) {
+    final ScheduledAction scheduled = this.lookup.get(id);
+    return scheduled != null ? scheduled.tick : -1;
+  }
+
+  /**
+   * Gets the number of scheduled actions.
+   *
+   * @return The number of actions that have neither been executed nor cancelled yet.
+   */
+  public synchronized int size() {
+    return this.lookup.size();
+  }
+
+  /**
+   * Cancels all scheduled actions.
+   */
+  public synchronized void clear() {
+    this.lookup.clear();
+    for (int i = 0; i < this.size; i++) {
+      this.heap[i].index = -1;
+      this.heap[i] = null;
+    }
+
+    this.size = 0;
+  }
+
+  /**
+   * Executes all actions that are due at the specified tick. Actions that are scheduled for this tick by the executed actions are executed with the
+   * next call.
+   *
+   * @param tick The current tick of the loop.
+   */
+  public void execute(long tick) {
+    synchronized (this) {
+      while (this.size > 0 && this.heap[0].tick <= tick) {
+        final ScheduledAction scheduled = this.heap[0];
+        this.removeAt(0);
+        this.due.add(scheduled);
+      }
+    }
+
+    if (this.due.isEmpty()) {
+      return;
+    }
+
+    int next = 0;
+    try {
+      while (next < this.due.size()) {
+        final ScheduledAction scheduled = this.due.get(next++);
+        if (this.isStillDue(scheduled, tick)) {
+          this.run(scheduled, tick);
+        }
+      }
+    } finally {
+      // an action has thrown an exception, so the remaining due actions are executed with the next call instead
+      if (next < this.due.size()) {
+        this.requeue(next);
+      }
+
+      this.due.clear();
+    }
+  }
+
+  /**
+   * Inserts the due actions that have not been executed yet back into the heap, starting with the specified index.
+   */
+  private synchronized void requeue(int from) {
+    for (int i = from; i < this.due.size(); i++) {
+      final ScheduledAction scheduled = this.due.get(i);
+      if (this.lookup.get(scheduled.id) == scheduled && scheduled.index < 0) {
+        scheduled.rescheduled = false;
+        this.insert(scheduled);
+      }
+    }
+  }
+
+  /**
+   * Determines whether the specified due action still has to be executed, since it might have been cancelled or rescheduled by a previously
+   * executed action.
+   */
+  private synchronized boolean isStillDue(ScheduledAction scheduled, long tick) {
+    if (this.lookup.get(scheduled.id) != scheduled) {
+      return false;
+    }
+
+    if (scheduled.rescheduled && scheduled.tick > tick) {
+      scheduled.rescheduled = false;
+      this.insert(scheduled);
+      return false;
+    }
+
+    scheduled.rescheduled = false;
+    return true;
+  }
+
+  private void run(ScheduledAction scheduled, long tick) {
+    try {
+      scheduled.action.run();
+    } catch (final Exception e) {
+      if (Game.config().client().exitOnError()) {
+        throw e;
+      }
+
+      log.log(Level.SEVERE, e.getMessage(), e);
+    } finally {
+      synchronized (this) {
+        if (this.lookup.get(scheduled.id) == scheduled) {
+          if (scheduled.rescheduled) {
+            scheduled.rescheduled = false;
+            this.insert(scheduled);
+          } else if (scheduled.interval > 0) {
+            // never execute a repeating action more than once per tick, even if it fell behind
+            scheduled.tick = Math.max(scheduled.tick + scheduled.interval, tick + 1);
+            this.insert(scheduled);
+          } else {
+            this.lookup.remove(scheduled.id);
+          }
+        }
+      }
+    }
+  }
+
+  private void insert(ScheduledAction scheduled) {
+    if (this.size == this.heap.length) {
+      this.heap = Arrays.copyOf(this.heap, this.size * 2);
+    }
+
+    scheduled.sequence = this.sequence++;
+    scheduled.index = this.size;
+    this.heap[this.size++] = scheduled;
+    this.siftUp(scheduled.index);
+  }
+
+  private void removeAt(int index) {
+    final ScheduledAction removed = this.heap[index];
+    removed.index = -1;
+    final int last = --this.size;
+    if (index != last) {
+      this.heap[index] = this.heap[last];
+      this.heap[index].index = index;
+      this.heap[last] = null;
+      if (!this.siftUp(index)) {
+        this.siftDown(index);
+      }
+    } else {
+      this.heap[last] = null;
+    }
+  }
+
+  private boolean siftUp(int index) {
+    final ScheduledAction scheduled = this.heap[index];
+    final int start = index;
+    while (index > 0) {
+      final int parent = (index - 1) >>> 1;
+      if (!scheduled.isBefore(this.heap[parent])) {
+        break;
+      }
+
+      this.heap[index] = this.heap[parent];
+      this.heap[index].index = index;
+      index = parent;
+    }
+
+    this.heap[index] = scheduled;
+    scheduled.index = index;
+    return index != start;
+  }
+
+  private void siftDown(int index) {
+    final ScheduledAction scheduled = this.heap[index];
+    final int half = this.size >>> 1;
+    while (index < half) {
+      int child = (index << 1) + 1;
+      final int right = child + 1;
+      if (right < this.size && this.heap[right].isBefore(this.heap[child])) {
+        child = right;
+      }
+
+      if (!this.heap[child].isBefore(scheduled)) {
+        break;
+      }
+
+      this.heap[index] = this.heap[child];
+      this.heap[index].index = index;
+      index = child;
+    }
+
+    this.heap[index] = scheduled;
+    scheduled.index = index;
+  }
+
+  private static final class ScheduledAction {
+    private final int id;
+    private final Runnable action;
+    private final long interval;
+    private long tick;
+    private long sequence;
+    private int index = -1;
+    private boolean rescheduled;
+
+    private ScheduledAction(int id, Runnable action, long interval) {
+      this.id = id;
+      this.action = action;
+      this.interval = interval;
+    }
+
+    private boolean isBefore(ScheduledAction other) {
+      return this.tick < other.tick || (this.tick == other.tick && this.sequence < other.sequence);
+    }
+  }
+}
@@ -91,6 +91,7 @@ public final class Game {
   private static final TweenEngine tweenEngine = new TweenEngine();
 
   private static GameLoop gameLoop;
+  private static RenderLoop renderLoop;
   private static ScreenManager screenManager;
   private static GameWindow gameWindow;
 
@@ -353,6 +354,8 @@ public final class Game {
    *
    * @return The game's main loop.
    * @see ClientConfiguration#getMaxFps()
+   * @see ClientConfiguration#fixedTimestep()
+   * @see ClientConfiguration#parallelUpdates()
    * @see IUpdateable
    * @see ILoop#attach(IUpdateable)
    * @see ILoop#detach(IUpdateable)
@@ -361,6 +364,20 @@ public final class Game {
     return gameLoop;
   }
 
+  /**
+   * Gets the loop that renders the game on a separate thread, if enabled by the client configuration.<br>
+   * In this case, the game loop only processes the game logic and publishes snapshots of the game state that are
+   * interpolated by the render loop. The frame rate of the render loop is the configured max fps, while the tick rate of
+   * the game loop can be changed independently.
+   *
+   * @return The game's render loop or null if the game is rendered on the game loop.
+   * @see ClientConfiguration#separateRenderThread()
+   * @see RenderLoop
+   */
+  public static RenderLoop renderLoop() {
+    return renderLoop;
+  }
+
   /**
    * Gets the game's default logger instance that can be used to quickly log messages without the need to initialize
    * custom logger instances.
@@ -504,9 +521,16 @@ public final class Game {
       Locale.setDefault(Locale.of(config().client().getCountry(), config().client().getLanguage()));
 
       gameLoop = new GameLoop("Main Update Loop", config().client().getMaxFps());
+      gameLoop.setFixedTimestep(config().client().fixedTimestep());
+      gameLoop.setParallelUpdates(config().client().parallelUpdates());
       loop().attach(physics());
       loop().attach(world());
 
+      if (config().client().separateRenderThread() && !isInNoGUIMode()) {
+        renderLoop = new RenderLoop("Render Loop", config().client().getMaxFps());
+        gameLoop.setRenderLoop(renderLoop);
+      }
+
       // setup default exception handling for render and update loop
       setUncaughtExceptionHandler(new DefaultUncaughtExceptionHandler(config().client().exitOnError()));
 
@@ -559,7 +583,7 @@ public final class Game {
   public static void init(boolean initInSwingThread, String... args) {
     if (initInSwingThread) {
       try {
-        SwingUtilities.invokeAndWait(initImpl());
+        SwingUtilities.invokeAndWait(initImpl(args));
       } catch (InvocationTargetException | InterruptedException e) {
         throw new Error(e);
       }
@@ -576,6 +600,9 @@ public final class Game {
    */
   public static void setUncaughtExceptionHandler(UncaughtExceptionHandler uncaughtExceptionHandler) {
     gameLoop.setUncaughtExceptionHandler(uncaughtExceptionHandler);
+    if (renderLoop != null) {
+      renderLoop.setUncaughtExceptionHandler(uncaughtExceptionHandler);
+    }
     Thread.setDefaultUncaughtExceptionHandler(uncaughtExceptionHandler);
   }
 
@@ -606,6 +633,9 @@ public final class Game {
       }
 
       gameLoop.start();
+      if (renderLoop != null) {
+        renderLoop.start();
+      }
       tweenEngine.start();
       soundEngine.start();
 
@@ -700,6 +730,9 @@ public final class Game {
 
     config().save();
     gameLoop.terminate();
+    if (renderLoop != null) {
+      renderLoop.terminate();
+    }
     tweenEngine.terminate();
     soundEngine.terminate();
 
@@ -714,6 +747,7 @@ public final class Game {
     }
 
     gameLoop = null;
+    renderLoop = null;
     screenManager = null;
     gameWindow = null;
   }
@@ -1,9 +1,5 @@
 package de.gurkenlabs.litiengine;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
-
 import de.gurkenlabs.litiengine.graphics.RenderComponent;
 import de.gurkenlabs.litiengine.input.Input;
 import de.gurkenlabs.litiengine.input.Keyboard;
@@ -14,9 +10,14 @@ import de.gurkenlabs.litiengine.input.Mouse;
  * {@code IUpdatable} instances. Subsequently, it performs the rendering of the current frame and tracks some
  * performance metrics on the process.
  *
+ * <p>
+ * If the game is rendered on a separate thread, this loop publishes a snapshot of the game state after each tick
+ * instead of rendering the frame itself.
+ *
  * @see IUpdateable#update()
  * @see Game#loop()
  * @see RenderComponent#render()
+ * @see RenderLoop
  */
 public final class GameLoop extends UpdateLoop implements IGameLoop {
   /**
@@ -29,26 +30,35 @@ public final class GameLoop extends UpdateLoop implements IGameLoop {
    */
   public static final int TICK_DELTATIME_LAG = 67;
 
-  private static int executionIndex = -1;
-
-  private final List<TimedAction> actions;
+  private final ActionScheduler actions = new ActionScheduler();
 
   private float timeScale;
 
+  private RenderLoop renderLoop;
+
   GameLoop(String name, final int updateRate) {
     super(name, updateRate);
-    this.actions = new CopyOnWriteArrayList<>();
     this.setTimeScale(1.0F);
   }
 
   @Override
   public int perform(int delay, Runnable action) {
-    final long d = Game.time().toTicks(delay);
+    return this.actions.schedule(this.getTicks() + Game.time().toTicks(delay), action);
+  }
 
-    TimedAction a = new TimedAction(this.getTicks() + d, action);
-    this.actions.add(a);
+  @Override
+  public int perform(int delay, int interval, Runnable action) {
+    final long ticks = Math.max(1, Game.time().toTicks(interval));
+    return this.actions.schedule(this.getTicks() + Game.time().toTicks(delay), ticks, action);
+  }
 
-    return a.getId();
+  /**
+   * Gets the scheduler that executes the timed actions of this loop.
+   *
+   * @return The action scheduler of this loop.
+   */
+  public ActionScheduler getScheduler() {
+    return this.actions;
   }
 
   @Override
@@ -63,16 +73,12 @@ public final class GameLoop extends UpdateLoop implements IGameLoop {
 
   @Override
   public void alterExecutionTime(int index, long ticks) {
-    for (TimedAction action : this.actions) {
-      if (action.getId() == index) {
-        action.setExecutionTicks(ticks);
-      }
-    }
+    this.actions.reschedule(index, ticks);
   }
 
   @Override
   public void removeAction(int id) {
-    this.actions.removeIf(x -> x.getId() == id);
+    this.actions.cancel(id);
   }
 
   /**
@@ -85,10 +91,22 @@ public final class GameLoop extends UpdateLoop implements IGameLoop {
 
     if (this.getTimeScale() > 0) {
       super.process();
-      this.executeTimedActions();
+      this.actions.execute(this.getTicks());
+      this.trackUpdateMetrics();
     }
 
     Game.world().camera().updateFocus();
+    if (this.isCatchingUp()) {
+      // only the last of the ticks that are processed at once is rendered
+      return;
+    }
+
+    if (this.renderLoop != null) {
+      // the frame is rendered concurrently by the render loop
+      this.renderLoop.publish(this.getTicks());
+      return;
+    }
+
     if (!Game.isInNoGUIMode()) {
       Game.window().getRenderComponent().render();
     }
@@ -96,23 +114,32 @@ public final class GameLoop extends UpdateLoop implements IGameLoop {
     this.trackRenderMetric();
   }
 
+  /**
+   * Sets the render loop that renders the game on a separate thread. If a render loop is set, this loop no longer renders the frames itself but
+   * publishes a snapshot of the game state to the render loop at the end of each tick.
+   *
+   * @param renderLoop The render loop or null to render on this loop.
+   */
+  void setRenderLoop(RenderLoop renderLoop) {
+    this.renderLoop = renderLoop;
+  }
+
   @Override
   protected long getExpectedDelta() {
     final float scale = this.getTimeScale() > 0 ? this.getTimeScale() : 1;
     return (long) (1000 / (this.getTickRate() * scale));
   }
 
-  private void executeTimedActions() {
-    final List<TimedAction> executed = new ArrayList<>();
-    for (final TimedAction action : this.actions) {
-      if (action.getExecutionTick() <= this.getTicks()) {
+  @Override
+  protected long getTimestep() {
+    final float scale = this.getTimeScale() > 0 ? this.getTimeScale() : 1;
+    return (long) (1_000_000_000.0 / (this.getTickRate() * scale));
+  }
 
-        action.getAction().run();
-        executed.add(action);
-      }
+  private void trackUpdateMetrics() {
+    for (UpdatePhase phase : UpdatePhase.values()) {
+      Game.metrics().trackUpdateTime(phase, this.getPhaseTime(phase));
     }
-
-    this.actions.removeAll(executed);
   }
 
   private void trackRenderMetric() {
@@ -125,8 +152,14 @@ public final class GameLoop extends UpdateLoop implements IGameLoop {
   private void updateInvariableEngineComponents() {
     Game.audio().update();
 
-    ((Keyboard) Input.keyboard()).update();
-    ((Mouse) Input.mouse()).update();
+    // the input devices are not available in headless environments, e.g. for simulations that are processed with step(int)
+    if (Input.keyboard() != null) {
+      ((Keyboard) Input.keyboard()).update();
+    }
+
+    if (Input.mouse() != null) {
+      ((Mouse) Input.mouse()).update();
+    }
 
     if (Game.config().input().isGamepadSupport()) {
       for (IUpdateable gamepad : Input.gamepads().getAll()) {
@@ -134,32 +167,4 @@ public final class GameLoop extends UpdateLoop implements IGameLoop {
       }
     }
   }
-
-  private static class TimedAction {
-    private final Runnable action;
-    private long execution;
-    private final int id;
-
-    private TimedAction(final long execution, final Runnable action) {
-      this.execution = execution;
-      this.action = action;
-      this.id = ++executionIndex;
-    }
-
-    public Runnable getAction() {
-      return this.action;
-    }
-
-    public long getExecutionTick() {
-      return this.execution;
-    }
-
-    public void setExecutionTicks(long ticks) {
-      this.execution = ticks;
-    }
-
-    public int getId() {
-      return id;
-    }
-  }
 }
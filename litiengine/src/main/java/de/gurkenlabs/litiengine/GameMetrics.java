@@ -30,6 +30,7 @@ public final class GameMetrics implements IRenderable {
   private static final int OFFSET_Y = 14;
 
   private final List<RenderMetrics> renderMetrics;
+  private final double[] updateTimes = new double[UpdatePhase.values().length];
 
   private final Runtime runtime;
   private final String javaVersion;
@@ -66,6 +67,19 @@ public final class GameMetrics implements IRenderable {
     this.renderMetrics.add(new RenderMetrics(name, renderTime, infos));
   }
 
+  /**
+   * Gets the time that the game loop required to update the specified phase during the last tick.
+   * 
+   * @param phase
+   *          The update phase.
+   * @return The update time of the phase in ms.
+   * 
+   * @see ILoop#getPhaseTime(UpdatePhase)
+   */
+  public double getUpdateTime(UpdatePhase phase) {
+    return this.updateTimes[phase.ordinal()];
+  }
+
   @Override
   public void render(final Graphics2D g) {
     this.updateMetrics();
@@ -92,6 +106,14 @@ public final class GameMetrics implements IRenderable {
       this.drawMetric(g, "threads   : " + Thread.activeCount());
     }
 
+    // render the update times of all phases that have been processed during the last tick
+    this.drawTitle(g, "[phases]");
+    for (UpdatePhase phase : UpdatePhase.values()) {
+      if (this.getUpdateTime(phase) > 0) {
+        this.drawMetric(g, String.format("%-10.10s: %-4.4f ms", phase.name().toLowerCase(), this.getUpdateTime(phase)));
+      }
+    }
+
     // render rendering metrics
     if (!this.renderMetrics.isEmpty()) {
       this.drawTitle(g, "[update]");
@@ -112,6 +134,10 @@ public final class GameMetrics implements IRenderable {
     this.maxFramesPerSecond = maxFrames;
   }
 
+  void trackUpdateTime(final UpdatePhase phase, final double updateTime) {
+    this.updateTimes[phase.ordinal()] = updateTime;
+  }
+
   /**
    * Sets the color that is used when rendering the metrics if {@code cl_showGameMetrics = true}.
    * 
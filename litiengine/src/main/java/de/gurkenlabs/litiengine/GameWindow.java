@@ -58,7 +58,8 @@ public final class GameWindow {
   private Point screenLocation;
 
   GameWindow() {
-    this.hostControl = new JFrame();
+    // in headless environments (e.g. benchmarks or servers), a game without GUI has no hosting frame
+    this.hostControl = Game.isInNoGUIMode() && GraphicsEnvironment.isHeadless() ? null : new JFrame();
 
     this.resolutionChangedListeners = new CopyOnWriteArrayList<>();
 
@@ -86,7 +87,7 @@ public final class GameWindow {
       return true;
     }
 
-    return this.hostControl.isFocusOwner();
+    return this.hostControl != null && this.hostControl.isFocusOwner();
   }
 
   /**
@@ -117,6 +118,10 @@ public final class GameWindow {
    * @see Resolution
    */
   public void setResolution(Resolution res) {
+    if (this.hostControl == null) {
+      return;
+    }
+
     this.resolutionScale = setResolution(this.getHostControl(), res.getDimension());
   }
 
@@ -143,7 +148,8 @@ public final class GameWindow {
   /**
    * Gets the {@code GameWindow}'s JFrame, abstracted as a Container.
    *
-   * @return The {@code GameWindow}'s {@code JFrame} as an abstract AWT {@code Container}.
+   * @return The {@code GameWindow}'s {@code JFrame} as an abstract AWT {@code Container} or null if the game runs
+   *         without GUI in a headless environment.
    */
   public Container getHostControl() {
     return this.hostControl;
@@ -155,7 +161,7 @@ public final class GameWindow {
    * @return The {@code GameWindow}'s size as a {@link Dimension}.
    */
   public Dimension getSize() {
-    return this.hostControl.getSize();
+    return this.hostControl != null ? this.hostControl.getSize() : new Dimension(0, 0);
   }
 
   /**
@@ -164,7 +170,7 @@ public final class GameWindow {
    * @return The window width.
    */
   public int getWidth() {
-    return this.hostControl.getWidth();
+    return this.hostControl != null ? this.hostControl.getWidth() : 0;
   }
 
   /**
@@ -173,7 +179,7 @@ public final class GameWindow {
    * @return The window height.
    */
   public int getHeight() {
-    return this.hostControl.getHeight();
+    return this.hostControl != null ? this.hostControl.getHeight() : 0;
   }
 
   /**
@@ -219,7 +225,7 @@ public final class GameWindow {
       return this.screenLocation;
     }
 
-    this.screenLocation = this.hostControl.getLocationOnScreen();
+    this.screenLocation = this.hostControl != null ? this.hostControl.getLocationOnScreen() : new Point();
     return this.screenLocation;
   }
 
@@ -231,7 +237,9 @@ public final class GameWindow {
    * @see JFrame#setIconImage
    */
   public void setIcon(Image image) {
-    this.hostControl.setIconImage(image);
+    if (this.hostControl != null) {
+      this.hostControl.setIconImage(image);
+    }
   }
 
   /**
@@ -243,7 +251,9 @@ public final class GameWindow {
    * @see JFrame#setIconImages
    */
   public void setIcons(List<? extends Image> images) {
-    this.hostControl.setIconImages(images);
+    if (this.hostControl != null) {
+      this.hostControl.setIconImages(images);
+    }
   }
 
   /**
@@ -255,7 +265,9 @@ public final class GameWindow {
    * @see Frame#setTitle
    */
   public void setTitle(String title) {
-    this.hostControl.setTitle(title);
+    if (this.hostControl != null) {
+      this.hostControl.setTitle(title);
+    }
   }
 
   /**
@@ -319,7 +331,10 @@ public final class GameWindow {
   void init() {
     if (Game.isInNoGUIMode()) {
       this.resolution = new Dimension(0, 0);
-      this.hostControl.setVisible(false);
+      if (this.hostControl != null) {
+        this.hostControl.setVisible(false);
+      }
+
       return;
     }
 
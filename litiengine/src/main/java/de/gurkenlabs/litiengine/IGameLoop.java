@@ -18,6 +18,23 @@ public interface IGameLoop extends ILoop {
    */
   int perform(int delay, Runnable action);
 
+  /**
+   * Performs a timed action repeatedly, first after the specified delay and then after the specified interval, until it
+   * is removed.
+   * 
+   * @param delay
+   *          The delay in milliseconds until the first execution.
+   * @param interval
+   *          The interval in milliseconds between two executions. The action is performed at most once per tick.
+   * @param action
+   *          The action to perform.
+   * @return The id of the {@code TimedAction} that can be used to alter the next execution time of the action or remove
+   *         it.
+   * 
+   * @see IGameLoop#removeAction(int)
+   */
+  int perform(int delay, int interval, Runnable action);
+
   /**
    * Alters the execution time of the timed action with the specified index to the defined tick. This overwrites the
    * originally specified delay.
@@ -63,6 +63,17 @@ public interface ILoop extends ILaunchable {
    */
   long getDeltaTime();
 
+  /**
+   * Gets the total time in milliseconds that passed since the last tick, including fractions of a millisecond. <br>
+   * Time-based updates should prefer this over {@link #getDeltaTime()}, which is rounded to whole milliseconds. E.g.
+   * with a fixed timestep of 60 ticks per second, this is exactly 16.67 ms whereas the rounded delta time is 17 ms.
+   *
+   * @return The exact delta time in ms.
+   *
+   * @see #getDeltaTime()
+   */
+  double getPreciseDeltaTime();
+
   /**
    * Gets the actual process time in milliseconds that was required during the last tick. <br>
    * i.e. delta time - delay
@@ -87,4 +98,86 @@ public interface ILoop extends ILaunchable {
    *          The tickrate of the loop.
    */
   void setTickRate(int tickRate);
+
+  /**
+   * Determines whether this loop processes its ticks with a fixed timestep, i.e. with a constant delta time.
+   * 
+   * @return True if every tick of this loop has the same delta time; otherwise false.
+   */
+  boolean isFixedTimestep();
+
+  /**
+   * Sets whether this loop processes its ticks with a fixed timestep. If enabled, every tick has the same delta time,
+   * which makes simulations reproducible, and the loop catches up with the real time by processing several ticks at
+   * once, if necessary.
+   * 
+   * @param fixedTimestep
+   *          True to process the ticks with a fixed timestep; false to use the measured time between ticks.
+   * 
+   * @see #getMaxCatchUpTicks()
+   */
+  void setFixedTimestep(boolean fixedTimestep);
+
+  /**
+   * Gets the maximum number of ticks that this loop processes at once to catch up with the real time, if it runs with a
+   * fixed timestep.
+   * 
+   * @return The maximum number of catch-up ticks.
+   */
+  int getMaxCatchUpTicks();
+
+  /**
+   * Sets the maximum number of ticks that this loop processes at once to catch up with the real time, if it runs with a
+   * fixed timestep. Any time beyond that is dropped.
+   * 
+   * @param maxCatchUpTicks
+   *          The maximum number of catch-up ticks, which must be at least 1.
+   */
+  void setMaxCatchUpTicks(int maxCatchUpTicks);
+
+  /**
+   * Gets the fraction of the next tick that has already elapsed in real time, but not been processed yet, if this loop
+   * runs with a fixed timestep. This can be used to interpolate the rendered state between the last two ticks.
+   * 
+   * @return A value between 0 and 1; always 0 if the loop doesn't run with a fixed timestep.
+   */
+  double getInterpolationAlpha();
+
+  /**
+   * Processes the specified number of ticks with a fixed timestep immediately on the calling thread, regardless of the
+   * real time that passes. This allows to run simulations faster than real time, e.g. headless simulations or replays.
+   * 
+   * @param ticks
+   *          The number of ticks to process.
+   */
+  void step(int ticks);
+
+  /**
+   * Determines whether this loop updates the parallel-safe updatables of a phase concurrently.
+   * 
+   * @return True if the parallel-safe updatables are updated by a pool of worker threads; otherwise false.
+   * 
+   * @see IUpdateable#isParallelSafe()
+   */
+  boolean isParallelUpdates();
+
+  /**
+   * Sets whether this loop updates the parallel-safe updatables of a phase concurrently. The phases are still processed
+   * one after another and all other updatables are updated on the thread of this loop.
+   * 
+   * @param parallelUpdates
+   *          True to update the parallel-safe updatables by a pool of worker threads.
+   * 
+   * @see IUpdateable#isParallelSafe()
+   */
+  void setParallelUpdates(boolean parallelUpdates);
+
+  /**
+   * Gets the time in milliseconds that was required to update the specified phase during the last tick.
+   * 
+   * @param phase
+   *          The update phase.
+   * @return The update time of the phase in ms.
+   */
+  double getPhaseTime(UpdatePhase phase);
 }
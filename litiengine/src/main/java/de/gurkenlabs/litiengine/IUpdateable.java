@@ -5,11 +5,11 @@ import de.gurkenlabs.litiengine.configuration.ClientConfiguration;
 /**
  * The functional interface {@code IUpdateable} provides the functionality to automatically update the instance from a
  * loop that it is attached to.
- * 
+ *
  * <p>
  * This should be used for code that needs to be executed on every tick/frame.
  * </p>
- * 
+ *
  * @see ILoop#attach(IUpdateable)
  * @see ILoop#detach(IUpdateable)
  * @see Game#loop()
@@ -24,4 +24,26 @@ public interface IUpdateable {
    * @see ClientConfiguration#setMaxFps(int)
    */
   void update();
+
+  /**
+   * Gets the phase of a tick in which this instance is updated. The phase is determined once when the instance is
+   * attached to a loop.
+   *
+   * @return The update phase of this instance; {@link UpdatePhase#LOGIC} by default.
+   */
+  default UpdatePhase getUpdatePhase() {
+    return UpdatePhase.LOGIC;
+  }
+
+  /**
+   * Determines whether this instance can be updated concurrently with the other parallel-safe updatables of its phase.
+   * This is only the case if the update exclusively changes the state of this instance (and reads state that is not
+   * changed by other updatables of the same phase).
+   *
+   * @return True if this instance can be updated on a worker thread; false by default.
+   * @see ILoop#setParallelUpdates(boolean)
+   */
+  default boolean isParallelSafe() {
+    return false;
+  }
 }
@@ -0,0 +1,72 @@
+package de.gurkenlabs.litiengine;
+
+import de.gurkenlabs.litiengine.environment.Environment;
+import de.gurkenlabs.litiengine.graphics.RenderComponent;
+import de.gurkenlabs.litiengine.graphics.RenderState;
+import de.gurkenlabs.litiengine.graphics.SnapshotBuffer;
+import de.gurkenlabs.litiengine.graphics.StateSnapshot;
+
+/**
+ * The {@code RenderLoop} renders the game on a separate thread so that the rendering and the game logic don't delay each other. It is only used
+ * if {@link de.gurkenlabs.litiengine.configuration.ClientConfiguration#separateRenderThread()} is enabled.
+ *
+ * <p>
+ * The {@code GameLoop} publishes a {@link StateSnapshot} at the end of each tick. For every frame, this loop interpolates between the two latest
+ * snapshots and renders the current screen with the interpolated camera viewport and entity locations. The tick rate of the game loop and the frame
+ * rate of this loop are therefore independent and rendering a frame overlaps with the processing of the next tick.
+ *
+ * <p>
+ * <i>Only the viewport, the entity locations and the animation frames are taken from the snapshots. Everything else (e.g. the GUI, lights or
+ * particles) is rendered from its live state.</i>
+ *
+ * @see Game#renderLoop()
+ * @see RenderState
+ * @see RenderComponent#render()
+ */
+public final class RenderLoop extends UpdateLoop {
+  private final SnapshotBuffer snapshots = new SnapshotBuffer();
+
+  RenderLoop(String name, final int frameRate) {
+    super(name, frameRate);
+  }
+
+  /**
+   * Gets the buffer that hands the snapshots of the game loop over to this loop.
+   *
+   * @return The snapshot buffer of this render loop.
+   */
+  public SnapshotBuffer getSnapshots() {
+    return this.snapshots;
+  }
+
+  /**
+   * Captures the current state of the game world and publishes it for the next frames. This is called by the game loop at the end of each tick.
+   *
+   * @param tick The tick that has just been processed.
+   */
+  void publish(long tick) {
+    final Environment environment = Game.world().environment();
+    this.snapshots.publish(StateSnapshot.capture(tick, System.nanoTime(), Game.world().camera(), environment != null ? environment.getEntities() : null));
+  }
+
+  /**
+   * Renders a frame of the interpolated state and tracks the render metrics. Attached {@code IUpdatable} instances are updated before the frame is
+   * rendered.
+   */
+  @Override
+  protected void process() {
+    super.process();
+
+    this.snapshots.beginFrame(System.nanoTime());
+    try {
+      Game.window().getRenderComponent().render();
+    } finally {
+      this.snapshots.endFrame();
+    }
+
+    Game.metrics().setEstimatedMaxFramesPerSecond((int) (1000.0 / this.getProcessTime()));
+    if (Game.config().debug().trackRenderTimes()) {
+      Game.metrics().trackRenderTime("total", this.getProcessTime());
+    }
+  }
+}
@@ -1,7 +1,16 @@
 package de.gurkenlabs.litiengine;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
@@ -13,25 +22,70 @@ import de.gurkenlabs.litiengine.util.TimeUtilities;
  * The {@code UpdateLoop} is a basic loop implementation that performs operations at the specified {@code tickRate} by
  * continuously processing the registered logic and delaying the loop until the requested rate is met.
  *
+ * <p>
+ * By default, the delta time of a tick is the measured time since the previous tick, which depends on the timing jitter
+ * of the system. In the fixed timestep mode, the loop accumulates the elapsed real time instead and processes as many
+ * ticks of exactly the same duration as fit into it. This way, every {@code IUpdateable} sees a constant delta time and a
+ * simulation with the same inputs (and the same {@code GameRandom} seed) produces the same results on every run.
+ * </p>
+ *
+ * <p>
+ * The attached updatables are updated phase by phase (see {@link UpdatePhase}) and, within a phase, in the order in
+ * which they were attached. If parallel updates are enabled, the parallel-safe updatables of a phase are distributed
+ * across a work-stealing pool first and the loop waits for all of them before it updates the remaining updatables of
+ * the phase on its own thread.
+ * </p>
+ *
  * @see #process()
  * @see #delay()
+ * @see #setFixedTimestep(boolean)
+ * @see #setParallelUpdates(boolean)
  */
 public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
+  /**
+   * The default maximum number of ticks that a loop with a fixed timestep processes at once to catch up with the real
+   * time.
+   */
+  public static final int DEFAULT_MAX_CATCH_UP_TICKS = 5;
+
   private static final Logger log = Logger.getLogger(UpdateLoop.class.getName());
-  private final Set<IUpdateable> updatables = ConcurrentHashMap.newKeySet();
+  private static final UpdatePhase[] PHASES = UpdatePhase.values();
+
+  // the phases of the attached updatables and the updatables of each phase in the order of their attachment
+  private final Map<IUpdateable, UpdatePhase> updatables = new ConcurrentHashMap<>();
+  private final List<Set<IUpdateable>> phaseUpdatables = new ArrayList<>();
+  private volatile IUpdateable[][] schedule;
   private final Lock lock = new ReentrantLock();
 
+  private final double[] phaseTimes = new double[PHASES.length];
+  private volatile boolean parallelUpdates;
+  private ForkJoinPool pool;
+
+  // only accessed by the thread that processes the ticks; reused to avoid allocations for every phase
+  private final List<IUpdateable> parallelBatch = new ArrayList<>();
+  private final List<IUpdateable> sequentialBatch = new ArrayList<>();
+
   private int tickRate;
 
   private long totalTicks;
 
   private long deltaTime;
+  private double preciseDeltaTime;
   private double processTime;
   private double delayError;
 
+  private volatile boolean fixedTimestep;
+  private volatile int maxCatchUpTicks = DEFAULT_MAX_CATCH_UP_TICKS;
+  private long accumulator;
+  private int pendingTicks;
+  private volatile double interpolationAlpha;
+
   protected UpdateLoop(String name, int tickRate) {
     super(name);
     this.tickRate = tickRate;
+    for (int i = 0; i < PHASES.length; i++) {
+      this.phaseUpdatables.add(new LinkedHashSet<>());
+    }
   }
 
   /**
@@ -46,7 +100,23 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
    */
   @Override
   public void run() {
+    long last = System.nanoTime();
     while (!interrupted()) {
+      if (this.isFixedTimestep()) {
+        final long now = System.nanoTime();
+        try {
+          this.runFixedTimestep(now - last);
+        } catch (InterruptedException e) {
+          break;
+        }
+
+        last = now;
+        continue;
+      }
+
+      last = System.nanoTime();
+      this.accumulator = 0;
+      this.interpolationAlpha = 0;
       ++this.totalTicks;
 
       final long start = System.nanoTime();
@@ -67,13 +137,42 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
       } catch (InterruptedException e) {
         break;
       }
-      this.deltaTime = (long) (delay + this.processTime);
+      this.preciseDeltaTime = delay + this.processTime;
+      this.deltaTime = (long) this.preciseDeltaTime;
+    }
+  }
+
+  /**
+   * Processes the specified number of ticks with a fixed timestep immediately on the calling thread, regardless of the
+   * real time that passes. This allows to run simulations (e.g. headless simulations or replays) faster than real time.
+   *
+   * <p>
+   * <i>This is intended for loops that have not been started. Otherwise, the ticks are processed in addition to the ticks
+   * of the loop's own thread.</i>
+   * </p>
+   *
+   * @param ticks
+   *          The number of ticks to process.
+   */
+  @Override
+  public void step(int ticks) {
+    Lock theLock = this.getLock();
+    theLock.lock();
+    try {
+      this.processTicks(ticks);
+    } finally {
+      theLock.unlock();
     }
   }
 
   @Override
   public void terminate() {
     this.interrupt();
+    synchronized (this.phaseUpdatables) {
+      if (this.pool != null) {
+        this.pool.shutdown();
+      }
+    }
   }
 
   @Override
@@ -87,19 +186,35 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
       return;
     }
 
-    if (!this.updatables.add(updatable)) {
-      log.log(Level.FINE, "Updatable {0} already registered for update!", new Object[] {updatable});
+    final UpdatePhase declared = updatable.getUpdatePhase();
+    final UpdatePhase phase = declared != null ? declared : UpdatePhase.LOGIC;
+    synchronized (this.phaseUpdatables) {
+      if (this.updatables.putIfAbsent(updatable, phase) != null) {
+        log.log(Level.FINE, "Updatable {0} already registered for update!", new Object[] {updatable});
+        return;
+      }
+
+      this.phaseUpdatables.get(phase.ordinal()).add(updatable);
+      this.schedule = null;
     }
   }
 
   @Override
   public void detach(final IUpdateable updatable) {
-    this.updatables.remove(updatable);
+    synchronized (this.phaseUpdatables) {
+      final UpdatePhase phase = this.updatables.remove(updatable);
+      if (phase != null) {
+        this.phaseUpdatables.get(phase.ordinal()).remove(updatable);
+        this.schedule = null;
+      }
+    }
   }
 
   @Override
   public int getUpdatableCount() {
-    return this.updatables.size();
+    synchronized (this.phaseUpdatables) {
+      return this.updatables.size();
+    }
   }
 
   @Override
@@ -117,6 +232,11 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
     return this.deltaTime;
   }
 
+  @Override
+  public double getPreciseDeltaTime() {
+    return this.preciseDeltaTime;
+  }
+
   @Override
   public double getProcessTime() {
     return this.processTime;
@@ -126,8 +246,121 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
     this.tickRate = tickRate;
   }
 
+  /**
+   * Determines whether this loop processes its ticks with a fixed timestep.
+   *
+   * @return True if every tick of this loop has the same delta time; otherwise false.
+   * @see #setFixedTimestep(boolean)
+   */
+  @Override
+  public boolean isFixedTimestep() {
+    return this.fixedTimestep;
+  }
+
+  /**
+   * Sets whether this loop processes its ticks with a fixed timestep.
+   *
+   * <p>
+   * With a fixed timestep, the delta time of every tick is the expected delta time for the tick rate. If processing the
+   * ticks takes longer than the real time they represent, the loop processes several ticks at once to catch up, but at
+   * most {@link #getMaxCatchUpTicks()}. Any time beyond that is dropped, i.e. the simulation slows down instead of
+   * falling further and further behind.
+   * </p>
+   *
+   * @param fixedTimestep
+   *          True to process the ticks with a fixed timestep; false to use the measured time between ticks.
+   */
+  @Override
+  public void setFixedTimestep(boolean fixedTimestep) {
+    this.fixedTimestep = fixedTimestep;
+  }
+
+  /**
+   * Gets the maximum number of ticks that this loop processes at once to catch up with the real time if it runs with a
+   * fixed timestep.
+   *
+   * @return The maximum number of catch-up ticks.
+   */
+  @Override
+  public int getMaxCatchUpTicks() {
+    return this.maxCatchUpTicks;
+  }
+
+  /**
+   * Sets the maximum number of ticks that this loop processes at once to catch up with the real time if it runs with a
+   * fixed timestep.
+   *
+   * @param maxCatchUpTicks
+   *          The maximum number of catch-up ticks, which must be at least 1.
+   */
+  @Override
+  public void setMaxCatchUpTicks(int maxCatchUpTicks) {
+    if (maxCatchUpTicks < 1) {
+      throw new IllegalArgumentException("The maximum number of catch-up ticks must be at least 1.");
+    }
+
+    this.maxCatchUpTicks = maxCatchUpTicks;
+  }
+
+  /**
+   * Gets the fraction of the next tick that has already elapsed in real time, but not been processed yet. Renderers can
+   * use this to interpolate between the states of the last two ticks.
+   *
+   * @return A value between 0 and 1 if this loop runs with a fixed timestep; otherwise always 0.
+   */
+  @Override
+  public double getInterpolationAlpha() {
+    return this.interpolationAlpha;
+  }
+
+  @Override
+  public boolean isParallelUpdates() {
+    return this.parallelUpdates;
+  }
+
+  /**
+   * Sets whether this loop updates the parallel-safe updatables of a phase concurrently.
+   *
+   * <p>
+   * If enabled, the parallel-safe updatables of each phase are distributed across a work-stealing pool with one worker
+   * per available processor. The pool is created on demand and its workers terminate on their own while they are idle.
+   * All other updatables are updated on the thread of this loop after the parallel-safe updatables of their phase have
+   * been finished. The pool is shut down when this loop is terminated.
+   * </p>
+   *
+   * <p>
+   * <i>Of the updatables of the engine, only plain {@code AnimationController} instances without listeners are
+   * parallel-safe. Everything else, e.g. entity animation controllers, emitters and the physics engine, is still updated
+   * on the thread of this loop, so this only pays off for games with many such controllers or their own parallel-safe
+   * updatables.</i>
+   * </p>
+   *
+   * @param parallelUpdates
+   *          True to update the parallel-safe updatables by a pool of worker threads.
+   * @see IUpdateable#isParallelSafe()
+   */
+  @Override
+  public void setParallelUpdates(boolean parallelUpdates) {
+    this.parallelUpdates = parallelUpdates;
+  }
+
+  @Override
+  public double getPhaseTime(UpdatePhase phase) {
+    return this.phaseTimes[phase.ordinal()];
+  }
+
+  /**
+   * Gets all attached updatables in the order in which they are updated.
+   *
+   * @return An unmodifiable snapshot of the attached updatables.
+   */
   protected Set<IUpdateable> getUpdatables() {
-    return this.updatables;
+    final Set<IUpdateable> all = new LinkedHashSet<>();
+    for (IUpdateable[] phase : this.getSchedule()) {
+      all.addAll(Arrays.asList(phase));
+    }
+
+    return Collections.unmodifiableSet(all);
   }
 
   /**
@@ -143,23 +376,44 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
   }
 
   /**
-   * Calls the {@code update()} procedure on all registered instances.
+   * Gets the duration of a tick if this loop runs with a fixed timestep.
+   *
+   * @return The fixed timestep in nanoseconds.
+   */
+  protected long getTimestep() {
+    return (long) (1_000_000_000.0 / this.tickRate);
+  }
+
+  /**
+   * Determines whether further ticks will be processed immediately after the current one, because the loop has to catch
+   * up with the real time. Derived loops can use this to skip work that is only necessary once for all these ticks, e.g.
+   * rendering.
+   *
+   * @return True if the current tick is not the last one that is processed at once; otherwise false.
+   */
+  protected boolean isCatchingUp() {
+    return this.pendingTicks > 0;
+  }
+
+  /**
+   * Calls the {@code update()} procedure on all registered instances, phase by phase, and tracks the time that every
+   * phase requires.
    * 
    * @see IUpdateable#update()
+   * @see IUpdateable#getUpdatePhase()
+   * @see #getPhaseTime(UpdatePhase)
    */
   protected void update() {
-    for (IUpdateable updatable : this.getUpdatables()) {
-      try {
-        if (updatable != null) {
-          updatable.update();
-        }
-      } catch (final Exception e) {
-        if (Game.config().client().exitOnError()) {
-          throw e;
-        }
-
-        log.log(Level.SEVERE, e.getMessage(), e);
+    final IUpdateable[][] current = this.getSchedule();
+    for (int i = 0; i < current.length; i++) {
+      if (current[i].length == 0) {
+        this.phaseTimes[i] = 0;
+        continue;
       }
+
+      final long start = System.nanoTime();
+      this.update(current[i]);
+      this.phaseTimes[i] = TimeUtilities.nanoToMs(System.nanoTime() - start);
     }
   }
 
@@ -197,4 +451,163 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
   public Lock getLock() {
     return this.lock;
   }
+
+  /**
+   * Processes all ticks that fit into the accumulated real time and delays the loop until the next tick is due.
+   */
+  private void runFixedTimestep(long elapsed) throws InterruptedException {
+    final long start = System.nanoTime();
+    final long timestep = this.getTimestep();
+
+    // limit the ticks that are processed at once to prevent a spiral of death, where catching up takes even longer
+    this.accumulator = Math.min(this.accumulator + elapsed, timestep * this.getMaxCatchUpTicks());
+    final int ticks = (int) (this.accumulator / timestep);
+    this.accumulator -= ticks * timestep;
+
+    Lock theLock = this.getLock();
+    theLock.lock();
+    try {
+      this.processTicks(ticks);
+    } finally {
+      theLock.unlock();
+    }
+
+    this.interpolationAlpha = this.accumulator / (double) timestep;
+    final long processNanos = System.nanoTime() - start;
+    if (ticks > 0) {
+      this.processTime = TimeUtilities.nanoToMs(processNanos);
+    }
+
+    final long delay = timestep - this.accumulator - processNanos;
+    if (delay > 0) {
+      sleep(delay / 1_000_000, (int) (delay % 1_000_000));
+    }
+  }
+
+  private void update(IUpdateable[] updatables) {
+    if (!this.isParallelUpdates() || updatables.length < 2) {
+      for (IUpdateable updatable : updatables) {
+        this.update(updatable);
+      }
+
+      return;
+    }
+
+    try {
+      for (IUpdateable updatable : updatables) {
+        (updatable.isParallelSafe() ? this.parallelBatch : this.sequentialBatch).add(updatable);
+      }
+
+      final ForkJoinPool workers = this.parallelBatch.size() > 1 ? this.getPool() : null;
+      if (workers != null && !workers.isShutdown()) {
+        // split the batch into a few tasks per worker so that idle workers can steal the remaining work
+        final int size = this.parallelBatch.size();
+        workers.invoke(new UpdateTask(this, this.parallelBatch, 0, size, Math.max(1, size / (workers.getParallelism() * 4))));
+      } else {
+        this.parallelBatch.forEach(this::update);
+      }
+
+      this.sequentialBatch.forEach(this::update);
+    } finally {
+      this.parallelBatch.clear();
+      this.sequentialBatch.clear();
+    }
+  }
+
+  private void update(IUpdateable updatable) {
+    // the schedule is a snapshot, so it still contains updatables that have been detached earlier in the same tick
+    if (!this.updatables.containsKey(updatable)) {
+      return;
+    }
+
+    try {
+      updatable.update();
+    } catch (final Exception e) {
+      if (Game.config().client().exitOnError()) {
+        throw e;
+      }
+
+      log.log(Level.SEVERE, e.getMessage(), e);
+    }
+  }
+
+  private IUpdateable[][] getSchedule() {
+    IUpdateable[][] current = this.schedule;
+    if (current != null) {
+      return current;
+    }
+
+    synchronized (this.phaseUpdatables) {
+      current = new IUpdateable[PHASES.length][];
+      for (int i = 0; i < PHASES.length; i++) {
+        current[i] = this.phaseUpdatables.get(i).toArray(new IUpdateable[0]);
+      }
+
+      this.schedule = current;
+      return current;
+    }
+  }
+
+  private ForkJoinPool getPool() {
+    synchronized (this.phaseUpdatables) {
+      if (this.pool == null) {
+        final String prefix = this.getName() + " Worker ";
+        this.pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), p -> {
+          final ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+          worker.setName(prefix + worker.getPoolIndex());
+          worker.setDaemon(true);
+          return worker;
+        }, null, false);
+      }
+
+      return this.pool;
+    }
+  }
+
+  private void processTicks(int ticks) {
+    this.preciseDeltaTime = TimeUtilities.nanoToMs(this.getTimestep());
+    this.deltaTime = Math.round(this.preciseDeltaTime);
+    for (int i = 0; i < ticks; i++) {
+      this.pendingTicks = ticks - i - 1;
+      ++this.totalTicks;
+      this.process();
+    }
+
+    this.pendingTicks = 0;
+  }
+
+  /**
+   * Updates a range of parallel-safe updatables and splits it among the workers of the pool if it exceeds the threshold.
+   */
+  private static final class UpdateTask extends RecursiveAction {
+    private final transient UpdateLoop loop;
+    private final transient List<IUpdateable> updatables;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    private UpdateTask(UpdateLoop loop, List<IUpdateable> updatables, int from, int to, int threshold) {
+      this.loop = loop;
+      this.updatables = updatables;
+      this.from = from;
+      this.to = to;
+      this.threshold = threshold;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.to - this.from <= this.threshold) {
+        for (int i = this.from; i < this.to; i++) {
+          this.loop.update(this.updatables.get(i));
+        }
+
+        return;
+      }
+
+      final int middle = (this.from + this.to) >>> 1;
+      invokeAll(
+          new UpdateTask(this.loop, this.updatables, this.from, middle, this.threshold),
+          new UpdateTask(this.loop, this.updatables, middle, this.to, this.threshold));
+    }
+  }
 }
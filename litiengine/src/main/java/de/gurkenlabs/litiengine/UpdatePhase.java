@@ -0,0 +1,51 @@
+package de.gurkenlabs.litiengine;
+
+/**
+ * The {@code UpdatePhase} determines at which point of a tick an {@code IUpdateable} is updated by its loop.
+ *
+ * <p>
+ * A loop updates its phases in the order in which they are declared here. All updatables of a phase are finished before
+ * the first updatable of the next phase is updated, so e.g. every entity has been moved before the physics engine
+ * updates its collision boxes.
+ * </p>
+ *
+ * @see IUpdateable#getUpdatePhase()
+ * @see UpdateLoop#update()
+ */
+public enum UpdatePhase {
+  /**
+   * The phase for updatables that feed external events into the tick, e.g. input devices or the results of asynchronous
+   * operations.
+   */
+  INPUT,
+
+  /**
+   * The phase for updatables that make decisions for entities, e.g. behavior controllers or navigators.
+   */
+  AI,
+
+  /**
+   * The phase for the general game logic. This is the phase of all updatables that don't declare a specific phase.
+   */
+  LOGIC,
+
+  /**
+   * The phase for updatables that move entities, e.g. movement controllers.
+   */
+  MOVEMENT,
+
+  /**
+   * The phase for updatables that react to the new locations of the entities, e.g. the physics engine.
+   */
+  PHYSICS,
+
+  /**
+   * The phase for updatables that update the visual state of the game, e.g. animations, emitters or tweens.
+   */
+  ANIMATION,
+
+  /**
+   * The phase for updatables that depend on the final state of the tick, e.g. cameras that follow an entity.
+   */
+  LATE
+}
@@ -18,6 +18,12 @@ public class ClientConfiguration extends ConfigurationGroup {
 
   private boolean exitOnError;
 
+  private boolean separateRenderThread;
+
+  private boolean fixedTimestep;
+
+  private boolean parallelUpdates;
+
   /**
    * Constructs a new ClientConfiguration with default settings.
    */
@@ -26,6 +32,9 @@ public class ClientConfiguration extends ConfigurationGroup {
     this.setMaxFps(60);
     this.setShowGameMetrics(false);
     this.setExitOnError(false);
+    this.setSeparateRenderThread(false);
+    this.setFixedTimestep(false);
+    this.setParallelUpdates(false);
 
     this.setLanguage(Locale.getDefault().getLanguage());
     this.setCountry(Locale.getDefault().getCountry());
@@ -115,6 +124,39 @@ public class ClientConfiguration extends ConfigurationGroup {
     this.set("exitOnError", exit);
   }
 
+  /**
+   * Sets whether the game is rendered on a separate render thread. This only takes effect when the game is initialized.
+   *
+   * <p>
+   * <b>Warning:</b> Only the camera viewport and the locations and animation frames of the entities are rendered from snapshots of the game loop.
+   * Everything else, e.g. the map, lights, particles and the GUI, is read from its live state while the game loop concurrently changes it. Frames
+   * might therefore show an inconsistent state of these parts and custom render code must be able to cope with concurrent changes.
+   *
+   * @param separateRenderThread true to render on a separate thread, false to render on the game loop.
+   */
+  public void setSeparateRenderThread(boolean separateRenderThread) {
+    this.set("separateRenderThread", separateRenderThread);
+  }
+
+  /**
+   * Sets whether the game loop processes its ticks with a fixed timestep. This only takes effect when the game is initialized.
+   *
+   * @param fixedTimestep true to use a fixed timestep, false to use the measured time between ticks.
+   */
+  public void setFixedTimestep(boolean fixedTimestep) {
+    this.set("fixedTimestep", fixedTimestep);
+  }
+
+  /**
+   * Sets whether the game loop updates the parallel-safe updatables of each update phase concurrently. This only takes effect when the game is
+   * initialized.
+   *
+   * @param parallelUpdates true to update the parallel-safe updatables on worker threads, false to update all updatables on the game loop.
+   */
+  public void setParallelUpdates(boolean parallelUpdates) {
+    this.set("parallelUpdates", parallelUpdates);
+  }
+
   /**
    * Checks if game metrics are shown.
    *
@@ -132,4 +174,34 @@ public class ClientConfiguration extends ConfigurationGroup {
   public boolean exitOnError() {
     return this.exitOnError;
   }
+
+  /**
+   * Checks if the game is rendered on a separate render thread. In this case, the rendering doesn't delay the game loop and vice versa: the game
+   * loop publishes snapshots of its state after each tick, between which the render thread interpolates at the configured max fps.
+   *
+   * @return true if the game is rendered on a separate thread, false if it is rendered on the game loop after each tick.
+   */
+  public boolean separateRenderThread() {
+    return this.separateRenderThread;
+  }
+
+  /**
+   * Checks if the game loop processes its ticks with a fixed timestep. In this case, every tick has the same delta time, so that the simulation
+   * doesn't depend on the timing jitter of the system and can be reproduced.
+   *
+   * @return true if the game loop uses a fixed timestep, false if it uses the measured time between ticks.
+   */
+  public boolean fixedTimestep() {
+    return this.fixedTimestep;
+  }
+
+  /**
+   * Checks if the game loop updates the parallel-safe updatables of each update phase concurrently. The phases are still updated one after
+   * another and all updatables that are not parallel-safe are updated on the game loop.
+   *
+   * @return true if the parallel-safe updatables are updated on worker threads, false if all updatables are updated on the game loop.
+   */
+  public boolean parallelUpdates() {
+    return this.parallelUpdates;
+  }
 }
@@ -10,6 +10,8 @@ import java.awt.Toolkit;
  */
 @ConfigurationGroupInfo(prefix = "gfx_")
 public class GraphicConfiguration extends ConfigurationGroup {
+  private static final int DEFAULT_HEADLESS_WIDTH = 1920;
+  private static final int DEFAULT_HEADLESS_HEIGHT = 1080;
 
   private DisplayMode displayMode;
 
@@ -29,6 +31,8 @@ public class GraphicConfiguration extends ConfigurationGroup {
 
   private boolean colorInterpolation;
 
+  private boolean cacheTileLayers;
+
   /**
    * Constructs a new GraphicConfiguration with default settings.
    */
@@ -36,13 +40,17 @@ public class GraphicConfiguration extends ConfigurationGroup {
     this.graphicQuality = Quality.LOW;
     this.displayMode = DisplayMode.WINDOWED;
     this.renderDynamicShadows = false;
-    Dimension d = Toolkit.getDefaultToolkit().getScreenSize();
+    // there is no screen in headless environments (e.g. on build servers), so fall back to a common resolution
+    Dimension d = GraphicsEnvironment.isHeadless()
+        ? new Dimension(DEFAULT_HEADLESS_WIDTH, DEFAULT_HEADLESS_HEIGHT)
+        : Toolkit.getDefaultToolkit().getScreenSize();
     this.resolutionWidth = d.width;
     this.resolutionHeight = d.height - 100;
     this.setEnableResolutionScale(true);
     this.setReduceFramesWhenNotFocused(true);
     this.setAntiAliasing(false);
     this.setColorInterpolation(false);
+    this.setCacheTileLayers(false);
   }
 
 
@@ -52,7 +60,7 @@ public class GraphicConfiguration extends ConfigurationGroup {
 
 
   public Dimension getResolution() {
-    if (this.getDisplayMode() == DisplayMode.FULLSCREEN) {
+    if (this.getDisplayMode() == DisplayMode.FULLSCREEN && !GraphicsEnvironment.isHeadless()) {
       final GraphicsDevice gd = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice();
       final int width = gd.getDisplayMode().getWidth();
       final int height = gd.getDisplayMode().getHeight();
@@ -107,6 +115,15 @@ public class GraphicConfiguration extends ConfigurationGroup {
     return colorInterpolation;
   }
 
+  /**
+   * Checks if static tile layers are rendered from pre-rendered chunk images instead of tile by tile.
+   *
+   * @return true if tile layers are cached, false otherwise.
+   */
+  public boolean cacheTileLayers() {
+    return cacheTileLayers;
+  }
+
   /**
    * Gets the current display mode.
    *
@@ -214,4 +231,14 @@ public class GraphicConfiguration extends ConfigurationGroup {
   public void setColorInterpolation(boolean colorInterpolation) {
     this.set("colorInterpolation", colorInterpolation);
   }
+
+  /**
+   * Sets whether static tile layers are rendered from pre-rendered chunk images instead of tile by tile. This trades memory for rendering time
+   * and only applies to orthogonal maps whose tiles fit into the map's tile grid.
+   *
+   * @param cacheTileLayers true to cache tile layers, false to render them tile by tile.
+   */
+  public void setCacheTileLayers(boolean cacheTileLayers) {
+    this.set("cacheTileLayers", cacheTileLayers);
+  }
 }
@@ -146,7 +146,7 @@ public class Creature extends CombatEntity implements IMobileEntity {
   public float getTickVelocity() {
     // pixels per ms multiplied by the passed ms
     // ensure that entities don't travel too far in case of lag
-    return Math.min(Game.loop().getDeltaTime(), GameLoop.TICK_DELTATIME_LAG)
+    return (float) Math.min(Game.loop().getPreciseDeltaTime(), GameLoop.TICK_DELTATIME_LAG)
       * 0.001F
       * getVelocity().getModifiedValue()
       * Game.loop().getTimeScale();
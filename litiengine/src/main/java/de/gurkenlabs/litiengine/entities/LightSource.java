@@ -64,6 +64,7 @@ public class LightSource extends Entity implements IRenderable {
 
   private Color color;
   private Shape lightShape;
+  private Rectangle2D updatedRegion;
 
   /**
    * Constructor for the LightSource class.
@@ -197,21 +198,25 @@ public class LightSource extends Entity implements IRenderable {
 
 
   /**
-   * Updates the ambient layers of the environment.
+   * Updates the ambient layers of the environment in the region that this light covers now and the region that it covered with the previous update.
    */
   private void updateAmbientLayers() {
     if (!isLoaded()) {
       return;
     }
 
+    final Rectangle2D region = getBoundingBox();
+    final Rectangle2D dirtyRegion = this.updatedRegion != null ? this.updatedRegion.createUnion(region) : region;
+    this.updatedRegion = region;
+
     if (Game.world().environment() != null
       && Game.world().environment().getAmbientLight() != null) {
-      Game.world().environment().getAmbientLight().updateSection(getBoundingBox());
+      Game.world().environment().getAmbientLight().updateSection(dirtyRegion);
     }
 
     if (Game.world().environment() != null
       && Game.world().environment().getStaticShadowLayer() != null) {
-      Game.world().environment().getStaticShadowLayer().updateSection(getBoundingBox());
+      Game.world().environment().getStaticShadowLayer().updateSection(dirtyRegion);
     }
   }
 
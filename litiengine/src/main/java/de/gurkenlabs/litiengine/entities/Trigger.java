@@ -2,15 +2,17 @@ package de.gurkenlabs.litiengine.entities;
 
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.environment.Environment;
 import de.gurkenlabs.litiengine.environment.tilemap.MapObjectProperty;
 import de.gurkenlabs.litiengine.environment.tilemap.MapObjectType;
 import de.gurkenlabs.litiengine.environment.tilemap.TmxProperty;
 import de.gurkenlabs.litiengine.environment.tilemap.TmxType;
 import de.gurkenlabs.litiengine.graphics.RenderType;
+import de.gurkenlabs.litiengine.physics.OverlapListener;
+import de.gurkenlabs.litiengine.physics.OverlapTracker;
 import de.gurkenlabs.litiengine.util.geom.GeometricUtilities;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -19,6 +21,10 @@ import java.util.logging.Logger;
 
 /**
  * TODO: Triggers should be able to call entity actions (similar to the current message approach)
+ *
+ * <p>Triggers with the {@link TriggerActivation#COLLISION} activation are registered on the {@link OverlapTracker} of the physics engine while they
+ * are loaded. They are only notified when collision entities enter or exit their collision box instead of checking all collision entities on
+ * every update.
  */
 @CollisionInfo(collision = false)
 @EntityInfo(renderType = RenderType.OVERLAY)
@@ -40,6 +46,10 @@ public class Trigger extends CollisionEntity implements IUpdateable {
 
   private final Collection<IEntity> collisionActivated = ConcurrentHashMap.newKeySet();
 
+  // entities in the collision box that couldn't activate the trigger yet (e.g. because of the cooldown)
+  private final Collection<ICollisionEntity> collisionPending = ConcurrentHashMap.newKeySet();
+  private final OverlapListener overlapListener = new CollisionActivation();
+
   private final List<Integer> activators = new CopyOnWriteArrayList<>();
 
   private final List<Integer> targets = new CopyOnWriteArrayList<>();
@@ -377,6 +387,31 @@ public class Trigger extends CollisionEntity implements IUpdateable {
     this.cooldown = cooldown;
   }
 
+  @Override
+  public void loaded(Environment environment) {
+    super.loaded(environment);
+    if (this.activationType == TriggerActivation.COLLISION) {
+      Game.physics().getOverlapTracker().add(this, this.overlapListener);
+    }
+  }
+
+  @Override
+  public void removed(Environment environment) {
+    Game.physics().getOverlapTracker().remove(this);
+    this.collisionPending.clear();
+
+    // entities can't exit a trigger that is no longer tracked, so the ones that activated it are deactivated right away
+    if (!this.isOneTimeTrigger()) {
+      this.collisionActivated.forEach(this::deactivate);
+    }
+
+    super.removed(environment);
+  }
+
+  /**
+   * Retries to activate the trigger for the entities that stayed in the collision box without activating it. The entities that enter or exit the
+   * collision box are processed when the physics engine updates its overlaps.
+   */
   @Override
   public void update() {
     if (Game.world().environment() == null
@@ -385,32 +420,9 @@ public class Trigger extends CollisionEntity implements IUpdateable {
       return;
     }
 
-    final List<IEntity> collEntities = this.getEntitiesInCollisionBox();
-    for (final IEntity ent : collEntities) {
-      if (this.collisionActivated.contains(ent)) {
-        continue;
-      }
-
-      this.activate(ent, ent.getMapId());
-    }
-
-    // send deactivation event
-    Iterator<IEntity> iter = this.collisionActivated.iterator();
-    while (iter.hasNext()) {
-      IEntity ent = iter.next();
-      if (!collEntities.contains(ent)) {
-        List<Integer> triggerTargets = this.getTargets();
-        if (triggerTargets.isEmpty()) {
-          triggerTargets = new ArrayList<>();
-          triggerTargets.add(ent.getMapId());
-        }
-
-        final TriggerEvent event = new TriggerEvent(this, ent, triggerTargets);
-        for (final TriggerDeactivatedListener listener : this.deactivatedListeners) {
-          listener.deactivated(event);
-        }
-
-        iter.remove();
+    for (final ICollisionEntity ent : this.collisionPending) {
+      if (this.canBeActivatedBy(ent)) {
+        this.activate(ent, ent.getMapId());
       }
     }
   }
@@ -446,6 +458,7 @@ public class Trigger extends CollisionEntity implements IUpdateable {
     this.isActivated = true;
     if (activator != null) {
       this.collisionActivated.add(activator);
+      this.collisionPending.remove(activator);
     }
 
     // if we actually have a trigger target, we send the message to the target
@@ -499,21 +512,36 @@ public class Trigger extends CollisionEntity implements IUpdateable {
   }
 
   /**
-   * Retrieves a list of entities that are in collision with this entity's collision box.
+   * Checks whether the specified entity in the collision box of this trigger is allowed to activate it.
    *
-   * @return a list of entities that intersect with this trigger's collision box
+   * @param entity the entity to check
+   * @return true if the entity can collide with this trigger and is one of its activators, false otherwise
    */
-  private List<IEntity> getEntitiesInCollisionBox() {
-    final List<IEntity> collEntities = new CopyOnWriteArrayList<>();
-    for (final ICollisionEntity coll : Game.physics().getCollisionEntities()) {
-      if (coll != this && coll.canCollideWith(this) &&
-        (activators.isEmpty() || activators.contains(coll.getMapId())) &&
-        coll.getCollisionBox().intersects(getCollisionBox())) {
-        collEntities.add(coll);
-      }
+  private boolean canBeActivatedBy(final ICollisionEntity entity) {
+    return entity.canCollideWith(this)
+      && (this.activators.isEmpty() || this.activators.contains(entity.getMapId()));
+  }
+
+  /**
+   * Sends the deactivation event for an activating entity that left the collision box of this trigger.
+   *
+   * @param entity the entity that left the collision box
+   */
+  private void deactivate(final IEntity entity) {
+    if (!this.collisionActivated.remove(entity)) {
+      return;
+    }
+
+    List<Integer> triggerTargets = this.getTargets();
+    if (triggerTargets.isEmpty()) {
+      triggerTargets = new ArrayList<>();
+      triggerTargets.add(entity.getMapId());
     }
 
-    return collEntities;
+    final TriggerEvent event = new TriggerEvent(this, entity, triggerTargets);
+    for (final TriggerDeactivatedListener listener : this.deactivatedListeners) {
+      listener.deactivated(event);
+    }
   }
 
   /**
@@ -529,4 +557,23 @@ public class Trigger extends CollisionEntity implements IUpdateable {
     }
     return localTargets;
   }
+
+  /**
+   * Activates the trigger for the collision entities that enter its collision box and deactivates it for the ones that exit it.
+   */
+  private class CollisionActivation implements OverlapListener {
+    @Override
+    public void entered(ICollisionEntity entity) {
+      collisionPending.add(entity);
+      if (isLoaded() && canBeActivatedBy(entity)) {
+        activate(entity, entity.getMapId());
+      }
+    }
+
+    @Override
+    public void exited(ICollisionEntity entity) {
+      collisionPending.remove(entity);
+      deactivate(entity);
+    }
+  }
 }
@@ -11,7 +11,9 @@ import java.awt.Rectangle;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Represents an A* grid used for pathfinding.
@@ -32,6 +34,7 @@ public class AStarGrid implements IRenderable {
   private final AStarNode[][] grid;
   private final int nodeSize;
   private final Dimension size;
+  private final Collection<WalkableUpdatedListener> walkableUpdatedListeners = new CopyOnWriteArrayList<>();
 
   private boolean allowDiagonalMovement = true;
   private boolean allowCuttingCorners;
@@ -179,6 +182,24 @@ public class AStarGrid implements IRenderable {
     return this.getNode(xNode, yNode);
   }
 
+  /**
+   * Adds the specified listener that is notified after the walkable state of nodes was updated by {@link #updateWalkable(Rectangle2D)}.
+   *
+   * @param listener The listener to add.
+   */
+  public void onWalkableUpdated(WalkableUpdatedListener listener) {
+    this.walkableUpdatedListeners.add(listener);
+  }
+
+  /**
+   * Removes the specified walkable updated listener.
+   *
+   * @param listener The listener to remove.
+   */
+  public void removeWalkableUpdatedListener(WalkableUpdatedListener listener) {
+    this.walkableUpdatedListeners.remove(listener);
+  }
+
   /**
    * Gets the size of each node in the grid.
    *
@@ -247,6 +268,10 @@ public class AStarGrid implements IRenderable {
     for (final AStarNode node : this.getIntersectedNodes(rectangle)) {
       node.setWalkable(!Game.physics().collides(node.getBounds(), Collision.STATIC));
     }
+
+    for (final WalkableUpdatedListener listener : this.walkableUpdatedListeners) {
+      listener.walkableUpdated(rectangle);
+    }
   }
 
   /**
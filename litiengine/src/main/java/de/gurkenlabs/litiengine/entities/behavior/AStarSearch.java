@@ -0,0 +1,357 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Path2D;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The state of a single A* search on an {@link AStarGrid}. Instead of storing the costs on the {@link AStarNode} instances, all per-search data is
+ * kept in arrays that are indexed by the position of a node on the grid.
+ *
+ * <p>
+ * The open set is an indexed binary heap that supports decreasing the costs of a node that is already opened. Whether a node has been reached in
+ * the current search is determined by a generation stamp, so the arrays never need to be cleared between two searches.
+ *
+ * <p>
+ * A search can either be performed at once or be split into multiple steps that each expand a limited number of nodes. It can optionally be
+ * restricted to a rectangular area of the grid. An instance can be reused for any number of searches on the same grid but must not be used by
+ * multiple threads at the same time.
+ */
+final class AStarSearch {
+  private static final int CLOSED = -1;
+
+  private final AStarGrid grid;
+  private final int gridHeight;
+
+  private final double[] gCosts;
+  private final double[] hCosts;
+  private final int[] predecessors;
+  private final int[] openOrder;
+  private final int[] heapIndices;
+  private final int[] generations;
+  private final int[] heap;
+
+  private int heapSize;
+  private int generation;
+  private int openCount;
+
+  private int start;
+  private int target;
+  private AStarNode targetNode;
+  private Rectangle bounds;
+  private List<AStarNode> pathNodes;
+  private Path path;
+  private boolean finished;
+
+  AStarSearch(AStarGrid grid) {
+    this.grid = grid;
+    final AStarNode[][] nodes = grid.getGrid();
+    this.gridHeight = nodes.length == 0 ? 0 : nodes[0].length;
+
+    final int size = nodes.length * this.gridHeight;
+    this.gCosts = new double[size];
+    this.hCosts = new double[size];
+    this.predecessors = new int[size];
+    this.openOrder = new int[size];
+    this.heapIndices = new int[size];
+    this.generations = new int[size];
+    this.heap = new int[size];
+  }
+
+  /**
+   * Finds the shortest path from the start node to the target node. The costs of the nodes are determined by {@link AStarNode#getCosts(AStarNode)}.
+   * Nodes that are not walkable are ignored, except for the target node itself.
+   *
+   * @param startNode  the starting node of the path
+   * @param targetNode the target node of the path
+   * @return the calculated path, or null if no path is found
+   */
+  Path find(AStarNode startNode, AStarNode targetNode) {
+    this.start(startNode, targetNode);
+    this.expand(Integer.MAX_VALUE);
+    return this.getPath();
+  }
+
+  /**
+   * Starts a new search from the start node to the target node without expanding any nodes yet. The search is then carried out by one or more
+   * calls to {@link #expand(int)}.
+   *
+   * @param startNode  the starting node of the path
+   * @param targetNode the target node of the path
+   */
+  void start(AStarNode startNode, AStarNode targetNode) {
+    this.start(startNode, targetNode, null);
+  }
+
+  /**
+   * Starts a new search from the start node to the target node that only considers the nodes within the specified bounds.
+   *
+   * @param startNode  the starting node of the path
+   * @param targetNode the target node of the path
+   * @param bounds     the area of the grid (in grid coordinates) to which the search is restricted, or null to search the whole grid
+   * @see #start(AStarNode, AStarNode)
+   */
+  void start(AStarNode startNode, AStarNode targetNode, Rectangle bounds) {
+    this.nextGeneration();
+    this.start = this.index(startNode);
+    this.target = this.index(targetNode);
+    this.targetNode = targetNode;
+    this.bounds = bounds;
+    this.pathNodes = null;
+    this.path = null;
+    this.finished = false;
+    this.open(this.start, 0, 0, -1);
+  }
+
+  /**
+   * Continues the current search by expanding at most the specified number of nodes.
+   *
+   * @param maxExpansions the maximum number of nodes that are expanded by this call
+   * @return true if the search is finished, either because the path was found or because there is no path; otherwise false
+   */
+  boolean expand(int maxExpansions) {
+    int expansions = 0;
+    while (!this.finished && expansions < maxExpansions) {
+      if (this.heapSize == 0) {
+        this.finished = true;
+        break;
+      }
+
+      final int current = this.poll();
+      this.heapIndices[current] = CLOSED;
+      expansions++;
+
+      // when the current node reaches the target node, we've found the path
+      if (current == this.target) {
+        this.pathNodes = this.retracePath(this.start, this.target);
+        this.finished = true;
+        break;
+      }
+
+      this.updateAndOpenNeighborNodes(current, this.targetNode);
+    }
+
+    return this.finished;
+  }
+
+  /**
+   * Determines whether the current search is finished.
+   *
+   * @return true if the search is finished; otherwise false
+   */
+  boolean isFinished() {
+    return this.finished;
+  }
+
+  /**
+   * Gets the path that was found by the current search.
+   *
+   * @return the found path, or null if the search is not finished yet or if there is no path
+   */
+  Path getPath() {
+    if (this.path == null && this.pathNodes != null) {
+      this.path = createPath(this.node(this.start), this.pathNodes, this.node(this.target));
+    }
+
+    return this.path;
+  }
+
+  /**
+   * Gets the nodes between the start and the target node of the path that was found by the current search.
+   *
+   * @return the nodes of the found path, excluding the start and the target node, or null if the search is not finished yet or if there is no path
+   */
+  List<AStarNode> getPathNodes() {
+    return this.pathNodes;
+  }
+
+  /**
+   * Creates a {@link Path} that provides information about the start, target and points of a path that leads along the specified nodes.
+   *
+   * @param startNode  The start node of the path.
+   * @param nodes      The nodes between the start and the target node.
+   * @param targetNode The target node of the path.
+   * @return The created path.
+   */
+  static Path createPath(AStarNode startNode, List<AStarNode> nodes, AStarNode targetNode) {
+    final Path2D path2D = new GeneralPath(Path2D.WIND_NON_ZERO);
+    path2D.moveTo(startNode.getLocation().x, startNode.getLocation().y);
+
+    final List<Point2D> pointsOfPath = new ArrayList<>();
+    for (final AStarNode node : nodes) {
+      final Point currentPoint = node.getLocation();
+      pointsOfPath.add(currentPoint);
+      path2D.lineTo(currentPoint.x, currentPoint.y);
+    }
+
+    path2D.lineTo(targetNode.getLocation().x, targetNode.getLocation().y);
+
+    return new Path(startNode.getLocation(), targetNode.getLocation(), path2D, pointsOfPath);
+  }
+
+  /**
+   * Updates the costs and the predecessor of all neighbors of the specified node. Neighbors that are not opened yet are added to the open set and
+   * the costs of already opened neighbors are decreased if a cheaper way to them has been found. Closed and unwalkable neighbors are ignored.
+   *
+   * @param current    The index of the node for which the neighbors will be searched for.
+   * @param targetNode The target node of the path-finding operation.
+   */
+  private void updateAndOpenNeighborNodes(int current, AStarNode targetNode) {
+    final AStarNode currentNode = this.node(current);
+    for (final AStarNode neighborNode : this.grid.getNeighbors(currentNode)) {
+      if (!neighborNode.equals(targetNode) && !neighborNode.isWalkable()) {
+        continue;
+      }
+
+      if (this.bounds != null && !this.bounds.contains(neighborNode.getGridX(), neighborNode.getGridY())) {
+        continue;
+      }
+
+      final int neighbor = this.index(neighborNode);
+      final boolean reached = this.generations[neighbor] == this.generation;
+      if (reached && this.heapIndices[neighbor] == CLOSED) {
+        continue;
+      }
+
+      final double newGCost = this.gCosts[current] + currentNode.getCosts(neighborNode);
+      if (!reached) {
+        this.open(neighbor, newGCost, neighborNode.getCosts(targetNode), current);
+      } else if (newGCost < this.gCosts[neighbor]) {
+        this.gCosts[neighbor] = newGCost;
+        this.predecessors[neighbor] = current;
+        this.siftUp(this.heapIndices[neighbor]);
+      }
+    }
+  }
+
+  private void nextGeneration() {
+    this.heapSize = 0;
+    this.openCount = 0;
+    this.generation++;
+    if (this.generation == 0) {
+      // the stamps wrapped around, so values from very old searches could be mistaken for the current one
+      Arrays.fill(this.generations, 0);
+      this.generation = 1;
+    }
+  }
+
+  private void open(int node, double gCost, double hCost, int predecessor) {
+    this.generations[node] = this.generation;
+    this.gCosts[node] = gCost;
+    this.hCosts[node] = hCost;
+    this.predecessors[node] = predecessor;
+    this.openOrder[node] = this.openCount++;
+
+    this.heap[this.heapSize] = node;
+    this.heapIndices[node] = this.heapSize;
+    this.heapSize++;
+    this.siftUp(this.heapSize - 1);
+  }
+
+  private int poll() {
+    final int first = this.heap[0];
+    this.heapSize--;
+    if (this.heapSize > 0) {
+      this.move(this.heap[this.heapSize], 0);
+      this.siftDown(0);
+    }
+
+    return first;
+  }
+
+  private void siftUp(int position) {
+    final int node = this.heap[position];
+    while (position > 0) {
+      final int parent = (position - 1) >>> 1;
+      if (!this.isCheaper(node, this.heap[parent])) {
+        break;
+      }
+
+      this.move(this.heap[parent], position);
+      position = parent;
+    }
+
+    this.move(node, position);
+  }
+
+  private void siftDown(int position) {
+    final int node = this.heap[position];
+    final int half = this.heapSize >>> 1;
+    while (position < half) {
+      int child = 2 * position + 1;
+      final int right = child + 1;
+      if (right < this.heapSize && this.isCheaper(this.heap[right], this.heap[child])) {
+        child = right;
+      }
+
+      if (!this.isCheaper(this.heap[child], node)) {
+        break;
+      }
+
+      this.move(this.heap[child], position);
+      position = child;
+    }
+
+    this.move(node, position);
+  }
+
+  private void move(int node, int position) {
+    this.heap[position] = node;
+    this.heapIndices[node] = position;
+  }
+
+  /**
+   * F-costs (aka. total costs) are considered first. If they are equal, the H-costs are checked subsequently and finally the node that was opened
+   * first is preferred.
+   */
+  private boolean isCheaper(int a, int b) {
+    final double fCostA = this.gCosts[a] + this.hCosts[a];
+    final double fCostB = this.gCosts[b] + this.hCosts[b];
+    if (fCostA != fCostB) {
+      return fCostA < fCostB;
+    }
+
+    if (this.hCosts[a] != this.hCosts[b]) {
+      return this.hCosts[a] < this.hCosts[b];
+    }
+
+    return this.openOrder[a] < this.openOrder[b];
+  }
+
+  private int index(AStarNode node) {
+    return node.getGridX() * this.gridHeight + node.getGridY();
+  }
+
+  private AStarNode node(int index) {
+    return this.grid.getGrid()[index / this.gridHeight][index % this.gridHeight];
+  }
+
+  /**
+   * Retraces the found path from the target back to the start by following the predecessors.
+   *
+   * @param start  The index of the start node for the path.
+   * @param target The index of the target node for the path.
+   * @return The nodes of the found path, excluding the start and the target node.
+   */
+  private List<AStarNode> retracePath(int start, int target) {
+    final List<AStarNode> path = new ArrayList<>();
+    if (target == start) {
+      // the start node has no predecessor
+      return path;
+    }
+
+    int current = this.predecessors[target];
+    while (current != start) {
+      path.add(this.node(current));
+      current = this.predecessors[current];
+    }
+    Collections.reverse(path);
+    return path;
+  }
+}
@@ -0,0 +1,101 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import java.util.Arrays;
+
+/**
+ * A binary min-heap of node indices that is used by the searches on an {@link AStarGrid}. Nodes are not updated in place but added again with
+ * their new costs, outdated entries have to be skipped by the consumer. Ties are broken by a secondary value.
+ */
+final class CostHeap {
+  private int[] nodes = new int[64];
+  private double[] costs = new double[64];
+  private double[] tieBreakers = new double[64];
+  private int size;
+
+  boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  void clear() {
+    this.size = 0;
+  }
+
+  void add(int node, double cost, double tieBreaker) {
+    if (this.size == this.nodes.length) {
+      this.nodes = Arrays.copyOf(this.nodes, this.size * 2);
+      this.costs = Arrays.copyOf(this.costs, this.size * 2);
+      this.tieBreakers = Arrays.copyOf(this.tieBreakers, this.size * 2);
+    }
+
+    int position = this.size++;
+    while (position > 0) {
+      final int parent = (position - 1) >>> 1;
+      if (!this.isCheaper(cost, tieBreaker, parent)) {
+        break;
+      }
+
+      this.move(parent, position);
+      position = parent;
+    }
+
+    this.set(position, node, cost, tieBreaker);
+  }
+
+  /**
+   * Gets the costs of the node that would be returned by the next call of {@link #poll()}.
+   *
+   * @return the costs of the cheapest node
+   */
+  double peekCost() {
+    return this.costs[0];
+  }
+
+  int poll() {
+    final int first = this.nodes[0];
+    this.size--;
+    if (this.size == 0) {
+      return first;
+    }
+
+    final int node = this.nodes[this.size];
+    final double cost = this.costs[this.size];
+    final double tieBreaker = this.tieBreakers[this.size];
+    int position = 0;
+    final int half = this.size >>> 1;
+    while (position < half) {
+      int child = 2 * position + 1;
+      final int right = child + 1;
+      if (right < this.size && this.isCheaper(this.costs[right], this.tieBreakers[right], child)) {
+        child = right;
+      }
+
+      if (!this.isCheaper(this.costs[child], this.tieBreakers[child], cost, tieBreaker)) {
+        break;
+      }
+
+      this.move(child, position);
+      position = child;
+    }
+
+    this.set(position, node, cost, tieBreaker);
+    return first;
+  }
+
+  private boolean isCheaper(double cost, double tieBreaker, int position) {
+    return this.isCheaper(cost, tieBreaker, this.costs[position], this.tieBreakers[position]);
+  }
+
+  private boolean isCheaper(double cost, double tieBreaker, double otherCost, double otherTieBreaker) {
+    return cost < otherCost || cost == otherCost && tieBreaker < otherTieBreaker;
+  }
+
+  private void move(int from, int to) {
+    this.set(to, this.nodes[from], this.costs[from], this.tieBreakers[from]);
+  }
+
+  private void set(int position, int node, double cost, double tieBreaker) {
+    this.nodes[position] = node;
+    this.costs[position] = cost;
+    this.tieBreakers[position] = tieBreaker;
+  }
+}
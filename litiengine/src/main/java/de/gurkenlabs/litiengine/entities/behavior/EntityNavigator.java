@@ -2,6 +2,7 @@ package de.gurkenlabs.litiengine.entities.behavior;
 
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.UpdatePhase;
 import de.gurkenlabs.litiengine.entities.IMobileEntity;
 import de.gurkenlabs.litiengine.graphics.IRenderable;
 import de.gurkenlabs.litiengine.util.geom.GeometricUtilities;
@@ -11,6 +12,7 @@ import java.awt.geom.Path2D;
 import java.awt.geom.PathIterator;
 import java.awt.geom.Point2D;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Predicate;
 
@@ -30,6 +32,9 @@ public class EntityNavigator implements IUpdateable, IRenderable {
   private int currentSegment;
   private Path path;
   private float acceptableError;
+  private PathFindingService pathFindingService;
+  private CompletableFuture<Path> pendingPath;
+  private FlowField flowField;
 
   /**
    * Constructs an EntityNavigator with a specified entity and path finder.
@@ -102,6 +107,15 @@ public class EntityNavigator implements IUpdateable, IRenderable {
     return this.path;
   }
 
+  /**
+   * Gets the flow field that the entity currently follows.
+   *
+   * @return the current flow field, or null if the entity is not navigated by a flow field
+   */
+  public FlowField getFlowField() {
+    return this.flowField;
+  }
+
   /**
    * Gets the path finder used for navigation.
    *
@@ -111,6 +125,15 @@ public class EntityNavigator implements IUpdateable, IRenderable {
     return this.pathFinder;
   }
 
+  /**
+   * Gets the service that searches the paths for {@link #navigateAsync(Point2D)}.
+   *
+   * @return the path finding service of this instance, or the default service if none has been set
+   */
+  public PathFindingService getPathFindingService() {
+    return this.pathFindingService != null ? this.pathFindingService : PathFindingService.getDefault();
+  }
+
   /**
    * Gets the acceptable error for navigation.
    *
@@ -126,7 +149,7 @@ public class EntityNavigator implements IUpdateable, IRenderable {
    * @return true if the entity is navigating, false otherwise
    */
   public boolean isNavigating() {
-    return getPath() != null;
+    return getPath() != null || getFlowField() != null;
   }
 
   /**
@@ -136,6 +159,8 @@ public class EntityNavigator implements IUpdateable, IRenderable {
    * @return true if the path is set successfully, false otherwise
    */
   public boolean navigate(final Path2D path) {
+    this.cancelPendingPath();
+    this.flowField = null;
     this.path = new Path(path);
     return getPath() != null;
   }
@@ -147,6 +172,8 @@ public class EntityNavigator implements IUpdateable, IRenderable {
    * @return true if the path is found and set successfully, false otherwise
    */
   public boolean navigate(final Point2D target) {
+    this.cancelPendingPath();
+    this.flowField = null;
     if (this.getPathFinder() != null) {
       this.path = getPathFinder().findPath(getEntity(), target);
     }
@@ -154,6 +181,52 @@ public class EntityNavigator implements IUpdateable, IRenderable {
     return getPath() != null;
   }
 
+  /**
+   * Navigates the entity along the specified flow field until it reaches the field's target. Instead of following a precalculated path, the
+   * entity moves to the next node of the flow field with every update, so any number of entities can share a single flow field.
+   *
+   * @param flowField the flow field to follow
+   * @return true if the target of the flow field can be reached from the entity's current location; otherwise false
+   * @see FlowFieldGenerator
+   */
+  public boolean navigate(final FlowField flowField) {
+    this.cancelPendingPath();
+    this.currentSegment = 0;
+    this.path = null;
+    this.flowField = flowField;
+
+    final AStarNode node = flowField.getGrid().getNode(getEntity().getCollisionBoxCenter());
+    return node != null && flowField.isReachable(node);
+  }
+
+  /**
+   * Searches a path to the specified target point asynchronously and starts navigating along it once it has been found. The search is performed
+   * by the {@link #getPathFindingService()}, so the game loop is not blocked while the path is searched. A pending search is cancelled if another
+   * navigation is started or the navigation is stopped.
+   *
+   * @param target the target point to navigate to
+   * @return a future that is completed on the game loop thread with the path that is navigated, or null if no path was found
+   */
+  public CompletableFuture<Path> navigateAsync(final Point2D target) {
+    this.cancelPendingPath();
+    if (this.getPathFinder() == null) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    final CompletableFuture<Path> future = this.getPathFindingService().findPath(this.getPathFinder(), this.getEntity(), target);
+    this.pendingPath = future;
+    return future.thenApply(foundPath -> {
+      if (this.pendingPath == future) {
+        this.pendingPath = null;
+        this.flowField = null;
+        this.currentSegment = 0;
+        this.path = foundPath;
+      }
+
+      return foundPath;
+    });
+  }
+
   @Override
   public void render(Graphics2D g) {
     if (this.getPath() == null) {
@@ -189,27 +262,39 @@ public class EntityNavigator implements IUpdateable, IRenderable {
   }
 
   /**
-   * Stops the navigation and resets the current segment and path.
+   * Sets the service that searches the paths for {@link #navigateAsync(Point2D)}.
+   *
+   * @param pathFindingService the path finding service to use, or null to use the default service
+   */
+  public void setPathFindingService(PathFindingService pathFindingService) {
+    this.pathFindingService = pathFindingService;
+  }
+
+  /**
+   * Stops the navigation and resets the current segment and path. A pending asynchronous search is cancelled.
    */
   public void stop() {
+    this.cancelPendingPath();
     this.currentSegment = 0;
     this.path = null;
+    this.flowField = null;
 
     for (NavigationListener listener : this.listeners) {
       listener.stopped();
     }
   }
 
+  @Override
+  public UpdatePhase getUpdatePhase() {
+    return UpdatePhase.AI;
+  }
+
   @Override
   public void update() {
     if (!this.isNavigating()) {
       return;
     }
 
-    if (getPath() == null) {
-      return;
-    }
-
     for (final Predicate<IMobileEntity> pred : this.cancelNavigationConditions) {
       if (pred.test(getEntity())) {
         stop();
@@ -217,6 +302,15 @@ public class EntityNavigator implements IUpdateable, IRenderable {
       }
     }
 
+    if (getFlowField() != null) {
+      this.followFlowField();
+      return;
+    }
+
+    if (getPath() == null) {
+      return;
+    }
+
     final PathIterator pi = getPath().getPath().getPathIterator(null);
     if (pi.isDone()) {
       stop();
@@ -256,12 +350,37 @@ public class EntityNavigator implements IUpdateable, IRenderable {
       return;
     }
 
+    this.moveTowards(coordinates[0], coordinates[1], distance);
+  }
+
+  private void followFlowField() {
+    final double x = getEntity().getCollisionBox().getCenterX();
+    final double y = getEntity().getCollisionBox().getCenterY();
+    final AStarNode node = getFlowField().getGrid().getNode(x, y);
+    if (node == null || !getFlowField().isReachable(node)) {
+      stop();
+      return;
+    }
+
+    // within the target node, the entity moves directly to the target's location
+    final AStarNode next = getFlowField().getNextNode(node);
+    final Point2D location = next != null ? next.getLocation() : getFlowField().getTarget().getLocation();
+    final double distance = GeometricUtilities.distance(x, y, location.getX(), location.getY());
+    if (next == null && distance < getAcceptableError()) {
+      stop();
+      return;
+    }
+
+    this.moveTowards(location.getX(), location.getY(), distance);
+  }
+
+  private void moveTowards(final double x, final double y, final double distance) {
     final double angle =
       GeometricUtilities.calcRotationAngleInDegrees(
         getEntity().getCollisionBox().getCenterX(),
         getEntity().getCollisionBox().getCenterY(),
-        coordinates[0],
-        coordinates[1]);
+        x,
+        y);
     final float pixelsPerTick = getEntity().getTickVelocity();
     Game.physics()
       .move(
@@ -269,4 +388,11 @@ public class EntityNavigator implements IUpdateable, IRenderable {
         (float) angle,
         (float) (distance < pixelsPerTick ? distance : pixelsPerTick));
   }
+
+  private void cancelPendingPath() {
+    if (this.pendingPath != null) {
+      this.pendingPath.cancel(false);
+      this.pendingPath = null;
+    }
+  }
 }
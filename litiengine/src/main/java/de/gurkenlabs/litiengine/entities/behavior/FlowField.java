@@ -0,0 +1,305 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+
+/**
+ * A flow field that leads from every node of an {@link AStarGrid} to a single target node. It consists of an integration field that contains the
+ * costs of the cheapest path from each node to the target and a direction field that contains the next node on that path. Once the field has been
+ * calculated, any number of entities can be steered towards the target by looking up the next node of their current node in constant time.
+ *
+ * <p>
+ * The costs between two nodes are determined by {@link AStarNode#getCosts(AStarNode)}, so entities that follow a flow field take the same paths as
+ * an {@link AStarPathFinder} would find. If the walkable state of nodes changes, the field can be updated by {@link #update(Rectangle2D)}, which
+ * only recalculates the nodes whose paths are affected by the change.
+ *
+ * @see FlowFieldGenerator
+ * @see EntityNavigator#navigate(FlowField)
+ */
+public class FlowField {
+  private static final byte NONE = -1;
+  private static final int[] OFFSETS_X = {0, 0, 1, -1, -1, 1, -1, 1};
+  private static final int[] OFFSETS_Y = {-1, 1, 0, 0, -1, -1, 1, 1};
+
+  private final AStarGrid grid;
+  private final AStarNode target;
+  private final int width;
+  private final int height;
+  private final float[] costs;
+  private final byte[] directions;
+  private final CostHeap heap = new CostHeap();
+
+  /**
+   * Calculates a new flow field that leads to the specified target node.
+   *
+   * @param grid   the grid on which the flow field is calculated
+   * @param target the node that all paths of the flow field lead to
+   */
+  public FlowField(AStarGrid grid, AStarNode target) {
+    this.grid = grid;
+    this.target = target;
+    this.width = grid.getGrid().length;
+    this.height = this.width == 0 ? 0 : grid.getGrid()[0].length;
+    this.costs = new float[this.width * this.height];
+    this.directions = new byte[this.width * this.height];
+    this.recompute();
+  }
+
+  /**
+   * Gets the grid on which this flow field is calculated.
+   *
+   * @return the grid of this flow field
+   */
+  public AStarGrid getGrid() {
+    return this.grid;
+  }
+
+  /**
+   * Gets the node that all paths of this flow field lead to.
+   *
+   * @return the target node
+   */
+  public AStarNode getTarget() {
+    return this.target;
+  }
+
+  /**
+   * Gets the costs of the cheapest path from the specified node to the target.
+   *
+   * @param node the node for which to get the costs
+   * @return the costs of the path, or {@link Double#POSITIVE_INFINITY} if the target cannot be reached from the node
+   */
+  public synchronized double getCosts(AStarNode node) {
+    return this.costs[this.getIndex(node.getGridX(), node.getGridY())];
+  }
+
+  /**
+   * Determines whether the target can be reached from the specified node.
+   *
+   * @param node the node to check
+   * @return true if there is a path from the node to the target; otherwise false
+   */
+  public boolean isReachable(AStarNode node) {
+    return !Double.isInfinite(this.getCosts(node));
+  }
+
+  /**
+   * Gets the next node on the cheapest path from the specified node to the target.
+   *
+   * @param node the node for which to get the next node
+   * @return the next node, or null if the node is the target itself or if the target cannot be reached from the node
+   */
+  public synchronized AStarNode getNextNode(AStarNode node) {
+    final byte direction = this.directions[this.getIndex(node.getGridX(), node.getGridY())];
+    if (direction == NONE) {
+      return null;
+    }
+
+    return this.grid.getGrid()[node.getGridX() + OFFSETS_X[direction]][node.getGridY() + OFFSETS_Y[direction]];
+  }
+
+  /**
+   * Gets the location of the next node on the cheapest path from the node at the specified point to the target.
+   *
+   * @param point the point for which to get the next location
+   * @return the location of the next node, or null if the point is outside the grid, at the target or if the target cannot be reached
+   */
+  public Point2D getNextLocation(Point2D point) {
+    final AStarNode node = this.grid.getNode(point);
+    if (node == null) {
+      return null;
+    }
+
+    final AStarNode next = this.getNextNode(node);
+    return next == null ? null : next.getLocation();
+  }
+
+  /**
+   * Recalculates the whole flow field from scratch, regardless of which nodes have changed.
+   *
+   * @see #update(Rectangle2D)
+   */
+  public synchronized void recompute() {
+    Arrays.fill(this.costs, Float.POSITIVE_INFINITY);
+    Arrays.fill(this.directions, NONE);
+    if (this.width == 0 || this.height == 0) {
+      return;
+    }
+
+    final int index = this.getIndex(this.target.getGridX(), this.target.getGridY());
+    this.costs[index] = 0;
+    this.heap.clear();
+    this.heap.add(index, 0, 0);
+    this.integrate();
+  }
+
+  /**
+   * Updates the flow field after the walkable state of the nodes within the specified rectangle has changed. All nodes whose paths lead through
+   * the changed nodes are recalculated, as well as all nodes that can now reach the target on a cheaper path, e.g. through a node that has become
+   * walkable.
+   *
+   * @param rectangle the area (in pixels) within which the walkable state of nodes has changed
+   */
+  public synchronized void update(Rectangle2D rectangle) {
+    if (this.width == 0 || this.height == 0) {
+      return;
+    }
+
+    final int nodeSize = this.grid.getNodeSize();
+    final int minX = Math.clamp((long) Math.floor(rectangle.getMinX() / nodeSize), 0, this.width - 1);
+    final int minY = Math.clamp((long) Math.floor(rectangle.getMinY() / nodeSize), 0, this.height - 1);
+    final int maxX = Math.clamp((long) Math.floor(rectangle.getMaxX() / nodeSize), 0, this.width - 1);
+    final int maxY = Math.clamp((long) Math.floor(rectangle.getMaxY() / nodeSize), 0, this.height - 1);
+
+    // all changed nodes are recalculated, even the ones that were unreachable before because they might have become walkable
+    final int targetIndex = this.getIndex(this.target.getGridX(), this.target.getGridY());
+    int[] invalidated = new int[64];
+    int count = 0;
+    for (int x = minX; x <= maxX; x++) {
+      for (int y = minY; y <= maxY; y++) {
+        final int index = this.getIndex(x, y);
+        if (index != targetIndex) {
+          this.costs[index] = Float.POSITIVE_INFINITY;
+          this.directions[index] = NONE;
+          invalidated = push(invalidated, count++, index);
+        }
+      }
+    }
+
+    // invalidate all nodes that move through or diagonally past the changed nodes
+    for (int x = minX; x <= maxX; x++) {
+      for (int y = minY; y <= maxY; y++) {
+        for (int direction = 0; direction < OFFSETS_X.length; direction++) {
+          final int neighborX = x + OFFSETS_X[direction];
+          final int neighborY = y + OFFSETS_Y[direction];
+          if (this.contains(neighborX, neighborY) && this.passes(neighborX, neighborY, x, y) && this.invalidate(neighborX, neighborY)) {
+            invalidated = push(invalidated, count++, this.getIndex(neighborX, neighborY));
+          }
+        }
+      }
+    }
+
+    // invalidate all nodes whose paths lead through an invalidated node
+    for (int i = 0; i < count; i++) {
+      final int x = invalidated[i] / this.height;
+      final int y = invalidated[i] % this.height;
+      for (int direction = 0; direction < OFFSETS_X.length; direction++) {
+        final int neighborX = x + OFFSETS_X[direction];
+        final int neighborY = y + OFFSETS_Y[direction];
+        if (this.contains(neighborX, neighborY) && this.leadsTo(neighborX, neighborY, x, y) && this.invalidate(neighborX, neighborY)) {
+          invalidated = push(invalidated, count++, this.getIndex(neighborX, neighborY));
+        }
+      }
+    }
+
+    // the valid neighbors of the invalidated nodes (including the ones around the border of the rectangle) are the starting points for the
+    // recalculation
+    this.heap.clear();
+    this.heap.add(targetIndex, 0, 0);
+    for (int i = 0; i < count; i++) {
+      final int x = invalidated[i] / this.height;
+      final int y = invalidated[i] % this.height;
+      for (int direction = 0; direction < OFFSETS_X.length; direction++) {
+        final int neighborX = x + OFFSETS_X[direction];
+        final int neighborY = y + OFFSETS_Y[direction];
+        if (this.contains(neighborX, neighborY)) {
+          final int neighbor = this.getIndex(neighborX, neighborY);
+          if (!Float.isInfinite(this.costs[neighbor])) {
+            this.heap.add(neighbor, this.costs[neighbor], 0);
+          }
+        }
+      }
+    }
+
+    this.integrate();
+  }
+
+  /**
+   * Propagates the costs of all nodes in the heap to their neighbors, i.e. runs a Dijkstra search backwards from the target.
+   */
+  private void integrate() {
+    final AStarNode[][] nodes = this.grid.getGrid();
+    while (!this.heap.isEmpty()) {
+      final double cost = this.heap.peekCost();
+      final int current = this.heap.poll();
+      if (cost > this.costs[current]) {
+        continue;
+      }
+
+      final AStarNode currentNode = nodes[current / this.height][current % this.height];
+      for (final AStarNode neighbor : this.grid.getNeighbors(currentNode)) {
+        // diagonal neighbors are not necessarily walkable
+        if (!neighbor.isWalkable()) {
+          continue;
+        }
+
+        final int index = this.getIndex(neighbor.getGridX(), neighbor.getGridY());
+        final float newCost = (float) (cost + neighbor.getCosts(currentNode));
+        if (newCost < this.costs[index]) {
+          this.costs[index] = newCost;
+          this.directions[index] = getDirection(currentNode.getGridX() - neighbor.getGridX(), currentNode.getGridY() - neighbor.getGridY());
+          this.heap.add(index, newCost, 0);
+        }
+      }
+    }
+  }
+
+  private boolean invalidate(int x, int y) {
+    final int index = this.getIndex(x, y);
+    if (index == this.getIndex(this.target.getGridX(), this.target.getGridY()) || Float.isInfinite(this.costs[index])) {
+      return false;
+    }
+
+    this.costs[index] = Float.POSITIVE_INFINITY;
+    this.directions[index] = NONE;
+    return true;
+  }
+
+  /**
+   * Determines whether the node at the specified location moves directly to the other node.
+   */
+  private boolean leadsTo(int x, int y, int otherX, int otherY) {
+    final byte direction = this.directions[this.getIndex(x, y)];
+    return direction != NONE && x + OFFSETS_X[direction] == otherX && y + OFFSETS_Y[direction] == otherY;
+  }
+
+  /**
+   * Determines whether the move of the node at the specified location depends on the other node, either because it moves to it or because it
+   * moves diagonally past it.
+   */
+  private boolean passes(int x, int y, int otherX, int otherY) {
+    final byte direction = this.directions[this.getIndex(x, y)];
+    if (direction == NONE) {
+      return false;
+    }
+
+    final int nextX = x + OFFSETS_X[direction];
+    final int nextY = y + OFFSETS_Y[direction];
+    return (nextX == otherX || x == otherX) && (nextY == otherY || y == otherY);
+  }
+
+  private boolean contains(int x, int y) {
+    return x >= 0 && x < this.width && y >= 0 && y < this.height;
+  }
+
+  private int getIndex(int x, int y) {
+    return x * this.height + y;
+  }
+
+  private static byte getDirection(int offsetX, int offsetY) {
+    for (byte direction = 0; direction < OFFSETS_X.length; direction++) {
+      if (OFFSETS_X[direction] == offsetX && OFFSETS_Y[direction] == offsetY) {
+        return direction;
+      }
+    }
+
+    return NONE;
+  }
+
+  private static int[] push(int[] array, int index, int value) {
+    final int[] result = index < array.length ? array : Arrays.copyOf(array, array.length * 2);
+    result[index] = value;
+    return result;
+  }
+}
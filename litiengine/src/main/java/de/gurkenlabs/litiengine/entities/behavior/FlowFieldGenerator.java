@@ -0,0 +1,118 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Generates and caches the {@link FlowField}s of an {@link AStarGrid}. Entities that head to the same target share a single flow field, which
+ * is only calculated once and then kept up to date: whenever the walkable state of nodes is updated via
+ * {@link AStarGrid#updateWalkable(Rectangle2D)}, all cached flow fields are updated incrementally.
+ *
+ * <p>
+ * The number of cached flow fields is limited; if it is exceeded, the least recently requested flow field is evicted and no longer updated.
+ */
+public class FlowFieldGenerator {
+  /** The default number of flow fields that are cached by a generator. */
+  public static final int DEFAULT_MAX_FLOW_FIELDS = 16;
+
+  private final AStarGrid grid;
+  private final Map<AStarNode, FlowField> flowFields;
+  private final WalkableUpdatedListener walkableUpdatedListener = this::update;
+
+  /**
+   * Initializes a new instance of the {@code FlowFieldGenerator} class that caches up to {@link #DEFAULT_MAX_FLOW_FIELDS} flow fields.
+   *
+   * @param grid the grid on which the flow fields are calculated
+   */
+  public FlowFieldGenerator(AStarGrid grid) {
+    this(grid, DEFAULT_MAX_FLOW_FIELDS);
+  }
+
+  /**
+   * Initializes a new instance of the {@code FlowFieldGenerator} class.
+   *
+   * @param grid          the grid on which the flow fields are calculated
+   * @param maxFlowFields the maximum number of flow fields that are cached
+   */
+  public FlowFieldGenerator(AStarGrid grid, int maxFlowFields) {
+    this.grid = grid;
+    this.flowFields = new LinkedHashMap<>(16, 0.75f, true) {
+      private static final long serialVersionUID = -2405126712904435148L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<AStarNode, FlowField> eldest) {
+        return this.size() > maxFlowFields;
+      }
+    };
+
+    this.grid.onWalkableUpdated(this.walkableUpdatedListener);
+  }
+
+  /**
+   * Gets the grid on which the flow fields of this generator are calculated.
+   *
+   * @return the grid of this generator
+   */
+  public AStarGrid getGrid() {
+    return this.grid;
+  }
+
+  /**
+   * Gets the flow field that leads to the node at the specified point. The flow field is calculated if it is not cached yet.
+   *
+   * @param target the target point of the flow field
+   * @return the flow field that leads to the target, or null if the target is outside the grid
+   */
+  public FlowField getFlowField(Point2D target) {
+    final AStarNode targetNode = this.grid.getNode(target);
+    return targetNode == null ? null : this.getFlowField(targetNode);
+  }
+
+  /**
+   * Gets the flow field that leads to the specified node. The flow field is calculated if it is not cached yet.
+   *
+   * @param target the target node of the flow field
+   * @return the flow field that leads to the target node
+   */
+  public synchronized FlowField getFlowField(AStarNode target) {
+    return this.flowFields.computeIfAbsent(target, node -> new FlowField(this.grid, node));
+  }
+
+  /**
+   * Gets the number of flow fields that are currently cached by this generator.
+   *
+   * @return the number of cached flow fields
+   */
+  public synchronized int getCachedFlowFields() {
+    return this.flowFields.size();
+  }
+
+  /**
+   * Updates all cached flow fields after the walkable state of the nodes within the specified rectangle has changed. This is done automatically
+   * for all updates via {@link AStarGrid#updateWalkable(Rectangle2D)}.
+   *
+   * @param rectangle the area (in pixels) within which the walkable state of nodes has changed
+   */
+  public synchronized void update(Rectangle2D rectangle) {
+    for (final FlowField flowField : this.flowFields.values()) {
+      flowField.update(rectangle);
+    }
+  }
+
+  /**
+   * Removes all cached flow fields.
+   */
+  public synchronized void clear() {
+    this.flowFields.clear();
+  }
+
+  /**
+   * Removes all cached flow fields and stops listening to updates of the grid. The generator must not be used after it has been disposed.
+   */
+  public void dispose() {
+    this.grid.removeWalkableUpdatedListener(this.walkableUpdatedListener);
+    this.clear();
+  }
+}
@@ -0,0 +1,716 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import de.gurkenlabs.litiengine.environment.tilemap.IMap;
+import java.awt.Dimension;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A pathfinder that implements hierarchical path-finding (HPA*) on top of an {@link AStarGrid}. The grid is divided into square clusters and the
+ * entrances between adjacent clusters are connected by an abstract graph that contains the costs of all paths within each cluster. A search
+ * first finds a path on this much smaller graph and then only refines its segments by searches that are restricted to a single cluster.
+ *
+ * <p>
+ * The found paths are close to, but not necessarily as short as the paths of an {@link AStarPathFinder}. In exchange, the number of expanded nodes
+ * no longer grows with the size of the whole grid, which makes this pathfinder suitable for large maps with many navigating entities.
+ *
+ * <p>
+ * The abstract graph is built when the pathfinder is created. If the walkable state of nodes is updated via
+ * {@link AStarGrid#updateWalkable(Rectangle2D)}, only the affected clusters are rebuilt before the next search. Changes that are made directly to
+ * the nodes of the grid must be announced by {@link #invalidate(Rectangle2D)}.
+ */
+public class HierarchicalPathFinder extends AStarPathFinder {
+  /** The default width and height of a cluster in nodes. */
+  public static final int DEFAULT_CLUSTER_SIZE = 16;
+
+  // entrances that are at least this wide get a transition at both ends instead of a single one in the middle
+  private static final int MIN_DOUBLE_TRANSITION_WIDTH = 6;
+
+  // the borders that are owned by a cluster, all other borders are owned by the respective neighbor
+  private static final Point[] OWNED_BORDERS = {new Point(1, 0), new Point(0, 1), new Point(1, 1), new Point(-1, 1)};
+
+  private final int clusterSize;
+  private final Cluster[][] clusters;
+  private final Map<Border, List<Transition>> borders = new HashMap<>();
+  private final Set<Point> dirtyClusters = new HashSet<>();
+  private final Map<AStarNode, Entrance> entrances = new HashMap<>();
+  private final List<Entrance> entrancesById = new ArrayList<>();
+  private final Deque<Integer> freeIds = new ArrayDeque<>();
+  private final AbstractSearch abstractSearch = new AbstractSearch();
+  private final CostHeap heap = new CostHeap();
+
+  /**
+   * Instantiates a new hierarchical pathfinder with a predefined grid and the {@link #DEFAULT_CLUSTER_SIZE}.
+   *
+   * @param grid the grid used for pathfinding
+   */
+  public HierarchicalPathFinder(AStarGrid grid) {
+    this(grid, DEFAULT_CLUSTER_SIZE);
+  }
+
+  /**
+   * Instantiates a new hierarchical pathfinder with a predefined grid and the specified cluster size.
+   *
+   * @param grid        the grid used for pathfinding
+   * @param clusterSize the width and height of a cluster in nodes
+   */
+  public HierarchicalPathFinder(AStarGrid grid, int clusterSize) {
+    super(grid);
+    if (clusterSize < 1) {
+      throw new IllegalArgumentException("The cluster size must be at least 1 but was " + clusterSize);
+    }
+
+    this.clusterSize = clusterSize;
+    this.clusters = this.createClusters();
+    this.getGrid().onWalkableUpdated(this::invalidate);
+    this.rebuildDirtyClusters();
+  }
+
+  /**
+   * Instantiates a new hierarchical pathfinder with a grid of the specified size and node size.
+   *
+   * @param size         the dimensions of the grid
+   * @param gridNodeSize the size of each grid node
+   */
+  public HierarchicalPathFinder(Dimension size, int gridNodeSize) {
+    this(new AStarGrid(size, gridNodeSize));
+  }
+
+  /**
+   * Instantiates a new hierarchical pathfinder using the map's size and a specified grid node size.
+   *
+   * @param map          the map used for pathfinding
+   * @param gridNodeSize the size of each grid node
+   */
+  public HierarchicalPathFinder(final IMap map, final int gridNodeSize) {
+    this(map.getSizeInPixels(), gridNodeSize);
+  }
+
+  /**
+   * Instantiates a new hierarchical pathfinder using the map's size and the map's tile size as the grid node size.
+   *
+   * @param map the map used for pathfinding
+   */
+  public HierarchicalPathFinder(final IMap map) {
+    this(map.getSizeInPixels(), map.getTileSize().width);
+  }
+
+  /**
+   * Gets the width and height of the clusters of this pathfinder.
+   *
+   * @return the cluster size in nodes
+   */
+  public int getClusterSize() {
+    return this.clusterSize;
+  }
+
+  /**
+   * Finds a path from the start node to the target node by searching the abstract graph of the clusters and refining the segments of the
+   * resulting path within their clusters.
+   *
+   * @param startNode  the starting node of the path
+   * @param targetNode the target node of the path
+   * @return the calculated path, or null if no path is found
+   */
+  @Override
+  public Path findPath(AStarNode startNode, AStarNode targetNode) {
+    if (startNode.equals(targetNode) || !targetNode.isWalkable()) {
+      return null;
+    }
+
+    final List<AStarNode> waypoints;
+    synchronized (this) {
+      this.rebuildDirtyClusters();
+      waypoints = this.findAbstractPath(startNode, targetNode);
+    }
+
+    return waypoints == null ? null : this.refine(waypoints);
+  }
+
+  /**
+   * Marks all clusters that intersect with the specified rectangle to be rebuilt before the next search. This is done automatically for all
+   * updates via {@link AStarGrid#updateWalkable(Rectangle2D)}.
+   *
+   * @param rectangle the area (in pixels) within which the walkable state of nodes has changed
+   */
+  public synchronized void invalidate(Rectangle2D rectangle) {
+    if (this.clusters.length == 0 || this.clusters[0].length == 0) {
+      return;
+    }
+
+    final int nodeSize = this.getGrid().getNodeSize();
+    final int minX = Math.clamp((long) Math.floor(rectangle.getMinX() / nodeSize) / this.clusterSize, 0, this.clusters.length - 1);
+    final int minY = Math.clamp((long) Math.floor(rectangle.getMinY() / nodeSize) / this.clusterSize, 0, this.clusters[0].length - 1);
+    final int maxX = Math.clamp((long) Math.floor(rectangle.getMaxX() / nodeSize) / this.clusterSize, 0, this.clusters.length - 1);
+    final int maxY = Math.clamp((long) Math.floor(rectangle.getMaxY() / nodeSize) / this.clusterSize, 0, this.clusters[0].length - 1);
+    for (int x = minX; x <= maxX; x++) {
+      for (int y = minY; y <= maxY; y++) {
+        this.dirtyClusters.add(new Point(x, y));
+      }
+    }
+  }
+
+  /**
+   * Gets the number of clusters that are rebuilt before the next search.
+   *
+   * @return the number of invalidated clusters
+   */
+  synchronized int getDirtyClusterCount() {
+    return this.dirtyClusters.size();
+  }
+
+  private Cluster[][] createClusters() {
+    final AStarNode[][] nodes = this.getGrid().getGrid();
+    final int width = nodes.length;
+    final int height = width == 0 ? 0 : nodes[0].length;
+    final Cluster[][] created = new Cluster[(width + this.clusterSize - 1) / this.clusterSize][(height + this.clusterSize - 1) / this.clusterSize];
+    for (int x = 0; x < created.length; x++) {
+      for (int y = 0; y < created[x].length; y++) {
+        final int minX = x * this.clusterSize;
+        final int minY = y * this.clusterSize;
+        created[x][y] = new Cluster(new Rectangle(minX, minY, Math.min(this.clusterSize, width - minX), Math.min(this.clusterSize, height - minY)));
+        this.dirtyClusters.add(new Point(x, y));
+      }
+    }
+
+    return created;
+  }
+
+  /**
+   * Rebuilds all invalidated clusters. Neighbors of these clusters are only rebuilt if the transitions on their shared border have changed.
+   */
+  private void rebuildDirtyClusters() {
+    if (this.dirtyClusters.isEmpty()) {
+      return;
+    }
+
+    final Set<Point> rebuild = new HashSet<>(this.dirtyClusters);
+    final Set<Border> scanned = new HashSet<>();
+    for (final Point cluster : this.dirtyClusters) {
+      for (int offsetX = -1; offsetX <= 1; offsetX++) {
+        for (int offsetY = -1; offsetY <= 1; offsetY++) {
+          final Border border = this.getBorder(cluster.x, cluster.y, offsetX, offsetY);
+          if (border == null || !scanned.add(border)) {
+            continue;
+          }
+
+          final List<Transition> transitions = this.findTransitions(border);
+          if (!transitions.equals(this.borders.put(border, transitions))) {
+            rebuild.add(new Point(cluster.x + offsetX, cluster.y + offsetY));
+          }
+        }
+      }
+    }
+
+    // all entrances need to be known before the transitions between them can be resolved
+    for (final Point cluster : rebuild) {
+      this.updateEntrances(this.clusters[cluster.x][cluster.y], cluster.x, cluster.y);
+    }
+
+    for (final Point cluster : rebuild) {
+      this.updateCosts(this.clusters[cluster.x][cluster.y]);
+    }
+
+    this.dirtyClusters.clear();
+  }
+
+  private Border getBorder(int clusterX, int clusterY, int offsetX, int offsetY) {
+    if ((offsetX == 0 && offsetY == 0) || !this.isCluster(clusterX + offsetX, clusterY + offsetY)) {
+      return null;
+    }
+
+    for (final Point owned : OWNED_BORDERS) {
+      if (owned.x == offsetX && owned.y == offsetY) {
+        return new Border(clusterX, clusterY, offsetX, offsetY);
+      }
+    }
+
+    return new Border(clusterX + offsetX, clusterY + offsetY, -offsetX, -offsetY);
+  }
+
+  private boolean isCluster(int clusterX, int clusterY) {
+    return clusterX >= 0 && clusterX < this.clusters.length && clusterY >= 0 && clusterY < this.clusters[clusterX].length;
+  }
+
+  /**
+   * Determines the transitions between the two clusters of a border. Contiguous walkable sections of a border form an entrance that is crossed at
+   * its center or, if it is wide, at both of its ends.
+   */
+  private List<Transition> findTransitions(Border border) {
+    final Rectangle owner = this.clusters[border.x()][border.y()].bounds;
+    final List<Transition> transitions = new ArrayList<>();
+    if (border.offsetX() != 0 && border.offsetY() != 0) {
+      // clusters that only touch at a corner can be connected by a single diagonal step
+      final int x = border.offsetX() > 0 ? owner.x + owner.width - 1 : owner.x;
+      final int y = owner.y + owner.height - 1;
+      this.addTransition(transitions, this.getNode(x, y), this.getNode(x + border.offsetX(), y + 1));
+      return transitions;
+    }
+
+    final boolean horizontal = border.offsetX() != 0;
+    final int length = horizontal ? owner.height : owner.width;
+    int entranceStart = -1;
+    for (int i = 0; i <= length; i++) {
+      final AStarNode from = i == length ? null : this.getBorderNode(owner, horizontal, i);
+      final boolean connected = from != null && this.isConnected(from, this.getNode(from.getGridX() + border.offsetX(), from.getGridY() + border.offsetY()));
+      if (connected) {
+        if (entranceStart < 0) {
+          entranceStart = i;
+        }
+
+        continue;
+      }
+
+      if (entranceStart >= 0) {
+        this.addEntrance(transitions, owner, horizontal, border, entranceStart, i - 1);
+        entranceStart = -1;
+      }
+
+      if (from != null) {
+        // if corners may be cut, a node can be connected diagonally although the node next to it is not walkable
+        for (int shift = -1; shift <= 1; shift += 2) {
+          final AStarNode to = horizontal
+            ? this.getNode(from.getGridX() + border.offsetX(), from.getGridY() + shift)
+            : this.getNode(from.getGridX() + shift, from.getGridY() + border.offsetY());
+          if (to != null && this.isInCluster(to, border.x() + border.offsetX(), border.y() + border.offsetY()) && this.addTransition(transitions, from, to)) {
+            break;
+          }
+        }
+      }
+    }
+
+    return transitions;
+  }
+
+  private void addEntrance(List<Transition> transitions, Rectangle owner, boolean horizontal, Border border, int start, int end) {
+    final int[] positions = end - start + 1 >= MIN_DOUBLE_TRANSITION_WIDTH ? new int[] {start, end} : new int[] {(start + end) / 2};
+    for (final int position : positions) {
+      final AStarNode from = this.getBorderNode(owner, horizontal, position);
+      transitions.add(new Transition(from, this.getNode(from.getGridX() + border.offsetX(), from.getGridY() + border.offsetY())));
+    }
+  }
+
+  private boolean addTransition(List<Transition> transitions, AStarNode from, AStarNode to) {
+    if (!this.isConnected(from, to)) {
+      return false;
+    }
+
+    transitions.add(new Transition(from, to));
+    return true;
+  }
+
+  private AStarNode getBorderNode(Rectangle owner, boolean horizontal, int position) {
+    return horizontal ? this.getNode(owner.x + owner.width - 1, owner.y + position) : this.getNode(owner.x + position, owner.y + owner.height - 1);
+  }
+
+  private boolean isConnected(AStarNode from, AStarNode to) {
+    return from != null && to != null && from.isWalkable() && to.isWalkable() && this.getGrid().getNeighbors(from).contains(to);
+  }
+
+  private boolean isInCluster(AStarNode node, int clusterX, int clusterY) {
+    return node.getGridX() / this.clusterSize == clusterX && node.getGridY() / this.clusterSize == clusterY;
+  }
+
+  /**
+   * Determines the entrances of a cluster from the transitions on its borders. Entrances that already existed keep their id, so transitions of
+   * neighboring clusters that lead to them remain valid.
+   */
+  private void updateEntrances(Cluster cluster, int clusterX, int clusterY) {
+    final Map<AStarNode, List<AStarNode>> transitions = new LinkedHashMap<>();
+    for (int offsetX = -1; offsetX <= 1; offsetX++) {
+      for (int offsetY = -1; offsetY <= 1; offsetY++) {
+        final Border border = this.getBorder(clusterX, clusterY, offsetX, offsetY);
+        if (border == null) {
+          continue;
+        }
+
+        final boolean owned = border.x() == clusterX && border.y() == clusterY;
+        for (final Transition transition : this.borders.get(border)) {
+          final AStarNode entrance = owned ? transition.from() : transition.to();
+          transitions.computeIfAbsent(entrance, e -> new ArrayList<>()).add(owned ? transition.to() : transition.from());
+        }
+      }
+    }
+
+    final Entrance[] updated = new Entrance[transitions.size()];
+    int index = 0;
+    for (final Map.Entry<AStarNode, List<AStarNode>> transition : transitions.entrySet()) {
+      Entrance entrance = this.entrances.get(transition.getKey());
+      if (entrance == null) {
+        final int id = this.freeIds.isEmpty() ? this.entrancesById.size() : this.freeIds.pop();
+        entrance = new Entrance(transition.getKey(), cluster, id);
+        this.entrances.put(entrance.node, entrance);
+        if (id == this.entrancesById.size()) {
+          this.entrancesById.add(entrance);
+        } else {
+          this.entrancesById.set(id, entrance);
+        }
+      }
+
+      entrance.index = index;
+      entrance.transitionNodes = transition.getValue();
+      updated[index++] = entrance;
+    }
+
+    for (final Entrance entrance : cluster.entrances) {
+      if (!transitions.containsKey(entrance.node)) {
+        this.entrances.remove(entrance.node);
+        this.entrancesById.set(entrance.id, null);
+        this.freeIds.push(entrance.id);
+      }
+    }
+
+    cluster.entrances = updated;
+  }
+
+  /**
+   * Calculates the costs of the paths between all entrances of a cluster within the cluster and resolves the transitions of its entrances.
+   */
+  private void updateCosts(Cluster cluster) {
+    final LocalGraph graph = new LocalGraph(this.getGrid(), cluster.bounds);
+    cluster.costs = new double[cluster.entrances.length][cluster.entrances.length];
+    for (final Entrance entrance : cluster.entrances) {
+      final double[] costs = graph.getCosts(entrance.node, false, this.heap);
+      for (final Entrance other : cluster.entrances) {
+        cluster.costs[entrance.index][other.index] = costs[graph.getIndex(other.node)];
+      }
+
+      entrance.transitions = new int[entrance.transitionNodes.size()];
+      entrance.transitionCosts = new double[entrance.transitionNodes.size()];
+      for (int i = 0; i < entrance.transitions.length; i++) {
+        final AStarNode neighbor = entrance.transitionNodes.get(i);
+        entrance.transitions[i] = this.entrances.get(neighbor).id;
+        entrance.transitionCosts[i] = entrance.node.getCosts(neighbor);
+      }
+    }
+  }
+
+  /**
+   * Searches the abstract graph for the entrances through which the path from the start to the target node leads. The start and the target node
+   * are temporarily connected to the entrances of their clusters.
+   */
+  private List<AStarNode> findAbstractPath(AStarNode startNode, AStarNode targetNode) {
+    final Cluster startCluster = this.getCluster(startNode);
+    final Cluster targetCluster = this.getCluster(targetNode);
+    final LocalGraph startGraph = new LocalGraph(this.getGrid(), startCluster.bounds);
+    final LocalGraph targetGraph = startCluster == targetCluster ? startGraph : new LocalGraph(this.getGrid(), targetCluster.bounds);
+    final double[] startCosts = startGraph.getCosts(startNode, false, this.heap);
+    final double[] targetCosts = targetGraph.getCosts(targetNode, true, this.heap);
+
+    // the start and the target node are appended to the ids of the entrances
+    final int start = this.entrancesById.size();
+    final int target = start + 1;
+    final AbstractSearch search = this.abstractSearch;
+    search.start(start, target, startNode, targetNode);
+    while (!search.open.isEmpty()) {
+      final int current = search.open.poll();
+      if (!search.close(current)) {
+        continue;
+      }
+
+      if (current == target) {
+        final List<AStarNode> waypoints = new ArrayList<>();
+        for (int node = target; node != -1; node = search.predecessors[node]) {
+          final AStarNode waypoint = node == start ? startNode : node == target ? targetNode : this.entrancesById.get(node).node;
+          // the start or the target node can be an entrance itself
+          if (waypoints.isEmpty() || !waypoints.getLast().equals(waypoint)) {
+            waypoints.add(waypoint);
+          }
+        }
+
+        Collections.reverse(waypoints);
+        return waypoints;
+      }
+
+      if (current == start) {
+        for (final Entrance entrance : startCluster.entrances) {
+          search.relax(current, entrance.id, entrance.node, startCosts[startGraph.getIndex(entrance.node)]);
+        }
+
+        if (startCluster == targetCluster) {
+          search.relax(current, target, targetNode, startCosts[startGraph.getIndex(targetNode)]);
+        }
+
+        continue;
+      }
+
+      final Entrance entrance = this.entrancesById.get(current);
+      final Cluster cluster = entrance.cluster;
+      final double[] costs = cluster.costs[entrance.index];
+      for (final Entrance other : cluster.entrances) {
+        search.relax(current, other.id, other.node, costs[other.index]);
+      }
+
+      for (int i = 0; i < entrance.transitions.length; i++) {
+        final int neighbor = entrance.transitions[i];
+        search.relax(current, neighbor, this.entrancesById.get(neighbor).node, entrance.transitionCosts[i]);
+      }
+
+      if (cluster == targetCluster) {
+        search.relax(current, target, targetNode, targetCosts[targetGraph.getIndex(entrance.node)]);
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Refines the segments between the waypoints of an abstract path by searches within the respective clusters.
+   */
+  private Path refine(List<AStarNode> waypoints) {
+    final List<AStarNode> nodes = new ArrayList<>();
+    final AStarSearch search = this.acquireSearch();
+    try {
+      for (int i = 1; i < waypoints.size(); i++) {
+        final AStarNode from = waypoints.get(i - 1);
+        final AStarNode to = waypoints.get(i);
+        if (i > 1) {
+          nodes.add(from);
+        }
+
+        // transitions between two clusters are a single step and need no refinement
+        final Cluster cluster = this.getCluster(from);
+        if (cluster == this.getCluster(to)) {
+          search.start(from, to, cluster.bounds);
+          search.expand(Integer.MAX_VALUE);
+          if (search.getPathNodes() == null) {
+            return null;
+          }
+
+          nodes.addAll(search.getPathNodes());
+        }
+      }
+    } finally {
+      this.releaseSearch(search);
+    }
+
+    return AStarSearch.createPath(waypoints.get(0), nodes, waypoints.get(waypoints.size() - 1));
+  }
+
+  private Cluster getCluster(AStarNode node) {
+    return this.clusters[node.getGridX() / this.clusterSize][node.getGridY() / this.clusterSize];
+  }
+
+  private AStarNode getNode(int x, int y) {
+    final AStarNode[][] nodes = this.getGrid().getGrid();
+    if (x < 0 || x >= nodes.length || y < 0 || y >= nodes[x].length) {
+      return null;
+    }
+
+    return nodes[x][y];
+  }
+
+  private static final class Cluster {
+    private final Rectangle bounds;
+    private Entrance[] entrances = new Entrance[0];
+    private double[][] costs = new double[0][0];
+
+    private Cluster(Rectangle bounds) {
+      this.bounds = bounds;
+    }
+  }
+
+  /**
+   * A node of the abstract graph, i.e. a node of a cluster through which the cluster can be entered from a neighboring cluster.
+   */
+  private static final class Entrance {
+    private final AStarNode node;
+    private final Cluster cluster;
+    private final int id;
+    private int index;
+    private List<AStarNode> transitionNodes;
+    private int[] transitions;
+    private double[] transitionCosts;
+
+    private Entrance(AStarNode node, Cluster cluster, int id) {
+      this.node = node;
+      this.cluster = cluster;
+      this.id = id;
+    }
+  }
+
+  /**
+   * The nodes of a cluster and the connections between them, stored in flat arrays so that the costs between all entrances of a cluster can be
+   * calculated without creating any objects per node.
+   */
+  private static final class LocalGraph {
+    private final Rectangle bounds;
+    private final AStarNode[] nodes;
+    private final int[] offsets;
+    private final int[] neighbors;
+    private final double[] costs;
+    private final double[] reverseCosts;
+
+    private LocalGraph(AStarGrid grid, Rectangle bounds) {
+      this.bounds = bounds;
+      final int size = bounds.width * bounds.height;
+      this.nodes = new AStarNode[size];
+      this.offsets = new int[size + 1];
+      final int[] connections = new int[size * 8];
+      final double[] connectionCosts = new double[size * 8];
+      final double[] reverseConnectionCosts = new double[size * 8];
+      int count = 0;
+      for (int x = 0; x < bounds.width; x++) {
+        for (int y = 0; y < bounds.height; y++) {
+          final int index = x * bounds.height + y;
+          final AStarNode node = grid.getGrid()[bounds.x + x][bounds.y + y];
+          this.nodes[index] = node;
+          this.offsets[index] = count;
+          for (final AStarNode neighbor : grid.getNeighbors(node)) {
+            // diagonal neighbors are not necessarily walkable
+            if (!neighbor.isWalkable() || !bounds.contains(neighbor.getGridX(), neighbor.getGridY())) {
+              continue;
+            }
+
+            connections[count] = this.getIndex(neighbor);
+            connectionCosts[count] = node.getCosts(neighbor);
+            reverseConnectionCosts[count] = neighbor.getCosts(node);
+            count++;
+          }
+        }
+      }
+
+      this.offsets[size] = count;
+      this.neighbors = connections;
+      this.costs = connectionCosts;
+      this.reverseCosts = reverseConnectionCosts;
+    }
+
+    private int getIndex(AStarNode node) {
+      return (node.getGridX() - this.bounds.x) * this.bounds.height + node.getGridY() - this.bounds.y;
+    }
+
+    /**
+     * Calculates the costs of the cheapest paths within the graph from the origin to all other nodes or, if reversed, from all other nodes to the
+     * origin. The reversed costs rely on the fact that walkable nodes are always neighbors of each other mutually.
+     *
+     * @return the costs indexed by {@link #getIndex(AStarNode)}, {@link Double#POSITIVE_INFINITY} for unreachable nodes
+     */
+    private double[] getCosts(AStarNode origin, boolean reverse, CostHeap heap) {
+      final double[] result = new double[this.nodes.length];
+      final boolean[] closed = new boolean[this.nodes.length];
+      Arrays.fill(result, Double.POSITIVE_INFINITY);
+      final int start = this.getIndex(origin);
+      result[start] = 0;
+      heap.clear();
+      heap.add(start, 0, 0);
+      final double[] edgeCosts = reverse ? this.reverseCosts : this.costs;
+      while (!heap.isEmpty()) {
+        final int current = heap.poll();
+        if (closed[current]) {
+          continue;
+        }
+
+        closed[current] = true;
+        for (int i = this.offsets[current]; i < this.offsets[current + 1]; i++) {
+          final int neighbor = this.neighbors[i];
+          final double cost = result[current] + edgeCosts[i];
+          if (cost < result[neighbor]) {
+            result[neighbor] = cost;
+            heap.add(neighbor, cost, 0);
+          }
+        }
+      }
+
+      return result;
+    }
+  }
+
+  /**
+   * The reusable state of a search on the abstract graph.
+   */
+  private static final class AbstractSearch {
+    private final CostHeap open = new CostHeap();
+    private double[] gCosts = new double[0];
+    private int[] predecessors = new int[0];
+    private int[] generations = new int[0];
+    private boolean[] closed = new boolean[0];
+    private int generation;
+    private AStarNode targetNode;
+
+    private void start(int start, int target, AStarNode startNode, AStarNode targetNode) {
+      final int size = target + 1;
+      if (this.gCosts.length < size) {
+        final int capacity = Math.max(size, this.gCosts.length * 3 / 2);
+        this.gCosts = new double[capacity];
+        this.predecessors = new int[capacity];
+        this.generations = new int[capacity];
+        this.closed = new boolean[capacity];
+        this.generation = 0;
+      }
+
+      this.generation++;
+      if (this.generation == 0) {
+        // the stamps wrapped around, so values from very old searches could be mistaken for the current one
+        Arrays.fill(this.generations, 0);
+        this.generation = 1;
+      }
+
+      this.targetNode = targetNode;
+      this.open.clear();
+      this.reach(start, 0, -1);
+      this.open.add(start, startNode.getCosts(targetNode), startNode.getCosts(targetNode));
+    }
+
+    /**
+     * Closes the specified node.
+     *
+     * @return true if the node was not closed before; otherwise false
+     */
+    private boolean close(int node) {
+      if (this.closed[node]) {
+        return false;
+      }
+
+      this.closed[node] = true;
+      return true;
+    }
+
+    private void relax(int current, int neighbor, AStarNode neighborNode, double costs) {
+      if (Double.isInfinite(costs)) {
+        return;
+      }
+
+      final boolean reached = this.generations[neighbor] == this.generation;
+      if (reached && this.closed[neighbor]) {
+        return;
+      }
+
+      final double newGCost = this.gCosts[current] + costs;
+      if (!reached || newGCost < this.gCosts[neighbor]) {
+        this.reach(neighbor, newGCost, current);
+        final double hCost = neighborNode.getCosts(this.targetNode);
+        this.open.add(neighbor, newGCost + hCost, hCost);
+      }
+    }
+
+    private void reach(int node, double gCost, int predecessor) {
+      this.generations[node] = this.generation;
+      this.gCosts[node] = gCost;
+      this.predecessors[node] = predecessor;
+      this.closed[node] = false;
+    }
+  }
+
+  /**
+   * A border between two adjacent clusters, identified by the cluster that owns it and the offset to the other cluster.
+   */
+  private record Border(int x, int y, int offsetX, int offsetY) {}
+
+  /**
+   * A step from a node of the owning cluster of a border to a node of the other cluster.
+   */
+  private record Transition(AStarNode from, AStarNode to) {}
+}
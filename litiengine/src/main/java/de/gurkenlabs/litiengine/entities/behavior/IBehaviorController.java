@@ -1,6 +1,7 @@
 package de.gurkenlabs.litiengine.entities.behavior;
 
 import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.UpdatePhase;
 import de.gurkenlabs.litiengine.entities.IEntityController;
 
 public interface IBehaviorController extends IEntityController {
@@ -12,4 +13,9 @@ public interface IBehaviorController extends IEntityController {
   public default void attach() {
     Game.loop().attach(this);
   }
+
+  @Override
+  public default UpdatePhase getUpdatePhase() {
+    return UpdatePhase.AI;
+  }
 }
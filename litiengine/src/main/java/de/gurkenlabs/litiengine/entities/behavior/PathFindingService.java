@@ -0,0 +1,298 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.IGameLoop;
+import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.UpdatePhase;
+import de.gurkenlabs.litiengine.entities.IMobileEntity;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A service that searches paths asynchronously on a pool of worker threads so that the game loop never has to wait for a path finding operation.
+ *
+ * <p>
+ * Searches of an {@link AStarPathFinder} are carried out in slices: with every tick, the service distributes a budget of node expansions among
+ * all pending searches and runs one slice of each search on the worker pool. This limits the amount of work that path finding can cause per tick,
+ * even if the searches are executed on the game loop thread. Searches of a {@link HierarchicalPathFinder} and of other {@link PathFinder}
+ * implementations are executed at once. Requests are processed in the order in which they were made and at most 16 of them are searched at the
+ * same time.
+ *
+ * <p>
+ * The returned futures are always completed during {@link #update()}, i.e. on the game loop thread. Consumers can therefore safely apply the found
+ * paths to their entities. A search is aborted if its future is cancelled.
+ *
+ * @see EntityNavigator#navigateAsync(Point2D)
+ */
+public class PathFindingService implements IUpdateable {
+  /** The default number of nodes that may be expanded per tick by all searches of a service. */
+  public static final int DEFAULT_EXPANSIONS_PER_TICK = 20000;
+
+  /** The number of threads of the shared worker pool. */
+  static final int WORKER_COUNT = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+  private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(WORKER_COUNT,
+    new ThreadFactory() {
+      private final AtomicInteger id = new AtomicInteger();
+
+      @Override
+      public Thread newThread(Runnable r) {
+        final Thread thread = new Thread(r, "Path Finding Thread " + id.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+
+  private static final int MAX_ACTIVE_SEARCHES = 16;
+
+  private static PathFindingService defaultService;
+
+  private final Executor executor;
+  private final Collection<Request> requests = new ConcurrentLinkedQueue<>();
+  private volatile int expansionsPerTick;
+  private IGameLoop attachedLoop;
+
+  /**
+   * Initializes a new instance of the {@code PathFindingService} class that uses a shared pool of daemon threads and the
+   * {@link #DEFAULT_EXPANSIONS_PER_TICK}.
+   */
+  public PathFindingService() {
+    this(EXECUTOR, DEFAULT_EXPANSIONS_PER_TICK);
+  }
+
+  /**
+   * Initializes a new instance of the {@code PathFindingService} class.
+   *
+   * @param executor          The executor that runs the searches. Use {@code Runnable::run} to search on the game loop thread.
+   * @param expansionsPerTick The number of nodes that may be expanded per tick by all searches of this service.
+   */
+  public PathFindingService(Executor executor, int expansionsPerTick) {
+    this.executor = executor;
+    this.setExpansionsPerTick(expansionsPerTick);
+  }
+
+  /**
+   * Gets the default service that is shared by all {@code EntityNavigator} instances unless they specify their own.
+   *
+   * @return The default path finding service.
+   */
+  public static synchronized PathFindingService getDefault() {
+    if (defaultService == null) {
+      defaultService = new PathFindingService();
+    }
+
+    return defaultService;
+  }
+
+  /**
+   * Gets the number of nodes that may be expanded per tick by all searches of this service.
+   *
+   * @return The expansion budget per tick.
+   */
+  public int getExpansionsPerTick() {
+    return this.expansionsPerTick;
+  }
+
+  /**
+   * Sets the number of nodes that may be expanded per tick by all searches of this service. Every pending search expands at least one node per
+   * tick, regardless of this budget.
+   *
+   * @param expansionsPerTick The expansion budget per tick.
+   */
+  public void setExpansionsPerTick(int expansionsPerTick) {
+    this.expansionsPerTick = Math.max(1, expansionsPerTick);
+  }
+
+  /**
+   * Gets the number of searches that have not been completed yet.
+   *
+   * @return The number of pending searches.
+   */
+  public int getPendingSearches() {
+    return this.requests.size();
+  }
+
+  /**
+   * Searches a path from the entity's current position to the target with the specified path finder. The entity's position is determined right
+   * away, the actual search happens on the worker pool of this service.
+   *
+   * @param pathFinder The path finder that is used for the search.
+   * @param entity     The mobile entity for which the path is calculated.
+   * @param target     The target point of the path.
+   * @return A future that is completed with the found path (or null if there is no path) on the game loop thread.
+   */
+  public CompletableFuture<Path> findPath(final PathFinder pathFinder, final IMobileEntity entity, final Point2D target) {
+    final Request request;
+    if (pathFinder instanceof AStarPathFinder aStar) {
+      final AStarPathFinder.SearchRequest searchRequest = aStar.prepareSearch(entity, target);
+      if (!searchRequest.requiresSearch()) {
+        return CompletableFuture.completedFuture(searchRequest.path());
+      }
+
+      // hierarchical searches only expand few nodes, so they are not worth being split into slices
+      request = aStar instanceof HierarchicalPathFinder
+        ? new SupplierRequest(() -> aStar.findPath(searchRequest.startNode(), searchRequest.targetNode()))
+        : new AStarRequest(aStar, searchRequest.startNode(), searchRequest.targetNode());
+    } else {
+      request = new SupplierRequest(() -> pathFinder.findPath(entity, target));
+    }
+
+    this.requests.add(request);
+    this.attach();
+    return request.future;
+  }
+
+  @Override
+  public UpdatePhase getUpdatePhase() {
+    // deliver the found paths before the navigators of this tick are updated
+    return UpdatePhase.INPUT;
+  }
+
+  /**
+   * Completes all finished searches and runs the next slice of every pending search on the worker pool.
+   */
+  @Override
+  public void update() {
+    final List<Request> schedulable = new ArrayList<>();
+    int active = 0;
+    for (final Request request : this.requests) {
+      if (request.running) {
+        active++;
+        continue;
+      }
+
+      if (request.finished || request.future.isDone()) {
+        this.requests.remove(request);
+        request.complete();
+        continue;
+      }
+
+      // requests are processed in the order in which they were made
+      if (active < MAX_ACTIVE_SEARCHES) {
+        schedulable.add(request);
+        active++;
+      }
+    }
+
+    if (schedulable.isEmpty()) {
+      return;
+    }
+
+    final int budget = Math.max(1, this.getExpansionsPerTick() / schedulable.size());
+    for (final Request request : schedulable) {
+      request.running = true;
+      this.executor.execute(() -> request.run(budget));
+    }
+  }
+
+  private synchronized void attach() {
+    final IGameLoop loop = Game.loop();
+    if (loop != null && loop != this.attachedLoop) {
+      loop.attach(this);
+      this.attachedLoop = loop;
+    }
+  }
+
+  private abstract static class Request {
+    private final CompletableFuture<Path> future = new CompletableFuture<>();
+    private volatile boolean running;
+    private volatile boolean finished;
+    private volatile Throwable error;
+    volatile Path path;
+
+    /**
+     * Continues the search.
+     *
+     * @param budget The maximum number of nodes to expand.
+     * @return True if the search is finished; otherwise false.
+     */
+    abstract boolean step(int budget);
+
+    void run(int budget) {
+      try {
+        this.finished = this.step(budget);
+      } catch (Exception e) {
+        this.error = e;
+        this.finished = true;
+      } finally {
+        this.running = false;
+      }
+    }
+
+    void complete() {
+      if (this.error != null) {
+        this.future.completeExceptionally(this.error);
+      } else {
+        this.future.complete(this.path);
+      }
+    }
+  }
+
+  private static final class SupplierRequest extends Request {
+    private final Supplier<Path> search;
+
+    SupplierRequest(Supplier<Path> search) {
+      this.search = search;
+    }
+
+    @Override
+    boolean step(int budget) {
+      this.path = this.search.get();
+      return true;
+    }
+  }
+
+  private static final class AStarRequest extends Request {
+    private final AStarPathFinder pathFinder;
+    private final AStarNode startNode;
+    private final AStarNode targetNode;
+    private AStarSearch search;
+
+    AStarRequest(AStarPathFinder pathFinder, AStarNode startNode, AStarNode targetNode) {
+      this.pathFinder = pathFinder;
+      this.startNode = startNode;
+      this.targetNode = targetNode;
+    }
+
+    @Override
+    boolean step(int budget) {
+      if (this.search == null) {
+        // search contexts are only taken from the pool once a request becomes active to limit the memory that queued requests occupy
+        this.search = this.pathFinder.acquireSearch();
+        this.search.start(this.startNode, this.targetNode);
+      }
+
+      if (!this.search.expand(budget)) {
+        return false;
+      }
+
+      this.path = this.search.getPath();
+      this.release();
+      return true;
+    }
+
+    @Override
+    void complete() {
+      // the request might have been cancelled while its search was still in progress
+      this.release();
+      super.complete();
+    }
+
+    private void release() {
+      if (this.search != null) {
+        this.pathFinder.releaseSearch(this.search);
+        this.search = null;
+      }
+    }
+  }
+}
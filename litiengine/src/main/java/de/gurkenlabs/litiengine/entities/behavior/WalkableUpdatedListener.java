@@ -0,0 +1,20 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import java.awt.geom.Rectangle2D;
+import java.util.EventListener;
+
+/**
+ * This listener provides callbacks for when the walkable state of the nodes of an {@code AStarGrid} was updated.
+ *
+ * @see AStarGrid#onWalkableUpdated(WalkableUpdatedListener)
+ */
+@FunctionalInterface
+public interface WalkableUpdatedListener extends EventListener {
+
+  /**
+   * This method is called after the walkable state of all nodes within the specified rectangle was updated.
+   *
+   * @param rectangle The rectangle within which the nodes were updated.
+   */
+  void walkableUpdated(Rectangle2D rectangle);
+}
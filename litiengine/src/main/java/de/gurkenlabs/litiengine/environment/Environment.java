@@ -34,6 +34,7 @@ import de.gurkenlabs.litiengine.graphics.ColorLayer;
 import de.gurkenlabs.litiengine.graphics.DebugRenderer;
 import de.gurkenlabs.litiengine.graphics.IRenderable;
 import de.gurkenlabs.litiengine.graphics.RenderEngine;
+import de.gurkenlabs.litiengine.graphics.EntityRenderList;
 import de.gurkenlabs.litiengine.graphics.RenderType;
 import de.gurkenlabs.litiengine.graphics.StaticShadowLayer;
 import de.gurkenlabs.litiengine.graphics.StaticShadowType;
@@ -81,6 +82,8 @@ public final class Environment implements IRenderable {
   private final Map<RenderType, Map<Integer, IEntity>> miscEntities = Collections.synchronizedMap(
     new EnumMap<>(RenderType.class));
   private final Map<IMapObjectLayer, List<IEntity>> layerEntities = new ConcurrentHashMap<>();
+  private final Map<RenderType, EntityRenderList> renderLists = Collections.synchronizedMap(new EnumMap<>(RenderType.class));
+  private final Map<IMapObjectLayer, EntityRenderList> layerRenderLists = new ConcurrentHashMap<>();
   private final Map<String, Collection<IEntity>> entitiesByTag = new ConcurrentHashMap<>();
   private final Map<Integer, IEntity> allEntities = new ConcurrentHashMap<>();
 
@@ -138,6 +141,7 @@ public final class Environment implements IRenderable {
     }
     for (RenderType renderType : RenderType.values()) {
       this.miscEntities.put(renderType, new ConcurrentHashMap<>());
+      this.renderLists.put(renderType, new EntityRenderList(renderType == RenderType.NORMAL));
       this.renderListeners.put(renderType, ConcurrentHashMap.newKeySet());
       this.renderables.put(renderType, ConcurrentHashMap.newKeySet());
     }
@@ -432,11 +436,14 @@ public final class Environment implements IRenderable {
     this.mobileEntities.clear();
     this.gravityForces.clear();
     this.layerEntities.clear();
+    this.layerRenderLists.values().forEach(EntityRenderList::clear);
+    this.layerRenderLists.clear();
     this.entitiesByTag.clear();
     this.allEntities.clear();
 
     for (RenderType renderType : RenderType.values()) {
       this.miscEntities.get(renderType).clear();
+      this.renderLists.get(renderType).clear();
       this.renderListeners.get(renderType).clear();
       this.renderables.get(renderType).clear();
     }
@@ -1094,6 +1101,30 @@ public final class Environment implements IRenderable {
     return Collections.unmodifiableCollection(this.layerEntities.get(layer));
   }
 
+  /**
+   * Gets the render list of the entities with the specified render type that are not bound to layers. The render list is maintained by this
+   * environment and keeps the entities in the order in which they are rendered.
+   *
+   * @param renderType The render type
+   * @return The render list of the miscellaneous entities with the specified render type.
+   * @see #getEntities(RenderType)
+   */
+  public EntityRenderList getRenderList(final RenderType renderType) {
+    return this.renderLists.get(renderType);
+  }
+
+  /**
+   * Gets the render list of the entities that are bound to the specified layer. The render list is maintained by this environment and keeps the
+   * entities in the order in which they are rendered.
+   *
+   * @param layer The layer that the entities are bound to.
+   * @return The render list of the entities that are bound to the specified layer or null if no entities are bound to it.
+   * @see #getEntities(IMapObjectLayer)
+   */
+  public EntityRenderList getRenderList(final IMapObjectLayer layer) {
+    return layer != null ? this.layerRenderLists.get(layer) : null;
+  }
+
   /**
    * Gets the entities that are bound to layer with the specified name.
    * <p>
@@ -1852,6 +1883,8 @@ public final class Environment implements IRenderable {
             this.addEntity(entity);
             this.layerEntities.computeIfAbsent(mapObject.getLayer(),
               m -> new CopyOnWriteArrayList<>()).add(entity);
+            this.layerRenderLists.computeIfAbsent(mapObject.getLayer(),
+              m -> new EntityRenderList(m.getRenderType() == RenderType.NORMAL)).add(entity);
             this.fireEntityEvent(l -> l.entityAdded(entity));
           } else {
             this.add(entity);
@@ -1915,8 +1948,10 @@ public final class Environment implements IRenderable {
 
     this.allEntities.remove(entity.getMapId());
     this.layerEntities.values().removeIf(layer -> layer.remove(entity) && layer.isEmpty());
+    this.layerRenderLists.values().removeIf(layer -> layer.remove(entity) && layer.size() == 0);
     if (this.miscEntities.get(entity.getRenderType()) != null) {
       this.miscEntities.get(entity.getRenderType()).values().remove(entity);
+      this.renderLists.get(entity.getRenderType()).remove(entity);
     }
 
     for (String tag : entity.getTags()) {
@@ -2160,7 +2195,7 @@ public final class Environment implements IRenderable {
   }
 
   /**
-   * Unloads all entities of this environment.
+   * Unloads all entities of this environment and releases the pre-rendered tile layers of its map.
    *
    * @see #unload(IEntity)
    * @see EnvironmentListener#unloaded(Environment)
@@ -2175,6 +2210,9 @@ public final class Environment implements IRenderable {
       this.unload(entity);
     }
 
+    // the cached chunks would otherwise keep the layers of the map alive
+    MapRenderer.clearTileLayerCache();
+
     this.loaded = false;
     this.fireEvent(l -> l.unloaded(this));
   }
@@ -2246,7 +2284,7 @@ public final class Environment implements IRenderable {
     }
 
     // 3. Render entities
-    Game.graphics().renderEntities(g, this.miscEntities.get(renderType).values(), renderType == RenderType.NORMAL);
+    Game.graphics().renderEntities(g, this.renderLists.get(renderType));
 
     // 4. fire event
     this.fireRenderEvent(g, renderType);
@@ -2481,6 +2519,8 @@ public final class Environment implements IRenderable {
   public void assignRenderType(IEntity entity, RenderType renderType) {
     miscEntities.get(entity.getRenderType()).remove(entity.getMapId());
     miscEntities.get(renderType).put(entity.getMapId(), entity);
+    renderLists.get(entity.getRenderType()).remove(entity);
+    renderLists.get(renderType).add(entity);
   }
 
   private void updateLighting(IEntity entity) {
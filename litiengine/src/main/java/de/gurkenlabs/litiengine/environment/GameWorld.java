@@ -2,10 +2,12 @@ package de.gurkenlabs.litiengine.environment;
 
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.RenderLoop;
 import de.gurkenlabs.litiengine.entities.IMobileEntity;
 import de.gurkenlabs.litiengine.environment.tilemap.IMap;
 import de.gurkenlabs.litiengine.graphics.Camera;
 import de.gurkenlabs.litiengine.graphics.ICamera;
+import de.gurkenlabs.litiengine.graphics.emitters.ParticleSimulation;
 import de.gurkenlabs.litiengine.resources.Resources;
 import java.util.Collection;
 import java.util.Collections;
@@ -43,6 +45,7 @@ public final class GameWorld implements IUpdateable {
   private final Map<String, Collection<IUpdateable>> updatables = new ConcurrentHashMap<>();
 
   private final Map<String, Environment> environments = new ConcurrentHashMap<>();
+  private final ParticleSimulation particles = new ParticleSimulation();
 
   private Environment environment;
   private ICamera camera;
@@ -66,6 +69,8 @@ public final class GameWorld implements IUpdateable {
    */
   @Override
   public void update() {
+    this.particles.update();
+
     if (this.environment() == null) {
       return;
     }
@@ -215,6 +220,17 @@ public final class GameWorld implements IUpdateable {
     remove(this.updatables, mapName, updateable);
   }
 
+  /**
+   * Gets the simulation stage that updates the particles of all activated emitters. It is disabled by default, in which case every emitter updates its
+   * own particles.
+   *
+   * @return The particle simulation of the game world.
+   * @see ParticleSimulation#setEnabled(boolean)
+   */
+  public ParticleSimulation particles() {
+    return this.particles;
+  }
+
   /**
    * Gets the game's current {@code Camera}.
    *
@@ -332,6 +348,13 @@ public final class GameWorld implements IUpdateable {
   public void loadEnvironment(final Environment env) {
     Lock lock = Game.loop().getLock();
     lock.lock();
+    // a separate render thread must neither render the environment while it is being loaded nor interpolate from the previous one
+    RenderLoop renderLoop = Game.renderLoop();
+    if (renderLoop != null) {
+      renderLoop.getLock().lock();
+      renderLoop.getSnapshots().clear();
+    }
+
     try {
       unloadEnvironment();
       this.environment = env;
@@ -362,6 +385,10 @@ public final class GameWorld implements IUpdateable {
         }
       }
     } finally {
+      if (renderLoop != null) {
+        renderLoop.getLock().unlock();
+      }
+
       lock.unlock();
     }
   }
@@ -32,6 +32,25 @@ public interface ITileLayer extends ILayer {
    */
   ITile getTile(int x, int y);
 
+  /**
+   * Gets the tile at the specified map grid location for rendering purposes.
+   * 
+   * <p>
+   * In contrast to {@link #getTile(int, int)}, implementations may return an instance that is shared by all cells with the same grid ID instead of
+   * creating one on every call. The returned tile therefore doesn't necessarily provide the tile coordinate of the cell and must not be modified.
+   * </p>
+   * 
+   * @param x
+   *          The x-coordinate (on the map grid) to retrieve the tile.
+   * @param y
+   *          The y-coordinate (on the map grid) to retrieve the tile.
+   * 
+   * @return The tile at the specified grid location.
+   */
+  default ITile getSharedTile(int x, int y) {
+    return this.getTile(x, y);
+  }
+
   /**
    * Sets the id of the tile at the specified map grid location.
    * 
@@ -66,4 +85,21 @@ public interface ITileLayer extends ILayer {
    * @return the tiles
    */
   List<ITile> getTiles();
+
+  /**
+   * Adds the specified tile changed listener to receive events when a tile of this layer has been changed. Layers that don't support tile
+   * changed events ignore the listener.
+   *
+   * @param listener
+   *          The listener to add.
+   */
+  default void onTileChanged(TileChangedListener listener) {}
+
+  /**
+   * Removes the specified tile changed listener.
+   *
+   * @param listener
+   *          The listener to remove.
+   */
+  default void removeTileChangedListener(TileChangedListener listener) {}
 }
@@ -4,6 +4,7 @@ import java.awt.AlphaComposite;
 import java.awt.Composite;
 import java.awt.Graphics2D;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.util.Collection;
@@ -12,8 +13,8 @@ import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 
 import de.gurkenlabs.litiengine.Game;
-import de.gurkenlabs.litiengine.entities.IEntity;
 import de.gurkenlabs.litiengine.environment.Environment;
+import de.gurkenlabs.litiengine.graphics.EntityRenderList;
 import de.gurkenlabs.litiengine.graphics.ImageRenderer;
 import de.gurkenlabs.litiengine.graphics.RenderType;
 import de.gurkenlabs.litiengine.graphics.Spritesheet;
@@ -22,6 +23,7 @@ import de.gurkenlabs.litiengine.resources.Resources;
 public class MapRenderer {
   private static final Collection<LayerRenderedListener> layerRenderedListeners = ConcurrentHashMap.newKeySet();
   private static final Collection<LayerRenderCondition> layerRenderConditions = ConcurrentHashMap.newKeySet();
+  private static final TileLayerCache tileLayerCache = new TileLayerCache();
 
   private MapRenderer() {
     throw new UnsupportedOperationException();
@@ -63,6 +65,21 @@ public class MapRenderer {
     layerRenderConditions.remove(condition);
   }
 
+  /**
+   * Removes all pre-rendered tile layer chunks and stops observing the tile layers they were created from. This is done automatically when an
+   * environment is unloaded. Apart from that, it needs to be called if the images of the tilesets have changed; changes of tiles via
+   * {@link ITileLayer#setTile(int, int, int)} are picked up automatically.
+   *
+   * @see de.gurkenlabs.litiengine.configuration.GraphicConfiguration#cacheTileLayers()
+   */
+  public static void clearTileLayerCache() {
+    tileLayerCache.clear();
+  }
+
+  static TileLayerCache getTileLayerCache() {
+    return tileLayerCache;
+  }
+
   public static void render(Graphics2D g, IMap map, Rectangle2D viewport, RenderType... renderTypes) {
     renderLayers(g, map, map, viewport, null, renderTypes, 1f);
   }
@@ -86,9 +103,10 @@ public class MapRenderer {
       }
 
       if (env != null && layer instanceof IMapObjectLayer imol) {
-        Collection<IEntity> entities = env.getEntities(imol);
+        EntityRenderList entities = env.getRenderList(imol);
         if (entities != null) {
-          Game.graphics().renderEntities(g, entities, layer.getRenderType() == RenderType.NORMAL);
+          entities.setSorted(layer.getRenderType() == RenderType.NORMAL);
+          Game.graphics().renderEntities(g, entities);
         }
       }
 
@@ -105,13 +123,18 @@ public class MapRenderer {
   private static void renderTileLayer(final Graphics2D g, final ITileLayer layer, final IMap map, final Rectangle2D viewport, float opacity) {
     // TODO: possibly implement the same render order that Tiled uses for staggered maps: undo the staggering, and then render it right-down
     g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, opacity));
-    if (map.getRenderOrder().btt) {
-      for (int y = map.getHeight() - 1; y >= 0; y--) {
-        drawRow(g, layer, y, map, viewport);
-      }
-    } else {
-      for (int y = 0; y < map.getHeight(); y++) {
-        drawRow(g, layer, y, map, viewport);
+    final Rectangle visibleTiles = getVisibleTiles(map, viewport);
+    if (Game.config().graphics().cacheTileLayers() && TileLayerCache.canCache(map)) {
+      tileLayerCache.render(g, layer, map, viewport, visibleTiles);
+    } else if (!visibleTiles.isEmpty()) {
+      if (map.getRenderOrder().btt) {
+        for (int y = visibleTiles.y + visibleTiles.height - 1; y >= visibleTiles.y; y--) {
+          drawRow(g, layer, y, visibleTiles, map, viewport);
+        }
+      } else {
+        for (int y = visibleTiles.y; y < visibleTiles.y + visibleTiles.height; y++) {
+          drawRow(g, layer, y, visibleTiles, map, viewport);
+        }
       }
     }
 
@@ -121,20 +144,20 @@ public class MapRenderer {
     }
   }
 
-  private static void drawRow(Graphics2D g, ITileLayer layer, int y, IMap map, Rectangle2D viewport) {
+  private static void drawRow(Graphics2D g, ITileLayer layer, int y, Rectangle visibleTiles, IMap map, Rectangle2D viewport) {
     if (map.getRenderOrder().rtl) {
-      for (int x = map.getWidth() - 1; x >= 0; x--) {
+      for (int x = visibleTiles.x + visibleTiles.width - 1; x >= visibleTiles.x; x--) {
         drawTile(g, layer, x, y, map, viewport);
       }
     } else {
-      for (int x = 0; x < map.getWidth(); x++) {
+      for (int x = visibleTiles.x; x < visibleTiles.x + visibleTiles.width; x++) {
         drawTile(g, layer, x, y, map, viewport);
       }
     }
   }
 
-  private static void drawTile(Graphics2D g, ITileLayer layer, int x, int y, IMap map, Rectangle2D viewport) {
-    ITile tile = layer.getTile(x, y);
+  static void drawTile(Graphics2D g, ITileLayer layer, int x, int y, IMap map, Rectangle2D viewport) {
+    ITile tile = layer.getSharedTile(x, y);
     if (tile == null) {
       return;
     }
@@ -153,6 +176,80 @@ public class MapRenderer {
     }
   }
 
+  /**
+   * Determines the range of tile coordinates that can contain tiles which are visible within the specified viewport. The range is conservative:
+   * every tile whose image intersects the viewport lies within it, but it might also contain a few tiles along its edges that are not visible.
+   *
+   * <p>
+   * Tile images are drawn with their bottom-left corner at the tile's location and can be larger than the map's tile size or shifted by the tile
+   * offset of their tileset. Therefore, the viewport is first extended by the largest tile size and offsets of the map's tilesets before it is
+   * converted to tile coordinates with the map's orientation.
+   *
+   * @param map
+   *          The map to determine the visible tiles for.
+   * @param viewport
+   *          The viewport in map coordinates.
+   * @return A rectangle in tile coordinates, clipped to the bounds of the map, that contains all visible tiles.
+   */
+  static Rectangle getVisibleTiles(IMap map, Rectangle2D viewport) {
+    final int tileWidth = map.getTileWidth();
+    final int tileHeight = map.getTileHeight();
+    if (tileWidth <= 0 || tileHeight <= 0) {
+      return new Rectangle(0, 0, map.getWidth(), map.getHeight());
+    }
+
+    int maxImageWidth = tileWidth;
+    int maxImageHeight = tileHeight;
+    int minOffsetX = 0;
+    int maxOffsetX = 0;
+    int minOffsetY = 0;
+    int maxOffsetY = 0;
+    if (map.getTilesets() != null) {
+      for (ITileset tileset : map.getTilesets()) {
+        maxImageWidth = Math.max(maxImageWidth, tileset.getTileWidth());
+        maxImageHeight = Math.max(maxImageHeight, tileset.getTileHeight());
+        ITileOffset offset = tileset.getTileOffset();
+        if (offset != null) {
+          minOffsetX = Math.min(minOffsetX, offset.getX());
+          maxOffsetX = Math.max(maxOffsetX, offset.getX());
+          minOffsetY = Math.min(minOffsetY, offset.getY());
+          maxOffsetY = Math.max(maxOffsetY, offset.getY());
+        }
+      }
+    }
+
+    // the range of tile locations (bottom-left corner of the tile) for which a tile image can intersect the viewport
+    final double minLocationX = viewport.getMinX() - maxOffsetX - maxImageWidth;
+    final double maxLocationX = viewport.getMaxX() - minOffsetX;
+    final double minLocationY = viewport.getMinY() - maxOffsetY;
+    final double maxLocationY = viewport.getMaxY() - minOffsetY + maxImageHeight;
+
+    // the location of a tile is the bottom-left corner of its shape's bounds, so all relevant tile shapes lie within this area
+    final IMapOrientation orientation = map.getOrientation();
+    final double[] xs = {minLocationX, maxLocationX + tileWidth};
+    final double[] ys = {minLocationY - tileHeight, maxLocationY};
+    int minX = Integer.MAX_VALUE;
+    int minY = Integer.MAX_VALUE;
+    int maxX = Integer.MIN_VALUE;
+    int maxY = Integer.MIN_VALUE;
+    for (double x : xs) {
+      for (double y : ys) {
+        Point tile = orientation.getTile(x, y, map);
+        minX = Math.min(minX, tile.x);
+        minY = Math.min(minY, tile.y);
+        maxX = Math.max(maxX, tile.x);
+        maxY = Math.max(maxY, tile.y);
+      }
+    }
+
+    // staggered orientations don't map the corners exactly onto the extreme tiles, so add one tile on each side
+    final int startX = Math.max(minX, 1) - 1;
+    final int startY = Math.max(minY, 1) - 1;
+    final int endX = (int) Math.min(maxX + 2L, map.getWidth());
+    final int endY = (int) Math.min(maxY + 2L, map.getHeight());
+    return new Rectangle(startX, startY, Math.max(endX - startX, 0), Math.max(endY - startY, 0));
+  }
+
   protected static boolean shouldBeRendered(final Graphics2D g, final IMap map, ILayer layer, RenderType[] renderTypes) {
     final LayerRenderEvent event = new LayerRenderEvent(g, map, layer);
     for (LayerRenderCondition condition : layerRenderConditions) {
@@ -0,0 +1,24 @@
+package de.gurkenlabs.litiengine.environment.tilemap;
+
+import java.util.EventListener;
+
+/**
+ * This listener provides callbacks for when a tile of an {@code ITileLayer} was changed.
+ *
+ * @see ITileLayer#onTileChanged(TileChangedListener)
+ */
+@FunctionalInterface
+public interface TileChangedListener extends EventListener {
+
+  /**
+   * This method is called after the tile at the specified map grid location was changed.
+   *
+   * @param layer
+   *          The layer that contains the changed tile.
+   * @param x
+   *          The x-coordinate (on the map grid) of the changed tile.
+   * @param y
+   *          The y-coordinate (on the map grid) of the changed tile.
+   */
+  void tileChanged(ITileLayer layer, int x, int y);
+}
@@ -0,0 +1,214 @@
+package de.gurkenlabs.litiengine.environment.tilemap;
+
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.gurkenlabs.litiengine.graphics.ImageRenderer;
+import de.gurkenlabs.litiengine.util.Imaging;
+
+/**
+ * A cache that pre-renders the static tiles of tile layers into chunk images of a fixed size (in tiles), which allows the {@code MapRenderer} to
+ * draw a handful of images per layer instead of every single tile.
+ *
+ * <p>
+ * Chunks are built lazily when they become visible and the least recently used chunks are evicted once the cache exceeds its capacity. Every
+ * cached layer contributes the chunks that were visible when it was last rendered plus a border of one chunk to the capacity, so the visible
+ * chunks of all layers always fit into the cache, regardless of the size of the viewport and the number of layers.
+ * A chunk is invalidated when one of its tiles is changed via {@link ITileLayer#setTile(int, int, int)}. Animated tiles are not part of the chunk
+ * images; they are drawn individually on top of the chunks with their current animation frame.
+ *
+ * <p>
+ * Only maps on which tiles never overlap can be cached without changing the rendered result, i.e. orthogonal maps whose tilesets fit into the
+ * map's tile grid. All other maps are rendered tile by tile.
+ *
+ * @see MapRenderer
+ */
+final class TileLayerCache {
+  static final int DEFAULT_CHUNK_SIZE = 16;
+  static final int DEFAULT_MIN_CHUNKS = 64;
+
+  private final int chunkSize;
+  private final int minChunks;
+  private final Map<ChunkKey, Chunk> chunks;
+  private final Map<ITileLayer, TileChangedListener> observedLayers = new HashMap<>();
+  private final Map<ITileLayer, Integer> layerBudgets = new HashMap<>();
+  private int budget;
+
+  TileLayerCache() {
+    this(DEFAULT_CHUNK_SIZE, DEFAULT_MIN_CHUNKS);
+  }
+
+  TileLayerCache(int chunkSize, int minChunks) {
+    this.chunkSize = chunkSize;
+    this.minChunks = minChunks;
+    this.chunks = new LinkedHashMap<>(16, 0.75f, true) {
+      private static final long serialVersionUID = 6167416397218233410L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<ChunkKey, Chunk> eldest) {
+        return this.size() > getCapacity();
+      }
+    };
+  }
+
+  /**
+   * Determines whether the tile layers of the specified map can be rendered from cached chunks.
+   *
+   * @param map
+   *          The map to check.
+   * @return True if no tile of the map can exceed its grid cell; otherwise false.
+   */
+  static boolean canCache(IMap map) {
+    if (map.getOrientation() != MapOrientations.ORTHOGONAL || map.getTileWidth() <= 0 || map.getTileHeight() <= 0) {
+      return false;
+    }
+
+    if (map.getTilesets() != null) {
+      for (ITileset tileset : map.getTilesets()) {
+        if (tileset.getTileWidth() > map.getTileWidth() || tileset.getTileHeight() > map.getTileHeight()) {
+          return false;
+        }
+
+        ITileOffset offset = tileset.getTileOffset();
+        if (offset != null && (offset.getX() != 0 || offset.getY() != 0)) {
+          return false;
+        }
+      }
+    }
+
+    return true;
+  }
+
+  synchronized void render(Graphics2D g, ITileLayer layer, IMap map, Rectangle2D viewport, Rectangle visibleTiles) {
+    if (visibleTiles.isEmpty()) {
+      return;
+    }
+
+    this.observe(layer);
+
+    final int minChunkX = visibleTiles.x / this.chunkSize;
+    final int minChunkY = visibleTiles.y / this.chunkSize;
+    final int maxChunkX = (visibleTiles.x + visibleTiles.width - 1) / this.chunkSize;
+    final int maxChunkY = (visibleTiles.y + visibleTiles.height - 1) / this.chunkSize;
+    this.updateBudget(layer, (maxChunkX - minChunkX + 3) * (maxChunkY - minChunkY + 3));
+
+    final List<Chunk> visibleChunks = new ArrayList<>();
+    for (int chunkY = minChunkY; chunkY <= maxChunkY; chunkY++) {
+      for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+        final Chunk chunk = this.chunks.computeIfAbsent(new ChunkKey(layer, chunkX, chunkY), key -> this.createChunk(key, map));
+        if (chunk.image() != null) {
+          ImageRenderer.render(g, chunk.image(), chunk.x() - viewport.getX(), chunk.y() - viewport.getY());
+        }
+
+        visibleChunks.add(chunk);
+      }
+    }
+
+    // tiles within the grid cells never overlap, so animated tiles can just be drawn on top of the static ones
+    for (Chunk chunk : visibleChunks) {
+      for (Point tile : chunk.animatedTiles()) {
+        if (visibleTiles.contains(tile)) {
+          MapRenderer.drawTile(g, layer, tile.x, tile.y, map, viewport);
+        }
+      }
+    }
+  }
+
+  synchronized void invalidate(ITileLayer layer, int x, int y) {
+    this.chunks.remove(new ChunkKey(layer, x / this.chunkSize, y / this.chunkSize));
+  }
+
+  synchronized void clear() {
+    this.chunks.clear();
+    this.observedLayers.forEach(ITileLayer::removeTileChangedListener);
+    this.observedLayers.clear();
+    this.layerBudgets.clear();
+    this.budget = 0;
+  }
+
+  synchronized int size() {
+    return this.chunks.size();
+  }
+
+  synchronized int getCapacity() {
+    return Math.max(this.minChunks, this.budget);
+  }
+
+  synchronized boolean isObserved(ITileLayer layer) {
+    return this.observedLayers.containsKey(layer);
+  }
+
+  private void observe(ITileLayer layer) {
+    if (!this.observedLayers.containsKey(layer)) {
+      TileChangedListener listener = this::invalidate;
+      layer.onTileChanged(listener);
+      this.observedLayers.put(layer, listener);
+    }
+  }
+
+  private void updateBudget(ITileLayer layer, int chunks) {
+    final Integer previous = this.layerBudgets.put(layer, chunks);
+    this.budget += chunks - (previous != null ? previous : 0);
+  }
+
+  private Chunk createChunk(ChunkKey key, IMap map) {
+    final int tileWidth = map.getTileWidth();
+    final int tileHeight = map.getTileHeight();
+    final int minX = key.x() * this.chunkSize;
+    final int minY = key.y() * this.chunkSize;
+    final int maxX = Math.min(minX + this.chunkSize, map.getWidth());
+    final int maxY = Math.min(minY + this.chunkSize, map.getHeight());
+    final int originX = minX * tileWidth;
+    final int originY = minY * tileHeight;
+
+    BufferedImage image = null;
+    Graphics2D graphics = null;
+    final List<Point> animatedTiles = new ArrayList<>();
+    try {
+      for (int y = minY; y < maxY; y++) {
+        for (int x = minX; x < maxX; x++) {
+          ITile tile = key.layer().getSharedTile(x, y);
+          if (tile == null || tile.getTilesetEntry() == null) {
+            continue;
+          }
+
+          if (tile.getTilesetEntry().getAnimation() != null) {
+            animatedTiles.add(new Point(x, y));
+            continue;
+          }
+
+          BufferedImage tileImage = tile.getImage();
+          if (tileImage == null) {
+            continue;
+          }
+
+          if (graphics == null) {
+            image = Imaging.getCompatibleImage((maxX - minX) * tileWidth, (maxY - minY) * tileHeight);
+            graphics = image.createGraphics();
+          }
+
+          Point location = map.getOrientation().getLocation(x, y, map);
+          ImageRenderer.render(graphics, tileImage, location.x - originX, location.y - tileImage.getHeight() - originY);
+        }
+      }
+    } finally {
+      if (graphics != null) {
+        graphics.dispose();
+      }
+    }
+
+    return new Chunk(image, originX, originY, animatedTiles);
+  }
+
+  private record ChunkKey(ITileLayer layer, int x, int y) {}
+
+  private record Chunk(BufferedImage image, int x, int y, List<Point> animatedTiles) {}
+}
@@ -0,0 +1,440 @@
+package de.gurkenlabs.litiengine.environment.tilemap.xml;
+
+import de.gurkenlabs.litiengine.environment.tilemap.IMap;
+import de.gurkenlabs.litiengine.util.io.FileUtilities;
+import de.gurkenlabs.litiengine.util.io.URLAdapter;
+import de.gurkenlabs.litiengine.util.io.XmlUtilities;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * A precompiled binary representation of TMX maps that can be loaded considerably faster than the XML format.
+ * <p>
+ * The binary format stores the events of the TMX document in a compact token stream with a deduplicated string table. The tile data of the layers
+ * is stored as decoded grid IDs, so loading a map doesn't need to parse any CSV or inflate any compressed base64 data. Files are read through a
+ * memory mapped {@link FileChannel} and the resulting map is built by the same code as the {@link TmxReader}, which means that the binary format
+ * supports everything that the TMX format supports, e.g. tile layers, object layers, custom properties and tileset references.
+ * <p>
+ * Layout of a binary map (big-endian):
+ *
+ * <pre>
+ * int    magic ('LMAP')
+ * int    version
+ * int    string count, followed by the strings (int byte length + UTF-8 bytes)
+ * events until END_DOCUMENT:
+ *   byte START_ELEMENT, int name, int attribute count, (int name, int value) per attribute
+ *   byte END_ELEMENT
+ *   byte CHARACTERS, int text
+ *   byte GRID_IDS, int count, int[count] grid ID bitmasks
+ * </pre>
+ * <p>
+ * Maps can be converted at build time by calling {@link #main(String...)} with the TMX files or directories that contain them.
+ */
+public final class BinaryMap {
+  public static final String FILE_EXTENSION = "litimap";
+
+  /**
+   * The version of the binary format. Files of other versions are rejected and need to be converted again.
+   */
+  public static final int VERSION = 1;
+
+  private static final Logger log = Logger.getLogger(BinaryMap.class.getName());
+  private static final int MAGIC = 0x4C4D4150;
+
+  private BinaryMap() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Converts the specified TMX files to the binary map format. Directories are searched recursively for TMX files. The binary maps are written
+   * next to the TMX files, so references to tilesets and images stay valid.
+   *
+   * @param args The TMX files or directories to convert.
+   * @throws IOException If any of the files can't be converted.
+   */
+  public static void main(String... args) throws IOException {
+    if (args.length == 0) {
+      log.warning("Usage: BinaryMap <tmx file or directory>...");
+      return;
+    }
+
+    for (String arg : args) {
+      final List<Path> files = new ArrayList<>();
+      try (Stream<Path> paths = Files.walk(Path.of(arg))) {
+        paths.filter(p -> Files.isRegularFile(p) && FileUtilities.getExtension(p.toString()).equalsIgnoreCase(TmxMap.FILE_EXTENSION)).forEach(files::add);
+      }
+
+      for (Path file : files) {
+        final Path target = file.resolveSibling(FileUtilities.getFileName(file.toString()) + "." + FILE_EXTENSION);
+        convert(file, target);
+        log.info(() -> "Converted " + file + " to " + target);
+      }
+    }
+  }
+
+  /**
+   * Converts the specified TMX file to the binary map format without building the map in memory.
+   *
+   * @param tmx    The TMX file to convert.
+   * @param target The binary map file to write.
+   * @throws IOException If the TMX file can't be read or isn't a valid map.
+   */
+  public static void convert(Path tmx, Path target) throws IOException {
+    try (InputStream in = new BufferedInputStream(Files.newInputStream(tmx)); OutputStream out = new BufferedOutputStream(Files.newOutputStream(target))) {
+      convert(in, tmx.toUri().toString(), out);
+    }
+  }
+
+  /**
+   * Writes the specified map to a file in the binary map format.
+   *
+   * @param map  The map to write.
+   * @param file The binary map file to write. References to external tilesets and files are written relative to this file.
+   * @throws IOException If the map can't be written.
+   */
+  public static void write(IMap map, Path file) throws IOException {
+    final byte[] xml = marshal(map, new URLAdapter(file.toUri().toURL()));
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+      convert(new ByteArrayInputStream(xml), file.toUri().toString(), out);
+    }
+  }
+
+  /**
+   * Writes the specified map in the binary map format to the specified stream, e.g. to embed it in an asset pack.
+   *
+   * @param map The map to write.
+   * @param out The stream to write the binary map to.
+   * @throws IOException If the map can't be written.
+   */
+  public static void write(IMap map, OutputStream out) throws IOException {
+    convert(new ByteArrayInputStream(marshal(map, new URLAdapter())), map.getName(), out);
+  }
+
+  /**
+   * Reads a map from the binary map format. Like the {@link TmxReader}, this doesn't finish the map, so the tilesets are not loaded yet.
+   *
+   * @param location The location of the binary map.
+   * @return The map that was read.
+   * @throws TmxException If the binary map can't be read or has been written by another version of the format.
+   */
+  public static TmxMap read(URL location) throws TmxException {
+    if (location == null) {
+      throw new TmxException("The location of the binary map must not be null.");
+    }
+
+    try {
+      return read(map(location), location);
+    } catch (IOException | URISyntaxException e) {
+      if (e instanceof TmxException tmx) {
+        throw tmx;
+      }
+
+      throw new TmxException("Could not read " + location + ": " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Reads a map from a buffer that contains the binary map format, e.g. a slice of a memory mapped asset pack.
+   *
+   * @param buffer   The buffer that contains the binary map, starting at its current position.
+   * @param location The location that relative paths of the map are resolved against.
+   * @return The map that was read.
+   * @throws TmxException If the buffer doesn't contain a binary map or it has been written by another version of the format.
+   */
+  public static TmxMap read(ByteBuffer buffer, URL location) throws TmxException {
+    if (buffer.remaining() < Integer.BYTES * 2 || buffer.getInt() != MAGIC) {
+      throw new TmxException(location + " is not a binary map.");
+    }
+
+    final int version = buffer.getInt();
+    if (version != VERSION) {
+      throw new TmxException("Unsupported binary map version " + version + " of " + location + ". Expected version " + VERSION + ".");
+    }
+
+    return TmxReader.readMap(new BinarySource(buffer), location);
+  }
+
+  private static ByteBuffer map(URL location) throws IOException, URISyntaxException {
+    if (location.getProtocol().equals("file")) {
+      try (FileChannel channel = FileChannel.open(Path.of(location.toURI()), StandardOpenOption.READ)) {
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      }
+    }
+
+    // resources in jars or on the web can't be mapped
+    try (InputStream in = location.openStream()) {
+      return ByteBuffer.wrap(in.readAllBytes());
+    }
+  }
+
+  private static byte[] marshal(IMap map, URLAdapter urls) throws TmxException {
+    if (!(map instanceof TmxMap)) {
+      throw new IllegalArgumentException("Only maps of type " + TmxMap.class.getSimpleName() + " can be written to the binary map format");
+    }
+
+    final ByteArrayOutputStream xml = new ByteArrayOutputStream();
+    try {
+      final Marshaller marshaller = XmlUtilities.getContext(TmxMap.class).createMarshaller();
+      marshaller.setAdapter(urls);
+      marshaller.marshal(map, xml);
+    } catch (JAXBException e) {
+      throw new TmxException("Could not write map " + map.getName() + ": " + e.getMessage(), e);
+    }
+
+    return xml.toByteArray();
+  }
+
+  static void convert(InputStream xml, String systemId, OutputStream out) throws IOException {
+    final Writer writer = new Writer();
+    try {
+      final XMLStreamReader reader = TmxReader.createXmlReader(xml, systemId);
+      try {
+        writer.write(reader);
+      } finally {
+        reader.close();
+      }
+    } catch (XMLStreamException e) {
+      throw new TmxException("Could not convert " + systemId + ": " + e.getMessage(), e);
+    }
+
+    writer.writeTo(out);
+  }
+
+  /**
+   * Writes the events of a TMX document in the binary format. The strings are collected in a table that is written before the events.
+   */
+  private static final class Writer {
+    private final Map<String, Integer> stringIndices = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+    private final ByteArrayOutputStream events = new ByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(this.events);
+
+    private void write(XMLStreamReader reader) throws XMLStreamException, IOException {
+      final List<String> elements = new ArrayList<>();
+      String encoding = null;
+      String compression = null;
+      StringBuilder data = null;
+
+      while (reader.hasNext()) {
+        switch (reader.next()) {
+          case XMLStreamConstants.START_ELEMENT -> {
+            final String name = reader.getLocalName();
+            if (data != null) {
+              // the data of infinite maps consists of chunks that are kept as text
+              this.writeText(data.toString(), false);
+              data = null;
+            }
+
+            this.out.writeByte(XMLStreamConstants.START_ELEMENT);
+            this.out.writeInt(this.index(name));
+            this.out.writeInt(reader.getAttributeCount());
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+              this.out.writeInt(this.index(reader.getAttributeLocalName(i)));
+              this.out.writeInt(this.index(reader.getAttributeValue(i)));
+            }
+
+            if (name.equals("data")) {
+              encoding = reader.getAttributeValue(null, "encoding");
+              compression = reader.getAttributeValue(null, "compression");
+              data = new StringBuilder();
+            }
+
+            elements.add(name);
+          }
+          case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE -> {
+            if (data != null) {
+              data.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+            } else {
+              this.writeText(reader.getText(), isTextElement(elements));
+            }
+          }
+          case XMLStreamConstants.END_ELEMENT -> {
+            if (data != null) {
+              this.writeData(data.toString(), encoding, compression);
+              data = null;
+            }
+
+            this.out.writeByte(XMLStreamConstants.END_ELEMENT);
+            elements.removeLast();
+          }
+          default -> {
+            // comments, processing instructions and the like are not part of the map
+          }
+        }
+      }
+
+      this.out.writeByte(XMLStreamConstants.END_DOCUMENT);
+    }
+
+    private void writeData(String value, String encoding, String compression) throws IOException {
+      if (value.isBlank() || !TileData.Encoding.isValid(encoding)) {
+        this.writeText(value, false);
+        return;
+      }
+
+      final int[] gridIds = TileData.decode(value.trim(), encoding, compression);
+      this.out.writeByte(TmxReader.GRID_IDS);
+      this.out.writeInt(gridIds.length);
+      for (int gid : gridIds) {
+        this.out.writeInt(gid);
+      }
+    }
+
+    private void writeText(String text, boolean keepWhitespace) throws IOException {
+      if (text.isEmpty() || !keepWhitespace && text.isBlank()) {
+        return;
+      }
+
+      this.out.writeByte(XMLStreamConstants.CHARACTERS);
+      this.out.writeInt(this.index(text));
+    }
+
+    private int index(String value) {
+      return this.stringIndices.computeIfAbsent(value, v -> {
+        this.strings.add(v);
+        return this.strings.size() - 1;
+      });
+    }
+
+    private void writeTo(OutputStream stream) throws IOException {
+      final DataOutputStream header = new DataOutputStream(stream);
+      header.writeInt(MAGIC);
+      header.writeInt(VERSION);
+      header.writeInt(this.strings.size());
+      for (String value : this.strings) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        header.writeInt(bytes.length);
+        header.write(bytes);
+      }
+
+      this.out.flush();
+      this.events.writeTo(header);
+      header.flush();
+    }
+
+    private static boolean isTextElement(List<String> elements) {
+      // the whitespace of text objects and multiline properties is significant
+      return !elements.isEmpty() && (elements.getLast().equals("text") || elements.getLast().equals("property"));
+    }
+  }
+
+  /**
+   * Provides the events of a binary map to the {@link TmxReader}.
+   */
+  private static final class BinarySource implements TmxReader.Source {
+    private final ByteBuffer buffer;
+    private final String[] strings;
+
+    private String name;
+    private int[] attributes = new int[16];
+    private int attributeCount;
+    private String text;
+    private int[] gridIds;
+
+    private BinarySource(ByteBuffer buffer) {
+      this.buffer = buffer;
+      this.strings = new String[buffer.getInt()];
+      for (int i = 0; i < this.strings.length; i++) {
+        final byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        this.strings[i] = new String(bytes, StandardCharsets.UTF_8);
+      }
+    }
+
+    @Override
+    public int next() throws XMLStreamException {
+      if (!this.buffer.hasRemaining()) {
+        throw new XMLStreamException("Unexpected end of the binary map");
+      }
+
+      final int event = this.buffer.get();
+      switch (event) {
+        case XMLStreamConstants.START_ELEMENT -> {
+          this.name = this.strings[this.buffer.getInt()];
+          this.attributeCount = this.buffer.getInt();
+          if (this.attributes.length < this.attributeCount * 2) {
+            this.attributes = new int[this.attributeCount * 2];
+          }
+
+          for (int i = 0; i < this.attributeCount * 2; i++) {
+            this.attributes[i] = this.buffer.getInt();
+          }
+        }
+        case XMLStreamConstants.CHARACTERS -> this.text = this.strings[this.buffer.getInt()];
+        case TmxReader.GRID_IDS -> {
+          this.gridIds = new int[this.buffer.getInt()];
+          this.buffer.asIntBuffer().get(this.gridIds);
+          this.buffer.position(this.buffer.position() + this.gridIds.length * Integer.BYTES);
+        }
+        case XMLStreamConstants.END_ELEMENT, XMLStreamConstants.END_DOCUMENT -> {
+          // no payload
+        }
+        default -> throw new XMLStreamException("Invalid event " + event + " in the binary map");
+      }
+
+      return event;
+    }
+
+    @Override
+    public String getLocalName() {
+      return this.name;
+    }
+
+    @Override
+    public int getAttributeCount() {
+      return this.attributeCount;
+    }
+
+    @Override
+    public String getAttributeLocalName(int index) {
+      return this.strings[this.attributes[index * 2]];
+    }
+
+    @Override
+    public String getAttributeValue(int index) {
+      return this.strings[this.attributes[index * 2 + 1]];
+    }
+
+    @Override
+    public void appendText(StringBuilder text) {
+      text.append(this.text);
+    }
+
+    @Override
+    public int[] getGridIds() {
+      final int[] ids = this.gridIds;
+      this.gridIds = null;
+      return ids;
+    }
+
+    @Override
+    public void close() {
+      // the mapped buffer is released by the garbage collector
+    }
+  }
+}
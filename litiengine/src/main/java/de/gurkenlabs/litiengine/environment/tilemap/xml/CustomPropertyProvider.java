@@ -18,6 +18,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.stream.Collectors;
+import javax.xml.stream.XMLStreamException;
 
 /**
  * The {@code CustomPropertyProvider} class provides an implementation of the {@link ICustomPropertyProvider} interface.
@@ -49,6 +50,15 @@ import java.util.stream.Collectors;
       .collect(Collectors.toMap(Entry::getKey, e -> new CustomProperty((e.getValue()))));
   }
 
+  /**
+   * Constructor for instances that share the properties map of another provider instead of allocating their own.
+   *
+   * @param properties the properties map to share
+   */
+  CustomPropertyProvider(Map<String, ICustomProperty> properties) {
+    this.properties = properties;
+  }
+
   @Override public Map<String, ICustomProperty> getProperties() {
     return this.properties;
   }
@@ -395,6 +405,23 @@ import java.util.stream.Collectors;
     // blank base case
   }
 
+  Map<String, ICustomProperty> getPropertyMap() {
+    return this.properties;
+  }
+
+  void readAttribute(String name, String value) {
+    // blank base case
+  }
+
+  boolean readElement(TmxReader reader, String element) throws XMLStreamException {
+    if (element.equals("properties")) {
+      reader.readProperties(this.properties);
+      return true;
+    }
+
+    return false;
+  }
+
   @Override public List<String> getCommaSeparatedStringValues(String propertyName, String defaultValue) {
     List<String> values = new ArrayList<>();
     String valuesStr = this.getStringValue(propertyName, defaultValue);
@@ -26,4 +26,14 @@ public class Frame implements ITileAnimationFrame {
   public int getDuration() {
     return this.duration;
   }
+
+  void readAttribute(String attribute, String value) {
+    switch (attribute) {
+      case "tileid" -> this.tileid = TmxReader.parseInt(value);
+      case "duration" -> this.duration = TmxReader.parseInt(value);
+      default -> {
+        // ignore unknown attributes like JAXB does
+      }
+    }
+  }
 }
@@ -12,6 +12,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import javax.xml.stream.XMLStreamException;
 
 /**
  * Represents a group layer in a tile map. This class extends the {@link Layer} class and implements the {@link IGroupLayer} interface.
@@ -36,6 +37,13 @@ public class GroupLayer extends Layer implements IGroupLayer {
   private final transient List<IImageLayer> imageLayers = Collections.unmodifiableList(this.rawImageLayers);
   private final transient List<IGroupLayer> groupLayers = Collections.unmodifiableList(this.rawGroupLayers);
 
+  /**
+   * Instantiates a new {@code GroupLayer} instance.
+   */
+  public GroupLayer() {
+    // keep for serialization
+  }
+
   /**
    * Copy constructor for the GroupLayer class. Creates a new instance of the GroupLayer class by copying the properties from the provided GroupLayer
    * object.
@@ -159,6 +167,21 @@ public class GroupLayer extends Layer implements IGroupLayer {
     return this.groupLayers;
   }
 
+  @Override
+  boolean readElement(TmxReader reader, String element) throws XMLStreamException {
+    final ILayer layer = reader.readLayer(element, this);
+    if (layer == null) {
+      return super.readElement(reader, element);
+    }
+
+    if (this.layers == null) {
+      this.layers = new ArrayList<>();
+    }
+
+    this.layers.add(layer);
+    return true;
+  }
+
   @Override
   protected void afterUnmarshal(Unmarshaller u, Object parent) {
     super.afterUnmarshal(u, parent);
@@ -7,6 +7,7 @@ import jakarta.xml.bind.annotation.XmlElement;
 import jakarta.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 import java.awt.Color;
 import java.net.URL;
+import javax.xml.stream.XMLStreamException;
 
 /**
  * Represents an image layer in a tile map. This class extends the {@link Layer} class and implements the {@link IImageLayer} interface. It includes
@@ -98,6 +99,26 @@ public class ImageLayer extends Layer implements IImageLayer {
     return this.getMap() != null && this.getMap().isInfinite() && this.getMap() instanceof TmxMap;
   }
 
+  @Override
+  void readAttribute(String attribute, String value) {
+    switch (attribute) {
+      case "repeatx" -> this.repeatx = TmxReader.parseBoolean(value);
+      case "repeaty" -> this.repeaty = TmxReader.parseBoolean(value);
+      case "trans" -> this.trans = TmxReader.parseColor(value);
+      default -> super.readAttribute(attribute, value);
+    }
+  }
+
+  @Override
+  boolean readElement(TmxReader reader, String element) throws XMLStreamException {
+    if (!element.equals("image")) {
+      return super.readElement(reader, element);
+    }
+
+    this.image = reader.readImage();
+    return true;
+  }
+
   @Override
   void finish(URL location) throws TmxException {
     super.finish(location);
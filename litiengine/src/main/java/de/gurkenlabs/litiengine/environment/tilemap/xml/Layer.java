@@ -264,6 +264,25 @@ public abstract class Layer extends CustomPropertyProvider implements ILayer {
     this.parentMap = map;
   }
 
+  @Override
+  void readAttribute(String attribute, String value) {
+    switch (attribute) {
+      case "id" -> this.id = TmxReader.parseInt(value);
+      case "name" -> this.name = value;
+      case "class" -> this.layerClass = value;
+      case "width" -> this.width = TmxReader.parseInt(value);
+      case "height" -> this.height = TmxReader.parseInt(value);
+      case "opacity" -> this.opacity = TmxReader.parseFloat(value);
+      case "visible" -> this.visible = TmxReader.parseInt(value) == 1;
+      case "offsetx" -> this.offsetx = TmxReader.parseDouble(value);
+      case "offsety" -> this.offsety = TmxReader.parseDouble(value);
+      case "parallaxx" -> this.parallaxx = TmxReader.parseDouble(value);
+      case "parallaxy" -> this.parallaxy = TmxReader.parseDouble(value);
+      case "tintcolor" -> this.tintcolor = TmxReader.parseColor(value);
+      default -> super.readAttribute(attribute, value);
+    }
+  }
+
   protected void afterUnmarshal(Unmarshaller u, Object parent) {
     if (parent instanceof TmxMap tmxMap) {
       this.parentMap = tmxMap;
@@ -158,4 +158,15 @@ public class MapImage extends CustomPropertyProvider implements IMapImage {
   public String toString() {
     return this.getAbsoluteSourcePath().toExternalForm();
   }
+
+  @Override
+  void readAttribute(String attribute, String value) {
+    switch (attribute) {
+      case "source" -> this.source = value;
+      case "trans" -> this.transparentcolor = TmxReader.parseColor(value);
+      case "width" -> this.width = TmxReader.parseInt(value);
+      case "height" -> this.height = TmxReader.parseInt(value);
+      default -> super.readAttribute(attribute, value);
+    }
+  }
 }
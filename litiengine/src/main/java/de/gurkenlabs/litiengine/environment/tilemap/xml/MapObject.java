@@ -6,6 +6,8 @@ import java.awt.geom.Rectangle2D;
 import java.net.URL;
 import java.util.Arrays;
 
+import javax.xml.stream.XMLStreamException;
+
 import jakarta.xml.bind.Unmarshaller;
 import jakarta.xml.bind.annotation.XmlAttribute;
 import jakarta.xml.bind.annotation.XmlElement;
@@ -389,8 +391,47 @@ public class MapObject extends CustomPropertyProvider implements IMapObject {
     return this.ellipse != null;
   }
 
-  @SuppressWarnings("unused")
-  private void afterUnmarshal(Unmarshaller u, Object parent) {
+  @Override
+  void readAttribute(String attribute, String value) {
+    switch (attribute) {
+      case "id" -> this.id = TmxReader.parseInt(value);
+      case "gid" -> this.gid = TmxReader.parseInt(value);
+      case "name" -> this.name = value;
+      case "type" -> this.type = value;
+      case "x" -> this.x = TmxReader.parseFloat(value);
+      case "y" -> this.y = TmxReader.parseFloat(value);
+      case "width" -> this.width = TmxReader.parseFloat(value);
+      case "height" -> this.height = TmxReader.parseFloat(value);
+      default -> super.readAttribute(attribute, value);
+    }
+  }
+
+  @Override
+  boolean readElement(TmxReader reader, String element) throws XMLStreamException {
+    switch (element) {
+      case "polyline" -> {
+        this.polyline = new PolyShape();
+        reader.read(this.polyline::readAttribute, null);
+      }
+      case "polygon" -> {
+        this.polygon = new PolyShape();
+        reader.read(this.polygon::readAttribute, null);
+      }
+      case "point" -> this.point = reader.read(null, null);
+      case "ellipse" -> this.ellipse = reader.read(null, null);
+      case "text" -> {
+        this.text = new Text();
+        this.text.read(reader);
+      }
+      default -> {
+        return super.readElement(reader, element);
+      }
+    }
+
+    return true;
+  }
+
+  void afterUnmarshal(Unmarshaller u, Object parent) {
     // MapObjects don't necessarily have to be children of a layer. E.g. they can also be children of a
     // Blueprint.
     if (parent instanceof MapObjectLayer mapObjectLayer) {
@@ -14,6 +14,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import javax.xml.stream.XMLStreamException;
 
 public class MapObjectLayer extends Layer implements IMapObjectLayer {
   public static final String DEFAULT_MAPOBJECTLAYER_NAME = "default";
@@ -131,6 +132,28 @@ public class MapObjectLayer extends Layer implements IMapObjectLayer {
     return objs;
   }
 
+  @Override
+  void readAttribute(String attribute, String value) {
+    if (attribute.equals("color")) {
+      this.color = TmxReader.parseColor(value);
+    } else {
+      super.readAttribute(attribute, value);
+    }
+  }
+
+  @Override
+  boolean readElement(TmxReader reader, String element) throws XMLStreamException {
+    if (!element.equals("object")) {
+      return super.readElement(reader, element);
+    }
+
+    final MapObject mapObject = new MapObject();
+    reader.read(mapObject::readAttribute, mapObject::readElement);
+    mapObject.afterUnmarshal(null, this);
+    this.objects.add(mapObject);
+    return true;
+  }
+
   @Override
   protected void afterUnmarshal(Unmarshaller u, Object parent) {
     if (this.objects == null) {
@@ -76,4 +76,10 @@ public class PolyShape implements IPolyShape {
   public int hashCode() {
     return this.getPoints().hashCode();
   }
+
+  void readAttribute(String attribute, String value) {
+    if (attribute.equals("points")) {
+      this.points = new PolylineAdapter().unmarshal(value);
+    }
+  }
 }
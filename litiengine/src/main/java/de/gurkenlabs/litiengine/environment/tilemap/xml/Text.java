@@ -6,6 +6,8 @@ import java.awt.font.TextAttribute;
 import java.util.HashMap;
 import java.util.Map;
 
+import javax.xml.stream.XMLStreamException;
+
 import jakarta.xml.bind.annotation.XmlAttribute;
 import jakarta.xml.bind.annotation.XmlValue;
 import jakarta.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
@@ -122,4 +124,25 @@ public class Text implements IMapObjectText {
   public Valign getValign() {
     return this.valign;
   }
+
+  void read(TmxReader reader) throws XMLStreamException {
+    this.text = reader.read((attribute, value) -> {
+      switch (attribute) {
+        case "fontfamily" -> this.fontfamily = value;
+        case "pixelsize" -> this.pixelsize = TmxReader.parseInt(value);
+        case "wrap" -> this.wrap = TmxReader.parseInt(value);
+        case "color" -> this.color = TmxReader.parseColor(value);
+        case "bold" -> this.bold = TmxReader.parseInt(value);
+        case "italic" -> this.italic = TmxReader.parseInt(value);
+        case "underline" -> this.underline = TmxReader.parseInt(value);
+        case "strikeout" -> this.strikeout = TmxReader.parseInt(value);
+        case "kerning" -> this.kerning = TmxReader.parseInt(value);
+        case "halign" -> this.halign = TmxReader.parseEnum(Align.class, value);
+        case "valign" -> this.valign = TmxReader.parseEnum(Valign.class, value);
+        default -> {
+          // ignore unknown attributes like JAXB does
+        }
+      }
+    }, null);
+  }
 }
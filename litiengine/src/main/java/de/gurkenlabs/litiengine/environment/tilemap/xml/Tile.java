@@ -21,6 +21,7 @@ public class Tile extends CustomPropertyProvider implements ITile {
   protected static final int FLIPPED_HORIZONTALLY_FLAG = 0x80000000;
   protected static final int FLIPPED_VERTICALLY_FLAG = 0x40000000;
   protected static final int FLIPPED_DIAGONALLY_FLAG = 0x20000000;
+  static final int GRID_ID_MASK = ~(FLIPPED_HORIZONTALLY_FLAG | FLIPPED_VERTICALLY_FLAG | FLIPPED_DIAGONALLY_FLAG);
   private static final AffineTransform TX_DIAGONAL_FLIP = new AffineTransform(0.0, 1.0, 1.0, 0.0, 0.0, 0.0);
 
   @XmlAttribute
@@ -35,6 +36,10 @@ public class Tile extends CustomPropertyProvider implements ITile {
   private transient boolean flippedVertically;
   private transient boolean flipped;
 
+  private transient Tile shared;
+  private transient BufferedImage flippedImageBase;
+  private transient BufferedImage flippedImage;
+
   /**
    * Instantiates a new {@code Tile} instance.
    */
@@ -56,6 +61,27 @@ public class Tile extends CustomPropertyProvider implements ITile {
     this.tileCoordinate = original.getTileCoordinate();
   }
 
+  /**
+   * Instantiates a new {@code Tile} instance for a cell of a {@link TileLayer} that is based on the shared tile of all cells with the same grid ID
+   * bitmask. The new instance shares the property map of the shared tile instead of allocating its own. The custom properties of a tile are
+   * provided by its tileset entry anyway, so changing them changes them for all tiles with the same grid ID.
+   *
+   * @param shared The shared tile of the layer.
+   * @param x      The x-coordinate of the cell.
+   * @param y      The y-coordinate of the cell.
+   */
+  Tile(Tile shared, int x, int y) {
+    super(shared.getPropertyMap());
+    this.flipped = shared.isFlipped();
+    this.flippedDiagonally = shared.isFlippedDiagonally();
+    this.flippedHorizontally = shared.isFlippedHorizontally();
+    this.flippedVertically = shared.isFlippedVertically();
+    this.tilesetEntry = shared.getTilesetEntry();
+    this.gid = shared.gid;
+    this.tileCoordinate = new Point(x, y);
+    this.shared = shared;
+  }
+
   /**
    * Instantiates a new {@code Tile} instance.
    *
@@ -115,6 +141,9 @@ public class Tile extends CustomPropertyProvider implements ITile {
 
   @Override
   public BufferedImage getImage() {
+    if (this.shared != null) {
+      return this.shared.getImage();
+    }
     if (this.tilesetEntry == null) { // happens if the tile is empty
       return null;
     }
@@ -122,6 +151,12 @@ public class Tile extends CustomPropertyProvider implements ITile {
     if (!this.isFlipped()) {
       return base;
     }
+
+    // the shared tiles of a layer are rendered every frame, so the flipped image is only created again if the image of the tileset entry changes
+    if (base == this.flippedImageBase) {
+      return this.flippedImage;
+    }
+
     // save some overhead by doing all the reflection at once
     // affine transforms are confusing: this actually does represent the correct order
     AffineTransform tx = new AffineTransform();
@@ -136,7 +171,9 @@ public class Tile extends CustomPropertyProvider implements ITile {
     if (this.isFlippedDiagonally()) {
       tx.concatenate(TX_DIAGONAL_FLIP);
     }
-    return (new AffineTransformOp(tx, AffineTransformOp.TYPE_NEAREST_NEIGHBOR)).filter(base, null);
+    this.flippedImage = (new AffineTransformOp(tx, AffineTransformOp.TYPE_NEAREST_NEIGHBOR)).filter(base, null);
+    this.flippedImageBase = base;
+    return this.flippedImage;
   }
 
   @Override
@@ -192,6 +229,25 @@ public class Tile extends CustomPropertyProvider implements ITile {
     return this.getGridId() + String.valueOf(this.getTilesetEntry());
   }
 
+  /**
+   * Gets the grid ID of this tile combined with the flags for flipped tiles, as it is stored in the tile data of a layer.
+   *
+   * @return The grid ID bitmask of this tile.
+   */
+  int getGridIdBitmask() {
+    int bitmask = this.getGridId();
+    if (this.isFlippedDiagonally()) {
+      bitmask |= FLIPPED_DIAGONALLY_FLAG;
+    }
+    if (this.isFlippedHorizontally()) {
+      bitmask |= FLIPPED_HORIZONTALLY_FLAG;
+    }
+    if (this.isFlippedVertically()) {
+      bitmask |= FLIPPED_VERTICALLY_FLAG;
+    }
+    return bitmask;
+  }
+
   /**
    * Sets the tileset entry for this tile.
    *
@@ -1,6 +1,8 @@
 package de.gurkenlabs.litiengine.environment.tilemap.xml;
 
+import java.util.ArrayList;
 import java.util.List;
+import javax.xml.stream.XMLStreamException;
 
 import jakarta.xml.bind.annotation.XmlAccessType;
 import jakarta.xml.bind.annotation.XmlAccessorType;
@@ -52,4 +54,19 @@ public class TileAnimation implements ITileAnimation {
     }
     throw new AssertionError(); // we should never reach this line
   }
+
+  boolean readElement(TmxReader reader, String element) throws XMLStreamException {
+    if (!element.equals("frame")) {
+      return false;
+    }
+
+    final Frame frame = new Frame();
+    reader.read(frame::readAttribute, null);
+    if (this.frames == null) {
+      this.frames = new ArrayList<>();
+    }
+
+    this.frames.add(frame);
+    return true;
+  }
 }
@@ -4,6 +4,7 @@ import jakarta.xml.bind.annotation.XmlAttribute;
 import jakarta.xml.bind.annotation.XmlRootElement;
 import jakarta.xml.bind.annotation.XmlTransient;
 import jakarta.xml.bind.annotation.XmlValue;
+import javax.xml.stream.XMLStreamException;
 
 /**
  * This class represents a chunk of tiles in an infinite map.
@@ -58,4 +59,18 @@ public class TileChunk implements Comparable<TileChunk> {
 
     return 0;
   }
+
+  void read(TmxReader reader) throws XMLStreamException {
+    this.value = reader.read((attribute, value) -> {
+      switch (attribute) {
+        case "x" -> this.x = TmxReader.parseInt(value);
+        case "y" -> this.y = TmxReader.parseInt(value);
+        case "width" -> this.width = TmxReader.parseInt(value);
+        case "height" -> this.height = TmxReader.parseInt(value);
+        default -> {
+          // ignore unknown attributes like JAXB does
+        }
+      }
+    }, null);
+  }
 }
@@ -1,8 +1,8 @@
 package de.gurkenlabs.litiengine.environment.tilemap.xml;
 
-import de.gurkenlabs.litiengine.util.ArrayUtilities;
 import de.gurkenlabs.litiengine.util.io.Codec;
 import jakarta.xml.bind.DatatypeConverter;
+import jakarta.xml.bind.Marshaller;
 import jakarta.xml.bind.Unmarshaller;
 import jakarta.xml.bind.annotation.XmlAttribute;
 import jakarta.xml.bind.annotation.XmlElementRef;
@@ -14,6 +14,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -23,6 +24,7 @@ import java.util.zip.DeflaterOutputStream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 import java.util.zip.InflaterInputStream;
+import javax.xml.stream.XMLStreamException;
 
 /**
  * Represents the tile data for a tile map. This class handles the encoding, compression, and storage of tile data.
@@ -117,6 +119,9 @@ public class TileData {
   @XmlTransient
   private List<Tile> tiles;
 
+  @XmlTransient
+  private int[] gids;
+
   @XmlTransient
   private int width;
 
@@ -183,6 +188,7 @@ public class TileData {
     this.value = original.getValue();
     this.chunks = original.chunks != null ? new ArrayList<>(original.chunks) : null;
     this.tiles = original.tiles != null ? new CopyOnWriteArrayList<>(original.getTiles()) : null;
+    this.gids = original.gids != null ? original.gids.clone() : null;
     this.width = original.getWidth();
     this.height = original.getHeight();
     this.offsetX = original.getOffsetX();
@@ -249,22 +255,65 @@ public class TileData {
       return this.tiles;
     }
 
-    if (this.getEncoding() == null || this.getEncoding().isEmpty()) {
+    final int[] gridIds = this.getGridIds();
+    if (gridIds.length == 0) {
       return new ArrayList<>();
     }
 
+    this.tiles = toTiles(gridIds);
+    return this.tiles;
+  }
+
+  /**
+   * Gets the grid IDs of all tiles row by row, including the flags for flipped tiles. This is the compact representation of the tile data that is
+   * used by the {@link TileLayer}. Tile instances are only created if {@link #getTiles()} is called.
+   *
+   * @return The grid ID bitmasks of the tiles or an empty array if the tile data couldn't be parsed.
+   */
+  int[] getGridIds() {
+    if (this.gids != null) {
+      return this.gids;
+    }
+
+    if (this.tiles != null) {
+      final int[] packed = new int[this.tiles.size()];
+      for (int i = 0; i < packed.length; i++) {
+        final Tile tile = this.tiles.get(i);
+        packed[i] = tile != null ? tile.getGridIdBitmask() : Tile.NONE;
+      }
+
+      this.gids = packed;
+      return this.gids;
+    }
+
+    if (this.getEncoding() == null || this.getEncoding().isEmpty()) {
+      return new int[0];
+    }
+
     try {
       if (this.isInfinite()) {
-        this.tiles = this.parseChunkData();
+        this.gids = this.parseChunkData();
       } else {
-        this.tiles = this.parseData();
+        this.gids = this.parseData();
       }
     } catch (InvalidTileLayerException e) {
       log.log(Level.SEVERE, e.getMessage(), e);
-      return new ArrayList<>();
+      return new int[0];
     }
 
-    return this.tiles;
+    return this.gids;
+  }
+
+  /**
+   * Sets the grid ID bitmask of the tile at the specified index. Tile instances that have been created by {@link #getTiles()} are discarded because
+   * the grid IDs are the source of truth once they have been parsed.
+   *
+   * @param index The index of the tile, row by row.
+   * @param gid   The grid ID bitmask, including the flags for flipped tiles.
+   */
+  void setGridId(int index, int gid) {
+    this.getGridIds()[index] = gid;
+    this.tiles = null;
   }
 
   /**
@@ -295,15 +344,16 @@ public class TileData {
    * @return The encoded CSV string representation of the tile data.
    */
   private static String encodeCsv(TileData data) {
+    final int[] gridIds = data.getGridIds();
     StringBuilder sb = new StringBuilder();
-    if (!data.getTiles().isEmpty()) {
+    if (gridIds.length > 0) {
       sb.append('\n');
     }
 
-    for (int i = 0; i < data.getTiles().size(); i++) {
-      sb.append(data.getTiles().get(i).getGridId());
+    for (int i = 0; i < gridIds.length; i++) {
+      sb.append(gridIds[i] & Tile.GRID_ID_MASK);
 
-      if (i < data.getTiles().size() - 1) {
+      if (i < gridIds.length - 1) {
         sb.append(',');
       }
 
@@ -334,13 +384,8 @@ public class TileData {
         }
       }
 
-      for (Tile tile : data.getTiles()) {
-        int gid = 0;
-
-        if (tile != null) {
-          gid = tile.getGridId();
-        }
-
+      for (int gridId : data.getGridIds()) {
+        final int gid = gridId & Tile.GRID_ID_MASK;
         out.write(gid);
         out.write(gid >> Byte.SIZE);
         out.write(gid >> Byte.SIZE * 2);
@@ -432,7 +477,19 @@ public class TileData {
    * @throws InvalidTileLayerException If the Base64 string is invalid or an I/O error occurs during parsing.
    */
   protected static List<Tile> parseBase64Data(String value, String compression) throws InvalidTileLayerException {
-    List<Tile> parsed = new ArrayList<>();
+    return toTiles(parseBase64GridIds(value, compression));
+  }
+
+  /**
+   * Parses the grid ID bitmasks of the tiles from a Base64 encoded string.
+   *
+   * @param value       The Base64 encoded string containing the tile data.
+   * @param compression The compression type used on the tile data (e.g., GZIP, ZLIB, or null for no compression).
+   * @return The grid ID bitmasks of the tiles.
+   * @throws InvalidTileLayerException If the Base64 string is invalid or an I/O error occurs during parsing.
+   */
+  private static int[] parseBase64GridIds(String value, String compression) throws InvalidTileLayerException {
+    final int[] parsed;
 
     String enc = value.trim();
     byte[] dec;
@@ -454,27 +511,16 @@ public class TileData {
         throw new IllegalArgumentException("Unsupported tile layer compression method " + compression);
       }
 
-      int read;
-
-      while ((read = is.read()) != -1) {
-        int tileId = 0;
-        tileId |= read;
-
-        read = is.read();
-        int flags = read << Byte.SIZE;
-
-        read = is.read();
-        flags |= read << Byte.SIZE * 2;
-
-        read = is.read();
-        flags |= read << Byte.SIZE * 3;
-        tileId |= flags;
-
-        if (tileId == Tile.NONE) {
-          parsed.add(Tile.EMPTY);
-        } else {
-          parsed.add(new Tile(tileId));
-        }
+      // inflate the whole layer at once instead of reading the stream byte by byte
+      final byte[] bytes = is.readAllBytes();
+      parsed = new int[bytes.length / Integer.BYTES];
+      for (int i = 0; i < parsed.length; i++) {
+        // the global tile IDs are stored as unsigned little-endian integers
+        final int offset = i * Integer.BYTES;
+        parsed[i] = (bytes[offset] & 0xFF)
+            | (bytes[offset + 1] & 0xFF) << Byte.SIZE
+            | (bytes[offset + 2] & 0xFF) << Byte.SIZE * 2
+            | (bytes[offset + 3] & 0xFF) << Byte.SIZE * 3;
       }
 
     } catch (IOException e) {
@@ -492,33 +538,135 @@ public class TileData {
    * @throws InvalidTileLayerException If the CSV string is invalid or an error occurs during parsing.
    */
   protected static List<Tile> parseCsvData(String value) throws InvalidTileLayerException {
+    return toTiles(parseCsvGridIds(value));
+  }
 
-    List<Tile> parsed = new ArrayList<>();
+  /**
+   * Parses the grid ID bitmasks of the tiles from a CSV formatted string. The values are scanned in place instead of splitting the string, so no
+   * intermediate string is created per tile.
+   *
+   * @param value The CSV formatted string containing the tile data.
+   * @return The grid ID bitmasks of the tiles.
+   * @throws InvalidTileLayerException If the CSV string is invalid.
+   */
+  private static int[] parseCsvGridIds(String value) throws InvalidTileLayerException {
+    int[] parsed = new int[Math.max(16, value.length() / 2)];
+    int count = 0;
+    int index = 0;
+    final int length = value.length();
+    while (true) {
+      // the IDs are separated by commas and can be surrounded by whitespace like spaces, tabs and newlines
+      while (index < length && Character.isWhitespace(value.charAt(index))) {
+        index++;
+      }
 
-    // trim 'space', 'tab', 'newline'. pay attention to additional unicode chars
-    // like \u2028, \u2029, \u0085 if necessary
-    String[] csvTileIds = value.trim().split("[\\s]*,[\\s]*");
+      final int start = index;
+      long tileId = 0;
+      while (index < length && value.charAt(index) >= '0' && value.charAt(index) <= '9') {
+        tileId = tileId * 10 + (value.charAt(index) - '0');
+        if (tileId > 0xFFFFFFFFL) {
+          throw new InvalidTileLayerException(new NumberFormatException("Tile ID out of range at index " + start + " of the CSV tile data"));
+        }
 
-    for (String gid : csvTileIds) {
-      int tileId;
-      try {
-        tileId = Integer.parseUnsignedInt(gid);
-      } catch (NumberFormatException e) {
-        throw new InvalidTileLayerException(e);
+        index++;
       }
 
-      if (tileId > Integer.MAX_VALUE) {
-        parsed.add(new Tile(tileId));
-      } else {
-        if (tileId == Tile.NONE) {
-          parsed.add(Tile.EMPTY);
-        } else {
-          parsed.add(new Tile(tileId));
+      if (index == start) {
+        throw new InvalidTileLayerException(new NumberFormatException("Invalid tile ID at index " + start + " of the CSV tile data"));
+      }
+
+      if (count == parsed.length) {
+        parsed = Arrays.copyOf(parsed, parsed.length * 2);
+      }
+
+      parsed[count++] = (int) tileId;
+
+      while (index < length && Character.isWhitespace(value.charAt(index))) {
+        index++;
+      }
+
+      if (index == length) {
+        return count == parsed.length ? parsed : Arrays.copyOf(parsed, count);
+      }
+
+      if (value.charAt(index) != ',') {
+        throw new InvalidTileLayerException(new NumberFormatException("Invalid character '" + value.charAt(index) + "' at index " + index
+          + " of the CSV tile data"));
+      }
+
+      index++;
+    }
+  }
+
+  /**
+   * Creates the tile instances for the specified grid ID bitmasks. Empty tiles share the {@link Tile#EMPTY} instance.
+   *
+   * @param gridIds The grid ID bitmasks of the tiles.
+   * @return A list of {@code Tile} objects.
+   */
+  private static List<Tile> toTiles(int[] gridIds) {
+    final List<Tile> tiles = new ArrayList<>(gridIds.length);
+    for (int gid : gridIds) {
+      tiles.add(gid == Tile.NONE ? Tile.EMPTY : new Tile(gid));
+    }
+
+    return tiles;
+  }
+
+  /**
+   * Reads the tile data from the specified {@link TmxReader} and decodes the tiles right away unless the map is infinite. The chunks of infinite maps
+   * can only be decoded once the layer has provided the chunk offsets of the map.
+   *
+   * @param reader The reader that is positioned at the start of the {@code data} element.
+   * @param parent The layer that contains the tile data.
+   */
+  void read(TmxReader reader, Object parent) throws XMLStreamException {
+    final List<Object> mixed = new ArrayList<>();
+    reader.readMixed((attribute, value) -> {
+      switch (attribute) {
+        case "encoding" -> this.encoding = value;
+        case "compression" -> this.compression = value;
+        default -> {
+          // ignore unknown attributes like JAXB does
         }
       }
+    }, (r, element) -> {
+      if (!element.equals("chunk")) {
+        return false;
+      }
+
+      final TileChunk chunk = new TileChunk();
+      chunk.read(r);
+      mixed.add(chunk);
+      return true;
+    }, mixed);
+
+    this.rawValue = mixed;
+    this.afterUnmarshal(null, parent);
+
+    // binary maps provide the grid IDs already decoded instead of the encoded text
+    final int[] gridIds = reader.takeGridIds();
+    if (gridIds != null && !this.isInfinite()) {
+      this.gids = gridIds;
+      if (parent instanceof Layer layer) {
+        this.width = layer.getWidth();
+        this.height = layer.getHeight();
+      }
     }
 
-    return parsed;
+    if (!this.isInfinite()) {
+      this.getGridIds();
+    }
+  }
+
+  /**
+   * Encodes the grid IDs again if the tile data has been read without its encoded text, e.g. from a binary map.
+   */
+  @SuppressWarnings("unused")
+  private void beforeMarshal(Marshaller m) throws IOException {
+    if (this.value == null && this.gids != null && !this.isInfinite() && Encoding.isValid(this.encoding) && this.width > 0) {
+      this.setValue(encode(this));
+    }
   }
 
   void afterUnmarshal(Unmarshaller u, Object parent) {
@@ -605,80 +753,72 @@ public class TileData {
   }
 
   /**
-   * Parses the tile data from the contained tile chunks. This method processes the chunks based on the encoding type and fills a two-dimensional
-   * array with the tile information. It also ensures that the rest of the map is filled with {@code Tile.EMPTY}.
+   * Parses the tile data from the contained tile chunks. This method processes the chunks based on the encoding type and copies their grid IDs into
+   * one array that covers all chunks. The rest of the map remains empty.
    *
-   * @return A list of {@code Tile} objects parsed from the chunks.
+   * @return The grid ID bitmasks of the tiles, row by row.
    * @throws InvalidTileLayerException If an error occurs during parsing.
    */
-  private List<Tile> parseChunkData() throws InvalidTileLayerException {
-    // first fill a two-dimensional array with all the information of the chunks
-    Tile[][] tileArr = new Tile[this.getHeight()][this.getWidth()];
+  private int[] parseChunkData() throws InvalidTileLayerException {
+    final int[] gridIds = new int[this.getHeight() * this.getWidth()];
 
     if (this.getEncoding().equals(Encoding.BASE64)) {
       for (TileChunk chunk : this.chunks) {
-        List<Tile> chunkTiles = parseBase64Data(chunk.getValue(), this.compression);
-        this.addTiles(tileArr, chunk, chunkTiles);
+        this.addTiles(gridIds, chunk, parseBase64GridIds(chunk.getValue(), this.compression));
       }
     } else if (this.getEncoding().equals(Encoding.CSV)) {
       for (TileChunk chunk : this.chunks) {
-        List<Tile> chunkTiles = parseCsvData(chunk.getValue());
-        this.addTiles(tileArr, chunk, chunkTiles);
+        this.addTiles(gridIds, chunk, parseCsvGridIds(chunk.getValue()));
       }
     } else {
       throw new IllegalArgumentException("Unsupported tile layer encoding " + this.getEncoding());
     }
 
-    // fill up the rest of the map with Tile.EMPTY
-    for (int y = 0; y < tileArr.length; y++) {
-      for (int x = 0; x < tileArr[y].length; x++) {
-        if (tileArr[y][x] == null) {
-          tileArr[y][x] = Tile.EMPTY;
-        }
-      }
-    }
-
-    return ArrayUtilities.toList(tileArr);
+    return gridIds;
   }
 
   /**
-   * Adds tiles from a chunk to the specified two-dimensional tile array. This method places the tiles from the chunk into the correct positions in
-   * the tile array.
+   * Adds tiles from a chunk to the specified grid IDs of the whole layer. This method copies the rows of the chunk into the correct positions.
    *
-   * @param tileArr    The two-dimensional array to which the tiles will be added.
-   * @param chunk      The tile chunk containing the tiles to be added.
-   * @param chunkTiles The list of tiles from the chunk to be added to the array.
+   * @param gridIds      The grid IDs of the layer, row by row, to which the tiles will be added.
+   * @param chunk        The tile chunk containing the tiles to be added.
+   * @param chunkGridIds The grid IDs of the chunk to be added to the layer.
    */
-  private void addTiles(Tile[][] tileArr, TileChunk chunk, List<Tile> chunkTiles) {
+  private void addTiles(int[] gridIds, TileChunk chunk, int[] chunkGridIds) {
     int startX = chunk.getX() - this.minChunkOffsetXMap;
     int startY = chunk.getY() - this.minChunkOffsetYMap;
 
-    int index = 0;
-
-    for (int y = startY; y < startY + chunk.getHeight(); y++) {
-      for (int x = startX; x < startX + chunk.getWidth(); x++) {
-        tileArr[y][x] = chunkTiles.get(index);
-        index++;
-      }
+    for (int row = 0; row < chunk.getHeight(); row++) {
+      System.arraycopy(chunkGridIds, row * chunk.getWidth(), gridIds, (startY + row) * this.getWidth() + startX, chunk.getWidth());
     }
   }
 
   /**
-   * Parses the tile data based on the encoding type. This method processes the tile data string and converts it into a list of {@code Tile} objects.
+   * Parses the tile data based on the encoding type. This method processes the tile data string and converts it into the grid IDs of the tiles.
    *
-   * @return A list of {@code Tile} objects parsed from the tile data string.
+   * @return The grid ID bitmasks parsed from the tile data string.
    * @throws InvalidTileLayerException If an error occurs during parsing.
    */
-  private List<Tile> parseData() throws InvalidTileLayerException {
-    List<Tile> tmpTiles;
-    if (this.getEncoding().equals(Encoding.BASE64)) {
-      tmpTiles = parseBase64Data(this.value, this.compression);
-    } else if (this.getEncoding().equals(Encoding.CSV)) {
-      tmpTiles = parseCsvData(this.value);
-    } else {
-      throw new IllegalArgumentException("Unsupported tile layer encoding " + this.getEncoding());
+  private int[] parseData() throws InvalidTileLayerException {
+    return decode(this.value, this.getEncoding(), this.compression);
+  }
+
+  /**
+   * Decodes the grid IDs of the specified tile data string.
+   *
+   * @param value       The encoded tile data.
+   * @param encoding    The encoding of the tile data.
+   * @param compression The compression of the tile data or null if it's not compressed.
+   * @return The grid ID bitmasks parsed from the tile data string.
+   * @throws InvalidTileLayerException If an error occurs during parsing.
+   */
+  static int[] decode(String value, String encoding, String compression) throws InvalidTileLayerException {
+    if (encoding.equals(Encoding.BASE64)) {
+      return parseBase64GridIds(value, compression);
+    } else if (encoding.equals(Encoding.CSV)) {
+      return parseCsvGridIds(value);
     }
 
-    return tmpTiles;
+    throw new IllegalArgumentException("Unsupported tile layer encoding " + encoding);
   }
 }
@@ -2,26 +2,38 @@ package de.gurkenlabs.litiengine.environment.tilemap.xml;
 
 import de.gurkenlabs.litiengine.environment.tilemap.ITile;
 import de.gurkenlabs.litiengine.environment.tilemap.ITileLayer;
-import de.gurkenlabs.litiengine.environment.tilemap.ITilesetEntry;
+import de.gurkenlabs.litiengine.environment.tilemap.TileChangedListener;
 import jakarta.xml.bind.annotation.XmlElement;
-import java.awt.Point;
 import java.awt.geom.Point2D;
 import java.net.URL;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.xml.stream.XMLStreamException;
 
 /**
  * Represents a layer of tiles in the tile map. This class extends the {@link Layer} class and implements the {@link ITileLayer} interface.
  */
 public class TileLayer extends Layer implements ITileLayer {
 
+  // shared tiles are kept in an array indexed by their grid ID unless they are flipped or their grid ID is very large
+  private static final int MAX_INDEXED_GRID_ID = 1 << 16;
+
   @XmlElement
   private TileData data = null;
 
-  private transient List<ITile> tileList;
+  private final transient List<ITile> tileList = new TileList();
+
+  private transient volatile Tile[] sharedTiles = new Tile[0];
+
+  private final transient Map<Integer, Tile> sharedFlippedTiles = new ConcurrentHashMap<>();
 
-  private transient Tile[][] tiles;
+  private final transient Collection<TileChangedListener> tileChangedListeners = ConcurrentHashMap.newKeySet();
 
   /**
    * Instantiates a new {@code TileLayer} instance.
@@ -48,37 +60,64 @@ public class TileLayer extends Layer implements ITileLayer {
   public TileLayer(TileLayer original) {
     super(original);
     this.data = original.data != null ? new TileData(original.data) : null;
-    this.tileList = new CopyOnWriteArrayList<>();
-    this.tiles = new Tile[original.getHeight()][original.getWidth()];
-
-    for (int i = 0; i < original.getData().size(); i++) {
-      final int x = i % original.getWidth();
-      final int y = i / original.getWidth();
-      final Tile originalTile = original.getData().get(i);
-      final Tile copiedTile = new Tile(originalTile);
-      copiedTile.setTileCoordinate(new Point(x, y));
-      this.tileList.add(copiedTile);
-      this.tiles[y][x] = copiedTile;
+
+    // the copy isn't part of a map yet, so it keeps the tileset entries that the original has resolved
+    if (original.data != null) {
+      for (int gid : original.getGridIds()) {
+        original.getSharedTile(gid);
+      }
     }
-  }
 
-  @Override
-  public ITile getTileByLocation(final Point2D location) {
-    final Optional<ITile> tile = getTiles().stream().filter(x -> x.getTileCoordinate().equals(location)).findFirst();
-    return tile.orElse(null);
+    this.sharedTiles = original.sharedTiles.clone();
+    this.sharedFlippedTiles.putAll(original.sharedFlippedTiles);
   }
 
   @Override
-  public ITile getTile(int x, int y) {
-    if (tiles == null || tiles.length == 0) {
+  public ITile getTileByLocation(final Point2D location) {
+    if (location == null) {
       return null;
     }
 
-    if (x < 0 || y < 0 || y >= tiles.length || x >= tiles[y].length) {
+    final int x = (int) location.getX();
+    final int y = (int) location.getY();
+    if (x != location.getX() || y != location.getY()) {
       return null;
     }
 
-    return tiles[y][x];
+    return this.getTile(x, y);
+  }
+
+  /**
+   * Gets the tile at the specified coordinates. The tiles of a layer are stored as grid IDs and the returned instance is created on every call. It
+   * reflects the state of the cell at the time of the call and doesn't change if the cell is changed later on. Use
+   * {@link #getSharedTile(int, int)} to render the layer without creating an instance for every cell.
+   *
+   * <p>
+   * Just like in Tiled, the custom properties of a tile belong to its tileset entry. Setting a property on the returned tile therefore changes the
+   * property for all cells with the same grid ID.
+   * </p>
+   *
+   * @param x The x-coordinate of the tile.
+   * @param y The y-coordinate of the tile.
+   * @return The tile at the specified coordinates or null if the coordinates are outside of the layer.
+   */
+  @Override
+  public ITile getTile(int x, int y) {
+    final Tile shared = this.getSharedTile(x, y);
+    return shared != null ? new Tile(shared, x, y) : null;
+  }
+
+  /**
+   * Gets the grid ID of the tile at the specified coordinates, including the flags for flipped tiles. In contrast to {@link #getTile(int, int)},
+   * this doesn't create any instance.
+   *
+   * @param x The x-coordinate of the tile.
+   * @param y The y-coordinate of the tile.
+   * @return The grid ID bitmask of the tile or {@link Tile#NONE} if the coordinates are outside of the layer.
+   */
+  public int getGridIdBitmask(int x, int y) {
+    final int index = this.getIndex(x, y);
+    return index >= 0 ? this.getGridIds()[index] : Tile.NONE;
   }
 
   @Override
@@ -92,26 +131,36 @@ public class TileLayer extends Layer implements ITileLayer {
       return;
     }
 
-    Tile tile = getRawTileData().getTiles().get(x + y * getWidth());
-    if (tile == null) {
-      return;
-    }
-
-    tile.setGridId(gid);
+    // the flip flags of the cell are kept, just like the grid ID of the tile is replaced
+    final int index = x + y * getWidth();
+    final int flags = getRawTileData().getGridIds()[index] & ~Tile.GRID_ID_MASK;
+    getRawTileData().setGridId(index, flags | gid);
 
-    if (getMap() != null) {
-      ITilesetEntry entry = getMap().getTilesetEntry(gid);
-      if (entry != null) {
-        tile.setTilesetEntry(entry);
-      }
+    for (TileChangedListener listener : this.tileChangedListeners) {
+      listener.tileChanged(this, x, y);
     }
   }
 
+  /**
+   * Gets all tiles of this layer row by row. The returned list is a read-only view on the grid IDs of the layer that creates the tiles on access.
+   *
+   * @return The tiles of this layer.
+   */
   @Override
   public List<ITile> getTiles() {
     return this.tileList;
   }
 
+  @Override
+  public void onTileChanged(TileChangedListener listener) {
+    this.tileChangedListeners.add(listener);
+  }
+
+  @Override
+  public void removeTileChangedListener(TileChangedListener listener) {
+    this.tileChangedListeners.remove(listener);
+  }
+
   @Override
   public int getWidth() {
     if (data != null && data.isInfinite()) {
@@ -148,19 +197,102 @@ public class TileLayer extends Layer implements ITileLayer {
     return data;
   }
 
+  @Override
+  boolean readElement(TmxReader reader, String element) throws XMLStreamException {
+    if (!element.equals("data")) {
+      return super.readElement(reader, element);
+    }
+
+    this.data = new TileData();
+    this.data.read(reader, this);
+    return true;
+  }
+
   @Override
   void finish(URL location) throws TmxException {
     super.finish(location);
-    this.tileList = new CopyOnWriteArrayList<>();
-    this.tiles = new Tile[getHeight()][getWidth()];
-    for (int i = 0; i < getData().size(); i++) {
-      final int x = i % getWidth();
-      final int y = i / getWidth();
-      final Tile tile = getData().get(i);
-      tile.setTileCoordinate(new Point(x, y));
-      this.tileList.add(tile);
-      this.tiles[y][x] = tile;
-      getData().get(i).setTilesetEntry(getMap().getTilesetEntry(tile.getGridId()));
+
+    // decode the tile data and resolve the tileset entries of the shared tiles again once the tilesets of the map are available
+    this.getGridIds();
+    this.sharedTiles = new Tile[0];
+    this.sharedFlippedTiles.clear();
+  }
+
+  private int[] getGridIds() {
+    return this.data != null ? this.data.getGridIds() : new int[0];
+  }
+
+  private int getIndex(int x, int y) {
+    if (x < 0 || y < 0 || x >= getWidth() || y >= getHeight()) {
+      return -1;
+    }
+
+    final int index = x + y * getWidth();
+    return index < this.getGridIds().length ? index : -1;
+  }
+
+  /**
+   * Gets the tile that is shared by all cells with the same grid ID bitmask as the cell at the specified coordinates. The shared tile has no tile
+   * coordinate.
+   *
+   * @param x The x-coordinate of the tile.
+   * @param y The y-coordinate of the tile.
+   * @return The shared tile of the cell or null if the coordinates are outside of the layer.
+   */
+  @Override
+  public Tile getSharedTile(int x, int y) {
+    final int index = this.getIndex(x, y);
+    return index >= 0 ? this.getSharedTile(this.getGridIds()[index]) : null;
+  }
+
+  /**
+   * Gets the tile that is shared by all cells with the specified grid ID bitmask. The shared tiles are created lazily and hold the tileset entry and
+   * the flipped image, so the cells themselves only need to store their grid ID.
+   */
+  private Tile getSharedTile(int gidBitmask) {
+    if (gidBitmask < 0 || gidBitmask >= MAX_INDEXED_GRID_ID) {
+      return this.sharedFlippedTiles.computeIfAbsent(gidBitmask, this::createSharedTile);
+    }
+
+    Tile[] shared = this.sharedTiles;
+    if (gidBitmask < shared.length && shared[gidBitmask] != null) {
+      return shared[gidBitmask];
+    }
+
+    // concurrent callers might create the same shared tile twice, which is harmless because shared tiles with the same grid ID are equal
+    final Tile tile = this.createSharedTile(gidBitmask);
+    if (gidBitmask >= shared.length) {
+      shared = Arrays.copyOf(shared, gidBitmask + 1);
+    }
+
+    shared[gidBitmask] = tile;
+    this.sharedTiles = shared;
+    return tile;
+  }
+
+  private Tile createSharedTile(int gidBitmask) {
+    final Tile tile = new Tile(gidBitmask);
+    if (getMap() != null) {
+      tile.setTilesetEntry(getMap().getTilesetEntry(tile.getGridId()));
+    }
+
+    return tile;
+  }
+
+  private final class TileList extends AbstractList<ITile> implements RandomAccess {
+    @Override
+    public ITile get(int index) {
+      final int[] gridIds = TileLayer.this.getGridIds();
+      Objects.checkIndex(index, gridIds.length);
+      final int width = Math.max(1, TileLayer.this.getWidth());
+      final int x = index % width;
+      final int y = index / width;
+      return new Tile(TileLayer.this.getSharedTile(gridIds[index]), x, y);
+    }
+
+    @Override
+    public int size() {
+      return TileLayer.this.getGridIds().length;
     }
   }
 }
@@ -46,4 +46,14 @@ public class TileOffset implements ITileOffset {
   public String toString() {
     return "tile offset: (" + this.getX() + ',' + this.getY() + ')';
   }
+
+  void readAttribute(String attribute, String value) {
+    switch (attribute) {
+      case "x" -> this.x = TmxReader.parseInt(value);
+      case "y" -> this.y = TmxReader.parseInt(value);
+      default -> {
+        // ignore unknown attributes like JAXB does
+      }
+    }
+  }
 }
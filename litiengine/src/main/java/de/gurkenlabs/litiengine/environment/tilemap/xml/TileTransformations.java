@@ -43,4 +43,16 @@ public class TileTransformations {
   public boolean isPreferuntransformed() {
     return this.preferuntransformed;
   }
+
+  void readAttribute(String attribute, String value) {
+    switch (attribute) {
+      case "hflip" -> this.hflip = TmxReader.parseBoolean(value);
+      case "vflip" -> this.vflip = TmxReader.parseBoolean(value);
+      case "rotate" -> this.rotate = TmxReader.parseBoolean(value);
+      case "preferuntransformed" -> this.preferuntransformed = TmxReader.parseBoolean(value);
+      default -> {
+        // ignore unknown attributes like JAXB does
+      }
+    }
+  }
 }
@@ -30,6 +30,7 @@ import java.util.ListIterator;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.xml.stream.XMLStreamException;
 
 /**
  * The {@code Tileset} class represents a collection of tiles used in a tile-based map. It extends the {@code CustomPropertyProvider} class and
@@ -395,6 +396,15 @@ public class Tileset extends CustomPropertyProvider implements ITileset {
     XmlUtilities.save(this.sourceTileset, path.resolve(source), FILE_EXTENSION);
   }
 
+  /**
+   * Gets the path of the external tileset that this tileset refers to.
+   *
+   * @return The source of the external tileset or null if the tileset is embedded in the map.
+   */
+  public String getSource() {
+    return this.source;
+  }
+
   /**
    * Checks if the tileset is external.
    *
@@ -423,8 +433,71 @@ public class Tileset extends CustomPropertyProvider implements ITileset {
     }
   }
 
-  @SuppressWarnings("unused")
-  private void afterUnmarshal(Unmarshaller u, Object parent) {
+  @Override
+  void readAttribute(String attribute, String value) {
+    switch (attribute) {
+      case "firstgid" -> this.firstgid = TmxReader.parseInt(value);
+      case "margin" -> this.margin = TmxReader.parseInt(value);
+      case "name" -> this.name = value;
+      case "class" -> this.tilesetClass = value;
+      case "tilewidth" -> this.tilewidth = TmxReader.parseInt(value);
+      case "tileheight" -> this.tileheight = TmxReader.parseInt(value);
+      case "tilecount" -> this.tilecount = TmxReader.parseInt(value);
+      case "columns" -> this.columns = TmxReader.parseInt(value);
+      case "spacing" -> this.spacing = TmxReader.parseInt(value);
+      case "source" -> this.source = value;
+      case "objectalignment" -> this.objectalignment = value;
+      case "tilerendersize" -> this.tilerendersize = value;
+      case "fillmode" -> this.fillmode = value;
+      default -> super.readAttribute(attribute, value);
+    }
+  }
+
+  @Override
+  boolean readElement(TmxReader reader, String element) throws XMLStreamException {
+    switch (element) {
+      case "image" -> this.image = reader.readImage();
+      case "tileoffset" -> {
+        this.tileoffset = new TileOffset();
+        reader.read(this.tileoffset::readAttribute, null);
+      }
+      case "tile" -> {
+        final TilesetEntry entry = new TilesetEntry();
+        reader.read(entry::readAttribute, entry::readElement);
+        entry.afterUnmarshal(null, this);
+        if (this.tiles == null) {
+          this.tiles = new ArrayList<>();
+        }
+
+        this.tiles.add(entry);
+      }
+      case "wangsets" -> reader.read(null, (r, child) -> {
+        if (!child.equals("wangset")) {
+          return false;
+        }
+
+        final WangSet wangSet = new WangSet();
+        r.read(wangSet::readAttribute, wangSet::readElement);
+        if (this.wangsets == null) {
+          this.wangsets = new ArrayList<>();
+        }
+
+        this.wangsets.add(wangSet);
+        return true;
+      });
+      case "transformations" -> {
+        this.transformations = new TileTransformations();
+        reader.read(this.transformations::readAttribute, null);
+      }
+      default -> {
+        return super.readElement(reader, element);
+      }
+    }
+
+    return true;
+  }
+
+  void afterUnmarshal(Unmarshaller u, Object parent) {
     if (this.source == null) {
       this.allTiles = new ArrayList<>(this.getTileCount());
       if (this.tiles != null) {
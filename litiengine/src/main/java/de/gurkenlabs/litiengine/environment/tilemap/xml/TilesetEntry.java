@@ -2,6 +2,7 @@ package de.gurkenlabs.litiengine.environment.tilemap.xml;
 
 import java.awt.image.BufferedImage;
 import java.net.URL;
+import javax.xml.stream.XMLStreamException;
 
 import jakarta.xml.bind.Unmarshaller;
 import jakarta.xml.bind.annotation.XmlAccessType;
@@ -116,8 +117,34 @@ public class TilesetEntry extends CustomPropertyProvider implements ITilesetEntr
     return this.terrain != null || this.image != null || this.animation != null || this.type != null;
   }
 
-  @SuppressWarnings("unused")
-  private void afterUnmarshal(Unmarshaller u, Object parent) {
+  void afterUnmarshal(Unmarshaller u, Object parent) {
     this.tileset = (Tileset) parent;
   }
+
+  @Override
+  void readAttribute(String attribute, String value) {
+    switch (attribute) {
+      case "id" -> this.id = TmxReader.parseInt(value);
+      case "terrain" -> this.terrain = value;
+      case "type" -> this.type = value;
+      default -> super.readAttribute(attribute, value);
+    }
+  }
+
+  @Override
+  boolean readElement(TmxReader reader, String element) throws XMLStreamException {
+    switch (element) {
+      case "animation" -> {
+        this.animation = new TileAnimation();
+        reader.read(null, this.animation::readElement);
+      }
+      case "image" -> this.image = reader.readImage();
+      case "objectgroup" -> this.collisionData = (MapObjectLayer) reader.readLayer(element, this);
+      default -> {
+        return super.readElement(reader, element);
+      }
+    }
+
+    return true;
+  }
 }
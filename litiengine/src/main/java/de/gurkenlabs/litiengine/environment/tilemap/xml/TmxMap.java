@@ -37,6 +37,7 @@ import java.util.Objects;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.xml.stream.XMLStreamException;
 
 @XmlRootElement(name = "map")
 @XmlAccessorType(XmlAccessType.FIELD)
@@ -530,8 +531,57 @@ public final class TmxMap extends CustomPropertyProvider implements IMap {
     return this.chunkOffsetY;
   }
 
-  @SuppressWarnings("unused")
-  private void afterUnmarshal(Unmarshaller u, Object parent) {
+  @Override
+  void readAttribute(String attribute, String value) {
+    switch (attribute) {
+      case "version" -> this.version = TmxReader.parseDouble(value);
+      case "tiledversion" -> this.tiledversion = value;
+      case "class" -> this.mapClass = value;
+      case "orientation" -> this.orientation = value;
+      case "renderorder" -> this.renderorder = TmxReader.parseEnum(RenderOrder.class, value);
+      case "width" -> this.width = TmxReader.parseInt(value);
+      case "height" -> this.height = TmxReader.parseInt(value);
+      case "tilewidth" -> this.tilewidth = TmxReader.parseInt(value);
+      case "tileheight" -> this.tileheight = TmxReader.parseInt(value);
+      case "infinite" -> this.infinite = TmxReader.parseInt(value);
+      case "hexsidelength" -> this.hexsidelength = TmxReader.parseInt(value);
+      case "staggeraxis" -> this.staggeraxis = TmxReader.parseEnum(StaggerAxis.class, value);
+      case "staggerindex" -> this.staggerindex = TmxReader.parseEnum(StaggerIndex.class, value);
+      case "parallaxoriginx" -> this.parallaxoriginx = TmxReader.parseDouble(value);
+      case "parallaxoriginy" -> this.parallaxoriginy = TmxReader.parseDouble(value);
+      case "backgroundcolor" -> this.backgroundcolor = TmxReader.parseColor(value);
+      case "nextlayerid" -> this.nextLayerId = TmxReader.parseInt(value);
+      case "nextobjectid" -> this.nextObjectId = TmxReader.parseInt(value);
+      case "name" -> this.name = value;
+      default -> super.readAttribute(attribute, value);
+    }
+  }
+
+  @Override
+  boolean readElement(TmxReader reader, String element) throws XMLStreamException {
+    if (element.equals("tileset")) {
+      if (this.tilesets == null) {
+        this.tilesets = new ArrayList<>();
+      }
+
+      this.tilesets.add(reader.readTilesetElement(this));
+      return true;
+    }
+
+    final ILayer layer = reader.readLayer(element, this);
+    if (layer != null) {
+      if (this.layers == null) {
+        this.layers = new ArrayList<>();
+      }
+
+      this.layers.add(layer);
+      return true;
+    }
+
+    return super.readElement(reader, element);
+  }
+
+  void afterUnmarshal(Unmarshaller u, Object parent) {
     this.checkVersion();
 
     if (this.orientation != null) {
@@ -0,0 +1,486 @@
+package de.gurkenlabs.litiengine.environment.tilemap.xml;
+
+import de.gurkenlabs.litiengine.environment.tilemap.ICustomProperty;
+import de.gurkenlabs.litiengine.environment.tilemap.ILayer;
+import de.gurkenlabs.litiengine.util.ColorHelper;
+import de.gurkenlabs.litiengine.util.io.URLAdapter;
+import jakarta.xml.bind.annotation.XmlEnumValue;
+import java.awt.Color;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * A streaming reader for TMX maps and TSX tilesets that is based on {@code javax.xml.stream}.
+ *
+ * <p>
+ * In contrast to the JAXB unmarshaller, this reader doesn't build the object graph by reflection. Every element of the model reads its own
+ * attributes and child elements from the stream, and the tile data of the layers is decoded as soon as it has been read. Afterwards, the same
+ * {@code afterUnmarshal} callbacks as with JAXB are executed, so the loaded instances are equal to the ones that JAXB creates. Unknown elements
+ * and attributes are skipped, just like JAXB does.
+ *
+ * <p>
+ * The reader fails with a {@link TmxException} if the file isn't a valid TMX or TSX file. In that case, the resource containers fall back to
+ * JAXB.
+ *
+ * @see de.gurkenlabs.litiengine.resources.Maps
+ * @see de.gurkenlabs.litiengine.resources.Tilesets
+ */
+public final class TmxReader {
+  private static final XMLInputFactory factory = createFactory();
+
+  private static final ClassValue<Map<String, Object>> enumValues = new ClassValue<>() {
+    @Override
+    protected Map<String, Object> computeValue(Class<?> type) {
+      final Map<String, Object> values = new HashMap<>();
+      for (Object constant : type.getEnumConstants()) {
+        final String name = ((Enum<?>) constant).name();
+        try {
+          final XmlEnumValue value = type.getField(name).getAnnotation(XmlEnumValue.class);
+          values.put(value != null ? value.value() : name, constant);
+        } catch (NoSuchFieldException e) {
+          values.put(name, constant);
+        }
+      }
+
+      return values;
+    }
+  };
+
+  /**
+   * The event of a {@link Source} for the grid IDs of a {@code data} element that have already been decoded.
+   */
+  static final int GRID_IDS = 100;
+
+  private final Source source;
+  private final URLAdapter urls;
+  private int[] gridIds;
+
+  private TmxReader(Source source, URL location) {
+    this.source = source;
+    this.urls = new URLAdapter(location);
+  }
+
+  /**
+   * Reads the TMX map from the specified location. The returned map still needs to be finished before it can be used.
+   *
+   * @param location The location of the TMX file.
+   * @return The map that was read from the file.
+   * @throws TmxException If the file couldn't be read or doesn't contain a valid map.
+   * @see TmxMap#finish(URL)
+   */
+  public static TmxMap readMap(URL location) throws TmxException {
+    return read(location, "map", r -> r.readMap());
+  }
+
+  /**
+   * Reads the TSX tileset from the specified location. The returned tileset still needs to be finished before it can be used.
+   *
+   * @param location The location of the TSX file.
+   * @return The tileset that was read from the file.
+   * @throws TmxException If the file couldn't be read or doesn't contain a valid tileset.
+   * @see Tileset#finish(URL)
+   */
+  public static Tileset readTileset(URL location) throws TmxException {
+    return read(location, "tileset", r -> r.readTilesetElement(null));
+  }
+
+  /**
+   * Reads a TSX tileset from the specified stream, e.g. an entry of an asset pack.
+   *
+   * @param stream   The stream that contains the tileset.
+   * @param location The location that relative paths of the tileset are resolved against.
+   * @return The tileset.
+   * @throws TmxException If the stream doesn't contain a valid tileset.
+   */
+  public static Tileset readTileset(InputStream stream, URL location) throws TmxException {
+    try {
+      return read(new XmlSource(createXmlReader(stream, location.toExternalForm())), location, "tileset", r -> r.readTilesetElement(null));
+    } catch (XMLStreamException e) {
+      throw new TmxException("Could not read " + location + ": " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Reads the attributes, child elements and text of the current element until its end.
+   *
+   * @param attributes The callback for the attributes of the element.
+   * @param elements   The callback for the child elements, which returns false for unknown elements that are skipped. Null to skip all child
+   *                   elements.
+   * @return The text content of the element, or an empty string if it doesn't have any text.
+   */
+  String read(AttributeReader attributes, ElementReader elements) throws XMLStreamException {
+    return this.read(attributes, elements, null);
+  }
+
+  /**
+   * Reads an element with mixed content. The text between the child elements is added to the content as separate strings, just like JAXB does it
+   * for an {@code XmlMixed} property, while the element callback is responsible for adding the child elements.
+   *
+   * @param attributes The callback for the attributes of the element.
+   * @param elements   The callback for the child elements.
+   * @param content    The list that receives the text and the child elements in the order of the document.
+   */
+  void readMixed(AttributeReader attributes, ElementReader elements, List<Object> content) throws XMLStreamException {
+    this.read(attributes, elements, content);
+  }
+
+  /**
+   * Gets the grid IDs of the {@code data} element that has been read last, if the source provides them already decoded. The grid IDs are only
+   * returned once.
+   *
+   * @return The grid ID bitmasks of the tiles or null if the tile data has been provided as text.
+   */
+  int[] takeGridIds() {
+    final int[] ids = this.gridIds;
+    this.gridIds = null;
+    return ids;
+  }
+
+  private String read(AttributeReader attributes, ElementReader elements, List<Object> content) throws XMLStreamException {
+    if (attributes != null) {
+      for (int i = 0; i < this.source.getAttributeCount(); i++) {
+        attributes.read(this.source.getAttributeLocalName(i), this.source.getAttributeValue(i));
+      }
+    }
+
+    StringBuilder text = null;
+    while (true) {
+      switch (this.source.next()) {
+        case XMLStreamConstants.START_ELEMENT:
+          if (content != null && text != null) {
+            content.add(text.toString());
+            text = null;
+          }
+
+          if (elements == null || !elements.read(this, this.source.getLocalName())) {
+            this.skip();
+          }
+          break;
+        case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE:
+          if (text == null) {
+            text = new StringBuilder();
+          }
+
+          this.source.appendText(text);
+          break;
+        case GRID_IDS:
+          this.gridIds = this.source.getGridIds();
+          break;
+        case XMLStreamConstants.END_ELEMENT:
+          if (content != null && text != null) {
+            content.add(text.toString());
+          }
+
+          return text != null ? text.toString() : "";
+        default:
+          break;
+      }
+    }
+  }
+
+  /**
+   * Reads the {@code property} elements of a {@code properties} element into the specified map.
+   *
+   * @param properties The map of the custom property provider that contains the element.
+   */
+  void readProperties(Map<String, ICustomProperty> properties) throws XMLStreamException {
+    this.read(null, (r, element) -> {
+      if (!element.equals("property")) {
+        return false;
+      }
+
+      final String[] property = new String[3];
+      final String contents = r.read((name, value) -> {
+        switch (name) {
+          case "name" -> property[0] = value;
+          case "type" -> property[1] = value;
+          case "value" -> property[2] = value;
+          default -> {
+            // ignore the attributes that aren't supported by the engine
+          }
+        }
+      }, null);
+
+      final String type = property[1] != null ? property[1] : CustomPropertyType.STRING;
+      final CustomProperty prop = new CustomProperty(type, property[2] != null ? property[2] : contents);
+      if (type.equals(CustomPropertyType.FILE)) {
+        final URL location = r.getUrl(property[2]);
+        if (location != null) {
+          prop.setValue(location);
+        }
+      }
+
+      properties.put(property[0], prop);
+      return true;
+    });
+  }
+
+  /**
+   * Reads one of the layers that can be children of a map or a group layer.
+   *
+   * @param element The name of the current element.
+   * @param parent  The map or group layer that contains the layer.
+   * @return The layer or null if the element isn't a layer.
+   */
+  ILayer readLayer(String element, Object parent) throws XMLStreamException {
+    final Layer layer = switch (element) {
+      case "layer" -> new TileLayer();
+      case "objectgroup" -> new MapObjectLayer();
+      case "imagelayer" -> new ImageLayer();
+      case "group" -> new GroupLayer();
+      default -> null;
+    };
+
+    if (layer == null) {
+      return null;
+    }
+
+    this.read(layer::readAttribute, layer::readElement);
+    layer.afterUnmarshal(null, parent);
+    return layer;
+  }
+
+  /**
+   * Reads a tileset that is either the root element of a TSX file or a child of a map.
+   *
+   * @param parent The map that contains the tileset, or null if it's the root element.
+   * @return The tileset.
+   */
+  Tileset readTilesetElement(Object parent) throws XMLStreamException {
+    final Tileset tileset = new Tileset();
+    this.read(tileset::readAttribute, tileset::readElement);
+    tileset.afterUnmarshal(null, parent);
+    return tileset;
+  }
+
+  /**
+   * Reads an {@code image} element.
+   *
+   * @return The image.
+   */
+  MapImage readImage() throws XMLStreamException {
+    final MapImage image = new MapImage();
+    this.read(image::readAttribute, image::readElement);
+    return image;
+  }
+
+  URL getUrl(String value) throws XMLStreamException {
+    try {
+      return this.urls.unmarshal(value);
+    } catch (MalformedURLException e) {
+      throw new XMLStreamException(e.getMessage(), e);
+    }
+  }
+
+  static int parseInt(String value) {
+    return Integer.parseInt(value.trim());
+  }
+
+  static float parseFloat(String value) {
+    return Float.parseFloat(value.trim());
+  }
+
+  static double parseDouble(String value) {
+    return Double.parseDouble(value.trim());
+  }
+
+  static boolean parseBoolean(String value) {
+    final String trimmed = value.trim();
+    return trimmed.equals("true") || trimmed.equals("1");
+  }
+
+  static Color parseColor(String value) {
+    return ColorHelper.decode(value);
+  }
+
+  /**
+   * Parses the value of an enum like JAXB does, i.e. by its {@link XmlEnumValue}.
+   *
+   * @return The enum constant or null if the value doesn't match any constant.
+   */
+  static <T extends Enum<T>> T parseEnum(Class<T> type, String value) {
+    return type.cast(enumValues.get(type).get(value.trim()));
+  }
+
+  private TmxMap readMap() throws XMLStreamException {
+    final TmxMap map = new TmxMap();
+    this.read(map::readAttribute, map::readElement);
+    map.afterUnmarshal(null, null);
+    return map;
+  }
+
+  private void skip() throws XMLStreamException {
+    int depth = 1;
+    while (depth > 0) {
+      final int event = this.source.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        depth++;
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        depth--;
+      }
+    }
+  }
+
+  private static <T> T read(URL location, String root, DocumentReader<T> document) throws TmxException {
+    if (location == null) {
+      throw new TmxException("The location of the TMX resource must not be null.");
+    }
+
+    try (InputStream stream = new BufferedInputStream(location.openStream())) {
+      return read(new XmlSource(createXmlReader(stream, location.toExternalForm())), location, root, document);
+    } catch (XMLStreamException | IOException e) {
+      if (e instanceof TmxException tmx) {
+        throw tmx;
+      }
+
+      throw new TmxException("Could not read " + location + ": " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Reads the map from the events of the specified source, e.g. a binary map file.
+   *
+   * @param source   The source of the events.
+   * @param location The location of the map that relative paths are resolved against.
+   * @return The map that was read from the source.
+   * @throws TmxException If the source doesn't contain a valid map.
+   */
+  static TmxMap readMap(Source source, URL location) throws TmxException {
+    return read(source, location, "map", TmxReader::readMap);
+  }
+
+  static XMLStreamReader createXmlReader(InputStream stream, String systemId) throws XMLStreamException {
+    return factory.createXMLStreamReader(systemId, stream);
+  }
+
+  private static <T> T read(Source source, URL location, String root, DocumentReader<T> document) throws TmxException {
+    try {
+      try {
+        int event = source.next();
+        while (event != XMLStreamConstants.START_ELEMENT) {
+          if (event == XMLStreamConstants.END_DOCUMENT) {
+            throw new TmxException("The TMX resource " + location + " doesn't contain any element.");
+          }
+
+          event = source.next();
+        }
+
+        if (!source.getLocalName().equals(root)) {
+          throw new TmxException("Expected the root element '" + root + "' but found '" + source.getLocalName() + "' in " + location);
+        }
+
+        return document.read(new TmxReader(source, location));
+      } finally {
+        source.close();
+      }
+    } catch (XMLStreamException | RuntimeException e) {
+      throw new TmxException("Could not read " + location + ": " + e.getMessage(), e);
+    }
+  }
+
+  private static XMLInputFactory createFactory() {
+    final XMLInputFactory inputFactory = XMLInputFactory.newFactory();
+    inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    return inputFactory;
+  }
+
+  /**
+   * Reads an attribute of the current element.
+   */
+  @FunctionalInterface
+  interface AttributeReader {
+    void read(String name, String value);
+  }
+
+  /**
+   * Reads a child element of the current element, starting at its start tag and ending at its end tag.
+   */
+  @FunctionalInterface
+  interface ElementReader {
+    boolean read(TmxReader reader, String element) throws XMLStreamException;
+  }
+
+  /**
+   * The events of a document, which are either parsed from XML or read from a binary map file.
+   */
+  interface Source {
+    /**
+     * Advances to the next event.
+     *
+     * @return The type of the event, i.e. one of the {@link XMLStreamConstants} or {@link #GRID_IDS}.
+     */
+    int next() throws XMLStreamException;
+
+    String getLocalName();
+
+    int getAttributeCount();
+
+    String getAttributeLocalName(int index);
+
+    String getAttributeValue(int index);
+
+    void appendText(StringBuilder text);
+
+    int[] getGridIds();
+
+    void close() throws XMLStreamException;
+  }
+
+  @FunctionalInterface
+  private interface DocumentReader<T> {
+    T read(TmxReader reader) throws XMLStreamException;
+  }
+
+  private record XmlSource(XMLStreamReader reader) implements Source {
+    @Override
+    public int next() throws XMLStreamException {
+      return this.reader.next();
+    }
+
+    @Override
+    public String getLocalName() {
+      return this.reader.getLocalName();
+    }
+
+    @Override
+    public int getAttributeCount() {
+      return this.reader.getAttributeCount();
+    }
+
+    @Override
+    public String getAttributeLocalName(int index) {
+      return this.reader.getAttributeLocalName(index);
+    }
+
+    @Override
+    public String getAttributeValue(int index) {
+      return this.reader.getAttributeValue(index);
+    }
+
+    @Override
+    public void appendText(StringBuilder text) {
+      text.append(this.reader.getTextCharacters(), this.reader.getTextStart(), this.reader.getTextLength());
+    }
+
+    @Override
+    public int[] getGridIds() {
+      throw new UnsupportedOperationException("XML documents contain the tile data as text");
+    }
+
+    @Override
+    public void close() throws XMLStreamException {
+      this.reader.close();
+    }
+  }
+}
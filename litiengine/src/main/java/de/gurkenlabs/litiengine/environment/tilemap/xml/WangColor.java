@@ -40,4 +40,17 @@ public class WangColor implements ITerrain {
   public double getProbability() {
     return this.probability;
   }
+
+  void readAttribute(String attribute, String value) {
+    switch (attribute) {
+      case "name" -> this.name = value;
+      case "class" -> this.wangColorClass = value;
+      case "color" -> this.color = TmxReader.parseColor(value);
+      case "tile" -> this.tile = TmxReader.parseInt(value);
+      case "probability" -> this.probability = TmxReader.parseDouble(value);
+      default -> {
+        // ignore unknown attributes like JAXB does
+      }
+    }
+  }
 }
@@ -5,7 +5,9 @@ import de.gurkenlabs.litiengine.environment.tilemap.ITerrainSet;
 import de.gurkenlabs.litiengine.environment.tilemap.TerrainType;
 import jakarta.xml.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.List;
+import javax.xml.stream.XMLStreamException;
 
 @XmlAccessorType(XmlAccessType.FIELD)
 public class WangSet extends CustomPropertyProvider implements ITerrainSet {
@@ -61,4 +63,44 @@ public class WangSet extends CustomPropertyProvider implements ITerrainSet {
 
     return terrains;
   }
+
+  @Override
+  void readAttribute(String attribute, String value) {
+    switch (attribute) {
+      case "name" -> this.name = value;
+      case "class" -> this.wangSetClass = value;
+      case "type" -> this.type = TmxReader.parseEnum(TerrainType.class, value);
+      case "tile" -> this.tile = TmxReader.parseInt(value);
+      default -> super.readAttribute(attribute, value);
+    }
+  }
+
+  @Override
+  boolean readElement(TmxReader reader, String element) throws XMLStreamException {
+    switch (element) {
+      case "wangcolor" -> {
+        final WangColor color = new WangColor();
+        reader.read(color::readAttribute, null);
+        if (this.wangcolor == null) {
+          this.wangcolor = new ArrayList<>();
+        }
+
+        this.wangcolor.add(color);
+      }
+      case "wangtile" -> {
+        final WangTile wangTile = new WangTile();
+        reader.read(wangTile::readAttribute, null);
+        if (this.wangtiles == null) {
+          this.wangtiles = new ArrayList<>();
+        }
+
+        this.wangtiles.add(wangTile);
+      }
+      default -> {
+        return super.readElement(reader, element);
+      }
+    }
+
+    return true;
+  }
 }
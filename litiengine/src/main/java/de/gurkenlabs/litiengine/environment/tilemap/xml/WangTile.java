@@ -1,5 +1,6 @@
 package de.gurkenlabs.litiengine.environment.tilemap.xml;
 
+import de.gurkenlabs.litiengine.util.ArrayUtilities;
 import jakarta.xml.bind.annotation.XmlAttribute;
 import jakarta.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
@@ -19,4 +20,14 @@ public class WangTile {
   public int[] getWangId() {
     return wangid;
   }
+
+  void readAttribute(String attribute, String value) {
+    switch (attribute) {
+      case "tileid" -> this.tileid = TmxReader.parseInt(value);
+      case "wangid" -> this.wangid = ArrayUtilities.splitInt(value);
+      default -> {
+        // ignore unknown attributes like JAXB does
+      }
+    }
+  }
 }
@@ -3,22 +3,34 @@ package de.gurkenlabs.litiengine.graphics;
 import de.gurkenlabs.litiengine.entities.LightSource;
 import de.gurkenlabs.litiengine.entities.StaticShadow;
 import de.gurkenlabs.litiengine.environment.Environment;
+import de.gurkenlabs.litiengine.util.Imaging;
 import de.gurkenlabs.litiengine.util.MathUtilities;
-import de.gurkenlabs.litiengine.util.geom.GeometricUtilities;
-import de.gurkenlabs.litiengine.util.geom.Vector2D;
 import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.Graphics2D;
-import java.awt.Paint;
-import java.awt.geom.Area;
-import java.awt.geom.Line2D;
 import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * This class represents the ambient light in an environment. It extends the ColorLayer class and provides methods to render light sources and
  * shadows.
+ *
+ * <p>
+ * Every light source is rasterized together with the occlusion by the static shadows into a light map that is only as large as the light. The light
+ * maps are cached until the shape, the color or the static shadows around the light change, so updating a section of this layer only composes the
+ * ambient color with the cached light maps. A light that moves in whole pixels without any static shadow nearby keeps its light map.
+ *
+ * <p>
+ * The occlusion is computed as a visibility polygon by a {@link ShadowSegmentIndex} of the static shadow edges, which only considers the shadows
+ * around the light. The visibility polygon is kept if only the color of a light changes.
  */
 public class AmbientLight extends ColorLayer {
   /**
@@ -26,6 +38,11 @@ public class AmbientLight extends ColorLayer {
    */
   public static final Color DEFAULT_COLOR = new Color(0, 0, 0, 0);
 
+  // initialized lazily because the ColorLayer already renders the layer in its constructor
+  private Map<LightSource, LightMap> lightMaps;
+  private ShadowSegmentIndex shadowIndex;
+  private double[] shadowBoxes;
+
   /**
    * Constructor for the AmbientLight class.
    *
@@ -46,10 +63,50 @@ public class AmbientLight extends ColorLayer {
   protected void renderSection(Graphics2D g, Rectangle2D section) {
     renderAmbient(g, section);
 
-    g.setComposite(AlphaComposite.getInstance(AlphaComposite.DST_OUT, 1));
-    getEnvironment().getLightSources().forEach(light -> carveOutLight(g, light, section));
+    synchronized (this) {
+      if (this.lightMaps == null) {
+        this.lightMaps = new IdentityHashMap<>();
+      }
+
+      this.updateShadowIndex();
+
+      final Collection<LightSource> lights = getEnvironment().getLightSources();
+      final List<LightMap> maps = new ArrayList<>();
+      for (LightSource light : lights) {
+        if (light.isActive() && light.getBoundingBox().intersects(section)) {
+          maps.add(getLightMap(light));
+        }
+      }
+
+      // forget the light maps of removed lights
+      if (this.lightMaps.size() > lights.size()) {
+        this.lightMaps.keySet().retainAll(lights);
+      }
+
+      g.setComposite(AlphaComposite.getInstance(AlphaComposite.DST_OUT, 1));
+      maps.forEach(map -> carveOutLight(g, map));
 
-    getEnvironment().getLightSources().forEach(light -> renderActualLight(g, light, section));
+      maps.forEach(map -> renderActualLight(g, map));
+    }
+  }
+
+  /**
+   * Gets the number of light maps that are currently cached by this instance.
+   *
+   * @return The number of cached light maps.
+   */
+  public synchronized int getCachedLightMaps() {
+    return this.lightMaps != null ? this.lightMaps.size() : 0;
+  }
+
+  /**
+   * Gets the index of the static shadow edges that occlude the light sources. The index is built when the layer is rendered for the first time and
+   * rebuilt whenever the static shadows of the environment change.
+   *
+   * @return The index of the static shadow edges or null if the layer hasn't been rendered yet.
+   */
+  public synchronized ShadowSegmentIndex getShadowIndex() {
+    return this.shadowIndex;
   }
 
   /**
@@ -71,126 +128,212 @@ public class AmbientLight extends ColorLayer {
   /**
    * Carves out a light source from the ambient light.
    *
-   * @param g       The Graphics2D object to carve on.
-   * @param light   The light source to carve out.
-   * @param section The section of the environment to carve from.
+   * @param g   The Graphics2D object to carve on.
+   * @param map The light map of the light source to carve out.
    */
-  private void carveOutLight(Graphics2D g, LightSource light, Rectangle2D section) {
-    if (!light.getBoundingBox().intersects(section) || !light.isActive()) {
-      return;
-    }
-    renderLightSource(g, light, section);
+  private static void carveOutLight(Graphics2D g, LightMap map) {
+    map.render(g);
   }
 
   /**
    * Renders an actual light source on the environment.
    *
-   * @param g       The Graphics2D object to render on.
-   * @param light   The light source to render.
-   * @param section The section of the environment to render on.
+   * @param g   The Graphics2D object to render on.
+   * @param map The light map of the light source to render.
    */
-  private void renderActualLight(Graphics2D g, LightSource light, Rectangle2D section) {
-    if (!light.getBoundingBox().intersects(section)
-      || !light.isActive()
-      || light.getIntensity() <= 0) {
+  private static void renderActualLight(Graphics2D g, LightMap map) {
+    if (map.light.getIntensity() <= 0) {
       return;
     }
 
-    final float intensity = Math.clamp(light.getIntensity() / 255f, 0f, 1f);
+    final float intensity = Math.clamp(map.light.getIntensity() / 255f, 0f, 1f);
     g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, intensity));
-    renderLightSource(g, light, section);
+    map.render(g);
   }
 
   /**
-   * Renders the ambient light on the environment.
+   * Gets the cached light map of the specified light source or rasterizes a new one if the light or the static shadows around it changed.
    *
-   * @param g       The Graphics2D object to render on.
-   * @param section The section of the environment to render.
+   * @param light The light source.
+   * @return The light map that is positioned at the current location of the light.
    */
-  private void renderAmbient(Graphics2D g, Rectangle2D section) {
-    g.setColor(getColor());
-    g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_IN, 1));
-    ShapeRenderer.render(g, section);
+  private LightMap getLightMap(LightSource light) {
+    final Rectangle2D bounds = light.getLightShapeType() == LightSource.Type.RECTANGLE || light.getLightShape() == null
+      ? light.getBoundingBox()
+      : light.getLightShape().getBounds2D();
+    final int shadows = this.collectShadowBoxes(light, bounds);
+
+    LightMap map = this.lightMaps.get(light);
+    if (map == null || !map.matches(light, bounds, this.shadowBoxes, shadows)) {
+      final LightMap previous = map;
+      map = new LightMap(light, bounds, Arrays.copyOf(this.shadowBoxes, shadows * 4));
+      if (map.type == LightSource.Type.ELLIPSE) {
+        if (previous != null && previous.sameOcclusion(map)) {
+          // only the appearance of the light changed
+          map.visibility = previous.visibility;
+          map.darkened = previous.darkened;
+        } else {
+          final Point2D center = new Point2D.Double(bounds.getCenterX(), bounds.getCenterY());
+          map.visibility = this.shadowIndex.computeVisibilityPolygon(center, bounds);
+          map.darkened = this.shadowIndex.getDarkenedBoxes(center, bounds);
+        }
+      }
+
+      rasterize(map);
+      this.lightMaps.put(light, map);
+    }
+
+    map.moveTo(bounds);
+    return map;
   }
 
   /**
-   * Subtracts a shadow from a light area.
+   * Collects the bounding boxes of all static shadows that might occlude the specified light into the {@code shadowBoxes} array.
    *
-   * @param lightArea The light area to subtract from.
-   * @param shadow    The shadow to subtract.
+   * @return The number of collected shadow boxes.
    */
-  private void subtractShadow(Area lightArea, StaticShadow shadow) {
-    if (!lightArea.intersects(shadow.getBoundingBox())) {
-      return;
+  private int collectShadowBoxes(LightSource light, Rectangle2D bounds) {
+    if (light.getLightShapeType() == LightSource.Type.RECTANGLE) {
+      // rectangle lights are not occluded
+      return 0;
     }
 
-    final double mapWidth = getEnvironment().getMap().getSizeInPixels().width;
-    final double mapHeight = getEnvironment().getMap().getSizeInPixels().height;
-    double longerDimension = Math.max(mapWidth, mapHeight);
-    Point2D center = new Point2D.Double(lightArea.getBounds2D().getCenterX(), lightArea.getBounds2D().getCenterY());
-
-
-    final Area boxInLight = new Area(shadow.getBoundingBox());
+    return this.shadowIndex.collectBoxes(bounds, this.shadowBoxes);
+  }
 
-    final Line2D[] bounds = GeometricUtilities.getLines(shadow.getBoundingBox());
-    for (final Line2D line : bounds) {
-      final Vector2D lineVector = new Vector2D(line.getP1(), line.getP2());
-      final Vector2D lightVector = new Vector2D(center, line.getP1());
+  /**
+   * Rebuilds the index of the static shadow edges if the static shadows of the environment changed since it was built.
+   */
+  private void updateShadowIndex() {
+    final Collection<StaticShadow> shadows = getEnvironment().getStaticShadows();
+    if (this.shadowIndex != null && this.shadowIndex.getSignature() == ShadowSegmentIndex.getSignature(shadows)) {
+      return;
+    }
 
-      if (center.getY() < line.getY1()
-        && center.getY() < line.getY2()
-        && shadow.getBoundingBox().contains(center)
-        || lineVector.normalVector().dotProduct(lightVector) >= 0) {
-        continue;
-      }
+    this.shadowIndex = new ShadowSegmentIndex(shadows);
+    this.shadowBoxes = new double[this.shadowIndex.size() * 4];
+  }
 
-      final Path2D shadowParallelogram = new Path2D.Double();
-      final Point2D shadowPoint1 = GeometricUtilities.project(center, line.getP1(), longerDimension);
-      final Point2D shadowPoint2 = GeometricUtilities.project(center, line.getP2(), longerDimension);
+  /**
+   * Renders the light source with its shadow occlusion into the image of the light map.
+   *
+   * @param map The light map to rasterize.
+   */
+  private static void rasterize(LightMap map) {
+    if (map.image == null) {
+      return;
+    }
 
-      // construct a shape from our points
-      shadowParallelogram.moveTo(line.getP1().getX(), line.getP1().getY());
-      shadowParallelogram.lineTo(shadowPoint1.getX(), shadowPoint1.getY());
-      shadowParallelogram.lineTo(shadowPoint2.getX(), shadowPoint2.getY());
-      shadowParallelogram.lineTo(line.getP2().getX(), line.getP2().getY());
-      shadowParallelogram.closePath();
+    final Graphics2D g = map.image.createGraphics();
+    g.translate(-map.x, -map.y);
+    if (map.type == LightSource.Type.RECTANGLE) {
+      g.setColor(map.light.getColor());
+      ShapeRenderer.render(g, map.light.getBoundingBox());
+    } else if (map.light.getLightShape() != null) {
+      // only the visible part of the light shape is lit
+      g.clip(map.light.getLightShape());
+      g.setPaint(map.light.getGradientPaint());
+      ShapeRenderer.render(g, map.visibility);
 
-      final Area shadowArea = new Area(shadowParallelogram);
-      if (center.getY() < shadow.getBoundingBox().getMaxY() && !shadow.getBoundingBox().contains(center)) {
-        shadowArea.add(boxInLight);
-      }
-      shadowArea.intersect(lightArea);
-      lightArea.subtract(shadowArea);
+      // the walls of rooms are not lit from behind (this simulates light falling into and out of rooms)
+      g.setComposite(AlphaComposite.Clear);
+      map.darkened.forEach(box -> ShapeRenderer.render(g, box));
     }
+
+    g.dispose();
   }
 
   /**
-   * Renders a light source on the environment.
+   * Renders the ambient light on the environment.
    *
    * @param g       The Graphics2D object to render on.
-   * @param light   The light source to render.
-   * @param section The section of the environment to render on.
+   * @param section The section of the environment to render.
    */
-  private void renderLightSource(final Graphics2D g, final LightSource light, Rectangle2D section) {
+  private void renderAmbient(Graphics2D g, Rectangle2D section) {
+    g.setColor(getColor());
+    g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_IN, 1));
+    ShapeRenderer.render(g, section);
+  }
 
-    Area lightArea = new Area(light.getLightShape());
-    if (light.getLightShapeType() == LightSource.Type.RECTANGLE) {
-      g.setColor(light.getColor());
-      ShapeRenderer.render(g, new Rectangle2D.Double(
-        light.getBoundingBox().getX() - section.getX(),
-        light.getBoundingBox().getY() - section.getY(),
-        light.getBoundingBox().getWidth(),
-        light.getBoundingBox().getHeight()));
-      return;
+  /**
+   * The rasterized light of a single light source, which covers the pixels of the light's bounds.
+   */
+  private static final class LightMap {
+    private final LightSource light;
+    private final LightSource.Type type;
+    private final int color;
+    private final double boundsX;
+    private final double boundsY;
+    private final double width;
+    private final double height;
+    private final double[] shadows;
+    private final BufferedImage image;
+    private Path2D visibility;
+    private List<Rectangle2D> darkened = List.of();
+
+    private int x;
+    private int y;
+
+    private LightMap(LightSource light, Rectangle2D bounds, double[] shadows) {
+      this.light = light;
+      this.type = light.getLightShapeType();
+      this.color = light.getColor() != null ? light.getColor().getRGB() : 0;
+      this.boundsX = bounds.getX();
+      this.boundsY = bounds.getY();
+      this.width = bounds.getWidth();
+      this.height = bounds.getHeight();
+      this.shadows = shadows;
+      this.x = (int) Math.floor(bounds.getMinX());
+      this.y = (int) Math.floor(bounds.getMinY());
+      final int imageWidth = (int) Math.ceil(bounds.getMaxX()) - this.x;
+      final int imageHeight = (int) Math.ceil(bounds.getMaxY()) - this.y;
+      this.image = Imaging.getCompatibleImage(Math.max(0, imageWidth), Math.max(0, imageHeight));
+    }
+
+    /**
+     * Determines whether this light map still shows the specified light. Without any static shadows, the light map doesn't depend on the position of
+     * the light but only on its offset within a pixel.
+     */
+    private boolean matches(LightSource light, Rectangle2D bounds, double[] shadowBoxes, int shadowCount) {
+      if (this.type != light.getLightShapeType()
+        || this.color != (light.getColor() != null ? light.getColor().getRGB() : 0)
+        || this.width != bounds.getWidth()
+        || this.height != bounds.getHeight()
+        || this.shadows.length != shadowCount * 4) {
+        return false;
+      }
+
+      if (shadowCount == 0) {
+        return this.boundsX - Math.floor(this.boundsX) == bounds.getX() - Math.floor(bounds.getX())
+          && this.boundsY - Math.floor(this.boundsY) == bounds.getY() - Math.floor(bounds.getY());
+      }
+
+      return this.boundsX == bounds.getX()
+        && this.boundsY == bounds.getY()
+        && Arrays.equals(this.shadows, 0, this.shadows.length, shadowBoxes, 0, shadowCount * 4);
     }
 
-    // cut the light area where shadow Boxes are (this simulates light falling into and out of rooms)
-    getEnvironment().getStaticShadows().forEach(shadow -> subtractShadow(lightArea, shadow));
+    /**
+     * Determines whether the other light map is occluded in the same way as this one, so the visibility can be shared.
+     */
+    private boolean sameOcclusion(LightMap other) {
+      return this.visibility != null
+        && this.boundsX == other.boundsX
+        && this.boundsY == other.boundsY
+        && this.width == other.width
+        && this.height == other.height
+        && Arrays.equals(this.shadows, other.shadows);
+    }
 
-    final Paint oldPaint = g.getPaint();
+    private void moveTo(Rectangle2D bounds) {
+      this.x = (int) Math.floor(bounds.getMinX());
+      this.y = (int) Math.floor(bounds.getMinY());
+    }
 
-    g.setPaint(light.getGradientPaint());
-    ShapeRenderer.render(g, lightArea);
-    g.setPaint(oldPaint);
+    private void render(Graphics2D g) {
+      if (this.image != null) {
+        g.drawImage(this.image, this.x, this.y, null);
+      }
+    }
   }
 }
@@ -73,17 +73,17 @@ public class Camera implements ICamera {
 
   @Override
   public double getPixelOffsetX() {
-    return -this.viewport.getX();
+    return -this.currentViewport().getX();
   }
 
   @Override
   public double getPixelOffsetY() {
-    return -this.viewport.getY();
+    return -this.currentViewport().getY();
   }
 
   @Override
   public Rectangle2D getViewport() {
-    return (Rectangle2D) this.viewport.clone();
+    return (Rectangle2D) this.currentViewport().clone();
   }
 
   @Override
@@ -364,6 +364,15 @@ public class Camera implements ICamera {
     return Game.window().getResolution().getHeight() / this.getRenderScale();
   }
 
+  /**
+   * Gets the viewport that is used for the current frame. If the calling thread renders a frame that is decoupled from the game loop, this is the
+   * interpolated viewport of that frame; otherwise the viewport that was last updated by the game loop.
+   */
+  private Rectangle2D currentViewport() {
+    final RenderState state = RenderState.current();
+    return state != null && state.isCapturedFrom(this) ? state.getViewport() : this.viewport;
+  }
+
   /**
    * Apply shake effect.
    *
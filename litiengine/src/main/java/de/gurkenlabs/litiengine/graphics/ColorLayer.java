@@ -39,6 +39,15 @@ public abstract class ColorLayer implements IRenderable {
     ImageRenderer.render(g, this.layer, -viewport.getX(), -viewport.getY());
   }
 
+  /**
+   * Gets the image to which this layer is rendered. It has the size of the map and is drawn relative to the viewport.
+   *
+   * @return The image of this layer.
+   */
+  public BufferedImage getImage() {
+    return this.layer;
+  }
+
   /**
    * Gets the current color of the layer.
    *
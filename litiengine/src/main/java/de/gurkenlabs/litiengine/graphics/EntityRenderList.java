@@ -0,0 +1,383 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import de.gurkenlabs.litiengine.entities.EntityTransformListener;
+import de.gurkenlabs.litiengine.entities.EntityYComparator;
+import de.gurkenlabs.litiengine.entities.ICollisionEntity;
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.graphics.emitters.Emitter;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The {@code EntityRenderList} keeps entities in the order in which they are rendered, so that they don't have to be collected and sorted anew for
+ * every frame.
+ *
+ * <p>
+ * If the list is sorted, the entities are ordered by the same criterion as the {@link EntityYComparator} to simulate 2.5D graphics. The list
+ * listens to the transform events of its entities and only repairs the order of the entities that have moved or changed their size. Since
+ * entities typically only move a few pixels per frame, this is done with an insertion sort that is close to linear for such nearly sorted data.
+ * The sort order also serves as index for the viewport culling: Only the range of entities that can possibly intersect with the viewport
+ * vertically is tested against it.
+ *
+ * <p>
+ * If the list is not sorted, the entities are rendered in the order in which they were added.
+ *
+ * <p>
+ * <i>Changes to the collision box of an entity that are not caused by a change of its location or size don't fire a transform event. Call
+ * {@link #invalidate()} after such changes to update the order.</i>
+ *
+ * @see RenderEngine#renderEntities(java.awt.Graphics2D, EntityRenderList)
+ * @see EntityTransformListener
+ */
+public final class EntityRenderList {
+  private static final int INITIAL_CAPACITY = 16;
+
+  /** The insertion sort is aborted in favor of a full sort if it has to shift more entries than this factor times the number of entries. */
+  private static final int MAX_SHIFTS_PER_ENTRY = 8;
+
+  private static final Comparator<Entry> DEPTH_ORDER = Comparator.<Entry>comparingDouble(e -> e.depth).thenComparingLong(e -> e.sequence);
+  private static final Comparator<Entry> INSERTION_ORDER = Comparator.comparingLong(e -> e.sequence);
+
+  private final Map<IEntity, Entry> lookup = new IdentityHashMap<>();
+  private Entry[] entries = new Entry[INITIAL_CAPACITY];
+  private int size;
+  private long sequence;
+
+  private boolean sorted;
+  private volatile boolean dirty;
+  private volatile boolean invalidated;
+
+  private int[] unbounded = new int[INITIAL_CAPACITY];
+  private int unboundedCount;
+  private double maxExtentAbove;
+  private double maxExtentBelow;
+
+  /**
+   * Initializes a new instance of the {@code EntityRenderList} class.
+   *
+   * @param sorted Defines whether the entities are sorted by their y-coordinate.
+   */
+  public EntityRenderList(boolean sorted) {
+    this.sorted = sorted;
+  }
+
+  /**
+   * Adds the specified entity to this list. This has no effect if the entity is already contained.
+   *
+   * @param entity The entity to add.
+   */
+  public synchronized void add(IEntity entity) {
+    if (entity == null || this.lookup.containsKey(entity)) {
+      return;
+    }
+
+    if (this.size == this.entries.length) {
+      this.entries = Arrays.copyOf(this.entries, this.size * 2);
+    }
+
+    final Entry entry = new Entry(entity, this.sequence++);
+    entry.update();
+    this.entries[this.size++] = entry;
+    this.lookup.put(entity, entry);
+    entity.addTransformListener(entry);
+    this.dirty = true;
+  }
+
+  /**
+   * Removes the specified entity from this list.
+   *
+   * @param entity The entity to remove.
+   * @return True if the entity was contained in this list; otherwise false.
+   */
+  public synchronized boolean remove(IEntity entity) {
+    final Entry entry = this.lookup.remove(entity);
+    if (entry == null) {
+      return false;
+    }
+
+    entity.removeListener(entry);
+    int index = 0;
+    while (this.entries[index] != entry) {
+      index++;
+    }
+
+    // copy the entries because a frame might currently be rendered from the old array
+    final Entry[] remaining = new Entry[Math.max(INITIAL_CAPACITY, this.entries.length)];
+    System.arraycopy(this.entries, 0, remaining, 0, index);
+    System.arraycopy(this.entries, index + 1, remaining, index, this.size - index - 1);
+    this.entries = remaining;
+    this.size--;
+    this.dirty = true;
+    return true;
+  }
+
+  /**
+   * Removes all entities from this list.
+   */
+  public synchronized void clear() {
+    for (int i = 0; i < this.size; i++) {
+      this.entries[i].entity.removeListener(this.entries[i]);
+    }
+
+    this.lookup.clear();
+    this.entries = new Entry[INITIAL_CAPACITY];
+    this.size = 0;
+    this.dirty = true;
+  }
+
+  /**
+   * Determines whether this list contains the specified entity.
+   *
+   * @param entity The entity.
+   * @return True if this list contains the entity; otherwise false.
+   */
+  public synchronized boolean contains(IEntity entity) {
+    return this.lookup.containsKey(entity);
+  }
+
+  /**
+   * Gets the number of entities in this list.
+   *
+   * @return The number of entities.
+   */
+  public synchronized int size() {
+    return this.size;
+  }
+
+  /**
+   * Determines whether the entities of this list are sorted by their y-coordinate.
+   *
+   * @return True if the entities are sorted; false if they are kept in the order in which they were added.
+   */
+  public synchronized boolean isSorted() {
+    return this.sorted;
+  }
+
+  /**
+   * Sets whether the entities of this list are sorted by their y-coordinate.
+   *
+   * @param sorted True if the entities should be sorted; false if they should be kept in the order in which they were added.
+   */
+  public synchronized void setSorted(boolean sorted) {
+    if (this.sorted == sorted) {
+      return;
+    }
+
+    this.sorted = sorted;
+    Arrays.sort(this.entries, 0, this.size, sorted ? DEPTH_ORDER : INSERTION_ORDER);
+    this.dirty = true;
+  }
+
+  /**
+   * Updates the order of all entities with the next frame. This is only required after changes that don't fire a transform event, e.g. a changed
+   * collision box.
+   */
+  public void invalidate() {
+    this.invalidated = true;
+    this.dirty = true;
+  }
+
+  /**
+   * Performs the specified action for all entities of this list that intersect with the specified viewport in the order in which they should be
+   * rendered. Emitters are always included because they determine on a per-particle basis whether they are visible.
+   *
+   * @param viewport The viewport in map coordinates.
+   * @param action   The action that is performed for every visible entity.
+   */
+  public void forEachVisible(Rectangle2D viewport, Consumer<? super IEntity> action) {
+    final Entry[] snapshot;
+    final int[] unboundedSnapshot;
+    final int count;
+    final int unboundedSnapshotCount;
+    final int from;
+    final int to;
+    synchronized (this) {
+      if (this.dirty) {
+        this.repair();
+      }
+
+      snapshot = this.entries;
+      count = this.size;
+      unboundedSnapshot = this.unbounded;
+      unboundedSnapshotCount = this.unboundedCount;
+      from = this.sorted ? this.lowerBound(viewport.getMinY() - this.maxExtentBelow) : 0;
+      to = this.sorted ? this.upperBound(viewport.getMaxY() + this.maxExtentAbove) : count;
+    }
+
+    // the entities are rendered outside of the lock because render listeners might add or remove entities
+    int u = 0;
+    while (u < unboundedSnapshotCount && unboundedSnapshot[u] < from) {
+      action.accept(snapshot[unboundedSnapshot[u++]].entity);
+    }
+
+    for (int i = from; i < to; i++) {
+      final Entry entry = snapshot[i];
+      if (entry.unbounded || viewport.intersects(entry.entity.getBoundingBox())) {
+        action.accept(entry.entity);
+      }
+    }
+
+    while (u < unboundedSnapshotCount && unboundedSnapshot[u] < to) {
+      u++;
+    }
+
+    while (u < unboundedSnapshotCount) {
+      action.accept(snapshot[unboundedSnapshot[u++]].entity);
+    }
+  }
+
+  private void repair() {
+    this.dirty = false;
+    final boolean refreshAll = this.invalidated;
+    this.invalidated = false;
+
+    for (int i = 0; i < this.size; i++) {
+      final Entry entry = this.entries[i];
+      if (refreshAll) {
+        entry.update();
+      }
+
+      entry.apply();
+    }
+
+    if (this.sorted) {
+      this.insertionSort();
+    }
+
+    this.unboundedCount = 0;
+    this.maxExtentAbove = 0;
+    this.maxExtentBelow = 0;
+    for (int i = 0; i < this.size; i++) {
+      final Entry entry = this.entries[i];
+      if (entry.unbounded) {
+        if (this.unboundedCount == this.unbounded.length) {
+          this.unbounded = Arrays.copyOf(this.unbounded, this.unboundedCount * 2);
+        }
+
+        this.unbounded[this.unboundedCount++] = i;
+        continue;
+      }
+
+      this.maxExtentAbove = Math.max(this.maxExtentAbove, entry.depth - entry.top);
+      this.maxExtentBelow = Math.max(this.maxExtentBelow, entry.bottom - entry.depth);
+    }
+  }
+
+  private void insertionSort() {
+    final Entry[] sorting = this.entries;
+    final long maxShifts = (long) this.size * MAX_SHIFTS_PER_ENTRY;
+    long shifts = 0;
+    for (int i = 1; i < this.size; i++) {
+      final Entry entry = sorting[i];
+      int j = i - 1;
+      while (j >= 0 && DEPTH_ORDER.compare(sorting[j], entry) > 0) {
+        sorting[j + 1] = sorting[j];
+        j--;
+      }
+
+      sorting[j + 1] = entry;
+      shifts += i - 1 - j;
+      if (shifts > maxShifts) {
+        // the order changed too much for a repair, e.g. because many entities were added at once
+        Arrays.sort(sorting, 0, this.size, DEPTH_ORDER);
+        return;
+      }
+    }
+  }
+
+  private int lowerBound(double depth) {
+    int low = 0;
+    int high = this.size;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (this.entries[mid].depth < depth) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+
+    return low;
+  }
+
+  private int upperBound(double depth) {
+    int low = 0;
+    int high = this.size;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (this.entries[mid].depth <= depth) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+
+    return low;
+  }
+
+  /**
+   * Holds the cached sort key of an entity. The transform events may be fired on another thread than the one that renders, so the pending values
+   * are only applied to the sort key when the order is repaired.
+   */
+  private final class Entry implements EntityTransformListener {
+    private final IEntity entity;
+    private final long sequence;
+    private final boolean unbounded;
+
+    private volatile double pendingDepth;
+    private volatile double pendingTop;
+    private volatile double pendingBottom;
+    private volatile boolean changed;
+
+    private double depth;
+    private double top;
+    private double bottom;
+
+    private Entry(IEntity entity, long sequence) {
+      this.entity = entity;
+      this.sequence = sequence;
+      this.unbounded = entity instanceof Emitter;
+    }
+
+    @Override
+    public void locationChanged(IEntity entity) {
+      this.update();
+      EntityRenderList.this.dirty = true;
+    }
+
+    @Override
+    public void sizeChanged(IEntity entity) {
+      this.update();
+      EntityRenderList.this.dirty = true;
+    }
+
+    private void update() {
+      final Rectangle2D bounds = this.entity.getBoundingBox();
+
+      // the transform event might be fired before the entity refreshed its collision box
+      final Rectangle2D collisionBox = this.entity instanceof ICollisionEntity collisionEntity
+        ? collisionEntity.getCollisionBox(this.entity.getLocation())
+        : null;
+      final Rectangle2D depthBox = collisionBox != null ? collisionBox : bounds;
+      this.pendingDepth = depthBox != null ? depthBox.getMaxY() : 0;
+      this.pendingTop = bounds != null ? bounds.getMinY() : 0;
+      this.pendingBottom = bounds != null ? bounds.getMaxY() : 0;
+      this.changed = true;
+    }
+
+    private void apply() {
+      if (!this.changed) {
+        return;
+      }
+
+      this.changed = false;
+      this.depth = this.pendingDepth;
+      this.top = this.pendingTop;
+      this.bottom = this.pendingBottom;
+    }
+  }
+}
@@ -3,6 +3,7 @@ package de.gurkenlabs.litiengine.graphics;
 import de.gurkenlabs.litiengine.Align;
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.UpdatePhase;
 import de.gurkenlabs.litiengine.Valign;
 import de.gurkenlabs.litiengine.entities.IEntity;
 import java.awt.geom.Point2D;
@@ -119,7 +120,7 @@ public interface ICamera extends IUpdateable {
    * @return the screen location
    */
   default Point2D getViewportLocation(IEntity entity) {
-    Point2D entityLocation = entity.getLocation();
+    Point2D entityLocation = RenderState.getRenderLocation(entity);
     return getViewportLocation(entityLocation.getX(), entityLocation.getY());
   }
 
@@ -259,6 +260,16 @@ public interface ICamera extends IUpdateable {
   /** Currently an update function for the shake effect. */
   void updateFocus();
 
+  /**
+   * Cameras are updated in the {@link UpdatePhase#LATE} phase, so that they follow the final location of their focus.
+   *
+   * @return The late phase.
+   */
+  @Override
+  default UpdatePhase getUpdatePhase() {
+    return UpdatePhase.LATE;
+  }
+
   /**
    * This listener interface receives zoom events for a camera.
    *
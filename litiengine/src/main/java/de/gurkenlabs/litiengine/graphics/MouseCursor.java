@@ -9,6 +9,7 @@ import de.gurkenlabs.litiengine.util.Imaging;
 import java.awt.Color;
 import java.awt.Cursor;
 import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
 import java.awt.Image;
 import java.awt.Point;
 import java.awt.Toolkit;
@@ -37,8 +38,11 @@ public final class MouseCursor implements IRenderable {
 
   static {
     final BufferedImage cursorImg = Imaging.getCompatibleImage(16, 16);
+    // custom cursors are not supported in headless environments
     BLANK_CURSOR =
-        Toolkit.getDefaultToolkit().createCustomCursor(cursorImg, new Point(0, 0), "blank cursor");
+        GraphicsEnvironment.isHeadless()
+            ? DEFAULT_CURSOR
+            : Toolkit.getDefaultToolkit().createCustomCursor(cursorImg, new Point(0, 0), "blank cursor");
 
     final BufferedImage debugCursorImg = Imaging.getCompatibleImage(16, 16);
     Graphics2D g = debugCursorImg.createGraphics();
@@ -371,6 +371,21 @@ public final class RenderEngine {
     this.renderEntities(g, entities, true);
   }
 
+  /**
+   * Renders the visible entities of the specified render list at their current location in the environment.
+   *
+   * <p>
+   * In contrast to {@link #renderEntities(Graphics2D, Collection, boolean)}, this neither allocates a new collection nor sorts the entities for
+   * every frame because the render list maintains their order incrementally.
+   *
+   * @param g        The graphics object to render on.
+   * @param entities The render list that contains the entities to be rendered.
+   * @see EntityRenderList
+   */
+  public void renderEntities(final Graphics2D g, final EntityRenderList entities) {
+    entities.forEachVisible(Game.world().camera().getViewport(), entity -> this.renderEntity(g, entity));
+  }
+
   /**
    * Renders the specified entities at their current location in the environment.
    *
@@ -394,9 +409,7 @@ public final class RenderEngine {
 
     // in order to render the entities in a 2.5D manner, we sort them by their max Y Coordinate
     if (sort) {
-      // THIS COSTS THE MOST TIME OF THE RENDERING LOOP... MAYBE USE A
-      // BETTER DATASTRUCTURE FOR THE (HEAP)
-      // AND UPDATE THE HEAP WHENEVER AN ENTITY MOVES.
+      // this costs the most time of the render loop, the environment therefore uses an EntityRenderList instead
       try {
         entitiesToRender.sort(this.entityComparator);
       } catch (final IllegalArgumentException e) {
@@ -421,6 +434,9 @@ public final class RenderEngine {
    * {@code IRenderable} interface, its render method is being called afterwards.
    *
    * <p>
+   * If the entity is rendered on a separate render thread, its interpolated location and the animation frame of the latest tick are used instead.
+   *
+   * <p>
    * To listen to events about this process, you can add a {@code EntityRenderListener} or {@code EntityRenderedListener} to the render engine.
    *
    * @param g      The graphics object to render on.
@@ -453,7 +469,8 @@ public final class RenderEngine {
 
     final IEntityAnimationController<?> animationController = entity.animations();
     if (animationController != null) {
-      final BufferedImage img = animationController.getCurrentImage();
+      final BufferedImage img = RenderState.getRenderImage(entity);
+      final Point2D location = RenderState.getRenderLocation(entity);
       if (img != null) {
         if (animationController.isAutoScaling()) {
           final double ratioX = entity.getWidth() / img.getWidth();
@@ -461,7 +478,7 @@ public final class RenderEngine {
           ImageRenderer.renderScaled(
             g,
             img,
-            Game.world().camera().getViewportLocation(entity.getLocation()),
+            Game.world().camera().getViewportLocation(location),
             ratioX,
             ratioY);
         } else {
@@ -481,7 +498,7 @@ public final class RenderEngine {
           Point2D renderLocation =
             Game.world()
               .camera()
-              .getViewportLocation(entity.getX() + deltaX, entity.getY() + deltaY);
+              .getViewportLocation(location.getX() + deltaX, location.getY() + deltaY);
           ImageRenderer.renderTransformed(
             g, img, renderLocation.getX(), renderLocation.getY(), transform);
 
@@ -490,7 +507,7 @@ public final class RenderEngine {
             renderOutline(
               g,
               new Rectangle2D.Double(
-                entity.getX(), entity.getY(), img.getWidth(), img.getWidth()));
+                location.getX(), location.getY(), img.getWidth(), img.getWidth()));
             ShapeRenderer.renderOutlineTransformed(
               g,
               new Rectangle2D.Double(
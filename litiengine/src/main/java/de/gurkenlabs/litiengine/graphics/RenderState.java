@@ -0,0 +1,165 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.graphics.StateSnapshot.EntityState;
+import de.gurkenlabs.litiengine.graphics.animation.IEntityAnimationController;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * The {@code RenderState} is the state that is rendered by a separate render thread for a single frame. It interpolates between the two latest
+ * {@link StateSnapshot}s, so that entities and the camera move smoothly even if the frame rate differs from the tick rate.
+ *
+ * <p>
+ * While a frame is rendered, the state is bound to the render thread. The {@link Camera} and the {@link RenderEngine} then use the interpolated
+ * viewport, entity locations and animation frames instead of the live state, which is concurrently changed by the game loop. On all other threads
+ * (and if rendering is not decoupled from the game loop), there is no current render state and the live state is used.
+ *
+ * @see SnapshotBuffer#beginFrame(long)
+ */
+public final class RenderState {
+  private static final ThreadLocal<RenderState> current = new ThreadLocal<>();
+
+  private final StateSnapshot previous;
+  private final StateSnapshot snapshot;
+  private final double alpha;
+  private final Rectangle2D viewport;
+
+  RenderState(StateSnapshot previous, StateSnapshot snapshot, double alpha) {
+    this.previous = previous;
+    this.snapshot = snapshot;
+    this.alpha = alpha;
+
+    final Rectangle2D from = previous.viewport();
+    final Rectangle2D to = snapshot.viewport();
+    this.viewport = new Rectangle2D.Double(this.lerp(from.getX(), to.getX()), this.lerp(from.getY(), to.getY()), to.getWidth(), to.getHeight());
+  }
+
+  /**
+   * Gets the render state of the frame that is currently rendered by the calling thread.
+   *
+   * @return The current render state or null if the calling thread doesn't render a decoupled frame.
+   */
+  public static RenderState current() {
+    return current.get();
+  }
+
+  /**
+   * Gets the location at which the specified entity is rendered by the calling thread.
+   *
+   * @param entity The entity.
+   * @return The interpolated location of the entity, if the calling thread renders a decoupled frame that contains the entity; otherwise its
+   *     current location.
+   */
+  public static Point2D getRenderLocation(IEntity entity) {
+    final RenderState state = current();
+    if (state != null) {
+      final Point2D location = state.getLocation(entity);
+      if (location != null) {
+        return location;
+      }
+    }
+
+    return entity.getLocation();
+  }
+
+  /**
+   * Gets the animation frame with which the specified entity is rendered by the calling thread.
+   *
+   * @param entity The entity.
+   * @return The animation frame captured for the entity, if the calling thread renders a decoupled frame that contains it; otherwise the current
+   *     image of the entity's animation controller.
+   */
+  public static BufferedImage getRenderImage(IEntity entity) {
+    final RenderState state = current();
+    if (state != null) {
+      final EntityState entityState = state.snapshot.get(entity);
+      if (entityState != null && entityState.hasFrame()) {
+        return entityState.frame();
+      }
+    }
+
+    final IEntityAnimationController<?> animations = entity.animations();
+    return animations != null ? animations.getCurrentImage() : null;
+  }
+
+  static void bind(RenderState state) {
+    if (state == null) {
+      current.remove();
+    } else {
+      current.set(state);
+    }
+  }
+
+  /**
+   * Gets the interpolation factor between the previous and the latest snapshot.
+   *
+   * @return A value between 0 (previous snapshot) and 1 (latest snapshot).
+   */
+  public double getAlpha() {
+    return this.alpha;
+  }
+
+  /**
+   * Gets the latest snapshot that this state interpolates towards.
+   *
+   * @return The latest snapshot.
+   */
+  public StateSnapshot getSnapshot() {
+    return this.snapshot;
+  }
+
+  /**
+   * Gets the previous snapshot that this state interpolates from.
+   *
+   * @return The previous snapshot.
+   */
+  public StateSnapshot getPreviousSnapshot() {
+    return this.previous;
+  }
+
+  /**
+   * Determines whether the viewport of this state was captured from the specified camera.
+   *
+   * @param camera The camera to check.
+   * @return True if the viewport of this state belongs to the specified camera; otherwise false.
+   */
+  public boolean isCapturedFrom(ICamera camera) {
+    return camera != null && this.snapshot.getCamera() == camera;
+  }
+
+  /**
+   * Gets the interpolated viewport of the captured camera.
+   *
+   * @return The interpolated viewport, which must not be modified.
+   */
+  public Rectangle2D getViewport() {
+    return this.viewport;
+  }
+
+  /**
+   * Gets the interpolated location of the specified entity.
+   *
+   * @param entity The entity.
+   * @return The interpolated location or null if the entity is not contained in the latest snapshot.
+   */
+  public Point2D getLocation(IEntity entity) {
+    final EntityState to = this.snapshot.get(entity);
+    if (to == null) {
+      return null;
+    }
+
+    // entities that were added during the last tick don't have a previous location
+    final EntityState from = this.previous.get(entity);
+    if (from == null) {
+      return new Point2D.Double(to.x(), to.y());
+    }
+
+    return new Point2D.Double(this.lerp(from.x(), to.x()), this.lerp(from.y(), to.y()));
+  }
+
+  private double lerp(double from, double to) {
+    return from + (to - from) * this.alpha;
+  }
+}
@@ -0,0 +1,418 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import de.gurkenlabs.litiengine.entities.StaticShadow;
+import java.awt.geom.Path2D;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A static index of the edges of the {@code StaticShadow} boxes of an environment that computes which parts of the area around a light are occluded.
+ *
+ * <p>
+ * Every shadow box occludes the light behind its edges that face away from the light. The index computes the visibility polygon of a light with an
+ * angular sweep: it casts rays towards the end points of these edges and only considers the boxes that are registered in the grid cells around the
+ * light. Additionally, a shadow box is darkened entirely if the light is above its bottom edge and not inside of it, which simulates the walls of a
+ * room that are not lit from behind.
+ *
+ * <p>
+ * The index is immutable. It is rebuilt whenever its {@link #getSignature(Collection) signature} doesn't match the static shadows of the environment
+ * anymore.
+ *
+ * @see AmbientLight
+ */
+public final class ShadowSegmentIndex {
+  private static final double CELL_SIZE = 128;
+  private static final double ANGLE_OFFSET = 1e-5;
+  private static final double EPSILON = 1e-9;
+
+  /** Each shadow box as (x, y, width, height). */
+  private final double[] boxes;
+
+  /** The edges of all boxes as (x1, y1, x2, y2, normalX, normalY), in the same order as {@code GeometricUtilities.getLines(Rectangle2D)}. */
+  private final double[] edges;
+  private final int size;
+  private final long signature;
+
+  private final double minX;
+  private final double minY;
+  private final int columns;
+  private final int rows;
+  private final int[] cellStart;
+  private final int[] items;
+
+  // the scratch state of queries, which are not thread safe
+  private final int[] visited;
+  private int query;
+  private int[] results = new int[16];
+  private double[] candidates = new double[64];
+  private double[] angles = new double[64];
+
+  /**
+   * Creates a new index for the bounding boxes of the specified static shadows.
+   *
+   * @param shadows The static shadows of the environment.
+   */
+  public ShadowSegmentIndex(Collection<StaticShadow> shadows) {
+    double[] collected = new double[shadows.size() * 4];
+    int count = 0;
+    for (StaticShadow shadow : shadows) {
+      final Rectangle2D box = shadow.getBoundingBox();
+      if (count * 4 == collected.length) {
+        collected = Arrays.copyOf(collected, Math.max(4, collected.length * 2));
+      }
+
+      collected[count * 4] = box.getX();
+      collected[count * 4 + 1] = box.getY();
+      collected[count * 4 + 2] = box.getWidth();
+      collected[count * 4 + 3] = box.getHeight();
+      count++;
+    }
+
+    this.size = count;
+    this.boxes = collected;
+    this.signature = getSignature(shadows);
+    this.edges = new double[count * 24];
+    for (int i = 0; i < count; i++) {
+      final double left = collected[i * 4];
+      final double top = collected[i * 4 + 1];
+      final double right = left + collected[i * 4 + 2];
+      final double bottom = top + collected[i * 4 + 3];
+      this.setEdge(i * 4, left, top, left, bottom);
+      this.setEdge(i * 4 + 1, left, bottom, right, bottom);
+      this.setEdge(i * 4 + 2, right, bottom, right, top);
+      this.setEdge(i * 4 + 3, right, top, left, top);
+    }
+
+    double left = 0;
+    double top = 0;
+    double right = 0;
+    double bottom = 0;
+    for (int i = 0; i < count; i++) {
+      left = i == 0 ? this.boxes[0] : Math.min(left, this.boxes[i * 4]);
+      top = i == 0 ? this.boxes[1] : Math.min(top, this.boxes[i * 4 + 1]);
+      right = i == 0 ? this.maxX(0) : Math.max(right, this.maxX(i));
+      bottom = i == 0 ? this.maxY(0) : Math.max(bottom, this.maxY(i));
+    }
+
+    this.minX = left;
+    this.minY = top;
+    this.columns = (int) Math.floor((right - left) / CELL_SIZE) + 1;
+    this.rows = (int) Math.floor((bottom - top) / CELL_SIZE) + 1;
+
+    // count the boxes per cell, then fill the cells in a second pass
+    final int[] start = new int[this.columns * this.rows + 1];
+    for (int i = 0; i < count; i++) {
+      for (int row = this.row(this.boxes[i * 4 + 1]); row <= this.row(this.maxY(i)); row++) {
+        for (int column = this.column(this.boxes[i * 4]); column <= this.column(this.maxX(i)); column++) {
+          start[row * this.columns + column + 1]++;
+        }
+      }
+    }
+
+    for (int c = 0; c < this.columns * this.rows; c++) {
+      start[c + 1] += start[c];
+    }
+
+    final int[] fill = Arrays.copyOf(start, start.length - 1);
+    final int[] cellItems = new int[start[start.length - 1]];
+    for (int i = 0; i < count; i++) {
+      for (int row = this.row(this.boxes[i * 4 + 1]); row <= this.row(this.maxY(i)); row++) {
+        for (int column = this.column(this.boxes[i * 4]); column <= this.column(this.maxX(i)); column++) {
+          cellItems[fill[row * this.columns + column]++] = i;
+        }
+      }
+    }
+
+    this.cellStart = start;
+    this.items = cellItems;
+    this.visited = new int[count];
+  }
+
+  /**
+   * Computes a signature of the bounding boxes of the specified static shadows that doesn't depend on their order. An index only needs to be rebuilt
+   * if the signature of the static shadows changed.
+   *
+   * @param shadows The static shadows of the environment.
+   * @return The signature of the static shadows.
+   */
+  public static long getSignature(Collection<StaticShadow> shadows) {
+    long sum = 0;
+    for (StaticShadow shadow : shadows) {
+      final Rectangle2D box = shadow.getBoundingBox();
+      long hash = Double.doubleToLongBits(box.getX());
+      hash = hash * 31 + Double.doubleToLongBits(box.getY());
+      hash = hash * 31 + Double.doubleToLongBits(box.getWidth());
+      hash = hash * 31 + Double.doubleToLongBits(box.getHeight());
+      sum += hash * 0x9E3779B97F4A7C15L ^ hash >>> 29;
+    }
+
+    return sum * 31 + shadows.size();
+  }
+
+  /**
+   * Gets the signature of the static shadows that this index was built from.
+   *
+   * @return The signature of this index.
+   * @see #getSignature(Collection)
+   */
+  public long getSignature() {
+    return this.signature;
+  }
+
+  /**
+   * Gets the number of shadow boxes in this index.
+   *
+   * @return The number of shadow boxes.
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Computes the polygon of the area within the specified bounds that is visible from the center, i.e. the area that isn't occluded by the edges of
+   * any shadow box that face away from the center.
+   *
+   * @param center The center of the light.
+   * @param bounds The bounds of the light, which must contain the center.
+   * @return The visibility polygon, or the bounds themselves if no shadow box occludes them.
+   */
+  public synchronized Path2D computeVisibilityPolygon(Point2D center, Rectangle2D bounds) {
+    final int boxCount = this.query(bounds);
+    final double cx = center.getX();
+    final double cy = center.getY();
+
+    // the edges of the bounds and the occluding edges as (x1, y1, x2, y2)
+    int segments = 0;
+    this.ensureCandidates(16 + boxCount * 16);
+    segments = this.addCandidate(segments, bounds.getMinX(), bounds.getMinY(), bounds.getMaxX(), bounds.getMinY());
+    segments = this.addCandidate(segments, bounds.getMaxX(), bounds.getMinY(), bounds.getMaxX(), bounds.getMaxY());
+    segments = this.addCandidate(segments, bounds.getMaxX(), bounds.getMaxY(), bounds.getMinX(), bounds.getMaxY());
+    segments = this.addCandidate(segments, bounds.getMinX(), bounds.getMaxY(), bounds.getMinX(), bounds.getMinY());
+    boolean occluded = false;
+    for (int q = 0; q < boxCount; q++) {
+      final int box = this.results[q];
+      for (int edge = box * 4; edge < box * 4 + 4; edge++) {
+        if (this.occludes(box, edge, cx, cy)) {
+          segments = this.addCandidate(segments, this.edges[edge * 6], this.edges[edge * 6 + 1], this.edges[edge * 6 + 2], this.edges[edge * 6 + 3]);
+          occluded = true;
+        }
+      }
+    }
+
+    final Path2D polygon = new Path2D.Double();
+    if (!occluded) {
+      polygon.append(bounds, false);
+      return polygon;
+    }
+
+    // cast three rays towards every end point: one exactly at it and one slightly to each side to look past the corners
+    int angleCount = 0;
+    if (this.angles.length < segments * 6) {
+      this.angles = new double[segments * 6];
+    }
+
+    for (int s = 0; s < segments; s++) {
+      for (int p = 0; p < 2; p++) {
+        final double angle = Math.atan2(this.candidates[s * 4 + p * 2 + 1] - cy, this.candidates[s * 4 + p * 2] - cx);
+        this.angles[angleCount++] = angle - ANGLE_OFFSET;
+        this.angles[angleCount++] = angle;
+        this.angles[angleCount++] = angle + ANGLE_OFFSET;
+      }
+    }
+
+    Arrays.sort(this.angles, 0, angleCount);
+    boolean first = true;
+    for (int a = 0; a < angleCount; a++) {
+      final double dx = Math.cos(this.angles[a]);
+      final double dy = Math.sin(this.angles[a]);
+      final double distance = this.castRay(segments, cx, cy, dx, dy);
+      if (Double.isInfinite(distance)) {
+        continue;
+      }
+
+      final double x = cx + dx * distance;
+      final double y = cy + dy * distance;
+      if (first) {
+        polygon.moveTo(x, y);
+        first = false;
+      } else {
+        polygon.lineTo(x, y);
+      }
+    }
+
+    polygon.closePath();
+    return polygon;
+  }
+
+  /**
+   * Gets the shadow boxes within the specified bounds that are darkened entirely for a light at the specified center, because the light is above
+   * their bottom edge without being inside of them.
+   *
+   * @param center The center of the light.
+   * @param bounds The bounds of the light.
+   * @return The darkened shadow boxes.
+   */
+  public synchronized List<Rectangle2D> getDarkenedBoxes(Point2D center, Rectangle2D bounds) {
+    final List<Rectangle2D> darkened = new ArrayList<>();
+    final int boxCount = this.query(bounds);
+    for (int q = 0; q < boxCount; q++) {
+      final int box = this.results[q];
+      if (center.getY() >= this.maxY(box) || this.contains(box, center.getX(), center.getY())) {
+        continue;
+      }
+
+      for (int edge = box * 4; edge < box * 4 + 4; edge++) {
+        if (this.occludes(box, edge, center.getX(), center.getY())) {
+          darkened.add(new Rectangle2D.Double(this.boxes[box * 4], this.boxes[box * 4 + 1], this.boxes[box * 4 + 2], this.boxes[box * 4 + 3]));
+          break;
+        }
+      }
+    }
+
+    return darkened;
+  }
+
+  /**
+   * Collects the shadow boxes that intersect the specified area into the target array as (x, y, width, height), ordered by their index.
+   *
+   * @param area   The area to query.
+   * @param target The target array, which must have space for all boxes of this index.
+   * @return The number of collected boxes.
+   */
+  synchronized int collectBoxes(Rectangle2D area, double[] target) {
+    final int boxCount = this.query(area);
+    for (int q = 0; q < boxCount; q++) {
+      System.arraycopy(this.boxes, this.results[q] * 4, target, q * 4, 4);
+    }
+
+    return boxCount;
+  }
+
+  /**
+   * Determines whether the edge occludes the light behind it, using the same rules as the projection of the shadow parallelograms: an edge only
+   * occludes if it faces away from the light, and the bottom edge doesn't occlude a light inside of the box.
+   */
+  private boolean occludes(int box, int edge, double cx, double cy) {
+    final int e = edge * 6;
+    if (cy < this.edges[e + 1] && cy < this.edges[e + 3] && this.contains(box, cx, cy)) {
+      return false;
+    }
+
+    return this.edges[e + 4] * (this.edges[e] - cx) + this.edges[e + 5] * (this.edges[e + 1] - cy) < 0;
+  }
+
+  private double castRay(int segments, double cx, double cy, double dx, double dy) {
+    double nearest = Double.POSITIVE_INFINITY;
+    for (int s = 0; s < segments; s++) {
+      final double x1 = this.candidates[s * 4];
+      final double y1 = this.candidates[s * 4 + 1];
+      final double sx = this.candidates[s * 4 + 2] - x1;
+      final double sy = this.candidates[s * 4 + 3] - y1;
+      final double denominator = dx * sy - dy * sx;
+      if (Math.abs(denominator) < EPSILON) {
+        continue;
+      }
+
+      final double t = ((x1 - cx) * sy - (y1 - cy) * sx) / denominator;
+      final double u = ((x1 - cx) * dy - (y1 - cy) * dx) / denominator;
+      if (t >= 0 && u >= -EPSILON && u <= 1 + EPSILON && t < nearest) {
+        nearest = t;
+      }
+    }
+
+    return nearest;
+  }
+
+  private int addCandidate(int segments, double x1, double y1, double x2, double y2) {
+    this.candidates[segments * 4] = x1;
+    this.candidates[segments * 4 + 1] = y1;
+    this.candidates[segments * 4 + 2] = x2;
+    this.candidates[segments * 4 + 3] = y2;
+    return segments + 1;
+  }
+
+  private void ensureCandidates(int length) {
+    if (this.candidates.length < length) {
+      this.candidates = new double[length];
+    }
+  }
+
+  /**
+   * Marks all boxes that are registered in the cells of the area and intersect it. The marked boxes are then available through
+   * {@code results} in the order of their index.
+   *
+   * @return The number of boxes that intersect the area.
+   */
+  private int query(Rectangle2D area) {
+    if (this.size == 0) {
+      return 0;
+    }
+
+    this.query++;
+    int count = 0;
+    final int fromColumn = Math.max(0, this.column(area.getMinX()));
+    final int toColumn = Math.min(this.columns - 1, this.column(area.getMaxX()));
+    final int fromRow = Math.max(0, this.row(area.getMinY()));
+    final int toRow = Math.min(this.rows - 1, this.row(area.getMaxY()));
+    for (int row = fromRow; row <= toRow; row++) {
+      for (int column = fromColumn; column <= toColumn; column++) {
+        final int cell = row * this.columns + column;
+        for (int item = this.cellStart[cell]; item < this.cellStart[cell + 1]; item++) {
+          final int box = this.items[item];
+          if (this.visited[box] != this.query && this.intersects(box, area)) {
+            this.visited[box] = this.query;
+            if (count == this.results.length) {
+              this.results = Arrays.copyOf(this.results, count * 2);
+            }
+
+            this.results[count++] = box;
+          }
+        }
+      }
+    }
+
+    // keep the order of the boxes independent of the cells
+    Arrays.sort(this.results, 0, count);
+    return count;
+  }
+
+  private boolean intersects(int box, Rectangle2D area) {
+    return area.intersects(this.boxes[box * 4], this.boxes[box * 4 + 1], this.boxes[box * 4 + 2], this.boxes[box * 4 + 3]);
+  }
+
+  private boolean contains(int box, double x, double y) {
+    return x >= this.boxes[box * 4] && y >= this.boxes[box * 4 + 1] && x < this.maxX(box) && y < this.maxY(box);
+  }
+
+  private void setEdge(int edge, double x1, double y1, double x2, double y2) {
+    final int e = edge * 6;
+    this.edges[e] = x1;
+    this.edges[e + 1] = y1;
+    this.edges[e + 2] = x2;
+    this.edges[e + 3] = y2;
+
+    // the normal of the edge vector, like Vector2D.normalVector()
+    this.edges[e + 4] = y2 - y1;
+    this.edges[e + 5] = -(x2 - x1);
+  }
+
+  private double maxX(int box) {
+    return this.boxes[box * 4] + this.boxes[box * 4 + 2];
+  }
+
+  private double maxY(int box) {
+    return this.boxes[box * 4 + 1] + this.boxes[box * 4 + 3];
+  }
+
+  private int column(double x) {
+    return (int) Math.floor((x - this.minX) / CELL_SIZE);
+  }
+
+  private int row(double y) {
+    return (int) Math.floor((y - this.minY) / CELL_SIZE);
+  }
+}
@@ -0,0 +1,84 @@
+package de.gurkenlabs.litiengine.graphics;
+
+/**
+ * The {@code SnapshotBuffer} hands the {@link StateSnapshot}s of the game loop over to a separate render thread. It is double-buffered: it keeps
+ * the latest and the previous snapshot, between which the render thread interpolates.
+ *
+ * <p>
+ * Snapshots are published by a single thread (the game loop) and can be read by any number of threads. Both snapshots are swapped atomically, so
+ * a reader never sees a pair of snapshots that doesn't belong together.
+ *
+ * @see StateSnapshot
+ * @see RenderState
+ */
+public final class SnapshotBuffer {
+  private volatile Snapshots snapshots;
+
+  /**
+   * Publishes the specified snapshot as latest snapshot. The previously latest snapshot becomes the previous snapshot.
+   *
+   * @param snapshot The snapshot to publish.
+   */
+  public void publish(StateSnapshot snapshot) {
+    if (snapshot == null) {
+      return;
+    }
+
+    final Snapshots published = this.snapshots;
+    this.snapshots = new Snapshots(published != null ? published.latest : snapshot, snapshot);
+  }
+
+  /**
+   * Removes all published snapshots, e.g. because the rendered state changed entirely and must not be interpolated.
+   */
+  public void clear() {
+    this.snapshots = null;
+  }
+
+  /**
+   * Interpolates the published snapshots for the specified time.
+   *
+   * <p>
+   * The render thread shows the state one tick behind the latest snapshot: A frame that is rendered exactly when a snapshot is published shows the
+   * previous snapshot and a frame that is rendered one tick later shows the latest one. This way, the interpolation never has to extrapolate the
+   * state of a tick that hasn't been processed yet.
+   *
+   * @param time The time of the frame in nanoseconds, as provided by {@link System#nanoTime()}.
+   * @return The interpolated state or null if no snapshot has been published yet.
+   */
+  public RenderState interpolate(long time) {
+    final Snapshots published = this.snapshots;
+    if (published == null) {
+      return null;
+    }
+
+    final long tickDuration = published.latest.getTime() - published.previous.getTime();
+    final double alpha = tickDuration <= 0 ? 1 : Math.clamp((time - published.latest.getTime()) / (double) tickDuration, 0, 1);
+    return new RenderState(published.previous, published.latest, alpha);
+  }
+
+  /**
+   * Interpolates the published snapshots for the specified time and binds the result to the calling thread until {@link #endFrame()} is called.
+   *
+   * @param time The time of the frame in nanoseconds, as provided by {@link System#nanoTime()}.
+   * @return The interpolated state or null if no snapshot has been published yet.
+   * @see RenderState#current()
+   */
+  public RenderState beginFrame(long time) {
+    final RenderState state = this.interpolate(time);
+    RenderState.bind(state);
+    return state;
+  }
+
+  /**
+   * Unbinds the render state of the current frame from the calling thread.
+   *
+   * @see #beginFrame(long)
+   */
+  public void endFrame() {
+    RenderState.bind(null);
+  }
+
+  private record Snapshots(StateSnapshot previous, StateSnapshot latest) {
+  }
+}
@@ -0,0 +1,165 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.environment.Environment;
+import de.gurkenlabs.litiengine.graphics.animation.IEntityAnimationController;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The {@code StateSnapshot} is an immutable copy of the state that is required to render a tick on a separate render thread: the viewport of the
+ * camera, the locations of the entities near the viewport and the current animation frames of the entities within the viewport.
+ *
+ * <p>
+ * Snapshots are captured by the game loop at the end of each tick and published to a {@link SnapshotBuffer}. The render thread then interpolates
+ * between the last two snapshots instead of reading the state that is concurrently changed by the next tick.
+ *
+ * @see SnapshotBuffer
+ * @see RenderState
+ */
+public final class StateSnapshot {
+  /**
+   * The margin around the viewport within which entities are captured, relative to the size of the viewport. Entities beyond it can't become visible
+   * before the next snapshot, unless they move more than half a screen within a single tick.
+   */
+  public static final double CAPTURE_MARGIN = 0.5;
+
+  private final long tick;
+  private final long time;
+  private final ICamera camera;
+  private final Rectangle2D viewport;
+  private final Map<IEntity, EntityState> entities;
+
+  private StateSnapshot(long tick, long time, ICamera camera, Rectangle2D viewport, Map<IEntity, EntityState> entities) {
+    this.tick = tick;
+    this.time = time;
+    this.camera = camera;
+    this.viewport = viewport;
+    this.entities = entities;
+  }
+
+  /**
+   * Captures the current state of the specified camera and entities.
+   *
+   * <p>
+   * This must be called by the thread that updates the game state, after the camera focus has been updated for the tick. If a camera is specified,
+   * only the entities within its viewport, extended by the {@link #CAPTURE_MARGIN}, are captured. The render thread uses the live state of all
+   * other entities, which are not visible anyway.
+   *
+   * @param tick     The tick that has just been processed.
+   * @param time     The time of the snapshot in nanoseconds, as provided by {@link System#nanoTime()}.
+   * @param camera   The camera whose viewport is captured or null.
+   * @param entities The entities to capture, e.g. all entities of the current environment, or null.
+   * @return A new snapshot of the current state.
+   * @see Environment#getEntities()
+   */
+  public static StateSnapshot capture(long tick, long time, ICamera camera, Collection<? extends IEntity> entities) {
+    final Rectangle2D viewport = camera != null ? camera.getViewport() : new Rectangle2D.Double();
+    final Rectangle2D captureArea = camera != null ? getCaptureArea(viewport) : null;
+    final Map<IEntity, EntityState> states = new IdentityHashMap<>();
+    if (entities != null) {
+      for (IEntity entity : entities) {
+        final Rectangle2D bounds = entity.getBoundingBox();
+        if (captureArea != null && !captureArea.intersects(bounds)) {
+          continue;
+        }
+
+        // only the frames of visible entities are captured because resolving the current image of an animation is not free
+        BufferedImage frame = null;
+        boolean visible = viewport.intersects(bounds);
+        if (visible) {
+          final IEntityAnimationController<?> animations = entity.animations();
+          frame = animations != null ? animations.getCurrentImage() : null;
+        }
+
+        states.put(entity, new EntityState(entity.getX(), entity.getY(), visible, frame));
+      }
+    }
+
+    return new StateSnapshot(tick, time, camera, viewport, states);
+  }
+
+  /**
+   * Gets the tick at which this snapshot was captured.
+   *
+   * @return The tick of this snapshot.
+   */
+  public long getTick() {
+    return this.tick;
+  }
+
+  /**
+   * Gets the time at which this snapshot was captured.
+   *
+   * @return The time of this snapshot in nanoseconds.
+   */
+  public long getTime() {
+    return this.time;
+  }
+
+  /**
+   * Gets the camera whose viewport was captured.
+   *
+   * @return The captured camera or null.
+   */
+  public ICamera getCamera() {
+    return this.camera;
+  }
+
+  /**
+   * Gets a copy of the captured viewport.
+   *
+   * @return The viewport of the camera at the time of this snapshot.
+   */
+  public Rectangle2D getViewport() {
+    return (Rectangle2D) this.viewport.clone();
+  }
+
+  /**
+   * Gets the number of captured entities.
+   *
+   * @return The number of entities in this snapshot.
+   */
+  public int getEntityCount() {
+    return this.entities.size();
+  }
+
+  /**
+   * Determines whether the specified entity has been captured by this snapshot.
+   *
+   * @param entity The entity to check.
+   * @return True if this snapshot contains the state of the entity; otherwise false.
+   */
+  public boolean contains(IEntity entity) {
+    return this.entities.containsKey(entity);
+  }
+
+  private static Rectangle2D getCaptureArea(Rectangle2D viewport) {
+    final double marginX = viewport.getWidth() * CAPTURE_MARGIN;
+    final double marginY = viewport.getHeight() * CAPTURE_MARGIN;
+    return new Rectangle2D.Double(viewport.getX() - marginX, viewport.getY() - marginY, viewport.getWidth() + 2 * marginX,
+        viewport.getHeight() + 2 * marginY);
+  }
+
+  Rectangle2D viewport() {
+    return this.viewport;
+  }
+
+  EntityState get(IEntity entity) {
+    return this.entities.get(entity);
+  }
+
+  /**
+   * The captured state of a single entity.
+   *
+   * @param x        The x-coordinate of the entity.
+   * @param y        The y-coordinate of the entity.
+   * @param hasFrame Defines whether the animation frame was captured, which is only the case for entities within the viewport.
+   * @param frame    The current animation frame of the entity or null if it has none.
+   */
+  record EntityState(double x, double y, boolean hasFrame, BufferedImage frame) {
+  }
+}
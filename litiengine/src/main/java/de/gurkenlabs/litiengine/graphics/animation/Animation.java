@@ -274,6 +274,10 @@ public class Animation implements IUpdateable, ILaunchable {
     this.listeners.remove(listener);
   }
 
+  boolean hasKeyFrameListeners() {
+    return !this.listeners.isEmpty();
+  }
+
   @Override public void start() {
     this.playing = true;
     if (getKeyframes().isEmpty()) {
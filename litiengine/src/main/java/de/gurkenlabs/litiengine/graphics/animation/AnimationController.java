@@ -321,6 +321,30 @@ public class AnimationController implements IAnimationController {
     this.enabled = enabled;
   }
 
+  /**
+   * An animation controller only changes the state of its own animations. It can therefore be updated concurrently with other controllers, as long
+   * as no listeners have been registered that could react to its playbacks.
+   *
+   * <p>
+   * Derived controllers (e.g. controllers that pick their animation from the state of an entity) are not parallel-safe unless they override this
+   * method, because their updates can't be checked here.
+   *
+   * @return True if this is a plain {@code AnimationController} and neither it nor any of its animations has listeners; otherwise false.
+   */
+  @Override public boolean isParallelSafe() {
+    if (this.getClass() != AnimationController.class || !this.listeners.isEmpty()) {
+      return false;
+    }
+
+    for (final Animation animation : this.getAll()) {
+      if (animation.hasKeyFrameListeners()) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
   @Override public void update() {
     for (final Animation animation : this.getAll()) {
       animation.update();
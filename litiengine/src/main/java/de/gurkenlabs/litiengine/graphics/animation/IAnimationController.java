@@ -1,6 +1,7 @@
 package de.gurkenlabs.litiengine.graphics.animation;
 
 import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.UpdatePhase;
 import de.gurkenlabs.litiengine.graphics.ImageEffect;
 import de.gurkenlabs.litiengine.graphics.ImageRenderer;
 import de.gurkenlabs.litiengine.graphics.RenderEngine;
@@ -252,4 +253,14 @@ public interface IAnimationController extends IUpdateable {
    *          True if the controller should be enabled; otherwise false.
    */
   public void setEnabled(boolean enabled);
+
+  /**
+   * Animation controllers are updated in the {@link UpdatePhase#ANIMATION} phase, after all entities have been moved.
+   *
+   * @return The animation phase.
+   */
+  @Override
+  public default UpdatePhase getUpdatePhase() {
+    return UpdatePhase.ANIMATION;
+  }
 }
@@ -3,6 +3,7 @@ package de.gurkenlabs.litiengine.graphics.emitters;
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.ITimeToLive;
 import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.UpdatePhase;
 import de.gurkenlabs.litiengine.entities.CollisionInfo;
 import de.gurkenlabs.litiengine.entities.EmitterInfo;
 import de.gurkenlabs.litiengine.entities.Entity;
@@ -14,6 +15,7 @@ import de.gurkenlabs.litiengine.graphics.Spritesheet;
 import de.gurkenlabs.litiengine.graphics.emitters.particles.EllipseParticle;
 import de.gurkenlabs.litiengine.graphics.emitters.particles.LineParticle;
 import de.gurkenlabs.litiengine.graphics.emitters.particles.Particle;
+import de.gurkenlabs.litiengine.graphics.emitters.particles.ParticleBuffer;
 import de.gurkenlabs.litiengine.graphics.emitters.particles.PolygonParticle;
 import de.gurkenlabs.litiengine.graphics.emitters.particles.RectangleParticle;
 import de.gurkenlabs.litiengine.graphics.emitters.particles.SpriteParticle;
@@ -25,13 +27,13 @@ import de.gurkenlabs.litiengine.resources.Resources;
 import java.awt.Graphics2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EventListener;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
 
 /**
  * Represents an emitter that provides particle effects in the game.
@@ -39,12 +41,36 @@ import java.util.concurrent.CopyOnWriteArrayList;
  * <p>The {@code Emitter} class extends {@link Entity} and implements the
  * {@link IUpdateable}, {@link ITimeToLive}, and {@link IRenderable} interfaces. It manages the lifecycle, rendering, and behavior of particles,
  * allowing for dynamic visual effects.
+ *
+ * <p>Particles of the shape types that are spawned from the {@link EmitterData} are stored in a {@link ParticleBuffer}, which simulates and
+ * renders them without allocating objects per frame. All other particles, i.e. sprite and text particles, particles that were added by
+ * {@link #addParticle(Particle)} and the particles of subclasses that override {@link #createNewParticle()} or
+ * {@link #particleCanBeRemoved(Particle)}, are kept as {@link Particle} objects.
  */
 @CollisionInfo(collision = false) @EmitterInfo @TmxType(MapObjectType.EMITTER) public class Emitter extends Entity
   implements IUpdateable, ITimeToLive, IRenderable {
 
+  /** Determines for every emitter type whether it customizes the creation or removal of particles and therefore requires particle objects. */
+  private static final ClassValue<Boolean> CUSTOM_PARTICLES = new ClassValue<>() {
+    @Override
+    protected Boolean computeValue(Class<?> type) {
+      for (Class<?> current = type; current != null && current != Emitter.class; current = current.getSuperclass()) {
+        for (var method : current.getDeclaredMethods()) {
+          if (method.getName().equals("createNewParticle") && method.getParameterCount() == 0
+            || method.getName().equals("particleCanBeRemoved") && method.getParameterCount() == 1) {
+            return true;
+          }
+        }
+      }
+
+      return false;
+    }
+  };
+
   private final Collection<EmitterFinishedListener> finishedListeners;
   private final CopyOnWriteArrayList<Particle> particles;
+  private final ParticleBuffer particleBuffer;
+  private final Predicate<Particle> removablePredicate;
   private final Map<RenderType, IRenderable> renderables;
   private EmitterData emitterData;
   private boolean activateOnInit;
@@ -66,6 +92,8 @@ import java.util.concurrent.CopyOnWriteArrayList;
   public Emitter() {
     this.finishedListeners = ConcurrentHashMap.newKeySet();
     this.particles = new CopyOnWriteArrayList<>();
+    this.particleBuffer = new ParticleBuffer();
+    this.removablePredicate = this::particleCanBeRemoved;
     this.renderables = new ConcurrentHashMap<>();
 
     for (RenderType type : RenderType.values()) {
@@ -196,6 +224,8 @@ import java.util.concurrent.CopyOnWriteArrayList;
    *
    * <p>Marks the emitter as activated, sets the activation tick to the current game time,
    * and attaches the emitter to the game loop for updates. If the emitter is already activated, this method does nothing.
+   *
+   * @see ParticleSimulation
    */
   public void activate() {
     if (this.activated) {
@@ -205,6 +235,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
     this.activated = true;
     this.activationTick = Game.time().now();
     Game.loop().attach(this);
+    Game.world().particles().add(this);
   }
 
   /**
@@ -236,10 +267,12 @@ import java.util.concurrent.CopyOnWriteArrayList;
 
     this.activated = false;
     this.getParticles().clear();
+    this.particleBuffer.clear();
     this.aliveTime = 0;
     this.activationTick = 0;
     this.lastSpawn = 0;
     Game.loop().detach(this);
+    Game.world().particles().remove(this);
   }
 
   /**
@@ -303,10 +336,13 @@ import java.util.concurrent.CopyOnWriteArrayList;
    * width, height, and alignment settings defined in the emitter data.
    */
   protected void updateOrigin() {
-    this.origin = new Point2D.Double(
-      getX() + data().getOriginAlign().getValue(getWidth()),
-      getY() + data().getOriginValign().getValue(getHeight())
-    );
+    final double originX = getX() + data().getOriginAlign().getValue(getWidth());
+    final double originY = getY() + data().getOriginValign().getValue(getHeight());
+    if (this.origin == null) {
+      this.origin = new Point2D.Double(originX, originY);
+    } else {
+      this.origin.setLocation(originX, originY);
+    }
   }
 
   /**
@@ -327,17 +363,37 @@ import java.util.concurrent.CopyOnWriteArrayList;
   }
 
   /**
-   * Retrieves the list of particles managed by this emitter.
+   * Retrieves the list of particle objects managed by this emitter.
    *
-   * <p>Returns a list containing all particles currently associated with this emitter.
-   * These particles are used for rendering and updates during the emitter's lifecycle.
+   * <p>Returns a list containing all particle objects currently associated with this emitter.
+   * These particles are used for rendering and updates during the emitter's lifecycle. Particles of the shape types that are spawned from the
+   * emitter data are not contained because they are stored in the {@link #getParticleBuffer() particle buffer}.
    *
-   * @return a list of particles managed by this emitter
+   * @return a list of particle objects managed by this emitter
+   * @see #getParticleCount()
    */
   public List<Particle> getParticles() {
     return this.particles;
   }
 
+  /**
+   * Retrieves the buffer that stores the particles of the shape types that are spawned from the emitter data.
+   *
+   * @return the particle buffer of this emitter
+   */
+  public ParticleBuffer getParticleBuffer() {
+    return this.particleBuffer;
+  }
+
+  /**
+   * Retrieves the total number of particles of this emitter, including both the particle objects and the particles in the particle buffer.
+   *
+   * @return the number of particles of this emitter
+   */
+  public int getParticleCount() {
+    return this.particles.size() + this.particleBuffer.size();
+  }
+
   /**
    * Checks if the emitter is set to activate on initialization.
    *
@@ -508,11 +564,36 @@ import java.util.concurrent.CopyOnWriteArrayList;
     return this.data().getEmitterDuration();
   }
 
+  @Override public UpdatePhase getUpdatePhase() {
+    return UpdatePhase.ANIMATION;
+  }
+
   @Override public void update() {
-    if (this.isPaused()) {
+    // the particle simulation updates all activated emitters at once
+    if (this.activated && Game.world().particles().isEnabled()) {
+      return;
+    }
+
+    if (!this.beginUpdate()) {
       return;
     }
 
+    this.particleBuffer.update(this.getOrigin(), this.getUpdateRatio());
+    this.endUpdate();
+  }
+
+  /**
+   * Performs the part of the update that precedes the simulation of the particle buffer: Finishes the emitter if its time to live is reached,
+   * updates the origin and the particle objects.
+   *
+   * @return {@code true} if the particle buffer should be simulated and {@link #endUpdate()} should be called afterwards; {@code false} if the
+   *     emitter is paused or finished.
+   */
+  boolean beginUpdate() {
+    if (this.isPaused()) {
+      return false;
+    }
+
     // clear particles if the effect time to life is reached
     if (this.isFinished()) {
       for (EmitterFinishedListener listener : this.finishedListeners) {
@@ -520,22 +601,27 @@ import java.util.concurrent.CopyOnWriteArrayList;
       }
 
       this.delete();
-      return;
+      return false;
     }
 
     this.updateOrigin();
 
-    final float updateRatio = (float) this.data().getUpdateRate() / Game.loop().getTickRate();
-    for (final Particle p : new ArrayList<>(this.getParticles())) {
-      if (this.particleCanBeRemoved(p)) {
-        // remove dead particles
-        this.particles.remove(p);
-        continue;
+    if (!this.particles.isEmpty()) {
+      // remove dead particles
+      final float updateRatio = this.getUpdateRatio();
+      this.particles.removeIf(this.removablePredicate);
+      for (final Particle p : this.particles) {
+        p.update(this.getOrigin(), updateRatio);
       }
-
-      p.update(this.getOrigin(), updateRatio);
     }
 
+    return true;
+  }
+
+  /**
+   * Performs the part of the update that follows the simulation of the particle buffer: Updates the alive time and spawns new particles.
+   */
+  void endUpdate() {
     this.aliveTime = Game.time().since(this.activationTick);
     if ((this.data().getSpawnRate() == 0 || Game.time().since(this.lastSpawn) >= this.data().getSpawnRate())) {
       this.lastSpawn = Game.time().now();
@@ -553,7 +639,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
    * @return {@code true} if the emitter can accept new particles, {@code false} otherwise
    */
   protected boolean canTakeNewParticles() {
-    return this.particles.size() < this.data().getMaxParticles();
+    return this.getParticleCount() < this.data().getMaxParticles();
   }
 
   /**
@@ -618,7 +704,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
    *
    * <p>This method generates a number of particles based on the emitter's spawn amount
    * configuration. It ensures that the emitter does not exceed its maximum allowed particles. If a new particle is successfully created, it is added
-   * to the emitter's particle list.
+   * to the emitter's particle list, or to its particle buffer if it is one of the shape types.
    */
   protected void spawnParticle() {
     for (short i = 0; i < this.data().getSpawnAmount(); i++) {
@@ -626,6 +712,14 @@ import java.util.concurrent.CopyOnWriteArrayList;
         return;
       }
 
+      if (this.usesParticleBuffer()) {
+        if (!this.isStopped()) {
+          this.particleBuffer.spawn(this.data());
+        }
+
+        continue;
+      }
+
       Particle part = this.createNewParticle();
       if (part != null) {
         this.addParticle(part);
@@ -646,6 +740,10 @@ import java.util.concurrent.CopyOnWriteArrayList;
     }
 
     final Rectangle2D viewport = Game.screens() != null && Game.world().camera() != null ? Game.world().camera().getViewport() : null;
+    if (renderType == RenderType.NONE && viewport != null) {
+      this.particleBuffer.render(g, getOrigin(), viewport);
+    }
+
     for (Particle particle : this.particles) {
       if (((!particle.usesCustomRenderType() && renderType == RenderType.NONE) || (particle.usesCustomRenderType()
         && particle.getCustomRenderType() == renderType)) && viewport != null && viewport.intersects(particle.getBoundingBox(getOrigin()))) {
@@ -654,6 +752,14 @@ import java.util.concurrent.CopyOnWriteArrayList;
     }
   }
 
+  float getUpdateRatio() {
+    return (float) this.data().getUpdateRate() / Game.loop().getTickRate();
+  }
+
+  private boolean usesParticleBuffer() {
+    return ParticleBuffer.supports(this.data().getParticleType()) && !CUSTOM_PARTICLES.get(this.getClass());
+  }
+
   /**
    * Listener interface for handling emitter completion events.
    *
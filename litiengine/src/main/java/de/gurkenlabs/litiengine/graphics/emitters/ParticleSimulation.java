@@ -0,0 +1,224 @@
+package de.gurkenlabs.litiengine.graphics.emitters;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.graphics.emitters.particles.ParticleBuffer;
+import de.gurkenlabs.litiengine.physics.CollisionSnapshot;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * An optional simulation stage that updates the particle buffers of all activated emitters in one data-parallel pass instead of letting every
+ * emitter update its own particles on the game loop.
+ *
+ * <p>When enabled, the simulation performs the complete update of its emitters once per tick of the {@code GameWorld}:
+ * <ol>
+ * <li>The emitters are prepared one after another, which updates their origins and particle objects and removes expired particles.</li>
+ * <li>All particle buffers are split into chunks of a fixed size that are updated in parallel by a {@link ForkJoinPool}. Particles that check for
+ * collisions are tested against a {@link CollisionSnapshot} of the physics engine instead of the live collision world.</li>
+ * <li>The emitters spawn their new particles one after another, in the order in which they were activated.</li>
+ * </ol>
+ *
+ * <p>Every particle is only updated from its own state and the immutable snapshot, and the chunks don't depend on the number of threads. The results
+ * are therefore the same for any parallelism of the pool.
+ *
+ * @see de.gurkenlabs.litiengine.environment.GameWorld#particles()
+ */
+public final class ParticleSimulation {
+  public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+  private final List<Emitter> emitters = new CopyOnWriteArrayList<>();
+  private volatile boolean enabled;
+  private ForkJoinPool pool = ForkJoinPool.commonPool();
+  private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+  // the reused work of a tick
+  private Emitter[] active = new Emitter[16];
+  private Chunk[] chunks = new Chunk[16];
+
+  /**
+   * Determines whether this simulation updates the particles of the activated emitters.
+   *
+   * @return True if the simulation is enabled; otherwise false.
+   */
+  public boolean isEnabled() {
+    return this.enabled;
+  }
+
+  /**
+   * Enables or disables the parallel particle simulation. While it is disabled, every emitter updates its own particles when it is updated by the
+   * game loop.
+   *
+   * @param enabled True to enable the simulation.
+   */
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Gets the pool that executes the particle chunks.
+   *
+   * @return The pool of this simulation, which is the common pool by default.
+   */
+  public ForkJoinPool getPool() {
+    return this.pool;
+  }
+
+  /**
+   * Sets the pool that executes the particle chunks.
+   *
+   * @param pool The pool to use.
+   */
+  public void setPool(ForkJoinPool pool) {
+    if (pool == null) {
+      throw new IllegalArgumentException("The pool must not be null.");
+    }
+
+    this.pool = pool;
+  }
+
+  /**
+   * Gets the maximum number of particles that are updated by a single task.
+   *
+   * @return The chunk size of this simulation.
+   */
+  public int getChunkSize() {
+    return this.chunkSize;
+  }
+
+  /**
+   * Sets the maximum number of particles that are updated by a single task.
+   *
+   * @param chunkSize The chunk size, which must be positive.
+   */
+  public void setChunkSize(int chunkSize) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("The chunk size must be positive.");
+    }
+
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Gets the emitters that are updated by this simulation while it is enabled.
+   *
+   * @return The activated emitters in the order of their activation.
+   */
+  public List<Emitter> getEmitters() {
+    return this.emitters;
+  }
+
+  /**
+   * Don't call this manually! This is called by the {@code GameWorld} once per tick.
+   */
+  public void update() {
+    if (!this.enabled || this.emitters.isEmpty()) {
+      return;
+    }
+
+    int activeCount = 0;
+    int chunkCount = 0;
+    boolean collisions = false;
+    for (Emitter emitter : this.emitters) {
+      if (!emitter.beginUpdate()) {
+        continue;
+      }
+
+      final ParticleBuffer buffer = emitter.getParticleBuffer();
+      buffer.removeExpired();
+      collisions |= buffer.hasCollisionChecks();
+
+      this.active = ensureCapacity(this.active, activeCount + 1);
+      this.active[activeCount++] = emitter;
+
+      final int size = buffer.size();
+      final float updateRatio = emitter.getUpdateRatio();
+      for (int from = 0; from < size; from += this.chunkSize) {
+        this.chunks = ensureCapacity(this.chunks, chunkCount + 1);
+        if (this.chunks[chunkCount] == null) {
+          this.chunks[chunkCount] = new Chunk();
+        }
+
+        this.chunks[chunkCount++].set(emitter, from, Math.min(size, from + this.chunkSize), updateRatio);
+      }
+    }
+
+    final CollisionSnapshot snapshot = collisions && Game.physics() != null ? Game.physics().snapshot() : null;
+    if (chunkCount == 1) {
+      this.chunks[0].run(snapshot);
+    } else if (chunkCount > 1) {
+      this.pool.invoke(new ChunkTask(this.chunks, 0, chunkCount, snapshot));
+    }
+
+    for (int i = 0; i < activeCount; i++) {
+      this.active[i].endUpdate();
+      this.active[i] = null;
+    }
+
+    for (int i = 0; i < chunkCount; i++) {
+      this.chunks[i].emitter = null;
+    }
+  }
+
+  void add(Emitter emitter) {
+    if (!this.emitters.contains(emitter)) {
+      this.emitters.add(emitter);
+    }
+  }
+
+  void remove(Emitter emitter) {
+    this.emitters.remove(emitter);
+  }
+
+  private static <T> T[] ensureCapacity(T[] array, int capacity) {
+    return capacity <= array.length ? array : Arrays.copyOf(array, Math.max(capacity, array.length * 2));
+  }
+
+  private static final class Chunk {
+    private Emitter emitter;
+    private int from;
+    private int to;
+    private float updateRatio;
+
+    private void set(Emitter emitter, int from, int to, float updateRatio) {
+      this.emitter = emitter;
+      this.from = from;
+      this.to = to;
+      this.updateRatio = updateRatio;
+    }
+
+    private void run(CollisionSnapshot snapshot) {
+      this.emitter.getParticleBuffer().update(this.from, this.to, this.emitter.getOrigin(), this.updateRatio, snapshot);
+    }
+  }
+
+  /**
+   * Splits the chunks in halves until a single chunk remains for every task.
+   */
+  private static final class ChunkTask extends RecursiveAction {
+    private final transient Chunk[] chunks;
+    private final int from;
+    private final int to;
+    private final transient CollisionSnapshot snapshot;
+
+    private ChunkTask(Chunk[] chunks, int from, int to, CollisionSnapshot snapshot) {
+      this.chunks = chunks;
+      this.from = from;
+      this.to = to;
+      this.snapshot = snapshot;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.to - this.from == 1) {
+        this.chunks[this.from].run(this.snapshot);
+        return;
+      }
+
+      final int middle = (this.from + this.to) >>> 1;
+      invokeAll(new ChunkTask(this.chunks, this.from, middle, this.snapshot), new ChunkTask(this.chunks, middle, this.to, this.snapshot));
+    }
+  }
+}
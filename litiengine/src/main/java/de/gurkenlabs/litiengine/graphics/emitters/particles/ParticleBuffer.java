@@ -0,0 +1,777 @@
+package de.gurkenlabs.litiengine.graphics.emitters.particles;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.environment.Environment;
+import de.gurkenlabs.litiengine.graphics.emitters.xml.EmitterData;
+import de.gurkenlabs.litiengine.physics.Collision;
+import de.gurkenlabs.litiengine.physics.CollisionSnapshot;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Stroke;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The {@code ParticleBuffer} stores the particles of the shape types ({@link ParticleType#RECTANGLE}, {@link ParticleType#ELLIPSE},
+ * {@link ParticleType#TRIANGLE}, {@link ParticleType#DIAMOND} and {@link ParticleType#LINE}) in parallel primitive arrays instead of one
+ * {@link Particle} object per particle.
+ *
+ * <p>
+ * The particles are simulated and rendered exactly like the corresponding {@link ShapeParticle} implementations, but without allocating any
+ * objects per frame: Dead particles are removed by moving the last particle into their slot, the shapes are built in reused paths and the colors
+ * for the faded opacities are cached per color and alpha value. Because of the swap-remove, the particles are not kept in the order in which they
+ * were spawned.
+ *
+ * <p>
+ * The buffer is synchronized, so it can be updated by the game loop while it is rendered by the render thread.
+ *
+ * @see de.gurkenlabs.litiengine.graphics.emitters.Emitter
+ */
+public final class ParticleBuffer {
+  private static final int INITIAL_CAPACITY = 64;
+  private static final Color DEFAULT_COLOR = Color.BLACK;
+
+  /**
+   * The control points of the four cubic curves that approximate an ellipse, relative to its bounds. These are the values that
+   * {@link java.awt.geom.Ellipse2D} uses to iterate its path.
+   */
+  private static final double CTRL_VAL = 0.5522847498307933;
+  private static final double PCV = 0.5 + CTRL_VAL * 0.5;
+  private static final double NCV = 0.5 - CTRL_VAL * 0.5;
+  private static final double[][] ELLIPSE_CURVES = {
+    {1.0, PCV, PCV, 1.0, 0.5, 1.0},
+    {NCV, 1.0, 0.0, PCV, 0.0, 0.5},
+    {0.0, NCV, NCV, 0.0, 0.5, 0.0},
+    {PCV, 0.0, 1.0, NCV, 1.0, 0.5}
+  };
+
+  private int size;
+
+  private ParticleType[] types;
+  private float[] x;
+  private float[] y;
+  private float[] velocityX;
+  private float[] velocityY;
+  private float[] accelerationX;
+  private float[] accelerationY;
+  private float[] width;
+  private float[] height;
+  private float[] deltaWidth;
+  private float[] deltaHeight;
+  private float[] angle;
+  private float[] deltaAngle;
+  private float[] outlineThickness;
+  private int[] timeToLive;
+  private long[] aliveTick;
+  private long[] aliveTime;
+  private int[] colors;
+  private Collision[] collisionTypes;
+  private boolean[] outlineOnly;
+  private boolean[] antiAliasing;
+  private boolean[] fade;
+  private boolean[] fadeOnCollision;
+  private boolean[] colliding;
+  private BasicStroke[] strokes;
+
+  private Color[] palette = new Color[4];
+  private Color[][] shades = new Color[4][];
+  private int paletteSize;
+
+  /** The particles that are checked for collisions; collision snapshots are only required if there are any. */
+  private int collisionParticles;
+
+  // scratch objects that are reused for every particle
+  private final Geometry geometry = new Geometry();
+  private final AffineTransform camera = new AffineTransform();
+  private final Path2D.Double path = new Path2D.Double();
+
+  /** The scratch objects for updates of particle ranges, which might be performed by multiple threads at once. */
+  private static final ThreadLocal<Geometry> RANGE_GEOMETRY = ThreadLocal.withInitial(Geometry::new);
+
+  /**
+   * Initializes a new, empty instance of the {@code ParticleBuffer} class.
+   */
+  public ParticleBuffer() {
+    this.allocate(INITIAL_CAPACITY);
+  }
+
+  /**
+   * Determines whether particles of the specified type can be stored in a {@code ParticleBuffer}.
+   *
+   * @param type The particle type.
+   * @return True if the type is one of the shape types; false for sprite and text particles.
+   */
+  public static boolean supports(ParticleType type) {
+    return type == ParticleType.RECTANGLE
+      || type == ParticleType.ELLIPSE
+      || type == ParticleType.TRIANGLE
+      || type == ParticleType.DIAMOND
+      || type == ParticleType.LINE;
+  }
+
+  /**
+   * Gets the number of particles in this buffer.
+   *
+   * @return The number of particles.
+   */
+  public synchronized int size() {
+    return this.size;
+  }
+
+  /**
+   * Removes all particles from this buffer.
+   */
+  public synchronized void clear() {
+    Arrays.fill(this.types, 0, this.size, null);
+    Arrays.fill(this.collisionTypes, 0, this.size, null);
+    Arrays.fill(this.strokes, 0, this.size, null);
+    this.size = 0;
+    this.collisionParticles = 0;
+  }
+
+  /**
+   * Spawns a new particle with the particle type and the randomized values of the specified emitter data. The random values are drawn in the same
+   * order as by {@link Particle#init(EmitterData)}, so the spawned particle is equal to the particle that the emitter would have created as object.
+   *
+   * @param data The emitter data that defines the particle.
+   * @throws IllegalArgumentException If the particle type of the data is not {@link #supports(ParticleType) supported}.
+   */
+  public synchronized void spawn(EmitterData data) {
+    final ParticleType type = data.getParticleType();
+    if (!supports(type)) {
+      throw new IllegalArgumentException("Particles of type " + type + " cannot be stored in a particle buffer.");
+    }
+
+    if (this.size == this.types.length) {
+      this.allocate(this.size * 2);
+    }
+
+    final int i = this.size;
+    this.types[i] = type;
+    this.width[i] = (float) data.getParticleWidth().get();
+    this.height[i] = (float) data.getParticleHeight().get();
+
+    this.x[i] = (float) data.getParticleOffsetX().get();
+    this.y[i] = (float) data.getParticleOffsetY().get();
+    this.accelerationX[i] = (float) data.getAccelerationX().get();
+    this.accelerationY[i] = (float) data.getAccelerationY().get();
+    this.velocityX[i] = (float) data.getVelocityX().get();
+    this.velocityY[i] = (float) data.getVelocityY().get();
+    this.deltaWidth[i] = (float) data.getDeltaWidth().get();
+    this.deltaHeight[i] = (float) data.getDeltaHeight().get();
+    this.angle[i] = (float) data.getAngle().get();
+    this.deltaAngle[i] = (float) data.getDeltaAngle().get();
+    this.timeToLive[i] = (int) data.getParticleTTL().get();
+
+    final Color color = Game.random().choose(data.getDecodedColors());
+    this.colors[i] = this.getPaletteIndex(color != null ? color : DEFAULT_COLOR);
+    this.outlineThickness[i] = (float) data.getOutlineThickness().get();
+
+    this.collisionTypes[i] = data.getCollision();
+    if (this.collisionTypes[i] != Collision.NONE) {
+      this.collisionParticles++;
+    }
+
+    this.outlineOnly[i] = data.isOutlineOnly();
+    this.antiAliasing[i] = data.isAntiAliased();
+    this.fade[i] = data.isFading();
+    this.fadeOnCollision[i] = data.isFadingOnCollision();
+    this.colliding[i] = false;
+    this.aliveTick[i] = 0;
+    this.aliveTime[i] = 0;
+    this.strokes[i] = null;
+    this.size++;
+  }
+
+  /**
+   * Removes the particles that reached their time to live and updates all other particles.
+   *
+   * @param origin      The current origin of the emitter.
+   * @param updateRatio The update ratio for the particles.
+   * @see Particle#update(Point2D, float)
+   */
+  public synchronized void update(Point2D origin, float updateRatio) {
+    int i = 0;
+    while (i < this.size) {
+      if (this.timeToLiveReached(i)) {
+        // the last particle is moved into this slot and updated with the next iteration
+        this.remove(i);
+        continue;
+      }
+
+      this.update(this.geometry, i, origin, updateRatio, null);
+      i++;
+    }
+  }
+
+  /**
+   * Removes the particles that reached their time to live without updating the other particles. Together with
+   * {@link #update(int, int, Point2D, float, CollisionSnapshot)} for all remaining particles, this is equivalent to
+   * {@link #update(Point2D, float)}.
+   */
+  public synchronized void removeExpired() {
+    int i = 0;
+    while (i < this.size) {
+      if (this.timeToLiveReached(i)) {
+        this.remove(i);
+        continue;
+      }
+
+      i++;
+    }
+  }
+
+  /**
+   * Updates the particles in the specified range without removing expired particles.
+   *
+   * <p>
+   * This method doesn't lock the buffer, so disjoint ranges can be updated by multiple threads at once. Each particle is only updated from its own
+   * state, so the result doesn't depend on how the particles are split into ranges. The caller must ensure that no particles are spawned or removed
+   * while the ranges are updated.
+   *
+   * @param from        The index of the first particle to update.
+   * @param to          The index after the last particle to update.
+   * @param origin      The current origin of the emitter, which must not change during the update.
+   * @param updateRatio The update ratio for the particles.
+   * @param collisions  The snapshot of the collision world that is used for the collision checks, or null to query the {@code PhysicsEngine}.
+   * @see #removeExpired()
+   */
+  public void update(int from, int to, Point2D origin, float updateRatio, CollisionSnapshot collisions) {
+    Objects.checkFromToIndex(from, to, this.size);
+    final Geometry rangeGeometry = RANGE_GEOMETRY.get();
+    for (int i = from; i < to; i++) {
+      this.update(rangeGeometry, i, origin, updateRatio, collisions);
+    }
+  }
+
+  /**
+   * Determines whether any particle of this buffer is checked for collisions.
+   *
+   * @return True if any particle has a collision type other than {@link Collision#NONE}.
+   */
+  public synchronized boolean hasCollisionChecks() {
+    return this.collisionParticles > 0;
+  }
+
+  /**
+   * Renders all particles that intersect with the specified viewport.
+   *
+   * @param g        The graphics object to render on.
+   * @param origin   The current origin of the emitter.
+   * @param viewport The viewport in map coordinates.
+   * @see ShapeParticle#render(Graphics2D, Point2D)
+   */
+  public synchronized void render(Graphics2D g, Point2D origin, Rectangle2D viewport) {
+    if (this.size == 0) {
+      return;
+    }
+
+    final Environment environment = Game.world().environment();
+    final double renderScale = Game.world().camera().getRenderScale();
+    this.camera.setToIdentity();
+    if (environment == null || !environment.isRendering()) {
+      this.camera.scale(renderScale, renderScale);
+    }
+
+    this.camera.translate(Game.world().camera().getPixelOffsetX(), Game.world().camera().getPixelOffsetY());
+
+    final Object hint = g.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+    final Stroke stroke = g.getStroke();
+    final float baseRenderScale = Game.graphics().getBaseRenderScale();
+    final Geometry geometry = this.geometry;
+    for (int i = 0; i < this.size; i++) {
+      final int points = this.computeShape(geometry, i, origin);
+      this.computeBounds(geometry, i, points);
+      if (!viewport.intersects(geometry.bounds[0], geometry.bounds[1], geometry.bounds[2], geometry.bounds[3])) {
+        continue;
+      }
+
+      this.camera.transform(geometry.coords, 0, geometry.coords, 0, points);
+      this.buildPath(geometry, i, points);
+
+      g.setColor(this.getShade(i));
+      g.setRenderingHint(
+        RenderingHints.KEY_ANTIALIASING,
+        this.antiAliasing[i] ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+      if (this.outlineOnly[i] || this.types[i] == ParticleType.LINE) {
+        g.setStroke(this.getStroke(i, baseRenderScale));
+        g.draw(this.path);
+      } else {
+        g.fill(this.path);
+      }
+    }
+
+    g.setStroke(stroke);
+    g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, hint);
+  }
+
+  /**
+   * Gets the x-coordinate of the particle at the specified index, relative to the origin of its emitter.
+   *
+   * @param index The index of the particle.
+   * @return The x-coordinate of the particle.
+   */
+  public synchronized float getX(int index) {
+    return this.x[this.checkIndex(index)];
+  }
+
+  /**
+   * Gets the y-coordinate of the particle at the specified index, relative to the origin of its emitter.
+   *
+   * @param index The index of the particle.
+   * @return The y-coordinate of the particle.
+   */
+  public synchronized float getY(int index) {
+    return this.y[this.checkIndex(index)];
+  }
+
+  /**
+   * Gets the width of the particle at the specified index.
+   *
+   * @param index The index of the particle.
+   * @return The width of the particle.
+   */
+  public synchronized float getWidth(int index) {
+    return this.width[this.checkIndex(index)];
+  }
+
+  /**
+   * Gets the height of the particle at the specified index.
+   *
+   * @param index The index of the particle.
+   * @return The height of the particle.
+   */
+  public synchronized float getHeight(int index) {
+    return this.height[this.checkIndex(index)];
+  }
+
+  /**
+   * Gets the angle of the particle at the specified index in degrees.
+   *
+   * @param index The index of the particle.
+   * @return The angle of the particle.
+   */
+  public synchronized float getAngle(int index) {
+    return this.angle[this.checkIndex(index)];
+  }
+
+  /**
+   * Gets the opacity with which the particle at the specified index is rendered.
+   *
+   * @param index The index of the particle.
+   * @return The opacity of the particle.
+   * @see Particle#getOpacity()
+   */
+  public synchronized float getOpacity(int index) {
+    this.checkIndex(index);
+    return this.getOpacity(index, this.palette[this.colors[index]]);
+  }
+
+  /**
+   * Gets the bounding box of the particle at the specified index, depending on the origin of its emitter.
+   *
+   * @param index  The index of the particle.
+   * @param origin The origin of the emitter.
+   * @return A new rectangle with the bounding box of the particle.
+   * @see Particle#getBoundingBox(Point2D)
+   */
+  public synchronized Rectangle2D getBoundingBox(int index, Point2D origin) {
+    this.checkIndex(index);
+    this.computeBounds(this.geometry, index, this.computeShape(this.geometry, index, origin));
+    return new Rectangle2D.Double(this.geometry.bounds[0], this.geometry.bounds[1], this.geometry.bounds[2], this.geometry.bounds[3]);
+  }
+
+  private void update(Geometry geometry, int i, Point2D origin, float updateRatio, CollisionSnapshot collisions) {
+    if (this.aliveTick[i] == 0) {
+      this.aliveTick[i] = Game.time().now();
+    }
+
+    this.aliveTime[i] = Game.time().since(this.aliveTick[i]);
+    if (this.timeToLiveReached(i) || this.colliding[i]) {
+      return;
+    }
+
+    if (this.deltaWidth[i] != 0) {
+      this.width[i] += this.deltaWidth[i] * updateRatio;
+    }
+
+    if (this.deltaHeight[i] != 0) {
+      this.height[i] += this.deltaHeight[i] * updateRatio;
+    }
+
+    if (this.deltaAngle[i] != 0) {
+      this.angle[i] += this.deltaAngle[i] * updateRatio;
+    }
+
+    final float targetX = this.x[i] + this.velocityX[i] * updateRatio;
+    final float targetY = this.y[i] + this.velocityY[i] * updateRatio;
+
+    // like the particle objects, a particle that doesn't move is not accelerated
+    if (targetX == this.x[i] && targetY == this.y[i]) {
+      return;
+    }
+
+    if (this.collides(geometry, i, origin, collisions)) {
+      this.colliding[i] = true;
+      if (this.fadeOnCollision[i]) {
+        this.fade[i] = true;
+      }
+
+      return;
+    }
+
+    if (this.velocityX[i] != 0) {
+      this.x[i] = targetX;
+    }
+
+    if (this.velocityY[i] != 0) {
+      this.y[i] = targetY;
+    }
+
+    if (this.accelerationX[i] != 0) {
+      this.velocityX[i] += this.accelerationX[i] * updateRatio;
+    }
+
+    if (this.accelerationY[i] != 0) {
+      this.velocityY[i] += this.accelerationY[i] * updateRatio;
+    }
+  }
+
+  private boolean collides(Geometry geometry, int i, Point2D origin, CollisionSnapshot collisions) {
+    if (this.collisionTypes[i] == Collision.NONE || collisions == null && Game.physics() == null) {
+      return false;
+    }
+
+    this.computeBounds(geometry, i, this.computeShape(geometry, i, origin));
+    geometry.collisionBox.setRect(geometry.bounds[0], geometry.bounds[1], geometry.bounds[2], geometry.bounds[3]);
+    return collisions != null
+      ? collisions.collides(geometry.collisionBox, this.collisionTypes[i])
+      : Game.physics().collides(geometry.collisionBox, this.collisionTypes[i]);
+  }
+
+  private boolean timeToLiveReached(int i) {
+    return this.timeToLive[i] > 0 && this.aliveTime[i] >= this.timeToLive[i];
+  }
+
+  private void remove(int i) {
+    if (this.collisionTypes[i] != Collision.NONE) {
+      this.collisionParticles--;
+    }
+
+    final int last = --this.size;
+    if (i != last) {
+      this.types[i] = this.types[last];
+      this.x[i] = this.x[last];
+      this.y[i] = this.y[last];
+      this.velocityX[i] = this.velocityX[last];
+      this.velocityY[i] = this.velocityY[last];
+      this.accelerationX[i] = this.accelerationX[last];
+      this.accelerationY[i] = this.accelerationY[last];
+      this.width[i] = this.width[last];
+      this.height[i] = this.height[last];
+      this.deltaWidth[i] = this.deltaWidth[last];
+      this.deltaHeight[i] = this.deltaHeight[last];
+      this.angle[i] = this.angle[last];
+      this.deltaAngle[i] = this.deltaAngle[last];
+      this.outlineThickness[i] = this.outlineThickness[last];
+      this.timeToLive[i] = this.timeToLive[last];
+      this.aliveTick[i] = this.aliveTick[last];
+      this.aliveTime[i] = this.aliveTime[last];
+      this.colors[i] = this.colors[last];
+      this.collisionTypes[i] = this.collisionTypes[last];
+      this.outlineOnly[i] = this.outlineOnly[last];
+      this.antiAliasing[i] = this.antiAliasing[last];
+      this.fade[i] = this.fade[last];
+      this.fadeOnCollision[i] = this.fadeOnCollision[last];
+      this.colliding[i] = this.colliding[last];
+      this.strokes[i] = this.strokes[last];
+    }
+
+    this.types[last] = null;
+    this.collisionTypes[last] = null;
+    this.strokes[last] = null;
+  }
+
+  /**
+   * Computes the rotated outline of the particle in map coordinates into the {@code coords} array of the geometry. The points are computed in the same way as the
+   * paths of the shapes that are created by the {@link ShapeParticle} implementations.
+   *
+   * @return The number of points.
+   */
+  private int computeShape(Geometry geometry, int i, Point2D origin) {
+    final float w = this.width[i];
+    final float h = this.height[i];
+    final float absX = (float) (origin.getX() + this.x[i] - w / 2.0);
+    final float absY = (float) (origin.getY() + this.y[i] - h / 2.0);
+
+    final int points;
+    switch (this.types[i]) {
+      case ELLIPSE -> {
+        if (w < 0 || h < 0) {
+          return 0;
+        }
+
+        geometry.source[0] = absX + 1.0 * w;
+        geometry.source[1] = absY + 0.5 * h;
+        for (int c = 0; c < ELLIPSE_CURVES.length; c++) {
+          final double[] curve = ELLIPSE_CURVES[c];
+          for (int p = 0; p < 3; p++) {
+            geometry.source[2 + c * 6 + p * 2] = absX + curve[p * 2] * w;
+            geometry.source[3 + c * 6 + p * 2] = absY + curve[p * 2 + 1] * h;
+          }
+        }
+
+        points = 13;
+      }
+      case TRIANGLE, DIAMOND -> {
+        final int sides = this.types[i] == ParticleType.TRIANGLE ? 3 : 4;
+        final double centerX = absX + w / 2;
+        final double centerY = absY + h / 2;
+        final double theta = 2 * Math.PI / sides;
+        geometry.source[0] = centerX + w;
+        geometry.source[1] = centerY + 0;
+        for (int s = 0; s < sides; s++) {
+          geometry.source[2 + s * 2] = centerX + w * Math.cos(theta * s);
+          geometry.source[3 + s * 2] = centerY + h * Math.sin(theta * s);
+        }
+
+        points = sides + 1;
+      }
+      case LINE -> {
+        geometry.source[0] = absX;
+        geometry.source[1] = absY;
+        geometry.source[2] = absX + w;
+        geometry.source[3] = absY + h;
+        points = 2;
+      }
+      default -> {
+        if (w < 0 || h < 0) {
+          return 0;
+        }
+
+        geometry.source[0] = absX;
+        geometry.source[1] = absY;
+        geometry.source[2] = absX + (double) w;
+        geometry.source[3] = absY;
+        geometry.source[4] = absX + (double) w;
+        geometry.source[5] = absY + (double) h;
+        geometry.source[6] = absX;
+        geometry.source[7] = absY + (double) h;
+        geometry.source[8] = absX;
+        geometry.source[9] = absY;
+        points = 5;
+      }
+    }
+
+    geometry.rotation.setToRotation(Math.toRadians(this.angle[i]), absX + w * 0.5, absY + h * 0.5);
+    geometry.rotation.transform(geometry.source, 0, geometry.coords, 0, points);
+    return points;
+  }
+
+  /**
+   * Computes the bounds of the outline in the {@code coords} array of the geometry into its {@code bounds} array as x, y, width and height.
+   */
+  private void computeBounds(Geometry geometry, int i, int points) {
+    if (points == 0) {
+      // shapes with a negative size have an empty path
+      Arrays.fill(geometry.bounds, 0);
+      return;
+    }
+
+    if (this.types[i] == ParticleType.ELLIPSE) {
+      // the bounds of the curves are those of the rotated ellipse around its center
+      final double radians = Math.toRadians(this.angle[i]);
+      final double cos = Math.cos(radians);
+      final double sin = Math.sin(radians);
+      final double radiusX = this.width[i] * 0.5;
+      final double radiusY = this.height[i] * 0.5;
+      final double extentX = Math.sqrt(radiusX * radiusX * cos * cos + radiusY * radiusY * sin * sin);
+      final double extentY = Math.sqrt(radiusX * radiusX * sin * sin + radiusY * radiusY * cos * cos);
+      final double centerX = (geometry.coords[0] + geometry.coords[12]) / 2.0;
+      final double centerY = (geometry.coords[1] + geometry.coords[13]) / 2.0;
+      geometry.bounds[0] = centerX - extentX;
+      geometry.bounds[1] = centerY - extentY;
+      geometry.bounds[2] = extentX * 2;
+      geometry.bounds[3] = extentY * 2;
+      return;
+    }
+
+    double minX = geometry.coords[0];
+    double minY = geometry.coords[1];
+    double maxX = minX;
+    double maxY = minY;
+    for (int p = 1; p < points; p++) {
+      minX = Math.min(minX, geometry.coords[p * 2]);
+      minY = Math.min(minY, geometry.coords[p * 2 + 1]);
+      maxX = Math.max(maxX, geometry.coords[p * 2]);
+      maxY = Math.max(maxY, geometry.coords[p * 2 + 1]);
+    }
+
+    geometry.bounds[0] = minX;
+    geometry.bounds[1] = minY;
+    geometry.bounds[2] = maxX - minX;
+    geometry.bounds[3] = maxY - minY;
+  }
+
+  private void buildPath(Geometry geometry, int i, int points) {
+    this.path.reset();
+    this.path.moveTo(geometry.coords[0], geometry.coords[1]);
+    if (this.types[i] == ParticleType.ELLIPSE) {
+      for (int p = 1; p < points; p += 3) {
+        this.path.curveTo(
+          geometry.coords[p * 2], geometry.coords[p * 2 + 1],
+          geometry.coords[p * 2 + 2], geometry.coords[p * 2 + 3],
+          geometry.coords[p * 2 + 4], geometry.coords[p * 2 + 5]);
+      }
+    } else {
+      for (int p = 1; p < points; p++) {
+        this.path.lineTo(geometry.coords[p * 2], geometry.coords[p * 2 + 1]);
+      }
+    }
+
+    if (this.types[i] != ParticleType.LINE) {
+      this.path.closePath();
+    }
+  }
+
+  private float getOpacity(int i, Color color) {
+    if (this.fade[i] && this.timeToLive[i] > 0) {
+      final float maxAlpha = color.getAlpha() / 255f;
+      final float progress = (float) this.aliveTime[i] / this.timeToLive[i];
+      return Math.clamp(maxAlpha - progress * maxAlpha, 0f, 1f);
+    }
+
+    return 1;
+  }
+
+  /**
+   * Gets the color of the particle with its current opacity. The colors are cached per alpha value because the opacity of fading particles changes
+   * with almost every frame.
+   */
+  private Color getShade(int i) {
+    final int index = this.colors[i];
+    final Color color = this.palette[index];
+    final float opacity = this.getOpacity(i, color);
+
+    // this is how the color constructor converts the opacity
+    final int alpha = (int) (opacity * 255 + 0.5);
+    Color[] colorShades = this.shades[index];
+    if (colorShades == null) {
+      colorShades = new Color[256];
+      this.shades[index] = colorShades;
+    }
+
+    Color shade = colorShades[alpha];
+    if (shade == null) {
+      shade = new Color(color.getRed() / 255f, color.getGreen() / 255f, color.getBlue() / 255f, opacity);
+      colorShades[alpha] = shade;
+    }
+
+    return shade;
+  }
+
+  private BasicStroke getStroke(int i, float baseRenderScale) {
+    final float lineWidth = this.outlineThickness[i] / baseRenderScale;
+    BasicStroke stroke = this.strokes[i];
+    if (stroke == null || stroke.getLineWidth() != lineWidth) {
+      stroke = new BasicStroke(lineWidth);
+      this.strokes[i] = stroke;
+    }
+
+    return stroke;
+  }
+
+  private int getPaletteIndex(Color color) {
+    for (int i = 0; i < this.paletteSize; i++) {
+      if (this.palette[i].equals(color)) {
+        return i;
+      }
+    }
+
+    if (this.paletteSize == this.palette.length) {
+      this.palette = Arrays.copyOf(this.palette, this.paletteSize * 2);
+      this.shades = Arrays.copyOf(this.shades, this.paletteSize * 2);
+    }
+
+    this.palette[this.paletteSize] = color;
+    return this.paletteSize++;
+  }
+
+  private int checkIndex(int index) {
+    return Objects.checkIndex(index, this.size);
+  }
+
+  private void allocate(int capacity) {
+    if (this.types == null) {
+      this.types = new ParticleType[capacity];
+      this.x = new float[capacity];
+      this.y = new float[capacity];
+      this.velocityX = new float[capacity];
+      this.velocityY = new float[capacity];
+      this.accelerationX = new float[capacity];
+      this.accelerationY = new float[capacity];
+      this.width = new float[capacity];
+      this.height = new float[capacity];
+      this.deltaWidth = new float[capacity];
+      this.deltaHeight = new float[capacity];
+      this.angle = new float[capacity];
+      this.deltaAngle = new float[capacity];
+      this.outlineThickness = new float[capacity];
+      this.timeToLive = new int[capacity];
+      this.aliveTick = new long[capacity];
+      this.aliveTime = new long[capacity];
+      this.colors = new int[capacity];
+      this.collisionTypes = new Collision[capacity];
+      this.outlineOnly = new boolean[capacity];
+      this.antiAliasing = new boolean[capacity];
+      this.fade = new boolean[capacity];
+      this.fadeOnCollision = new boolean[capacity];
+      this.colliding = new boolean[capacity];
+      this.strokes = new BasicStroke[capacity];
+      return;
+    }
+
+    this.types = Arrays.copyOf(this.types, capacity);
+    this.x = Arrays.copyOf(this.x, capacity);
+    this.y = Arrays.copyOf(this.y, capacity);
+    this.velocityX = Arrays.copyOf(this.velocityX, capacity);
+    this.velocityY = Arrays.copyOf(this.velocityY, capacity);
+    this.accelerationX = Arrays.copyOf(this.accelerationX, capacity);
+    this.accelerationY = Arrays.copyOf(this.accelerationY, capacity);
+    this.width = Arrays.copyOf(this.width, capacity);
+    this.height = Arrays.copyOf(this.height, capacity);
+    this.deltaWidth = Arrays.copyOf(this.deltaWidth, capacity);
+    this.deltaHeight = Arrays.copyOf(this.deltaHeight, capacity);
+    this.angle = Arrays.copyOf(this.angle, capacity);
+    this.deltaAngle = Arrays.copyOf(this.deltaAngle, capacity);
+    this.outlineThickness = Arrays.copyOf(this.outlineThickness, capacity);
+    this.timeToLive = Arrays.copyOf(this.timeToLive, capacity);
+    this.aliveTick = Arrays.copyOf(this.aliveTick, capacity);
+    this.aliveTime = Arrays.copyOf(this.aliveTime, capacity);
+    this.colors = Arrays.copyOf(this.colors, capacity);
+    this.collisionTypes = Arrays.copyOf(this.collisionTypes, capacity);
+    this.outlineOnly = Arrays.copyOf(this.outlineOnly, capacity);
+    this.antiAliasing = Arrays.copyOf(this.antiAliasing, capacity);
+    this.fade = Arrays.copyOf(this.fade, capacity);
+    this.fadeOnCollision = Arrays.copyOf(this.fadeOnCollision, capacity);
+    this.colliding = Arrays.copyOf(this.colliding, capacity);
+    this.strokes = Arrays.copyOf(this.strokes, capacity);
+  }
+
+  /**
+   * The scratch objects that are used to compute the shape and bounds of a particle.
+   */
+  private static final class Geometry {
+    private final double[] source = new double[26];
+    private final double[] coords = new double[26];
+    private final double[] bounds = new double[4];
+    private final Rectangle2D.Double collisionBox = new Rectangle2D.Double();
+    private final AffineTransform rotation = new AffineTransform();
+  }
+}
@@ -0,0 +1,253 @@
+package de.gurkenlabs.litiengine.physics;
+
+import de.gurkenlabs.litiengine.entities.ICollisionEntity;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * An immutable copy of the collision boxes that are registered on the {@code PhysicsEngine} at a certain point in time.
+ * <p>
+ * The snapshot answers the same rectangle queries as {@link PhysicsEngine#collides(Rectangle2D, Collision)}, but it doesn't access any entity after
+ * it was created. It can therefore be queried by any number of threads at once, e.g. by a batch of particle updates that is processed in parallel,
+ * and all of them get the same answers regardless of the order in which they are processed.
+ * <p>
+ * The boxes of each {@code Collision} type are stored in a dense grid of cells in which each box is registered in all cells that it covers.
+ *
+ * @see PhysicsEngine#snapshot()
+ */
+public final class CollisionSnapshot {
+  private static final double MIN_CELL_SIZE = GridSpatialIndex.DEFAULT_CELL_SIZE;
+  private static final int MIN_CELLS = 1024;
+  private static final int MAX_CELLS_PER_BOX = 64;
+
+  private final Rectangle2D environmentBounds;
+  private final Grid dynamicBoxes;
+  private final Grid staticBoxes;
+
+  CollisionSnapshot(Rectangle2D environmentBounds, Collection<ICollisionEntity> dynamicEntities, Collection<ICollisionEntity> staticEntities) {
+    this.environmentBounds = environmentBounds != null ? (Rectangle2D) environmentBounds.clone() : null;
+    this.dynamicBoxes = new Grid(dynamicEntities);
+    this.staticBoxes = new Grid(staticEntities);
+  }
+
+  /**
+   * Checks if a rectangle collides with any box of the given {@code Collision} type. Like the {@code PhysicsEngine}, this also considers a
+   * rectangle that is outside of the environment bounds as colliding.
+   *
+   * @param rect      The {@code Rectangle2D} to check for collision.
+   * @param collision The {@code Collision} type to check for collisions.
+   * @return {@code true} if the rectangle collides with any box of the given {@code Collision} type; otherwise {@code false}.
+   * @see PhysicsEngine#collides(Rectangle2D, Collision)
+   */
+  public boolean collides(Rectangle2D rect, Collision collision) {
+    if (this.environmentBounds != null && !this.environmentBounds.intersects(rect)) {
+      return true;
+    }
+
+    return switch (collision) {
+      case NONE -> false;
+      case DYNAMIC -> this.dynamicBoxes.intersects(rect);
+      case STATIC -> this.staticBoxes.intersects(rect);
+      case ANY -> this.dynamicBoxes.intersects(rect) || this.staticBoxes.intersects(rect);
+    };
+  }
+
+  /**
+   * Gets the number of boxes in this snapshot.
+   *
+   * @return The number of boxes of all {@code Collision} types.
+   */
+  public int size() {
+    return this.dynamicBoxes.size + this.staticBoxes.size;
+  }
+
+  /**
+   * The boxes of a single {@code Collision} type, stored as (x, y, width, height) tuples. The cells reference the boxes by their index in compressed
+   * rows: the boxes of cell {@code c} are {@code items[cellStart[c]]} to {@code items[cellStart[c + 1] - 1]}.
+   */
+  private static final class Grid {
+    private final int size;
+    private final double[] boxes;
+    private final int[] oversized;
+
+    private final double minX;
+    private final double minY;
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+    private final int[] cellStart;
+    private final int[] items;
+
+    private Grid(Collection<ICollisionEntity> entities) {
+      double[] collected = new double[entities.size() * 4];
+      int count = 0;
+      for (ICollisionEntity entity : entities) {
+        // the same entities that the physics engine considers for a query without an entity to check
+        if (entity == null || !entity.hasCollision()) {
+          continue;
+        }
+
+        final Rectangle2D box = entity.getCollisionBox();
+        if (box == null) {
+          continue;
+        }
+
+        if (count * 4 == collected.length) {
+          collected = Arrays.copyOf(collected, Math.max(4, collected.length * 2));
+        }
+
+        collected[count * 4] = box.getX();
+        collected[count * 4 + 1] = box.getY();
+        collected[count * 4 + 2] = box.getWidth();
+        collected[count * 4 + 3] = box.getHeight();
+        count++;
+      }
+
+      this.size = count;
+      this.boxes = collected;
+
+      double left = Double.POSITIVE_INFINITY;
+      double top = Double.POSITIVE_INFINITY;
+      double right = Double.NEGATIVE_INFINITY;
+      double bottom = Double.NEGATIVE_INFINITY;
+      for (int i = 0; i < count; i++) {
+        left = Math.min(left, minX(i));
+        top = Math.min(top, minY(i));
+        right = Math.max(right, maxX(i));
+        bottom = Math.max(bottom, maxY(i));
+      }
+
+      if (count == 0) {
+        left = top = right = bottom = 0;
+      }
+
+      // grow the cells until the grid has a reasonable size for the number of boxes
+      final long maxCells = Math.max(MIN_CELLS, count * 4L);
+      double cell = MIN_CELL_SIZE;
+      while ((Math.floor((right - left) / cell) + 1) * (Math.floor((bottom - top) / cell) + 1) > maxCells) {
+        cell *= 2;
+      }
+
+      this.minX = left;
+      this.minY = top;
+      this.cellSize = cell;
+      this.columns = (int) Math.floor((right - left) / cell) + 1;
+      this.rows = (int) Math.floor((bottom - top) / cell) + 1;
+
+      // count the boxes per cell, then fill the cells in a second pass
+      final int[] start = new int[this.columns * this.rows + 1];
+      int oversizedCount = 0;
+      for (int i = 0; i < count; i++) {
+        if (this.cellCount(i) > MAX_CELLS_PER_BOX) {
+          oversizedCount++;
+          continue;
+        }
+
+        for (int row = this.row(minY(i)); row <= this.row(maxY(i)); row++) {
+          for (int column = this.column(minX(i)); column <= this.column(maxX(i)); column++) {
+            start[row * this.columns + column + 1]++;
+          }
+        }
+      }
+
+      for (int c = 0; c < this.columns * this.rows; c++) {
+        start[c + 1] += start[c];
+      }
+
+      final int[] fill = Arrays.copyOf(start, start.length - 1);
+      final int[] cellItems = new int[start[start.length - 1]];
+      final int[] oversizedItems = new int[oversizedCount];
+      oversizedCount = 0;
+      for (int i = 0; i < count; i++) {
+        if (this.cellCount(i) > MAX_CELLS_PER_BOX) {
+          oversizedItems[oversizedCount++] = i;
+          continue;
+        }
+
+        for (int row = this.row(minY(i)); row <= this.row(maxY(i)); row++) {
+          for (int column = this.column(minX(i)); column <= this.column(maxX(i)); column++) {
+            cellItems[fill[row * this.columns + column]++] = i;
+          }
+        }
+      }
+
+      this.cellStart = start;
+      this.items = cellItems;
+      this.oversized = oversizedItems;
+    }
+
+    private boolean intersects(Rectangle2D rect) {
+      if (this.size == 0) {
+        return false;
+      }
+
+      for (int i : this.oversized) {
+        if (this.intersects(i, rect)) {
+          return true;
+        }
+      }
+
+      final double rectMinX = Math.min(rect.getX(), rect.getX() + rect.getWidth());
+      final double rectMinY = Math.min(rect.getY(), rect.getY() + rect.getHeight());
+      final double rectMaxX = Math.max(rect.getX(), rect.getX() + rect.getWidth());
+      final double rectMaxY = Math.max(rect.getY(), rect.getY() + rect.getHeight());
+      final int fromColumn = Math.max(0, this.column(rectMinX));
+      final int toColumn = Math.min(this.columns - 1, this.column(rectMaxX));
+      final int fromRow = Math.max(0, this.row(rectMinY));
+      final int toRow = Math.min(this.rows - 1, this.row(rectMaxY));
+      for (int row = fromRow; row <= toRow; row++) {
+        for (int column = fromColumn; column <= toColumn; column++) {
+          final int cell = row * this.columns + column;
+          for (int item = this.cellStart[cell]; item < this.cellStart[cell + 1]; item++) {
+            if (this.intersects(this.items[item], rect)) {
+              return true;
+            }
+          }
+        }
+      }
+
+      return false;
+    }
+
+    /**
+     * The same test as {@code GeometricUtilities.intersects(Rectangle2D, Rectangle2D)}, which is used by the {@code PhysicsEngine}.
+     */
+    private boolean intersects(int i, Rectangle2D rect) {
+      final double width = this.boxes[i * 4 + 2];
+      final double height = this.boxes[i * 4 + 3];
+      final double centerX = this.boxes[i * 4] + width / 2.0;
+      final double centerY = this.boxes[i * 4 + 1] + height / 2.0;
+      return Math.abs(centerX - rect.getCenterX()) < width * 0.5 + rect.getWidth() * 0.5
+        && Math.abs(centerY - rect.getCenterY()) < height * 0.5 + rect.getHeight() * 0.5;
+    }
+
+    private long cellCount(int i) {
+      return (this.column(maxX(i)) - (long) this.column(minX(i)) + 1) * (this.row(maxY(i)) - (long) this.row(minY(i)) + 1);
+    }
+
+    private int column(double x) {
+      return (int) Math.floor((x - this.minX) / this.cellSize);
+    }
+
+    private int row(double y) {
+      return (int) Math.floor((y - this.minY) / this.cellSize);
+    }
+
+    private double minX(int i) {
+      return Math.min(this.boxes[i * 4], this.boxes[i * 4] + this.boxes[i * 4 + 2]);
+    }
+
+    private double minY(int i) {
+      return Math.min(this.boxes[i * 4 + 1], this.boxes[i * 4 + 1] + this.boxes[i * 4 + 3]);
+    }
+
+    private double maxX(int i) {
+      return Math.max(this.boxes[i * 4], this.boxes[i * 4] + this.boxes[i * 4 + 2]);
+    }
+
+    private double maxY(int i) {
+      return Math.max(this.boxes[i * 4 + 1], this.boxes[i * 4 + 1] + this.boxes[i * 4 + 3]);
+    }
+  }
+}
@@ -0,0 +1,272 @@
+package de.gurkenlabs.litiengine.physics;
+
+import de.gurkenlabs.litiengine.entities.ICollisionEntity;
+import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * A {@code ISpatialIndex} that partitions the plane into a uniform grid of square cells (a spatial hash). Each entity is registered in all cells
+ * that are covered by its bounds, so a query only needs to look at the cells that are covered by the queried area or traversed by the queried
+ * line.
+ * <p>
+ * Only cells that actually contain entities are allocated, which makes this implementation independent of the environment's size. Entities that
+ * would cover an excessive number of cells are kept in a separate list that is checked by every query instead.
+ * <p>
+ * Modifications are synchronized while queries are lock-free and can be performed from any thread.
+ */
+public class GridSpatialIndex implements ISpatialIndex {
+  /** The default size of a single grid cell in pixels. */
+  public static final double DEFAULT_CELL_SIZE = 64;
+
+  private static final int MAX_CELLS_PER_ENTITY = 1024;
+
+  private final double cellSize;
+  private final Map<Long, Collection<Entry>> cells = new ConcurrentHashMap<>();
+  private final Map<ICollisionEntity, Entry> entries = new ConcurrentHashMap<>();
+  private final Collection<Entry> oversized = ConcurrentHashMap.newKeySet();
+
+  /** Initializes a new instance of the {@code GridSpatialIndex} class with the {@link #DEFAULT_CELL_SIZE}. */
+  public GridSpatialIndex() {
+    this(DEFAULT_CELL_SIZE);
+  }
+
+  /**
+   * Initializes a new instance of the {@code GridSpatialIndex} class.
+   *
+   * @param cellSize The size of a single grid cell. A good value is about two to four times the size of a typical collision box.
+   * @throws IllegalArgumentException If the cell size is not positive.
+   */
+  public GridSpatialIndex(double cellSize) {
+    if (!(cellSize > 0)) {
+      throw new IllegalArgumentException("The cell size of a GridSpatialIndex must be positive but was " + cellSize);
+    }
+
+    this.cellSize = cellSize;
+  }
+
+  /**
+   * Gets the size of a single grid cell.
+   *
+   * @return The cell size of this grid.
+   */
+  public double getCellSize() {
+    return this.cellSize;
+  }
+
+  @Override
+  public synchronized void add(ICollisionEntity entity, Rectangle2D bounds) {
+    final Entry current = this.entries.get(entity);
+    final Entry entry = this.createEntry(entity, bounds);
+    if (current != null) {
+      if (current.hasSameRange(entry)) {
+        return;
+      }
+
+      this.unregister(current);
+    }
+
+    this.entries.put(entity, entry);
+    this.register(entry);
+  }
+
+  @Override
+  public synchronized void update(ICollisionEntity entity, Rectangle2D bounds) {
+    if (this.entries.containsKey(entity)) {
+      this.add(entity, bounds);
+    }
+  }
+
+  @Override
+  public synchronized void remove(ICollisionEntity entity) {
+    final Entry entry = this.entries.remove(entity);
+    if (entry != null) {
+      this.unregister(entry);
+    }
+  }
+
+  @Override
+  public synchronized void clear() {
+    this.entries.clear();
+    this.cells.clear();
+    this.oversized.clear();
+  }
+
+  @Override
+  public int size() {
+    return this.entries.size();
+  }
+
+  @Override
+  public boolean anyMatch(Rectangle2D area, Predicate<ICollisionEntity> predicate) {
+    if (this.anyOversizedMatch(predicate)) {
+      return true;
+    }
+
+    final int minX = this.cell(area.getMinX());
+    final int minY = this.cell(area.getMinY());
+    final int maxX = this.cell(area.getMaxX());
+    final int maxY = this.cell(area.getMaxY());
+
+    // for large areas it is cheaper to check the range of every entry than to look up each cell
+    if ((long) (maxX - minX + 1) * (maxY - minY + 1) > this.cells.size()) {
+      for (Entry entry : this.entries.values()) {
+        if (!entry.oversized() && entry.overlaps(minX, minY, maxX, maxY) && predicate.test(entry.entity())) {
+          return true;
+        }
+      }
+
+      return false;
+    }
+
+    for (int x = minX; x <= maxX; x++) {
+      for (int y = minY; y <= maxY; y++) {
+        final Collection<Entry> bucket = this.cells.get(key(x, y));
+        if (bucket == null) {
+          continue;
+        }
+
+        for (Entry entry : bucket) {
+          // only report the entry in the first cell of the overlap between its range and the queried range
+          if (x == Math.max(entry.minX(), minX) && y == Math.max(entry.minY(), minY) && predicate.test(entry.entity())) {
+            return true;
+          }
+        }
+      }
+    }
+
+    return false;
+  }
+
+  @Override
+  public boolean anyMatch(Line2D line, Predicate<ICollisionEntity> predicate) {
+    int x = this.cell(line.getX1());
+    int y = this.cell(line.getY1());
+    int remainingX = Math.abs(this.cell(line.getX2()) - x);
+    int remainingY = Math.abs(this.cell(line.getY2()) - y);
+    final int steps = remainingX + remainingY;
+
+    // short or axis aligned lines cover (almost) all cells of their bounds anyway
+    if ((long) (remainingX + 1) * (remainingY + 1) <= 2L * (steps + 1)) {
+      return this.anyMatch(line.getBounds2D(), predicate);
+    }
+
+    if (this.anyOversizedMatch(predicate)) {
+      return true;
+    }
+
+    // traverse all cells along the line (Amanatides & Woo)
+    final double dx = line.getX2() - line.getX1();
+    final double dy = line.getY2() - line.getY1();
+    final int stepX = dx > 0 ? 1 : -1;
+    final int stepY = dy > 0 ? 1 : -1;
+    final double deltaX = this.cellSize / Math.abs(dx);
+    final double deltaY = this.cellSize / Math.abs(dy);
+    double nextX = ((dx > 0 ? x + 1 : x) * this.cellSize - line.getX1()) / dx;
+    double nextY = ((dy > 0 ? y + 1 : y) * this.cellSize - line.getY1()) / dy;
+
+    int previousX = x;
+    int previousY = y;
+    for (int i = 0; i <= steps; i++) {
+      final Collection<Entry> bucket = this.cells.get(key(x, y));
+      if (bucket != null) {
+        for (Entry entry : bucket) {
+          // the traversal is monotonic, so an entry has already been reported if it also covers the previous cell
+          if ((i == 0 || !entry.contains(previousX, previousY)) && predicate.test(entry.entity())) {
+            return true;
+          }
+        }
+      }
+
+      previousX = x;
+      previousY = y;
+      if (remainingX > 0 && (remainingY == 0 || nextX < nextY)) {
+        x += stepX;
+        nextX += deltaX;
+        remainingX--;
+      } else {
+        y += stepY;
+        nextY += deltaY;
+        remainingY--;
+      }
+    }
+
+    return false;
+  }
+
+  private boolean anyOversizedMatch(Predicate<ICollisionEntity> predicate) {
+    for (Entry entry : this.oversized) {
+      if (predicate.test(entry.entity())) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private Entry createEntry(ICollisionEntity entity, Rectangle2D bounds) {
+    if (bounds == null || Double.isNaN(bounds.getX()) || Double.isNaN(bounds.getY()) || Double.isNaN(bounds.getWidth())
+      || Double.isNaN(bounds.getHeight())) {
+      // an entry with an empty range is part of the index but not registered in any cell
+      return new Entry(entity, 0, 0, -1, -1, false);
+    }
+
+    final int minX = this.cell(bounds.getMinX());
+    final int minY = this.cell(bounds.getMinY());
+    final int maxX = this.cell(bounds.getMaxX());
+    final int maxY = this.cell(bounds.getMaxY());
+    return new Entry(entity, minX, minY, maxX, maxY, (long) (maxX - minX + 1) * (maxY - minY + 1) > MAX_CELLS_PER_ENTITY);
+  }
+
+  private void register(Entry entry) {
+    if (entry.oversized()) {
+      this.oversized.add(entry);
+      return;
+    }
+
+    for (int x = entry.minX(); x <= entry.maxX(); x++) {
+      for (int y = entry.minY(); y <= entry.maxY(); y++) {
+        this.cells.computeIfAbsent(key(x, y), k -> ConcurrentHashMap.newKeySet()).add(entry);
+      }
+    }
+  }
+
+  private void unregister(Entry entry) {
+    if (entry.oversized()) {
+      this.oversized.remove(entry);
+      return;
+    }
+
+    for (int x = entry.minX(); x <= entry.maxX(); x++) {
+      for (int y = entry.minY(); y <= entry.maxY(); y++) {
+        this.cells.computeIfPresent(key(x, y), (k, bucket) -> bucket.remove(entry) && bucket.isEmpty() ? null : bucket);
+      }
+    }
+  }
+
+  private int cell(double coordinate) {
+    return (int) Math.floor(coordinate / this.cellSize);
+  }
+
+  private static long key(int x, int y) {
+    return ((long) x << 32) | (y & 0xFFFFFFFFL);
+  }
+
+  private record Entry(ICollisionEntity entity, int minX, int minY, int maxX, int maxY, boolean oversized) {
+    boolean contains(int x, int y) {
+      return x >= this.minX && x <= this.maxX && y >= this.minY && y <= this.maxY;
+    }
+
+    boolean overlaps(int otherMinX, int otherMinY, int otherMaxX, int otherMaxY) {
+      return this.minX <= otherMaxX && this.maxX >= otherMinX && this.minY <= otherMaxY && this.maxY >= otherMinY;
+    }
+
+    boolean hasSameRange(Entry other) {
+      return this.minX == other.minX && this.minY == other.minY && this.maxX == other.maxX && this.maxY == other.maxY
+        && this.oversized == other.oversized;
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package de.gurkenlabs.litiengine.physics;
 
+import de.gurkenlabs.litiengine.UpdatePhase;
 import de.gurkenlabs.litiengine.entities.IEntityController;
 import de.gurkenlabs.litiengine.entities.IMobileEntity;
 import java.util.List;
@@ -90,4 +91,15 @@ public interface IMovementController extends IEntityController {
    *          the conditions that need to apply before moving. If they don't apply, the entity won't be moved.
    */
   void onMovementCheck(Predicate<IMobileEntity> predicate);
+
+  /**
+   * Movement controllers are updated in the {@link UpdatePhase#MOVEMENT} phase, after the behavior of all entities has
+   * been updated.
+   *
+   * @return The movement phase.
+   */
+  @Override
+  default UpdatePhase getUpdatePhase() {
+    return UpdatePhase.MOVEMENT;
+  }
 }
@@ -0,0 +1,98 @@
+package de.gurkenlabs.litiengine.physics;
+
+import de.gurkenlabs.litiengine.entities.ICollisionEntity;
+import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A broad-phase spatial index that is used by the {@code PhysicsEngine} to narrow down the {@code ICollisionEntities} that need to be checked by a
+ * collision query.
+ * <p>
+ * Implementations only need to provide candidates: every entity whose bounds might touch the queried area must be passed to the visitor, but the
+ * visitor is expected to perform the exact test itself. Each candidate is visited at most once per query.
+ *
+ * @see PhysicsEngine#setSpatialIndex(java.util.function.Supplier)
+ * @see GridSpatialIndex
+ * @see LinearSpatialIndex
+ */
+public interface ISpatialIndex {
+
+  /**
+   * Adds the specified entity to this index or updates its bounds if it has already been added.
+   *
+   * @param entity The entity to add.
+   * @param bounds The bounds under which the entity is indexed; typically its collision box.
+   */
+  void add(ICollisionEntity entity, Rectangle2D bounds);
+
+  /**
+   * Updates the bounds under which the specified entity is indexed. This is a no-op for entities that are not part of this index.
+   *
+   * @param entity The entity to update.
+   * @param bounds The new bounds of the entity.
+   */
+  void update(ICollisionEntity entity, Rectangle2D bounds);
+
+  /**
+   * Removes the specified entity from this index.
+   *
+   * @param entity The entity to remove.
+   */
+  void remove(ICollisionEntity entity);
+
+  /** Removes all entities from this index. */
+  void clear();
+
+  /**
+   * Gets the number of entities in this index.
+   *
+   * @return The number of indexed entities.
+   */
+  int size();
+
+  /**
+   * Visits all candidates that might intersect the specified area until the predicate matches.
+   *
+   * @param area      The area to query.
+   * @param predicate The exact check that is performed for each candidate.
+   * @return {@code true} if the predicate matched any candidate; otherwise {@code false}.
+   */
+  boolean anyMatch(Rectangle2D area, Predicate<ICollisionEntity> predicate);
+
+  /**
+   * Visits all candidates that might intersect the specified line until the predicate matches.
+   *
+   * @param line      The line to query.
+   * @param predicate The exact check that is performed for each candidate.
+   * @return {@code true} if the predicate matched any candidate; otherwise {@code false}.
+   */
+  boolean anyMatch(Line2D line, Predicate<ICollisionEntity> predicate);
+
+  /**
+   * Visits all candidates that might intersect the specified area.
+   *
+   * @param area     The area to query.
+   * @param consumer The consumer that is called for each candidate.
+   */
+  default void query(Rectangle2D area, Consumer<ICollisionEntity> consumer) {
+    this.anyMatch(area, e -> {
+      consumer.accept(e);
+      return false;
+    });
+  }
+
+  /**
+   * Visits all candidates that might intersect the specified line.
+   *
+   * @param line     The line to query.
+   * @param consumer The consumer that is called for each candidate.
+   */
+  default void query(Line2D line, Consumer<ICollisionEntity> consumer) {
+    this.anyMatch(line, e -> {
+      consumer.accept(e);
+      return false;
+    });
+  }
+}
@@ -0,0 +1,60 @@
+package de.gurkenlabs.litiengine.physics;
+
+import de.gurkenlabs.litiengine.entities.ICollisionEntity;
+import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+/**
+ * A {@code ISpatialIndex} without any spatial partitioning that passes every registered entity to each query. It preserves the registration order
+ * of the entities and is mainly useful for very small environments or as a reference when comparing other implementations.
+ */
+public class LinearSpatialIndex implements ISpatialIndex {
+  private final CopyOnWriteArrayList<ICollisionEntity> entities = new CopyOnWriteArrayList<>();
+
+  @Override
+  public void add(ICollisionEntity entity, Rectangle2D bounds) {
+    this.entities.addIfAbsent(entity);
+  }
+
+  @Override
+  public void update(ICollisionEntity entity, Rectangle2D bounds) {
+    // the bounds are not used for any partitioning
+  }
+
+  @Override
+  public void remove(ICollisionEntity entity) {
+    this.entities.remove(entity);
+  }
+
+  @Override
+  public void clear() {
+    this.entities.clear();
+  }
+
+  @Override
+  public int size() {
+    return this.entities.size();
+  }
+
+  @Override
+  public boolean anyMatch(Rectangle2D area, Predicate<ICollisionEntity> predicate) {
+    return this.anyMatch(predicate);
+  }
+
+  @Override
+  public boolean anyMatch(Line2D line, Predicate<ICollisionEntity> predicate) {
+    return this.anyMatch(predicate);
+  }
+
+  private boolean anyMatch(Predicate<ICollisionEntity> predicate) {
+    for (ICollisionEntity entity : this.entities) {
+      if (predicate.test(entity)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+}
@@ -95,7 +95,7 @@ public class MovementController<T extends IMobileEntity> implements IMovementCon
       return;
     }
 
-    final double deltaTime = Game.loop().getDeltaTime() * Game.loop().getTimeScale();
+    final double deltaTime = Game.loop().getPreciseDeltaTime() * Game.loop().getTimeScale();
 
     final double acceleration = getEntity().getAcceleration(deltaTime);
     final double deceleration = getEntity().getDeceleration(deltaTime, getVelocity());
@@ -203,7 +203,7 @@ public class MovementController<T extends IMobileEntity> implements IMovementCon
         GeometricUtilities.calcRotationAngleInDegrees(getEntity().getCollisionBoxCenter(),
           force.getLocation());
       final double strength =
-        Game.loop().getDeltaTime() * 0.001f * force.getStrength() * Game.loop().getTimeScale();
+        Game.loop().getPreciseDeltaTime() * 0.001f * force.getStrength() * Game.loop().getTimeScale();
       deltaX += GeometricUtilities.getDeltaX(angle, strength);
       deltaY += GeometricUtilities.getDeltaY(angle, strength);
     }
@@ -0,0 +1,36 @@
+package de.gurkenlabs.litiengine.physics;
+
+import de.gurkenlabs.litiengine.entities.ICollisionEntity;
+import java.util.EventListener;
+
+/**
+ * This listener provides callbacks for when {@code ICollisionEntities} enter, stay in or exit a region that is tracked by the
+ * {@code OverlapTracker}.
+ *
+ * @see OverlapTracker#add(ICollisionEntity, OverlapListener)
+ */
+public interface OverlapListener extends EventListener {
+
+  /**
+   * This method is called when the collision box of an entity started to intersect the tracked region.
+   *
+   * @param entity The entity that entered the region.
+   */
+  void entered(ICollisionEntity entity);
+
+  /**
+   * This method is called when an entity that already intersected the tracked region or the region itself moved, but the entity still intersects
+   * the region.
+   *
+   * @param entity The entity that stayed in the region.
+   */
+  default void stayed(ICollisionEntity entity) {}
+
+  /**
+   * This method is called when the collision box of an entity no longer intersects the tracked region or the entity was removed from the physics
+   * engine.
+   *
+   * @param entity The entity that exited the region.
+   */
+  void exited(ICollisionEntity entity);
+}
@@ -0,0 +1,376 @@
+package de.gurkenlabs.litiengine.physics;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.entities.EntityTransformListener;
+import de.gurkenlabs.litiengine.entities.ICollisionEntity;
+import de.gurkenlabs.litiengine.entities.IEntity;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The {@code OverlapTracker} keeps track of the {@code ICollisionEntities} of the {@code PhysicsEngine} that intersect registered regions (e.g. the
+ * areas of collision triggers) and notifies the regions when entities enter, stay in or exit them.
+ *
+ * <p>Instead of testing every region against every entity on each tick, the tracker only updates the overlaps of entities and regions that were
+ * moved, resized, added or removed since the last update. The candidates of these updates are determined by a broad-phase query on a spatial index
+ * of the regions or on the spatial indices of the physics engine. Regions that only contain entities at rest therefore don't cause any work.
+ *
+ * <p>Regions can be added, removed and invalidated from any thread. The overlaps are updated by the physics engine once per tick and the listeners
+ * are notified on the thread that performs the update, in the order in which the changes occurred.
+ *
+ * @see PhysicsEngine#getOverlapTracker()
+ * @see de.gurkenlabs.litiengine.entities.Trigger
+ */
+public final class OverlapTracker {
+  private static final Logger log = Logger.getLogger(OverlapTracker.class.getName());
+
+  private final PhysicsEngine physics;
+  private final Map<ICollisionEntity, Region> regions = new HashMap<>();
+  private final Map<ICollisionEntity, Set<Region>> entityRegions = new HashMap<>();
+  private final EntityTransformListener regionUpdater = new RegionUpdater();
+  private ISpatialIndex regionIndex;
+
+  // the changes since the last update in the order in which they occurred
+  private final Set<ICollisionEntity> changedRegions = new LinkedHashSet<>();
+  private final Set<ICollisionEntity> changedEntities = new LinkedHashSet<>();
+  private final Set<ICollisionEntity> removedEntities = new LinkedHashSet<>();
+
+  OverlapTracker(PhysicsEngine physics, ISpatialIndex regionIndex) {
+    this.physics = physics;
+    this.regionIndex = regionIndex;
+  }
+
+  /**
+   * Starts tracking the entities that intersect the collision box of the specified region. The overlaps of the region are determined with the next
+   * update.
+   *
+   * @param region   The entity whose collision box defines the tracked region.
+   * @param listener The listener that is notified about the entities that enter, stay in or exit the region.
+   */
+  public synchronized void add(ICollisionEntity region, OverlapListener listener) {
+    if (region == null || listener == null) {
+      return;
+    }
+
+    final Region previous = this.regions.put(region, new Region(region, listener));
+    if (previous != null) {
+      this.release(previous);
+    } else {
+      region.addTransformListener(this.regionUpdater);
+    }
+
+    this.regionIndex.add(region, region.getCollisionBox());
+    this.changedRegions.add(region);
+  }
+
+  /**
+   * Stops tracking the specified region. Its listener is not notified about the entities that currently intersect the region.
+   *
+   * @param region The region to remove.
+   */
+  public synchronized void remove(ICollisionEntity region) {
+    final Region removed = this.regions.remove(region);
+    if (removed == null) {
+      return;
+    }
+
+    region.removeListener(this.regionUpdater);
+    this.regionIndex.remove(region);
+    this.changedRegions.remove(region);
+    this.release(removed);
+  }
+
+  /**
+   * Determines the overlaps of the specified region anew with the next update, even if neither the region nor any entity moved. This is required
+   * if the collision box of the region changed without a transform event.
+   *
+   * @param region The region to invalidate.
+   */
+  public synchronized void invalidate(ICollisionEntity region) {
+    if (this.regions.containsKey(region)) {
+      this.changedRegions.add(region);
+    }
+  }
+
+  /**
+   * Gets the entities that intersected the specified region at the last update.
+   *
+   * @param region The tracked region.
+   * @return An unmodifiable snapshot of the overlapping entities in the order in which they entered the region.
+   */
+  public synchronized Collection<ICollisionEntity> getOverlaps(ICollisionEntity region) {
+    final Region tracked = this.regions.get(region);
+    return tracked != null ? Collections.unmodifiableList(new ArrayList<>(tracked.overlaps)) : Collections.emptyList();
+  }
+
+  /**
+   * Gets the number of tracked regions.
+   *
+   * @return The number of regions of this tracker.
+   */
+  public synchronized int size() {
+    return this.regions.size();
+  }
+
+  /**
+   * Updates the overlaps of all regions and entities that changed since the last update and notifies the listeners of the affected regions. This is
+   * called by the {@code PhysicsEngine} once per tick, but it can be called at any time to process pending changes immediately.
+   */
+  public void update() {
+    final List<OverlapEvent> events;
+    synchronized (this) {
+      if (this.changedRegions.isEmpty() && this.changedEntities.isEmpty() && this.removedEntities.isEmpty()) {
+        return;
+      }
+
+      events = new ArrayList<>();
+      this.updateRemovedEntities(events);
+      this.updateChangedRegions(events);
+      this.updateChangedEntities(events);
+    }
+
+    // the listeners are notified without holding the lock, so they can add or remove regions themselves
+    for (OverlapEvent event : events) {
+      if (!event.region.removed) {
+        this.dispatch(event);
+      }
+    }
+  }
+
+  synchronized void entityChanged(ICollisionEntity entity) {
+    this.removedEntities.remove(entity);
+    if (this.regions.isEmpty()) {
+      // regions that are added later determine their overlaps from scratch
+      return;
+    }
+
+    this.changedEntities.add(entity);
+  }
+
+  synchronized void entityRemoved(ICollisionEntity entity) {
+    this.changedEntities.remove(entity);
+    if (this.entityRegions.containsKey(entity)) {
+      this.removedEntities.add(entity);
+    }
+  }
+
+  synchronized void setSpatialIndex(Supplier<? extends ISpatialIndex> spatialIndexFactory) {
+    final ISpatialIndex index = spatialIndexFactory.get();
+    for (Region region : this.regions.values()) {
+      index.add(region.area, region.area.getCollisionBox());
+    }
+
+    this.regionIndex = index;
+  }
+
+  synchronized void entitiesCleared() {
+    // the regions remain tracked, but all entities exit them with the next update
+    this.changedEntities.clear();
+    this.removedEntities.addAll(this.entityRegions.keySet());
+  }
+
+  private void updateRemovedEntities(List<OverlapEvent> events) {
+    for (ICollisionEntity entity : this.removedEntities) {
+      final Set<Region> overlapped = this.entityRegions.remove(entity);
+      if (overlapped == null) {
+        continue;
+      }
+
+      for (Region region : overlapped) {
+        region.overlaps.remove(entity);
+        events.add(new OverlapEvent(region, entity, OverlapState.EXITED));
+      }
+    }
+
+    this.removedEntities.clear();
+  }
+
+  /**
+   * Determines all entities that intersect the changed regions by querying the spatial indices of the physics engine.
+   */
+  private void updateChangedRegions(List<OverlapEvent> events) {
+    for (ICollisionEntity area : this.changedRegions) {
+      final Region region = this.regions.get(area);
+      region.bounds = area.getCollisionBox();
+      this.regionIndex.update(area, region.bounds);
+
+      final Set<ICollisionEntity> current = new LinkedHashSet<>();
+      for (Collision type : List.of(Collision.DYNAMIC, Collision.STATIC)) {
+        this.physics.getSpatialIndex(type).query(region.bounds, entity -> {
+          if (region.intersects(entity)) {
+            current.add(entity);
+          }
+        });
+      }
+
+      for (ICollisionEntity entity : new ArrayList<>(region.overlaps)) {
+        if (!current.contains(entity)) {
+          this.exit(region, entity, events);
+        }
+      }
+
+      for (ICollisionEntity entity : current) {
+        this.enterOrStay(region, entity, events);
+      }
+
+      region.refreshed = true;
+    }
+
+    this.changedRegions.clear();
+  }
+
+  /**
+   * Determines all regions that intersect the changed entities by querying the spatial index of the regions. The regions that have already been
+   * refreshed during this update are skipped to not notify them twice.
+   */
+  private void updateChangedEntities(List<OverlapEvent> events) {
+    final List<Region> current = new ArrayList<>();
+    for (ICollisionEntity entity : this.changedEntities) {
+      final Rectangle2D box = entity.getCollisionBox();
+      this.regionIndex.query(box, area -> {
+        final Region region = this.regions.get(area);
+        if (region != null && !region.refreshed && region.intersects(entity, box)) {
+          current.add(region);
+        }
+      });
+
+      final Set<Region> previous = this.entityRegions.get(entity);
+      if (previous != null) {
+        for (Region region : new ArrayList<>(previous)) {
+          if (!region.refreshed && !current.contains(region)) {
+            this.exit(region, entity, events);
+          }
+        }
+      }
+
+      for (Region region : current) {
+        this.enterOrStay(region, entity, events);
+      }
+
+      current.clear();
+    }
+
+    this.changedEntities.clear();
+    for (Region region : this.regions.values()) {
+      region.refreshed = false;
+    }
+  }
+
+  private void enterOrStay(Region region, ICollisionEntity entity, List<OverlapEvent> events) {
+    if (region.overlaps.add(entity)) {
+      this.entityRegions.computeIfAbsent(entity, e -> new LinkedHashSet<>()).add(region);
+      events.add(new OverlapEvent(region, entity, OverlapState.ENTERED));
+    } else {
+      events.add(new OverlapEvent(region, entity, OverlapState.STAYED));
+    }
+  }
+
+  private void exit(Region region, ICollisionEntity entity, List<OverlapEvent> events) {
+    region.overlaps.remove(entity);
+    final Set<Region> overlapped = this.entityRegions.get(entity);
+    if (overlapped != null) {
+      overlapped.remove(region);
+      if (overlapped.isEmpty()) {
+        this.entityRegions.remove(entity);
+      }
+    }
+
+    events.add(new OverlapEvent(region, entity, OverlapState.EXITED));
+  }
+
+  /**
+   * Removes the overlaps of a region that is no longer tracked.
+   */
+  private void release(Region region) {
+    region.removed = true;
+    for (ICollisionEntity entity : region.overlaps) {
+      final Set<Region> overlapped = this.entityRegions.get(entity);
+      if (overlapped != null) {
+        overlapped.remove(region);
+        if (overlapped.isEmpty()) {
+          this.entityRegions.remove(entity);
+        }
+      }
+    }
+
+    region.overlaps.clear();
+  }
+
+  private void dispatch(OverlapEvent event) {
+    try {
+      switch (event.state) {
+        case ENTERED -> event.region.listener.entered(event.entity);
+        case STAYED -> event.region.listener.stayed(event.entity);
+        case EXITED -> event.region.listener.exited(event.entity);
+      }
+    } catch (final Exception e) {
+      if (Game.config().client().exitOnError()) {
+        throw e;
+      }
+
+      log.log(Level.SEVERE, e.getMessage(), e);
+    }
+  }
+
+  private enum OverlapState {
+    ENTERED,
+    STAYED,
+    EXITED
+  }
+
+  private record OverlapEvent(Region region, ICollisionEntity entity, OverlapState state) {}
+
+  private static final class Region {
+    private final ICollisionEntity area;
+    private final OverlapListener listener;
+    private final Set<ICollisionEntity> overlaps = new LinkedHashSet<>();
+    private Rectangle2D bounds;
+    private boolean refreshed;
+    private volatile boolean removed;
+
+    private Region(ICollisionEntity area, OverlapListener listener) {
+      this.area = area;
+      this.listener = listener;
+      this.bounds = area.getCollisionBox();
+    }
+
+    private boolean intersects(ICollisionEntity entity) {
+      return this.intersects(entity, entity.getCollisionBox());
+    }
+
+    private boolean intersects(ICollisionEntity entity, Rectangle2D box) {
+      return entity != this.area && box.intersects(this.bounds);
+    }
+  }
+
+  /**
+   * Refreshes the overlaps of regions that moved or changed their size.
+   */
+  private class RegionUpdater implements EntityTransformListener {
+    @Override
+    public void locationChanged(IEntity entity) {
+      this.regionChanged(entity);
+    }
+
+    @Override
+    public void sizeChanged(IEntity entity) {
+      this.regionChanged(entity);
+    }
+
+    private void regionChanged(IEntity entity) {
+      if (entity instanceof ICollisionEntity region) {
+        invalidate(region);
+      }
+    }
+  }
+}
@@ -3,7 +3,10 @@ package de.gurkenlabs.litiengine.physics;
 import de.gurkenlabs.litiengine.Direction;
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.UpdatePhase;
+import de.gurkenlabs.litiengine.entities.EntityTransformListener;
 import de.gurkenlabs.litiengine.entities.ICollisionEntity;
+import de.gurkenlabs.litiengine.entities.IEntity;
 import de.gurkenlabs.litiengine.entities.IMobileEntity;
 import de.gurkenlabs.litiengine.util.ArrayUtilities;
 import de.gurkenlabs.litiengine.util.geom.GeometricUtilities;
@@ -19,6 +22,7 @@ import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
@@ -29,6 +33,9 @@ import java.util.stream.Stream;
  * The <b>{@code collides}</b> method group can detect a collision at a certain location, for
  * rectangles, or collision aware entities. Also, there's an overload that takes a {@code Line2D} to
  * perform a basic raycast check.
+ * <br>
+ * All queries are narrowed down by a broad-phase {@link ISpatialIndex} that is kept up to date
+ * while the registered entities move. By default, a {@link GridSpatialIndex} is used.
  */
 public final class PhysicsEngine implements IUpdateable {
 
@@ -36,6 +43,11 @@ public final class PhysicsEngine implements IUpdateable {
 
   private final Map<Collision, List<ICollisionEntity>> collisionEntities = new ConcurrentHashMap<>();
   private final Map<Collision, List<Rectangle2D>> collisionBoxes = new ConcurrentHashMap<>();
+  private final Map<Collision, ISpatialIndex> spatialIndices = new ConcurrentHashMap<>();
+  private final EntityTransformListener spatialIndexUpdater = new SpatialIndexUpdater();
+
+  private Supplier<? extends ISpatialIndex> spatialIndexFactory = GridSpatialIndex::new;
+  private final OverlapTracker overlapTracker = new OverlapTracker(this, spatialIndexFactory.get());
 
   /**
    * <b>You should never call this manually! Instead use the {@code Game.physics()} instance.</b>
@@ -53,6 +65,9 @@ public final class PhysicsEngine implements IUpdateable {
 
     collisionBoxes.put(Collision.DYNAMIC, new CopyOnWriteArrayList<>());
     collisionBoxes.put(Collision.STATIC, new CopyOnWriteArrayList<>());
+
+    spatialIndices.put(Collision.DYNAMIC, spatialIndexFactory.get());
+    spatialIndices.put(Collision.STATIC, spatialIndexFactory.get());
   }
 
   /**
@@ -72,6 +87,9 @@ public final class PhysicsEngine implements IUpdateable {
       return;
     }
     collisionEntities.get(entity.getCollisionType()).add(entity);
+    spatialIndices.get(entity.getCollisionType()).add(entity, entity.getCollisionBox());
+    entity.addTransformListener(this.spatialIndexUpdater);
+    overlapTracker.entityChanged(entity);
   }
 
   /**
@@ -86,6 +104,9 @@ public final class PhysicsEngine implements IUpdateable {
     }
 
     collisionEntities.get(entity.getCollisionType()).remove(entity);
+    spatialIndices.get(entity.getCollisionType()).remove(entity);
+    entity.removeListener(this.spatialIndexUpdater);
+    overlapTracker.entityRemoved(entity);
   }
 
   /**
@@ -97,12 +118,64 @@ public final class PhysicsEngine implements IUpdateable {
       if (type == Collision.NONE || type == Collision.ANY) {
         continue;
       }
+      for (ICollisionEntity entity : collisionEntities.get(type)) {
+        entity.removeListener(this.spatialIndexUpdater);
+      }
       collisionEntities.get(type).clear();
       collisionBoxes.get(type).clear();
+      spatialIndices.get(type).clear();
     }
+    overlapTracker.entitiesCleared();
     setBounds(null);
   }
 
+  /**
+   * Gets the broad-phase spatial index that is used for {@code ICollisionEntities} of the given
+   * {@code Collision} type.
+   *
+   * @param type The {@code Collision} type of the index; either {@code DYNAMIC} or
+   *             {@code STATIC}.
+   * @return The {@code ISpatialIndex} for the given {@code Collision} type or {@code null} if
+   * there is no index for the type.
+   */
+  public ISpatialIndex getSpatialIndex(Collision type) {
+    return this.spatialIndices.get(type);
+  }
+
+  /**
+   * Gets the tracker that notifies regions (e.g. collision triggers) about the
+   * {@code ICollisionEntities} that enter, stay in or exit them. The tracker is updated at the end
+   * of each {@link #update()}.
+   *
+   * @return The {@code OverlapTracker} of this instance.
+   */
+  public OverlapTracker getOverlapTracker() {
+    return this.overlapTracker;
+  }
+
+  /**
+   * Sets the factory that provides the broad-phase {@code ISpatialIndex} implementation for all
+   * collision queries. The currently registered entities are moved to the newly created indices.
+   *
+   * @param spatialIndexFactory The factory that creates a new spatial index for each
+   *                            {@code Collision} type, e.g. {@code GridSpatialIndex::new}.
+   * @see GridSpatialIndex
+   * @see LinearSpatialIndex
+   */
+  public void setSpatialIndex(Supplier<? extends ISpatialIndex> spatialIndexFactory) {
+    this.spatialIndexFactory = Objects.requireNonNull(spatialIndexFactory);
+    for (Collision type : List.of(Collision.DYNAMIC, Collision.STATIC)) {
+      final ISpatialIndex index = spatialIndexFactory.get();
+      for (ICollisionEntity entity : collisionEntities.get(type)) {
+        index.add(entity, entity.getCollisionBox());
+      }
+
+      spatialIndices.put(type, index);
+    }
+
+    overlapTracker.setSpatialIndex(spatialIndexFactory);
+  }
+
   /**
    * Gets all {@code CollisionBoxes}, regardless of their {@code Collision} type.
    *
@@ -241,10 +314,15 @@ public final class PhysicsEngine implements IUpdateable {
    * @see ICollisionEntity
    */
   public boolean collides(final Line2D line, Collision collision, ICollisionEntity entity) {
-    return this.collides(
-      entity,
-      collision,
-      e -> GeometricUtilities.getIntersectionPoint(line, e.getCollisionBox()) != null);
+    final Predicate<ICollisionEntity> check = otherEntity -> canCollide(entity, otherEntity)
+      && GeometricUtilities.getIntersectionPoint(line, otherEntity.getCollisionBox()) != null;
+    for (ISpatialIndex index : this.getSpatialIndices(collision)) {
+      if (index.anyMatch(line, check)) {
+        return true;
+      }
+    }
+
+    return false;
   }
 
   /**
@@ -284,6 +362,20 @@ public final class PhysicsEngine implements IUpdateable {
     return collides(rect, collision, null);
   }
 
+  /**
+   * Creates a read-only copy of the current collision boxes and environment bounds that can be
+   * queried by multiple threads at once without accessing any entity.
+   *
+   * @return A new {@code CollisionSnapshot} of the collision world.
+   * @see CollisionSnapshot#collides(Rectangle2D, Collision)
+   */
+  public CollisionSnapshot snapshot() {
+    return new CollisionSnapshot(
+      this.environmentBounds,
+      this.collisionEntities.get(Collision.DYNAMIC),
+      this.collisionEntities.get(Collision.STATIC));
+  }
+
   /**
    * Checks if a given {@code ICollisionEntity} collides with any {@code ICollisionEntities} of a
    * given {@code Collision} type that intersect a specific rectangle.
@@ -304,6 +396,7 @@ public final class PhysicsEngine implements IUpdateable {
     return collides(
       entity,
       collision,
+      rect,
       otherEntity -> GeometricUtilities.intersects(otherEntity.getCollisionBox(), rect));
   }
 
@@ -362,7 +455,10 @@ public final class PhysicsEngine implements IUpdateable {
     }
 
     return collides(
-      entity, collision, otherEntity -> otherEntity.getCollisionBox().contains(location));
+      entity,
+      collision,
+      new Rectangle2D.Double(location.getX(), location.getY(), 0, 0),
+      otherEntity -> otherEntity.getCollisionBox().contains(location));
   }
 
   /**
@@ -514,7 +610,8 @@ public final class PhysicsEngine implements IUpdateable {
 
   /**
    * Cast a ray along a given line [from (x1,y1) to (x2,y2)] and see if it hits anything with a
-   * certain {@code Collision} type that collides with the given {@code ICollisionEntity}.
+   * certain {@code Collision} type that collides with the given {@code ICollisionEntity}. If the
+   * ray hits multiple entities, the hit closest to the start of the line is returned.
    *
    * @param line      The line along which the ray is cast.
    * @param collision The {@code Collision} type to check for collision.
@@ -524,29 +621,40 @@ public final class PhysicsEngine implements IUpdateable {
    */
   public RaycastHit raycast(Line2D line, Collision collision, ICollisionEntity entity) {
     final Point2D rayCastSource = new Point2D.Double(line.getX1(), line.getY1());
+    final RaycastHit[] closestHit = new RaycastHit[1];
 
-    for (final ICollisionEntity collisionEntity : getCollisionEntities(collision)) {
-      if (!canCollide(entity, collisionEntity) || collisionEntity == entity) {
-        continue;
+    final Predicate<ICollisionEntity> check = collisionEntity -> {
+      if (!canCollide(entity, collisionEntity)
+        || !collisionEntity.getCollisionBox().intersectsLine(line)) {
+        return false;
       }
 
-      if (collisionEntity.getCollisionBox().intersectsLine(line)) {
-        double closestDist = -1;
-        Point2D closestPoint = null;
-        for (final Point2D intersection : GeometricUtilities.getIntersectionPoints(line,
-          collisionEntity.getCollisionBox())) {
-          final double dist = intersection.distance(rayCastSource);
-          if (closestPoint == null || dist < closestDist) {
-            closestPoint = intersection;
-            closestDist = dist;
-          }
+      double closestDist = -1;
+      Point2D closestPoint = null;
+      for (final Point2D intersection : GeometricUtilities.getIntersectionPoints(line,
+        collisionEntity.getCollisionBox())) {
+        final double dist = intersection.distance(rayCastSource);
+        if (closestPoint == null || dist < closestDist) {
+          closestPoint = intersection;
+          closestDist = dist;
         }
+      }
 
-        return new RaycastHit(closestPoint, collisionEntity, closestDist);
+      if (closestHit[0] == null || closestPoint == null || closestDist < closestHit[0].distance()) {
+        closestHit[0] = new RaycastHit(closestPoint, collisionEntity, closestDist);
+      }
+
+      // the ray is entirely contained by the entity, so there cannot be a closer hit
+      return closestPoint == null;
+    };
+
+    for (ISpatialIndex index : this.getSpatialIndices(collision)) {
+      if (index.anyMatch(line, check)) {
+        break;
       }
     }
 
-    return null;
+    return closestHit[0];
   }
 
   /**
@@ -680,9 +788,19 @@ public final class PhysicsEngine implements IUpdateable {
     return move(entity, newLocation);
   }
 
+  @Override
+  public UpdatePhase getUpdatePhase() {
+    return UpdatePhase.PHYSICS;
+  }
+
   /**
    * Clears all collision boxes registered on the {@code PhysicsEngine} once per tick and re-adds
-   * them with their updated positions.
+   * them with their updated positions. This also synchronizes the spatial indices with changes to
+   * the collision boxes that are not propagated by transform events (e.g. a changed collision box
+   * size or alignment). Afterwards, the overlaps of all regions that are affected by moved
+   * entities are updated.
+   *
+   * @see #getOverlapTracker()
    */
   @Override
   public void update() {
@@ -694,7 +812,14 @@ public final class PhysicsEngine implements IUpdateable {
       collisionBoxes.get(type).clear();
       collisionBoxes.get(type).addAll(
         collisionEntities.get(type).stream().map(ICollisionEntity::getCollisionBox).toList());
+
+      final ISpatialIndex index = spatialIndices.get(type);
+      for (ICollisionEntity entity : collisionEntities.get(type)) {
+        index.update(entity, entity.getCollisionBox());
+      }
     }
+
+    overlapTracker.update();
   }
 
   /**
@@ -733,36 +858,35 @@ public final class PhysicsEngine implements IUpdateable {
    * @return The {@code Intersection} area.
    */
   private Intersection getIntersection(final ICollisionEntity entity, final Rectangle2D rect) {
-    Intersection result = null;
-    for (final ICollisionEntity otherEntity : getCollisionEntities()) {
-      if (!canCollide(entity, otherEntity)) {
-        continue;
-      }
+    final Intersection[] result = new Intersection[1];
+    for (ISpatialIndex index : this.getSpatialIndices(Collision.ANY)) {
+      index.query(rect, otherEntity -> {
+        if (!canCollide(entity, otherEntity)
+          || !GeometricUtilities.intersects(otherEntity.getCollisionBox(), rect)) {
+          return;
+        }
 
-      if (GeometricUtilities.intersects(otherEntity.getCollisionBox(), rect)) {
         Rectangle2D intersection = otherEntity.getCollisionBox().createIntersection(rect);
-        if (result != null) {
-          result =
+        if (result[0] != null) {
+          result[0] =
             new Intersection(
-              intersection.createUnion(result),
-              ArrayUtilities.append(result.involvedEntities, otherEntity));
+              intersection.createUnion(result[0]),
+              ArrayUtilities.append(result[0].involvedEntities, otherEntity));
         } else {
-          result = new Intersection(intersection, otherEntity);
+          result[0] = new Intersection(intersection, otherEntity);
         }
-      }
+      });
     }
 
-    return result;
+    return result[0];
   }
 
-  private boolean collides(final ICollisionEntity entity, Collision type,
+  private boolean collides(final ICollisionEntity entity, Collision type, Rectangle2D area,
     Predicate<ICollisionEntity> check) {
-    for (final ICollisionEntity otherEntity : getCollisionEntities(type)) {
-      if (!canCollide(entity, otherEntity) || entity == otherEntity) {
-        continue;
-      }
-
-      if (check.test(otherEntity)) {
+    final Predicate<ICollisionEntity> broadPhaseCheck =
+      otherEntity -> canCollide(entity, otherEntity) && check.test(otherEntity);
+    for (ISpatialIndex index : this.getSpatialIndices(type)) {
+      if (index.anyMatch(area, broadPhaseCheck)) {
         return true;
       }
     }
@@ -770,6 +894,14 @@ public final class PhysicsEngine implements IUpdateable {
     return false;
   }
 
+  private List<ISpatialIndex> getSpatialIndices(Collision type) {
+    return switch (type) {
+      case NONE -> List.of();
+      case DYNAMIC, STATIC -> List.of(spatialIndices.get(type));
+      case ANY -> List.of(spatialIndices.get(Collision.DYNAMIC), spatialIndices.get(Collision.STATIC));
+    };
+  }
+
   /**
    * Checks if is in map.
    *
@@ -910,6 +1042,36 @@ public final class PhysicsEngine implements IUpdateable {
     }
   }
 
+  /**
+   * Keeps the spatial indices in sync with the entities' locations and sizes.
+   */
+  private class SpatialIndexUpdater implements EntityTransformListener {
+    @Override
+    public void locationChanged(IEntity entity) {
+      this.updateSpatialIndex(entity);
+    }
+
+    @Override
+    public void sizeChanged(IEntity entity) {
+      this.updateSpatialIndex(entity);
+    }
+
+    private void updateSpatialIndex(IEntity entity) {
+      if (!(entity instanceof ICollisionEntity collisionEntity)
+        || collisionEntity.getCollisionType() == null) {
+        return;
+      }
+
+      final ISpatialIndex index = spatialIndices.get(collisionEntity.getCollisionType());
+      if (index != null) {
+        // the transform event might be fired before the entity refreshed its collision box
+        index.update(collisionEntity, collisionEntity.getCollisionBox(entity.getLocation()));
+      }
+
+      overlapTracker.entityChanged(collisionEntity);
+    }
+  }
+
   /**
    * A helper class that contains the intersection of a collision event and the involved entities.
    * This is basically just a {@link Rectangle2D} with some additional information.
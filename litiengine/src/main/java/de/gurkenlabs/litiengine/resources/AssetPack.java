@@ -0,0 +1,436 @@
+package de.gurkenlabs.litiengine.resources;
+
+import de.gurkenlabs.litiengine.environment.tilemap.ITileset;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.BinaryMap;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.Blueprint;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.Tileset;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.TmxMap;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.TmxReader;
+import de.gurkenlabs.litiengine.graphics.Spritesheet;
+import de.gurkenlabs.litiengine.graphics.emitters.xml.EmitterData;
+import de.gurkenlabs.litiengine.graphics.emitters.xml.EmitterLoader;
+import de.gurkenlabs.litiengine.sound.Sound;
+import de.gurkenlabs.litiengine.util.Imaging;
+import de.gurkenlabs.litiengine.util.io.Codec;
+import de.gurkenlabs.litiengine.util.io.FileUtilities;
+import de.gurkenlabs.litiengine.util.io.XmlUtilities;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import javax.imageio.ImageIO;
+
+/**
+ * A binary, indexed alternative to the XML based {@link ResourceBundle}.
+ * <p>
+ * An asset pack starts with a table of contents that lists the name, type and location of every entry. The entries contain the raw bytes of the
+ * assets instead of base64 strings and are compressed individually, but only if that actually saves space, i.e. images and compressed audio are
+ * stored as they are. Maps are stored in the {@link BinaryMap} format.
+ * <p>
+ * Mounting a pack only reads the table of contents. The maps, tilesets, spritesheets, sounds and blueprints of the pack are registered with the
+ * containers of the {@link Resources} and are loaded from the memory mapped pack once they are requested by name for the first time, e.g. with
+ * {@code Resources.maps().get("level1")}. Emitters are registered right away because they are only referred to by name.
+ *
+ * <pre>
+ * // at build time
+ * AssetPack.write(ResourceBundle.load("game.litidata"), Path.of("game.litipack"));
+ *
+ * // at runtime
+ * Resources.load("game.litipack");
+ * </pre>
+ */
+public final class AssetPack {
+  public static final String FILE_EXTENSION = "litipack";
+
+  /**
+   * The version of the pack format. Packs of other versions are rejected and need to be written again.
+   */
+  public static final int VERSION = 1;
+
+  private static final Logger log = Logger.getLogger(AssetPack.class.getName());
+  private static final int MAGIC = 0x4C50414B;
+  private static final int STORED = 0;
+  private static final int DEFLATED = 1;
+
+  // entries are only compressed if that saves at least a tenth of their size
+  private static final double MIN_COMPRESSION_RATIO = 0.9;
+
+  private final URL location;
+  private final ByteBuffer buffer;
+  private final List<Entry> entries;
+
+  private AssetPack(URL location, ByteBuffer buffer, List<Entry> entries) {
+    this.location = location;
+    this.buffer = buffer;
+    this.entries = entries;
+  }
+
+  /**
+   * Opens the asset pack at the specified location and reads its table of contents. Packs in the file system are memory mapped, all other packs are
+   * read into memory.
+   *
+   * @param location The location of the asset pack.
+   * @return The opened asset pack.
+   * @throws IOException If the pack can't be read or has been written by another version of the format.
+   */
+  public static AssetPack open(URL location) throws IOException {
+    final ByteBuffer buffer;
+    try {
+      buffer = map(location);
+    } catch (URISyntaxException e) {
+      throw new IOException(e);
+    }
+
+    if (buffer.remaining() < Integer.BYTES * 3 || buffer.getInt() != MAGIC) {
+      throw new IOException(location + " is not an asset pack.");
+    }
+
+    final int version = buffer.getInt();
+    if (version != VERSION) {
+      throw new IOException("Unsupported asset pack version " + version + " of " + location + ". Expected version " + VERSION + ".");
+    }
+
+    final int count = buffer.getInt();
+    final List<Entry> entries = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      final Type type = Type.values()[buffer.get()];
+      final String name = readString(buffer);
+      final int offset = buffer.getInt();
+      final int storedLength = buffer.getInt();
+      final int length = buffer.getInt();
+      final int compression = buffer.get();
+      final Entry entry = new Entry(type, name, offset, storedLength, length, compression);
+      if (type == Type.SPRITESHEET) {
+        entry.spriteWidth = buffer.getInt();
+        entry.spriteHeight = buffer.getInt();
+        entry.imageFormat = ImageFormat.valueOf(readString(buffer));
+        entry.keyFrames = new int[buffer.getInt()];
+        for (int k = 0; k < entry.keyFrames.length; k++) {
+          entry.keyFrames[k] = buffer.getInt();
+        }
+      }
+
+      entries.add(entry);
+    }
+
+    // the offsets of the entries are relative to the end of the table of contents
+    return new AssetPack(location, buffer.slice(), Collections.unmodifiableList(entries));
+  }
+
+  /**
+   * Writes the resources of the specified bundle to an asset pack.
+   *
+   * @param bundle The bundle that contains the resources.
+   * @param file   The asset pack file to write.
+   * @throws IOException If the pack can't be written.
+   */
+  public static void write(ResourceBundle bundle, Path file) throws IOException {
+    final List<Entry> entries = new ArrayList<>();
+    final ByteArrayOutputStream data = new ByteArrayOutputStream();
+
+    for (TmxMap map : bundle.getMaps()) {
+      final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      BinaryMap.write(map, bytes);
+      entries.add(add(data, new Entry(Type.MAP, map.getName()), bytes.toByteArray()));
+    }
+
+    for (Tileset tileset : bundle.getTilesets()) {
+      entries.add(add(data, new Entry(Type.TILESET, tileset.getName()), marshal(tileset)));
+    }
+
+    for (SpritesheetResource sprite : bundle.getSpriteSheets()) {
+      if (sprite.getImage() == null || sprite.getImage().isEmpty()) {
+        log.log(Level.WARNING, "Sprite {0} is not added to the asset pack because no image is defined.", sprite.getName());
+        continue;
+      }
+
+      final Entry entry = new Entry(Type.SPRITESHEET, sprite.getName());
+      entry.spriteWidth = sprite.getWidth();
+      entry.spriteHeight = sprite.getHeight();
+      entry.imageFormat = sprite.getImageFormat() != null ? sprite.getImageFormat() : ImageFormat.UNSUPPORTED;
+      entry.keyFrames = sprite.getKeyframes();
+      entries.add(add(data, entry, Codec.decode(sprite.getImage())));
+    }
+
+    for (SoundResource sound : bundle.getSounds()) {
+      entries.add(add(data, new Entry(Type.SOUND, sound.getName()), Codec.decode(sound.getData())));
+    }
+
+    for (Blueprint blueprint : bundle.getBluePrints()) {
+      entries.add(add(data, new Entry(Type.BLUEPRINT, blueprint.getName()), marshal(blueprint)));
+    }
+
+    for (EmitterData emitter : bundle.getEmitters()) {
+      entries.add(add(data, new Entry(Type.EMITTER, emitter.getName()), marshal(emitter)));
+    }
+
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(entries.size());
+      for (Entry entry : entries) {
+        out.writeByte(entry.type.ordinal());
+        writeString(out, entry.name);
+        out.writeInt(entry.offset);
+        out.writeInt(entry.storedLength);
+        out.writeInt(entry.length);
+        out.writeByte(entry.compression);
+        if (entry.type == Type.SPRITESHEET) {
+          out.writeInt(entry.spriteWidth);
+          out.writeInt(entry.spriteHeight);
+          writeString(out, entry.imageFormat.name());
+          out.writeInt(entry.keyFrames.length);
+          for (int keyFrame : entry.keyFrames) {
+            out.writeInt(keyFrame);
+          }
+        }
+      }
+
+      data.writeTo(out);
+    }
+  }
+
+  /**
+   * Gets the names of all assets in this pack.
+   *
+   * @return The names of the assets.
+   */
+  public List<String> getNames() {
+    return this.entries.stream().map(e -> e.name).toList();
+  }
+
+  /**
+   * Registers the assets of this pack with the containers of the {@link Resources}. Nothing but the emitters is loaded by this method; all other
+   * assets are loaded once they are requested by name.
+   */
+  public void mount() {
+    for (Entry entry : this.entries) {
+      switch (entry.type) {
+        case MAP -> Resources.maps().provide(entry.name, () -> this.readMap(entry));
+        case TILESET -> Resources.tilesets().provide(entry.name, () -> this.readTileset(entry));
+        case SPRITESHEET -> Resources.spritesheets().provide(entry.name, entry.keyFrames, () -> this.readSpritesheet(entry));
+        case SOUND -> Resources.sounds().provide(entry.name, () -> new Sound(this.stream(entry), entry.name));
+        case BLUEPRINT -> Resources.blueprints().provide(entry.name, () -> this.unmarshal(Blueprint.class, entry));
+        case EMITTER -> {
+          try {
+            EmitterLoader.load(this.unmarshal(EmitterData.class, entry));
+          } catch (IOException e) {
+            log.log(Level.SEVERE, e.getMessage(), e);
+          }
+        }
+      }
+    }
+  }
+
+  private TmxMap readMap(Entry entry) throws IOException {
+    final TmxMap map = BinaryMap.read(this.data(entry), this.location);
+    for (ITileset tileset : map.getTilesets()) {
+      if (tileset instanceof Tileset ts && ts.isExternal()) {
+        // external tilesets are part of the pack and loaded on demand as well
+        final String name = FileUtilities.getFileName(ts.getSource());
+        if (Resources.tilesets().contains(name)) {
+          ts.load(List.of(Resources.tilesets().get(name)));
+        }
+      }
+    }
+
+    map.finish(this.location);
+    return map;
+  }
+
+  private Tileset readTileset(Entry entry) throws IOException {
+    final Tileset tileset = TmxReader.readTileset(this.stream(entry), this.location);
+    tileset.finish(this.location);
+    return tileset;
+  }
+
+  private Spritesheet readSpritesheet(Entry entry) throws IOException {
+    final BufferedImage image = ImageIO.read(this.stream(entry));
+    if (image == null) {
+      throw new IOException("The image of sprite " + entry.name + " could not be read.");
+    }
+
+    return Resources.spritesheets().load(Imaging.toCompatibleImage(image), entry.name + entry.imageFormat.toFileExtension(), entry.spriteWidth,
+      entry.spriteHeight);
+  }
+
+  private <T> T unmarshal(Class<T> cls, Entry entry) throws IOException {
+    try {
+      return cls.cast(XmlUtilities.getContext(cls).createUnmarshaller().unmarshal(this.stream(entry)));
+    } catch (JAXBException e) {
+      throw new IOException("Could not read " + entry.name + " from " + this.location, e);
+    }
+  }
+
+  private InputStream stream(Entry entry) throws IOException {
+    final ByteBuffer data = this.data(entry);
+    if (data.hasArray()) {
+      return new ByteArrayInputStream(data.array(), data.arrayOffset() + data.position(), data.remaining());
+    }
+
+    final byte[] bytes = new byte[data.remaining()];
+    data.get(bytes);
+    return new ByteArrayInputStream(bytes);
+  }
+
+  private ByteBuffer data(Entry entry) throws IOException {
+    final ByteBuffer stored = this.buffer.slice(entry.offset, entry.storedLength);
+    if (entry.compression == STORED) {
+      return stored;
+    }
+
+    final Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(stored);
+      final byte[] bytes = new byte[entry.length];
+      int read = 0;
+      while (read < bytes.length && !inflater.finished()) {
+        final int inflated = inflater.inflate(bytes, read, bytes.length - read);
+        if (inflated == 0 && inflater.needsInput()) {
+          break;
+        }
+
+        read += inflated;
+      }
+
+      if (read != bytes.length) {
+        throw new IOException("The entry " + entry.name + " of " + this.location + " is truncated.");
+      }
+
+      return ByteBuffer.wrap(bytes);
+    } catch (DataFormatException e) {
+      throw new IOException("The entry " + entry.name + " of " + this.location + " is corrupt.", e);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  private static ByteBuffer map(URL location) throws IOException, URISyntaxException {
+    if (location.getProtocol().equals("file")) {
+      try (FileChannel channel = FileChannel.open(Path.of(location.toURI()), StandardOpenOption.READ)) {
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      }
+    }
+
+    // resources in jars or on the web can't be mapped
+    try (InputStream in = location.openStream()) {
+      return ByteBuffer.wrap(in.readAllBytes());
+    }
+  }
+
+  private static Entry add(ByteArrayOutputStream data, Entry entry, byte[] bytes) {
+    final byte[] compressed = deflate(bytes);
+    entry.offset = data.size();
+    entry.length = bytes.length;
+    if (compressed.length < bytes.length * MIN_COMPRESSION_RATIO) {
+      entry.compression = DEFLATED;
+      entry.storedLength = compressed.length;
+      data.writeBytes(compressed);
+    } else {
+      entry.compression = STORED;
+      entry.storedLength = bytes.length;
+      data.writeBytes(bytes);
+    }
+
+    return entry;
+  }
+
+  private static byte[] deflate(byte[] bytes) {
+    final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    try {
+      deflater.setInput(bytes);
+      deflater.finish();
+      final ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + 16);
+      final byte[] buffer = new byte[8192];
+      while (!deflater.finished()) {
+        out.write(buffer, 0, deflater.deflate(buffer));
+      }
+
+      return out.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static byte[] marshal(Object object) throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try {
+      final Marshaller marshaller = XmlUtilities.getContext(object.getClass()).createMarshaller();
+      marshaller.marshal(object, out);
+    } catch (JAXBException e) {
+      throw new IOException(e);
+    }
+
+    return out.toByteArray();
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    final byte[] bytes = new byte[buffer.getInt()];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private enum Type {
+    MAP,
+    TILESET,
+    SPRITESHEET,
+    SOUND,
+    BLUEPRINT,
+    EMITTER
+  }
+
+  private static final class Entry {
+    private final Type type;
+    private final String name;
+    private int offset;
+    private int storedLength;
+    private int length;
+    private int compression;
+
+    private int spriteWidth;
+    private int spriteHeight;
+    private ImageFormat imageFormat;
+    private int[] keyFrames;
+
+    private Entry(Type type, String name) {
+      this.type = type;
+      this.name = name;
+    }
+
+    private Entry(Type type, String name, int offset, int storedLength, int length, int compression) {
+      this(type, name);
+      this.offset = offset;
+      this.storedLength = storedLength;
+      this.length = length;
+      this.compression = compression;
+    }
+  }
+}
@@ -8,12 +8,14 @@ import de.gurkenlabs.litiengine.environment.tilemap.IMapObjectLayer;
 import de.gurkenlabs.litiengine.environment.tilemap.IMapOrientation;
 import de.gurkenlabs.litiengine.environment.tilemap.ITileLayer;
 import de.gurkenlabs.litiengine.environment.tilemap.ITileset;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.BinaryMap;
 import de.gurkenlabs.litiengine.environment.tilemap.xml.MapObjectLayer;
 import de.gurkenlabs.litiengine.environment.tilemap.xml.Tile;
 import de.gurkenlabs.litiengine.environment.tilemap.xml.TileData;
 import de.gurkenlabs.litiengine.environment.tilemap.xml.TileLayer;
 import de.gurkenlabs.litiengine.environment.tilemap.xml.TmxException;
 import de.gurkenlabs.litiengine.environment.tilemap.xml.TmxMap;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.TmxReader;
 import de.gurkenlabs.litiengine.graphics.RenderType;
 import de.gurkenlabs.litiengine.util.io.FileUtilities;
 import de.gurkenlabs.litiengine.util.io.XmlUtilities;
@@ -21,6 +23,7 @@ import jakarta.xml.bind.JAXBException;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.IntBinaryOperator;
@@ -44,7 +47,27 @@ public final class Maps extends ResourcesContainer<IMap> {
    */
   public static boolean isSupported(String fileName) {
     String extension = FileUtilities.getExtension(fileName);
-    return extension.equalsIgnoreCase(TmxMap.FILE_EXTENSION);
+    return extension.equalsIgnoreCase(TmxMap.FILE_EXTENSION) || extension.equalsIgnoreCase(BinaryMap.FILE_EXTENSION);
+  }
+
+  /**
+   * Saves the specified map in the precompiled binary map format which loads considerably faster than TMX. The binary map can be loaded like any
+   * other map, e.g. with {@code Resources.maps().get("map.litimap")}.
+   *
+   * @param map  The map to save.
+   * @param path The path of the binary map file. The binary map extension is appended if it's missing.
+   * @return The path of the binary map file.
+   * @throws IOException If the map can't be written.
+   * @see BinaryMap
+   */
+  public static Path saveBinary(IMap map, Path path) throws IOException {
+    Path file = path;
+    if (!FileUtilities.getExtension(path.toString()).equalsIgnoreCase(BinaryMap.FILE_EXTENSION)) {
+      file = path.resolveSibling(path.getFileName().toString() + "." + BinaryMap.FILE_EXTENSION);
+    }
+
+    BinaryMap.write(map, file);
+    return file;
   }
 
   /**
@@ -114,10 +137,21 @@ public final class Maps extends ResourcesContainer<IMap> {
   @Override
   protected IMap load(URL resourceName) throws IOException, URISyntaxException {
     TmxMap map;
+    if (FileUtilities.getExtension(resourceName.getPath()).equalsIgnoreCase(BinaryMap.FILE_EXTENSION)) {
+      map = BinaryMap.read(resourceName);
+      map.finish(resourceName);
+      return map;
+    }
+
     try {
-      map = XmlUtilities.read(TmxMap.class, resourceName);
-    } catch (JAXBException e) {
-      throw new TmxException(e.getMessage(), e);
+      map = TmxReader.readMap(resourceName);
+    } catch (TmxException e) {
+      log.log(Level.FINE, "Falling back to JAXB for map {0}: {1}", new Object[] {resourceName, e.getMessage()});
+      try {
+        map = XmlUtilities.read(TmxMap.class, resourceName);
+      } catch (JAXBException jaxb) {
+        throw new TmxException(jaxb.getMessage(), jaxb);
+      }
     }
 
     if (map == null) {
@@ -0,0 +1,85 @@
+package de.gurkenlabs.litiengine.resources;
+
+import java.io.Serial;
+import java.util.EventObject;
+
+/**
+ * This event is passed to {@link PreloadListener}s to report the progress of a {@link ResourcePreloader}.
+ */
+public class PreloadEvent extends EventObject {
+  @Serial private static final long serialVersionUID = 5129946185127613406L;
+
+  private final String resourceName;
+  private final transient Object resource;
+  private final transient Throwable error;
+  private final int completed;
+  private final int total;
+
+  PreloadEvent(ResourcePreloader source, String resourceName, Object resource, Throwable error, int completed, int total) {
+    super(source);
+    this.resourceName = resourceName;
+    this.resource = resource;
+    this.error = error;
+    this.completed = completed;
+    this.total = total;
+  }
+
+  /**
+   * Gets the name of the resource that has been loaded.
+   *
+   * @return The name of the resource or null if the event reports that the preloading has finished.
+   */
+  public String getResourceName() {
+    return this.resourceName;
+  }
+
+  /**
+   * Gets the resource that has been loaded. The resource is already available through the containers of the {@link Resources}.
+   *
+   * @return The loaded resource or null if it couldn't be loaded.
+   */
+  public Object getResource() {
+    return this.resource;
+  }
+
+  /**
+   * Gets the error that occurred while loading the resource.
+   *
+   * @return The error or null if the resource has been loaded successfully.
+   */
+  public Throwable getError() {
+    return this.error;
+  }
+
+  /**
+   * Gets the number of resources that have been processed so far, including the ones that failed to load.
+   *
+   * @return The number of processed resources.
+   */
+  public int getCompleted() {
+    return this.completed;
+  }
+
+  /**
+   * Gets the total number of resources that are preloaded.
+   *
+   * @return The total number of resources.
+   */
+  public int getTotal() {
+    return this.total;
+  }
+
+  /**
+   * Gets the progress of the preloading, e.g. to display it on a loading screen.
+   *
+   * @return The progress between 0 and 1.
+   */
+  public float getProgress() {
+    return this.total == 0 ? 1f : this.completed / (float) this.total;
+  }
+
+  @Override
+  public String toString() {
+    return super.toString() + "[resource=" + this.resourceName + ", completed=" + this.completed + "/" + this.total + "]";
+  }
+}
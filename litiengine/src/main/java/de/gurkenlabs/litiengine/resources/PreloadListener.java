@@ -0,0 +1,37 @@
+package de.gurkenlabs.litiengine.resources;
+
+import java.util.EventListener;
+
+/**
+ * This listener provides callbacks to observe the progress of a {@link ResourcePreloader}, e.g. for a loading screen.
+ * <p>
+ * The callbacks are invoked on the loading threads of the preloader, so listeners need to be thread-safe and should hand over any UI updates to
+ * the game loop.
+ * </p>
+ */
+public interface PreloadListener extends EventListener {
+
+  /**
+   * This method gets called after a resource has been loaded and made available through the containers of the {@link Resources}.
+   *
+   * @param event The event that contains the loaded resource and the current progress.
+   */
+  default void loaded(PreloadEvent event) {
+  }
+
+  /**
+   * This method gets called if a resource couldn't be loaded. The preloading continues with the other resources.
+   *
+   * @param event The event that contains the error and the current progress.
+   */
+  default void failed(PreloadEvent event) {
+  }
+
+  /**
+   * This method gets called once all resources have been processed.
+   *
+   * @param event The event that contains the final progress.
+   */
+  default void finished(PreloadEvent event) {
+  }
+}
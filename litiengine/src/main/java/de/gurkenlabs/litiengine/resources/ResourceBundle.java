@@ -360,7 +360,7 @@ public class ResourceBundle implements Serializable {
    * @throws JAXBException If an error occurs during the unmarshalling process.
    * @throws IOException   If an I/O error occurs.
    */
-  private static ResourceBundle getResourceBundleFromUrl(URL fileUrl) throws JAXBException, IOException {
+  static ResourceBundle getResourceBundleFromUrl(URL fileUrl) throws JAXBException, IOException {
     final JAXBContext jaxbContext = XmlUtilities.getContext(ResourceBundle.class);
     final Unmarshaller um = Objects.requireNonNull(jaxbContext).createUnmarshaller();
 
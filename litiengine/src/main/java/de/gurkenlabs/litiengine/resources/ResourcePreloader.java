@@ -0,0 +1,305 @@
+package de.gurkenlabs.litiengine.resources;
+
+import de.gurkenlabs.litiengine.environment.tilemap.ITileset;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.Blueprint;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.Tileset;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.TmxMap;
+import de.gurkenlabs.litiengine.graphics.Spritesheet;
+import de.gurkenlabs.litiengine.graphics.emitters.xml.EmitterData;
+import de.gurkenlabs.litiengine.graphics.emitters.xml.EmitterLoader;
+import de.gurkenlabs.litiengine.sound.Sound;
+import de.gurkenlabs.litiengine.util.io.FileUtilities;
+import jakarta.xml.bind.JAXBException;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Loads the resources of a {@link ResourceBundle} in parallel while respecting their dependencies: maps are finished after the tilesets they refer
+ * to, and tilesets after the spritesheets that contain their images. Spritesheets, sounds, blueprints and emitters don't depend on anything and are
+ * decoded right away.
+ * <p>
+ * Every resource is added to the containers of the {@link Resources} as soon as it has been loaded, so games can start using them before the whole
+ * bundle is available. The progress is reported to the registered {@link PreloadListener}s.
+ * </p>
+ *
+ * <pre>
+ * ResourcePreloader preloader = new ResourcePreloader();
+ * preloader.addListener(new PreloadListener() {
+ *   &#64;Override
+ *   public void loaded(PreloadEvent event) {
+ *     loadingScreen.setProgress(event.getProgress());
+ *   }
+ * });
+ *
+ * preloader.preload(Resources.getLocation("game.litidata")).thenRun(() -&gt; Game.screens().display("MENU"));
+ * </pre>
+ */
+public class ResourcePreloader {
+  private static final Logger log = Logger.getLogger(ResourcePreloader.class.getName());
+
+  private final int parallelism;
+  private final Collection<PreloadListener> listeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * Initializes a new instance of the {@code ResourcePreloader} class that uses all but one of the available processors.
+   */
+  public ResourcePreloader() {
+    this(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+  }
+
+  /**
+   * Initializes a new instance of the {@code ResourcePreloader} class.
+   *
+   * @param parallelism The maximum number of resources that are loaded at the same time.
+   */
+  public ResourcePreloader(int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("The parallelism must be at least 1 but was " + parallelism);
+    }
+
+    this.parallelism = parallelism;
+  }
+
+  public void addListener(PreloadListener listener) {
+    this.listeners.add(listener);
+  }
+
+  public void removeListener(PreloadListener listener) {
+    this.listeners.remove(listener);
+  }
+
+  /**
+   * Gets the maximum number of resources that are loaded at the same time.
+   *
+   * @return The parallelism of this preloader.
+   */
+  public int getParallelism() {
+    return this.parallelism;
+  }
+
+  /**
+   * Reads the resource bundle from the specified location and preloads its resources.
+   *
+   * @param gameResourceFile The location of the {@code .litidata} file.
+   * @return A future that completes with the bundle once all of its resources have been processed.
+   * @see #preload(ResourceBundle, URL)
+   */
+  public CompletableFuture<ResourceBundle> preload(URL gameResourceFile) {
+    final ExecutorService executor = this.createExecutor();
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        final ResourceBundle bundle = ResourceBundle.getResourceBundleFromUrl(gameResourceFile);
+        if (bundle == null) {
+          throw new IOException("The resource bundle " + gameResourceFile + " could not be read.");
+        }
+
+        return bundle;
+      } catch (JAXBException | IOException e) {
+        throw new CompletionException(e);
+      }
+    }, executor).thenCompose(bundle -> this.preload(bundle, gameResourceFile, executor)).whenComplete((bundle, error) -> executor.shutdown());
+  }
+
+  /**
+   * Preloads the resources of the specified bundle, which must not have been finished yet, i.e. it has not been loaded by
+   * {@link ResourceBundle#load(URL)}.
+   *
+   * @param bundle   The resource bundle.
+   * @param location The location of the bundle that relative paths are resolved against.
+   * @return A future that completes with the bundle once all of its resources have been processed.
+   */
+  public CompletableFuture<ResourceBundle> preload(ResourceBundle bundle, URL location) {
+    final ExecutorService executor = this.createExecutor();
+    return this.preload(bundle, location, executor).whenComplete((b, error) -> executor.shutdown());
+  }
+
+  private CompletableFuture<ResourceBundle> preload(ResourceBundle bundle, URL location, ExecutorService executor) {
+    final Graph graph = new Graph(bundle, location, executor);
+
+    // images don't depend on anything
+    final Map<String, CompletableFuture<Void>> spritesheets = new HashMap<>();
+    for (SpritesheetResource sprite : bundle.getSpriteSheets()) {
+      spritesheets.put(sprite.getName(), graph.add(sprite.getName(), List.of(), () -> loadSpritesheet(sprite)));
+    }
+
+    // tilesets depend on their images
+    final Map<String, CompletableFuture<Void>> tilesets = new HashMap<>();
+    for (Tileset tileset : bundle.getTilesets()) {
+      final List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+      addImageDependency(tileset, spritesheets, dependencies);
+      tilesets.put(tileset.getName(), graph.add(tileset.getName(), dependencies, () -> {
+        tileset.finish(location);
+        if (!Resources.tilesets().contains(tileset.getName())) {
+          Resources.tilesets().add(tileset.getName(), tileset);
+        }
+
+        return tileset;
+      }));
+    }
+
+    // maps depend on their external tilesets and the images of their embedded tilesets
+    for (TmxMap map : bundle.getMaps()) {
+      final List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+      for (ITileset tileset : map.getTilesets()) {
+        if (tileset instanceof Tileset ts && ts.isExternal()) {
+          final CompletableFuture<Void> external = tilesets.get(FileUtilities.getFileName(ts.getSource()));
+          if (external != null) {
+            dependencies.add(external);
+          }
+        } else if (tileset instanceof Tileset ts) {
+          addImageDependency(ts, spritesheets, dependencies);
+        }
+      }
+
+      graph.add(map.getName(), dependencies, () -> {
+        for (ITileset tileset : map.getTilesets()) {
+          if (tileset instanceof Tileset ts) {
+            ts.load(bundle.getTilesets());
+          }
+        }
+
+        map.finish(location);
+        Resources.maps().add(map.getName(), map);
+        return map;
+      });
+    }
+
+    for (SoundResource sound : bundle.getSounds()) {
+      graph.add(sound.getName(), List.of(), () -> {
+        final Sound loaded = Resources.sounds().load(sound);
+        if (loaded == null) {
+          throw new IOException("The sound " + sound.getName() + " could not be decoded.");
+        }
+
+        return loaded;
+      });
+    }
+
+    for (Blueprint blueprint : bundle.getBluePrints()) {
+      graph.add(blueprint.getName(), List.of(), () -> {
+        Resources.blueprints().add(blueprint.getName(), blueprint);
+        return blueprint;
+      });
+    }
+
+    for (EmitterData emitter : bundle.getEmitters()) {
+      graph.add(emitter.getName(), List.of(), () -> EmitterLoader.load(emitter));
+    }
+
+    return graph.completion().thenApply(v -> {
+      this.notify(PreloadListener::finished, new PreloadEvent(this, null, null, null, graph.completed.get(), graph.total));
+      return bundle;
+    });
+  }
+
+  private static Spritesheet loadSpritesheet(SpritesheetResource sprite) throws IOException {
+    final Spritesheet spritesheet = Resources.spritesheets().load(sprite);
+    if (spritesheet == null) {
+      throw new IOException("The spritesheet " + sprite.getName() + " could not be decoded.");
+    }
+
+    // decode the individual sprites on the loading thread as well
+    for (int i = 0; i < spritesheet.getTotalNumberOfSprites(); i++) {
+      spritesheet.getSprite(i);
+    }
+
+    return spritesheet;
+  }
+
+  private static void addImageDependency(Tileset tileset, Map<String, CompletableFuture<Void>> spritesheets,
+    List<CompletableFuture<Void>> dependencies) {
+    if (tileset.getImage() == null || tileset.getImage().getSource() == null) {
+      return;
+    }
+
+    final CompletableFuture<Void> image = spritesheets.get(FileUtilities.getFileName(tileset.getImage().getSource()));
+    if (image != null) {
+      dependencies.add(image);
+    }
+  }
+
+  private ExecutorService createExecutor() {
+    return Executors.newFixedThreadPool(this.parallelism, new ThreadFactory() {
+      private final AtomicInteger id = new AtomicInteger();
+
+      @Override
+      public Thread newThread(Runnable r) {
+        final Thread thread = new Thread(r, "Resource Preloader Thread " + id.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+  }
+
+  private void notify(Notification notification, PreloadEvent event) {
+    for (PreloadListener listener : this.listeners) {
+      try {
+        notification.notify(listener, event);
+      } catch (RuntimeException e) {
+        log.log(Level.SEVERE, e.getMessage(), e);
+      }
+    }
+  }
+
+  @FunctionalInterface
+  private interface Notification {
+    void notify(PreloadListener listener, PreloadEvent event);
+  }
+
+  /**
+   * The tasks of a single preloading run. Every task waits for its dependencies, regardless of whether they could be loaded, because the
+   * resources can still fall back to loading their dependencies themselves.
+   */
+  private final class Graph {
+    private final List<CompletableFuture<Void>> tasks = new ArrayList<>();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final ExecutorService executor;
+    private final URL location;
+    private final int total;
+
+    private Graph(ResourceBundle bundle, URL location, ExecutorService executor) {
+      this.executor = executor;
+      this.location = location;
+      this.total = bundle.getSpriteSheets().size() + bundle.getTilesets().size() + bundle.getMaps().size() + bundle.getSounds().size()
+        + bundle.getBluePrints().size() + bundle.getEmitters().size();
+    }
+
+    private CompletableFuture<Void> add(String name, List<CompletableFuture<Void>> dependencies, Callable<?> loader) {
+      final CompletableFuture<Void> task = CompletableFuture.allOf(dependencies.toArray(CompletableFuture[]::new))
+        .thenRunAsync(() -> this.run(name, loader), this.executor);
+      this.tasks.add(task);
+      return task;
+    }
+
+    private void run(String name, Callable<?> loader) {
+      try {
+        final Object resource = loader.call();
+        ResourcePreloader.this.notify(PreloadListener::loaded,
+          new PreloadEvent(ResourcePreloader.this, name, resource, null, this.completed.incrementAndGet(), this.total));
+      } catch (Exception e) {
+        log.log(Level.SEVERE, "Failed to preload {0} from {1}: {2}", new Object[] {name, this.location, e.getMessage()});
+        ResourcePreloader.this.notify(PreloadListener::failed,
+          new PreloadEvent(ResourcePreloader.this, name, null, e, this.completed.incrementAndGet(), this.total));
+      }
+    }
+
+    private CompletableFuture<Void> completion() {
+      return CompletableFuture.allOf(this.tasks.toArray(CompletableFuture[]::new));
+    }
+  }
+}
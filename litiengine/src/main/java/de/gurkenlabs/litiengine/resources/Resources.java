@@ -8,6 +8,7 @@ import de.gurkenlabs.litiengine.graphics.emitters.xml.EmitterData;
 import de.gurkenlabs.litiengine.graphics.emitters.xml.EmitterLoader;
 import de.gurkenlabs.litiengine.sound.Sound;
 import de.gurkenlabs.litiengine.util.TimeUtilities;
+import de.gurkenlabs.litiengine.util.io.FileUtilities;
 import java.awt.Font;
 import java.awt.image.BufferedImage;
 import java.io.BufferedInputStream;
@@ -152,12 +153,28 @@ public final class Resources {
   /**
    * Load {@code Spritesheets}, {@code Tilesets} and {@code Maps} from a game resource file created with the utiLITI editor. After loading, these
    * resources can be accessed via this API (e.g. {@code Resources.maps().get("mapname")}.
+   * <p>
+   * An {@link AssetPack} is only mounted by this method; its resources are loaded once they are requested by name.
+   * </p>
    *
    * @param gameResourceFile The URL to the game resource file
    */
   public static void load(final URL gameResourceFile) {
     final long loadStart = System.nanoTime();
 
+    if (FileUtilities.getExtension(gameResourceFile.getPath()).equalsIgnoreCase(AssetPack.FILE_EXTENSION)) {
+      try {
+        final AssetPack pack = AssetPack.open(gameResourceFile);
+        pack.mount();
+        log.log(Level.INFO, "{0} assets of {1} mounted in {2} ms",
+          new Object[] {pack.getNames().size(), gameResourceFile, TimeUtilities.nanoToMs(System.nanoTime() - loadStart)});
+      } catch (IOException e) {
+        log.log(Level.SEVERE, "Failed to load asset pack from URL: {0} - {1}", new Object[] {gameResourceFile, e.getMessage()});
+      }
+
+      return;
+    }
+
     final ResourceBundle file = ResourceBundle.load(gameResourceFile);
     if (file == null) {
       return;
@@ -8,6 +8,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
@@ -31,6 +32,7 @@ public abstract class ResourcesContainer<T> {
 
   private final Map<String, T> resources = new ConcurrentHashMap<>();
   private final Map<String, String> aliases = new ConcurrentHashMap<>();
+  private final Map<String, Callable<? extends T>> providers = new ConcurrentHashMap<>();
   private final List<ResourcesContainerListener<? super T>> listeners = new CopyOnWriteArrayList<>();
   private final List<ResourcesContainerClearedListener> clearedListeners = new CopyOnWriteArrayList<>();
 
@@ -119,10 +121,24 @@ public abstract class ResourcesContainer<T> {
   }
 
   /**
-   * Clears the resource container by removing all previously loaded resources.
+   * Registers a provider that loads the resource with the specified name once it is requested for the first time, e.g. from an {@link AssetPack}.
+   * Provided resources are considered to be contained by this instance even though they are not loaded yet.
+   *
+   * @param resourceName The name that the resource is managed by.
+   * @param provider     The callback that loads the resource.
+   */
+  void provide(String resourceName, Callable<? extends T> provider) {
+    // the provided resource takes precedence over a previously loaded resource with the same alias
+    this.aliases.remove(resourceName);
+    this.providers.put(resourceName, provider);
+  }
+
+  /**
+   * Clears the resource container by removing all previously loaded resources and all resources that have been provided for lazy loading.
    */
   public void clear() {
     this.resources.clear();
+    this.providers.clear();
 
     for (ResourcesContainerListener<? super T> listener : this.listeners) {
       listener.cleared();
@@ -140,7 +156,8 @@ public abstract class ResourcesContainer<T> {
    * @see ResourcesContainer#contains(Object)
    */
   public boolean contains(String resourceName) {
-    return this.resources.containsKey(this.getIdentifier(resourceName));
+    final String identifier = this.getIdentifier(resourceName);
+    return this.resources.containsKey(identifier) || this.providers.containsKey(identifier);
   }
 
   /**
@@ -440,7 +457,8 @@ public abstract class ResourcesContainer<T> {
   private T loadResource(String identifier) {
     T newResource;
     try {
-      newResource = this.load(Resources.getLocation(identifier));
+      final Callable<? extends T> provider = this.providers.get(identifier);
+      newResource = provider != null ? provider.call() : this.load(Resources.getLocation(identifier));
     } catch (Exception e) {
       throw new ResourceLoadException(e);
     }
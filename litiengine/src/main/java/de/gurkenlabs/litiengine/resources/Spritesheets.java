@@ -19,6 +19,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.logging.Level;
@@ -35,6 +36,7 @@ import javax.imageio.ImageIO;
 public final class Spritesheets {
   private final Map<String, int[]> customKeyFrameDurations = new ConcurrentHashMap<>();
   private final Map<String, Spritesheet> loadedSpritesheets = new ConcurrentHashMap<>();
+  private final Map<String, Callable<Spritesheet>> providers = new ConcurrentHashMap<>();
   private final Collection<ResourcesContainerClearedListener> listeners = ConcurrentHashMap.newKeySet();
   private static final Logger log = Logger.getLogger(Spritesheets.class.getName());
   private static final String SPRITE_INFO_COMMENT_CHAR = "#";
@@ -75,6 +77,7 @@ public final class Spritesheets {
    */
   public void clear() {
     this.loadedSpritesheets.clear();
+    this.providers.clear();
     listeners.forEach(ResourcesContainerClearedListener::cleared);
   }
 
@@ -85,7 +88,23 @@ public final class Spritesheets {
    * @return True if the spritesheet is loaded, false otherwise.
    */
   public boolean contains(String name) {
-    return this.loadedSpritesheets.containsKey(name);
+    return this.loadedSpritesheets.containsKey(name) || this.providers.containsKey(name);
+  }
+
+  /**
+   * Registers a provider that loads the spritesheet with the specified name once it is requested for the first time, e.g. from an
+   * {@link AssetPack}.
+   *
+   * @param name              The name of the spritesheet.
+   * @param keyFrameDurations The custom key frame durations of the spritesheet, which are available right away.
+   * @param provider          The callback that loads the spritesheet.
+   */
+  void provide(String name, int[] keyFrameDurations, Callable<Spritesheet> provider) {
+    if (keyFrameDurations != null && keyFrameDurations.length > 0) {
+      this.customKeyFrameDurations.put(name, keyFrameDurations);
+    }
+
+    this.providers.put(name, provider);
   }
 
   /**
@@ -101,7 +120,30 @@ public final class Spritesheets {
 
     final String name = FileUtilities.getFileName(path);
 
-    return this.loadedSpritesheets.get(name); // this already returns null if absent
+    final Spritesheet spritesheet = this.loadedSpritesheets.get(name);
+    if (spritesheet != null) {
+      return spritesheet;
+    }
+
+    final Callable<Spritesheet> provider = this.providers.get(name);
+    if (provider == null) {
+      return null;
+    }
+
+    synchronized (provider) {
+      Spritesheet provided = this.loadedSpritesheets.get(name);
+      try {
+        if (provided == null) {
+          // spritesheets add themselves to this instance when they are created
+          provided = provider.call();
+        }
+      } catch (Exception e) {
+        throw new ResourceLoadException(e);
+      }
+
+      this.providers.remove(name, provider);
+      return provided;
+    }
   }
 
   /**
@@ -2,16 +2,20 @@ package de.gurkenlabs.litiengine.resources;
 
 import de.gurkenlabs.litiengine.environment.tilemap.xml.Tileset;
 import de.gurkenlabs.litiengine.environment.tilemap.xml.TmxException;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.TmxReader;
 import de.gurkenlabs.litiengine.util.io.XmlUtilities;
 import jakarta.xml.bind.JAXBException;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Manages the loading and storage of Tileset resources.
  */
 public class Tilesets extends ResourcesContainer<Tileset> {
+  private static final Logger log = Logger.getLogger(Tilesets.class.getName());
 
   /**
    * Default constructor for the Tilesets class. This constructor is kept for serialization purposes.
@@ -29,14 +33,21 @@ public class Tilesets extends ResourcesContainer<Tileset> {
    */
   @Override
   protected Tileset load(URL resourceName) throws IOException, URISyntaxException {
+    Tileset tileset;
     try {
-      Tileset tileset = XmlUtilities.read(Tileset.class, resourceName);
-      if (tileset != null) {
-        tileset.finish(resourceName);
+      tileset = TmxReader.readTileset(resourceName);
+    } catch (TmxException e) {
+      log.log(Level.FINE, "Falling back to JAXB for tileset {0}: {1}", new Object[] {resourceName, e.getMessage()});
+      try {
+        tileset = XmlUtilities.read(Tileset.class, resourceName);
+      } catch (JAXBException jaxb) {
+        throw new TmxException(jaxb);
       }
-      return tileset;
-    } catch (JAXBException e) {
-      throw new TmxException(e);
     }
+
+    if (tileset != null) {
+      tileset.finish(resourceName);
+    }
+    return tileset;
   }
 }
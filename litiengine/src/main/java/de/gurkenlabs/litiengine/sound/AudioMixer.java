@@ -0,0 +1,311 @@
+package de.gurkenlabs.litiengine.sound;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.LineUnavailableException;
+
+/**
+ * The {@code AudioMixer} renders all active {@link SoundPlayback}s into a single {@link AudioSink}
+ * on one audio thread. Each playback is resampled to the output rate and mixed in float PCM, where
+ * its gain and pan are applied, before the mix is converted to 16 bit stereo.
+ *
+ * <p>
+ * The number of simultaneously mixed playbacks is limited. If a playback is added while all voices
+ * are in use, it steals the voice of the oldest playback with the lowest priority, provided that
+ * this priority does not exceed its own. Otherwise, the new playback is rejected. Playbacks that
+ * lose their voice are cancelled.
+ *
+ * <p>
+ * A mixer can also be driven offline by calling {@link #mix(int)} instead of starting its thread,
+ * e.g. with a {@link NullAudioSink} to measure the mixing throughput without an audio device.
+ *
+ * @see SoundPlayback#setPriority(int)
+ */
+public final class AudioMixer {
+  /** The default sample rate of the mixer output. */
+  public static final float DEFAULT_SAMPLE_RATE = 44100f;
+
+  /** The default number of playbacks that can be mixed simultaneously. */
+  public static final int DEFAULT_MAX_VOICES = 32;
+
+  /** The number of sample frames that are rendered at once. */
+  static final int BLOCK_FRAMES = 512;
+
+  private static final Logger log = Logger.getLogger(AudioMixer.class.getName());
+  private static final int CHANNELS = 2;
+
+  private final AudioSink sink;
+  private final AudioFormat format;
+  private final List<SoundPlayback> voices = new ArrayList<>();
+  private final List<SoundPlayback> endedVoices = new ArrayList<>();
+  private final float[] samples = new float[BLOCK_FRAMES * CHANNELS];
+  private final byte[] output = new byte[BLOCK_FRAMES * CHANNELS * 2];
+
+  private int maxVoices;
+  private boolean opened;
+  private Thread thread;
+  private volatile boolean running;
+
+  /**
+   * Initializes a new instance of the {@code AudioMixer} class with the default sample rate and
+   * voice limit.
+   *
+   * @param sink The sink to which the mixed audio is written.
+   */
+  public AudioMixer(AudioSink sink) {
+    this(sink, DEFAULT_SAMPLE_RATE, DEFAULT_MAX_VOICES);
+  }
+
+  /**
+   * Initializes a new instance of the {@code AudioMixer} class.
+   *
+   * @param sink       The sink to which the mixed audio is written.
+   * @param sampleRate The sample rate of the mixer output.
+   * @param maxVoices  The maximum number of playbacks that can be mixed simultaneously.
+   */
+  public AudioMixer(AudioSink sink, float sampleRate, int maxVoices) {
+    if (sampleRate <= 0) {
+      throw new IllegalArgumentException("The sample rate must be positive.");
+    }
+
+    this.sink = sink;
+    this.format = new AudioFormat(sampleRate, 16, CHANNELS, true, false);
+    this.setMaxVoices(maxVoices);
+  }
+
+  /**
+   * Gets the format of the audio that this mixer writes to its sink.
+   *
+   * @return The output format of this mixer.
+   */
+  public AudioFormat getFormat() {
+    return this.format;
+  }
+
+  /**
+   * Gets the sink to which this mixer writes the mixed audio.
+   *
+   * @return The sink of this mixer.
+   */
+  public AudioSink getSink() {
+    return this.sink;
+  }
+
+  /**
+   * Gets the maximum number of playbacks that can be mixed simultaneously.
+   *
+   * @return The maximum number of voices.
+   */
+  public synchronized int getMaxVoices() {
+    return this.maxVoices;
+  }
+
+  /**
+   * Sets the maximum number of playbacks that can be mixed simultaneously. If more playbacks are
+   * currently active, the ones with the lowest priority are mixed until they end, but no new
+   * playbacks are accepted until the number of voices has fallen below the limit.
+   *
+   * @param maxVoices The maximum number of voices.
+   */
+  public synchronized void setMaxVoices(int maxVoices) {
+    if (maxVoices < 1) {
+      throw new IllegalArgumentException("The mixer requires at least one voice.");
+    }
+
+    this.maxVoices = maxVoices;
+  }
+
+  /**
+   * Gets the number of playbacks that are currently mixed.
+   *
+   * @return The number of active voices.
+   */
+  public synchronized int getActiveVoices() {
+    return this.voices.size();
+  }
+
+  /**
+   * Determines whether the audio thread of this mixer is running.
+   *
+   * @return True if this mixer has been started and not yet terminated; otherwise false.
+   */
+  public boolean isRunning() {
+    return this.running;
+  }
+
+  /**
+   * Opens the sink and starts the audio thread of this mixer. This has no effect if the mixer is
+   * already running.
+   *
+   * @throws LineUnavailableException If the sink cannot be opened.
+   */
+  public synchronized void start() throws LineUnavailableException {
+    if (this.running) {
+      return;
+    }
+
+    this.open();
+    this.running = true;
+    this.thread = new Thread(this::run, "Audio Mixer Thread");
+    this.thread.setDaemon(true);
+    this.thread.setPriority(Thread.MAX_PRIORITY);
+    this.thread.start();
+  }
+
+  /**
+   * Stops the audio thread and closes the sink. The mixer can be started again afterwards.
+   */
+  public void terminate() {
+    final Thread mixerThread;
+    synchronized (this) {
+      mixerThread = this.thread;
+      this.running = false;
+      this.thread = null;
+      this.notifyAll();
+    }
+
+    if (mixerThread != null && mixerThread != Thread.currentThread()) {
+      try {
+        mixerThread.join(1000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    synchronized (this) {
+      if (this.opened) {
+        this.sink.close();
+        this.opened = false;
+      }
+    }
+  }
+
+  /**
+   * Renders the specified number of sample frames and writes them to the sink. This allows to drive
+   * the mixer offline and must not be called while its audio thread is running.
+   *
+   * @param frames The number of sample frames to render.
+   * @throws LineUnavailableException If the sink cannot be opened.
+   */
+  public void mix(int frames) throws LineUnavailableException {
+    if (this.running) {
+      throw new IllegalStateException("The mixer is driven by its audio thread.");
+    }
+
+    synchronized (this) {
+      this.open();
+    }
+
+    for (int remaining = frames; remaining > 0; remaining -= BLOCK_FRAMES) {
+      this.renderBlock(Math.min(remaining, BLOCK_FRAMES));
+    }
+  }
+
+  /**
+   * Adds the specified playback to the mix, stealing the voice of another playback if necessary.
+   *
+   * @param playback The playback to add.
+   * @return True if the playback is mixed; false if it was rejected because all voices are used by
+   *     playbacks with a higher priority.
+   */
+  boolean add(SoundPlayback playback) {
+    SoundPlayback stolen = null;
+    synchronized (this) {
+      if (this.voices.contains(playback)) {
+        return true;
+      }
+
+      if (this.voices.size() >= this.maxVoices) {
+        // voices are appended, so the first voice with the lowest priority is the oldest one
+        for (SoundPlayback voice : this.voices) {
+          if (stolen == null || voice.getPriority() < stolen.getPriority()) {
+            stolen = voice;
+          }
+        }
+
+        if (stolen.getPriority() > playback.getPriority() || this.voices.size() > this.maxVoices) {
+          return false;
+        }
+
+        this.voices.remove(stolen);
+      }
+
+      this.voices.add(playback);
+      this.notifyAll();
+    }
+
+    // cancel outside of the lock because it notifies the listeners of the playback
+    if (stolen != null) {
+      stolen.cancel();
+    }
+
+    return true;
+  }
+
+  synchronized void remove(SoundPlayback playback) {
+    this.voices.remove(playback);
+  }
+
+  private void open() throws LineUnavailableException {
+    if (!this.opened) {
+      this.sink.open(this.format);
+      this.opened = true;
+    }
+  }
+
+  private void run() {
+    while (this.running) {
+      synchronized (this) {
+        while (this.running && this.voices.isEmpty()) {
+          try {
+            this.wait();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+          }
+        }
+      }
+
+      try {
+        this.renderBlock(BLOCK_FRAMES);
+      } catch (RuntimeException e) {
+        log.log(Level.SEVERE, "audio mixing failed", e);
+      }
+    }
+  }
+
+  private void renderBlock(int frames) {
+    final float[] mix = this.samples;
+    Arrays.fill(mix, 0, frames * CHANNELS, 0f);
+
+    synchronized (this) {
+      for (int i = this.voices.size() - 1; i >= 0; i--) {
+        final SoundPlayback voice = this.voices.get(i);
+        if (!voice.render(mix, frames, this.format.getSampleRate())) {
+          this.voices.remove(i);
+          this.endedVoices.add(voice);
+        }
+      }
+    }
+
+    // notify the listeners of ended playbacks outside of the lock
+    for (int i = this.endedVoices.size() - 1; i >= 0; i--) {
+      this.endedVoices.get(i).finish();
+    }
+
+    this.endedVoices.clear();
+
+    final byte[] data = this.output;
+    for (int i = 0; i < frames * CHANNELS; i++) {
+      final int sample = (int) (Math.clamp(mix[i], -1f, 1f) * Short.MAX_VALUE);
+      data[i * 2] = (byte) sample;
+      data[i * 2 + 1] = (byte) (sample >> 8);
+    }
+
+    this.sink.write(data, 0, frames * CHANNELS * 2);
+  }
+}
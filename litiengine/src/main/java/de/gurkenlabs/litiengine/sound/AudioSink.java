@@ -0,0 +1,37 @@
+package de.gurkenlabs.litiengine.sound;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.LineUnavailableException;
+
+/**
+ * The {@code AudioSink} interface defines the output of an {@link AudioMixer}. The mixer renders
+ * all active playbacks into blocks of PCM data and writes them to its sink.
+ *
+ * @see SourceDataLineSink
+ * @see NullAudioSink
+ */
+public interface AudioSink {
+
+  /**
+   * Opens this sink for the specified format. This is called once before any data is written.
+   *
+   * @param format The format of the data that will be written to this sink.
+   * @throws LineUnavailableException If the underlying audio line cannot be opened.
+   */
+  void open(AudioFormat format) throws LineUnavailableException;
+
+  /**
+   * Writes the specified PCM data to this sink. Sinks that output to an audio device are expected
+   * to block until the data can be buffered, which paces the mixer.
+   *
+   * @param buffer The buffer that contains the data.
+   * @param offset The offset of the data within the buffer.
+   * @param length The number of bytes to write.
+   */
+  void write(byte[] buffer, int offset, int length);
+
+  /**
+   * Closes this sink and releases all of its resources.
+   */
+  void close();
+}
@@ -1,33 +1,41 @@
 package de.gurkenlabs.litiengine.sound;
 
 import de.gurkenlabs.litiengine.Game;
-import javax.sound.sampled.LineUnavailableException;
+import java.util.Iterator;
 
-/** A {@code SoundPlayback} implementation for the playback music. */
+/**
+ * A {@code SoundPlayback} implementation for the playback music. The sounds of the track are
+ * streamed, i.e. they are decoded incrementally while they are played, so that long pieces of music
+ * don't have to be held in memory as decoded PCM data.
+ */
 public class MusicPlayback extends SoundPlayback {
+  /** The default priority of music playbacks, which prevents sound effects from stealing their voices. */
+  public static final int DEFAULT_MUSIC_PRIORITY = 100;
+
   private final Track track;
   private final VolumeControl musicVolume;
+  private Iterator<Sound> sounds;
 
-  MusicPlayback(Track track) throws LineUnavailableException {
-    super(track.getFormat());
+  MusicPlayback(Track track, AudioMixer mixer) {
+    super(mixer);
     this.track = track;
+    this.setPriority(DEFAULT_MUSIC_PRIORITY);
     this.musicVolume = this.createVolumeControl();
     this.musicVolume.set(Game.config().sound().getMusicVolume());
   }
 
   @Override
-  public void run() {
-    try {
-      for (Sound sound : this.track) {
-        if (this.play(sound)) {
-          return;
-        }
-      }
-    } catch (Throwable t) {
-      t.printStackTrace();
-    } finally {
-      this.finish();
+  Sound nextSound() {
+    if (this.sounds == null) {
+      this.sounds = this.track.iterator();
     }
+
+    return this.sounds.hasNext() ? this.sounds.next() : null;
+  }
+
+  @Override
+  boolean isStreamed() {
+    return true;
   }
 
   public Track getTrack() {
@@ -0,0 +1,36 @@
+package de.gurkenlabs.litiengine.sound;
+
+import javax.sound.sampled.AudioFormat;
+
+/**
+ * An {@code AudioSink} that discards all data. It never blocks, which allows an {@link AudioMixer}
+ * to be driven offline, e.g. to measure the mixing throughput or to run without an audio device.
+ */
+public class NullAudioSink implements AudioSink {
+  private volatile int frameSize = 1;
+  private volatile long bytesWritten;
+
+  @Override
+  public void open(AudioFormat format) {
+    this.frameSize = Math.max(1, format.getFrameSize());
+  }
+
+  @Override
+  public void write(byte[] buffer, int offset, int length) {
+    this.bytesWritten += length;
+  }
+
+  @Override
+  public void close() {
+    // nothing to release
+  }
+
+  /**
+   * Gets the number of sample frames that have been written to this sink.
+   *
+   * @return The number of written frames.
+   */
+  public long getFramesWritten() {
+    return this.bytesWritten / this.frameSize;
+  }
+}
@@ -3,47 +3,49 @@ package de.gurkenlabs.litiengine.sound;
 import de.gurkenlabs.litiengine.Game;
 import java.awt.geom.Point2D;
 import java.util.function.Supplier;
-import javax.sound.sampled.FloatControl;
-import javax.sound.sampled.LineUnavailableException;
 
 /** A {@code SoundPlayback} implementation for the playback of sound effects. */
 public class SFXPlayback extends SoundPlayback {
   private final Sound sound;
-  private final FloatControl panControl;
   private final Supplier<Point2D> source;
   private final int range;
   private final float volumeModifier;
   private final VolumeControl volume;
   private final boolean loop;
+  private final boolean streamed;
+  private boolean played;
 
-  SFXPlayback(Sound sound, Supplier<Point2D> source, boolean loop, int range, float volumeModifier)
-      throws LineUnavailableException {
-    super(sound.getFormat());
+  SFXPlayback(
+      Sound sound,
+      Supplier<Point2D> source,
+      boolean loop,
+      int range,
+      float volumeModifier,
+      AudioMixer mixer) {
+    super(mixer);
     this.loop = loop;
     this.sound = sound;
-    this.panControl =
-        this.line.isControlSupported(FloatControl.Type.PAN)
-            ? (FloatControl) this.line.getControl(FloatControl.Type.PAN)
-            : null;
     this.source = source;
     this.range = range;
     this.volumeModifier = volumeModifier;
     this.volume = this.createVolumeControl();
+    // long effects are not decoded when they are loaded, so they are streamed instead of being decoded on the audio thread at once
+    this.streamed = sound != null && !sound.isDecoded();
   }
 
   @Override
-  public void run() {
-    try {
-      do {
-        if (this.play(this.sound)) {
-          return;
-        }
-      } while (this.loop);
-    } catch (LineUnavailableException e) {
-      e.printStackTrace();
-    } finally {
-      this.finish();
+  boolean isStreamed() {
+    return this.streamed;
+  }
+
+  @Override
+  Sound nextSound() {
+    if (this.played && !this.loop) {
+      return null;
     }
+
+    this.played = true;
+    return this.sound;
   }
 
   void updateLocation(Point2D listenerLocation) {
@@ -52,9 +54,7 @@ public class SFXPlayback extends SoundPlayback {
       double dx = location.getX() - listenerLocation.getX();
       double dy = location.getY() - listenerLocation.getY();
       double dist = Math.sqrt(dx * dx + dy * dy);
-      if (this.panControl != null) {
-        this.panControl.setValue(dist > 0 ? (float) (dx / dist) : 0f);
-      }
+      this.setPan(dist > 0 ? (float) (dx / dist) : 0f);
       this.volume.set(
           Game.config().sound().getSoundVolume()
               * this.volumeModifier
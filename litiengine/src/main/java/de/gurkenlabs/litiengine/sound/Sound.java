@@ -1,8 +1,11 @@
 package de.gurkenlabs.litiengine.sound;
 
 import de.gurkenlabs.litiengine.util.io.StreamUtilities;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import javax.sound.sampled.AudioFormat;
 import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
@@ -11,22 +14,37 @@ import javax.sound.sampled.UnsupportedAudioFileException;
 /**
  * This class implements all required functionality to load sounds from the file system and provide a stream that can
  * later on be used for the sound playback.
+ *
+ * <p>
+ * Short sounds (i.e. sound effects) are decoded once when they are loaded, so that playing them doesn't require any
+ * decoding. Longer sounds (e.g. music) only keep their encoded data in memory and are decoded incrementally while they
+ * are played.
  */
 public final class Sound {
+  private static final Logger log = Logger.getLogger(Sound.class.getName());
+
+  /**
+   * The maximum duration in seconds of sounds that are decoded when they are loaded.
+   */
+  static final float MAX_PRELOAD_DURATION = 10f;
+
+  /**
+   * The maximum size of the encoded data of sounds that are decoded when they are loaded, if their duration is not
+   * specified by the format. This roughly corresponds to 10 seconds of compressed audio.
+   */
+  static final int MAX_PRELOAD_SIZE = 256 * 1024;
 
   private AudioFormat format;
 
   private final String name;
 
-  private AudioInputStream stream;
-
-  private byte[] streamData;
+  private volatile byte[] streamData;
 
   private byte[] data;
 
   /**
-   * Creates a new Sound instance by the specified file path. Loads the sound data into a byte array and also retrieves
-   * information about the format of the sound file.
+   * Creates a new Sound instance by the specified file path. Loads the encoded sound data into a byte array and also
+   * retrieves information about the format of the sound file.
    *
    * <p>
    * Note that the constructor is private. In order to load files use the static {@code
@@ -46,15 +64,15 @@ public final class Sound {
 
     this.data = StreamUtilities.getBytes(is);
 
-    AudioInputStream in = AudioSystem.getAudioInputStream(is);
-    if (in != null) {
-      final AudioFormat baseFormat = in.getFormat();
-      final AudioFormat decodedFormat = getOutFormat(baseFormat);
-      // Get AudioInputStream that will be decoded by underlying VorbisSPI
-      in = AudioSystem.getAudioInputStream(decodedFormat, in);
-      this.stream = in;
-      this.streamData = StreamUtilities.getBytes(this.stream);
-      this.format = this.stream.getFormat();
+    final boolean preload;
+    try (AudioInputStream in = this.openStream()) {
+      this.format = in.getFormat();
+      preload = this.isShort(in);
+    }
+
+    // decode short sounds right away, so that they can be played without any delay
+    if (preload) {
+      this.streamData = this.decode();
     }
   }
 
@@ -88,12 +106,66 @@ public final class Sound {
     return this.data;
   }
 
+  /**
+   * Determines whether the PCM data of this sound has already been decoded.
+   *
+   * @return True if the sound can be played without decoding it; otherwise false.
+   */
+  boolean isDecoded() {
+    return this.streamData != null;
+  }
+
+  /**
+   * Gets the fully decoded PCM data of this sound. Sounds that have not been decoded when they were loaded are decoded on
+   * the first call.
+   *
+   * @return The decoded data, which is shared by all playbacks of this sound and must not be modified.
+   */
   byte[] getStreamData() {
-    if (this.streamData == null) {
-      return new byte[0];
+    byte[] decoded = this.streamData;
+    if (decoded == null) {
+      synchronized (this) {
+        decoded = this.streamData;
+        if (decoded == null) {
+          decoded = this.decode();
+          this.streamData = decoded;
+        }
+      }
     }
 
-    return this.streamData.clone();
+    return decoded;
+  }
+
+  /**
+   * Opens a new stream that decodes this sound incrementally into 16 bit signed PCM data.
+   *
+   * @return The decoding stream, which has to be closed by the caller.
+   * @throws IOException                   If the data cannot be read.
+   * @throws UnsupportedAudioFileException If the audio format is not supported.
+   */
+  AudioInputStream openStream() throws IOException, UnsupportedAudioFileException {
+    final AudioInputStream in = AudioSystem.getAudioInputStream(new ByteArrayInputStream(this.data));
+    // Get AudioInputStream that will be decoded by underlying VorbisSPI
+    return AudioSystem.getAudioInputStream(getOutFormat(in.getFormat()), in);
+  }
+
+  private boolean isShort(AudioInputStream in) {
+    final long frames = in.getFrameLength();
+    final float frameRate = in.getFormat().getFrameRate();
+    if (frames != AudioSystem.NOT_SPECIFIED && frameRate > 0) {
+      return frames / frameRate <= MAX_PRELOAD_DURATION;
+    }
+
+    return this.data.length <= MAX_PRELOAD_SIZE;
+  }
+
+  private byte[] decode() {
+    try (AudioInputStream in = this.openStream()) {
+      return StreamUtilities.getBytes(in);
+    } catch (IOException | UnsupportedAudioFileException e) {
+      log.log(Level.SEVERE, "The audio data of {0} could not be decoded: {1}", new Object[] {this.name, e.getMessage()});
+      return new byte[0];
+    }
   }
 
   private static AudioFormat getOutFormat(final AudioFormat inFormat) {
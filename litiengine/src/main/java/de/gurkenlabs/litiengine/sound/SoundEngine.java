@@ -11,9 +11,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
@@ -29,22 +26,15 @@ import javax.sound.sampled.LineUnavailableException;
  * <p>
  * The sound engine supports .wav, .mp3 and .ogg by default. If you need other file extensions, you
  * have to write an own SPI implementation and inject it in your project.
+ *
+ * <p>
+ * All playbacks are mixed into a single audio line by the {@link AudioMixer} of the engine, which is
+ * started when the first sound or music is played.
  */
 public final class SoundEngine implements IUpdateable, ILaunchable {
 
   public static final int DEFAULT_MAX_DISTANCE = 150;
 
-  static final ExecutorService EXECUTOR =
-    Executors.newCachedThreadPool(
-      new ThreadFactory() {
-        private int id = 0;
-
-        @Override
-        public Thread newThread(Runnable r) {
-          return new Thread(r, "Sound Playback Thread " + ++id);
-        }
-      });
-
   private static final Logger log = Logger.getLogger(SoundEngine.class.getName());
   private Point2D listenerLocation;
   private UnaryOperator<Point2D> listenerLocationCallback = old -> Game.world().camera().getFocus();
@@ -52,6 +42,7 @@ public final class SoundEngine implements IUpdateable, ILaunchable {
   private MusicPlayback music;
   private final Collection<MusicPlayback> allMusic = ConcurrentHashMap.newKeySet();
   private final Collection<SFXPlayback> sounds = ConcurrentHashMap.newKeySet();
+  private final AudioMixer mixer = new AudioMixer(new SourceDataLineSink());
 
   /**
    * <b>You should never call this manually! Instead use the {@code Game.audio()} instance.</b>
@@ -74,6 +65,16 @@ public final class SoundEngine implements IUpdateable, ILaunchable {
     return maxDist;
   }
 
+  /**
+   * Gets the mixer that renders all sounds and music of this engine into a single audio line. It
+   * can be used to configure the voice limit.
+   *
+   * @return The audio mixer of this engine.
+   */
+  public AudioMixer getMixer() {
+    return this.mixer;
+  }
+
   /**
    * Sets the currently playing track to a {@code LoopedTrack} with the sound defined by the
    * specified music name. This has no effect if the specified track is already playing.
@@ -149,7 +150,7 @@ public final class SoundEngine implements IUpdateable, ILaunchable {
     }
 
     try {
-      MusicPlayback playback = new MusicPlayback(track);
+      MusicPlayback playback = new MusicPlayback(track, this.startMixer());
       if (config != null) {
         config.accept(playback);
       }
@@ -537,9 +538,8 @@ public final class SoundEngine implements IUpdateable, ILaunchable {
    *
    * <p>
    * Unlike the {@code playSound} methods, the {@code SFXPlayback} objects returned by this method
-   * must be started using the {@link SoundPlayback#start()} method. However, necessary resources
-   * are acquired <em>immediately</em> upon calling this method, and will remain in use until the
-   * playback is either cancelled or finalized.
+   * must be started using the {@link SoundPlayback#start()} method. A voice of the
+   * {@link AudioMixer} is only assigned once the playback is started.
    *
    * @param sound    The sound to play
    * @param supplier A function to get the sound's current source location (the sound is statically
@@ -553,7 +553,7 @@ public final class SoundEngine implements IUpdateable, ILaunchable {
   public SFXPlayback createSound(Sound sound, Supplier<Point2D> supplier, boolean loop, int range,
     float volume) {
     try {
-      return new SFXPlayback(sound, supplier, loop, range, volume);
+      return new SFXPlayback(sound, supplier, loop, range, volume, this.startMixer());
     } catch (LineUnavailableException | IllegalArgumentException e) {
       resourceFailure(e);
       return null;
@@ -586,7 +586,6 @@ public final class SoundEngine implements IUpdateable, ILaunchable {
       music = null;
     }
 
-    EXECUTOR.shutdown();
     synchronized (sounds) {
       for (SFXPlayback playback : sounds) {
         playback.cancel();
@@ -594,6 +593,8 @@ public final class SoundEngine implements IUpdateable, ILaunchable {
 
       sounds.clear();
     }
+
+    mixer.terminate();
   }
 
   @Override
@@ -642,6 +643,11 @@ public final class SoundEngine implements IUpdateable, ILaunchable {
     this.sounds.add(playback);
   }
 
+  private AudioMixer startMixer() throws LineUnavailableException {
+    this.mixer.start();
+    return this.mixer;
+  }
+
   private SFXPlayback playSound(
     Sound sound, Supplier<Point2D> supplier, boolean loop, int range, float volume) {
     if (sound == null) {
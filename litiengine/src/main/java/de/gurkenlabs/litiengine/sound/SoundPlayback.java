@@ -11,26 +11,39 @@ import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import javax.sound.sampled.AudioFormat;
-import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.BooleanControl;
-import javax.sound.sampled.FloatControl;
-import javax.sound.sampled.LineUnavailableException;
-import javax.sound.sampled.SourceDataLine;
 
 /**
- * The {@code SoundPlayback} class is a wrapper {@code SourceDataLine} on which a {@code Sound}
- * playback can be carried out.
+ * The {@code SoundPlayback} class represents a voice of an {@link AudioMixer} on which a sequence of
+ * {@code Sound}s is played back. The mixer pulls the samples of all active playbacks on its audio
+ * thread and applies their gain and pan.
  *
- * @see #play(Sound)
+ * @see #nextSound()
  */
-public abstract class SoundPlayback implements Runnable {
+public abstract class SoundPlayback {
+  /** The default priority of a playback when competing for the voices of the mixer. */
+  public static final int DEFAULT_PRIORITY = 0;
 
-  protected final SourceDataLine line;
-  private final FloatControl gainControl;
-  private final BooleanControl muteControl;
+  private final AudioMixer mixer;
 
   private boolean started = false;
   private volatile boolean cancelled = false;
+  private volatile boolean finished = false;
+  private volatile boolean paused = false;
+  private volatile float gain = 1f;
+  private volatile float pan = 0f;
+  private volatile int priority = DEFAULT_PRIORITY;
+
+  // the following fields are only accessed by the audio thread of the mixer
+  private SoundStream stream;
+  private byte[] data;
+  private int dataFrames;
+  private int frameSize;
+  private boolean stereo;
+  private boolean bigEndian;
+  private float dataSampleRate;
+  private double position;
+  private float leftGain = Float.NaN;
+  private float rightGain;
 
   private final Collection<SoundPlaybackListener> listeners = ConcurrentHashMap.newKeySet();
 
@@ -39,13 +52,8 @@ public abstract class SoundPlayback implements Runnable {
   private final VolumeControl masterVolume;
   private final AtomicInteger miscVolume = new AtomicInteger(0x3f800000); // floatToIntBits(1f)
 
-  SoundPlayback(AudioFormat format) throws LineUnavailableException {
-    // acquire resources in the constructor so that they can be used before the task is started
-    this.line = AudioSystem.getSourceDataLine(format);
-    this.line.open();
-    this.line.start();
-    this.gainControl = (FloatControl) this.line.getControl(FloatControl.Type.MASTER_GAIN);
-    this.muteControl = (BooleanControl) this.line.getControl(BooleanControl.Type.MUTE);
+  SoundPlayback(AudioMixer mixer) {
+    this.mixer = mixer;
     this.masterVolume = this.createVolumeControl();
   }
 
@@ -54,12 +62,14 @@ public abstract class SoundPlayback implements Runnable {
    *
    * @throws IllegalStateException if the audio has already been started
    */
-  public synchronized void start() {
-    if (this.started) {
-      throw new IllegalStateException("already started");
+  public void start() {
+    synchronized (this) {
+      if (this.started) {
+        throw new IllegalStateException("already started");
+      }
+      this.started = true;
     }
     this.play();
-    this.started = true;
   }
 
   /**
@@ -97,18 +107,14 @@ public abstract class SoundPlayback implements Runnable {
    * Pauses this playback. If this playback is already paused, this call has no effect.
    */
   public void pausePlayback() {
-    if (this.line.isOpen()) {
-      this.line.stop();
-    }
+    this.paused = true;
   }
 
   /**
    * Resumes this playback. If this playback is already playing, this call has no effect.
    */
   public void resumePlayback() {
-    if (this.line.isOpen()) {
-      this.line.start();
-    }
+    this.paused = false;
   }
 
   /**
@@ -140,7 +146,7 @@ public abstract class SoundPlayback implements Runnable {
    * @return Whether this playback is paused
    */
   public boolean isPaused() {
-    return !this.line.isActive();
+    return this.paused;
   }
 
   /**
@@ -151,7 +157,7 @@ public abstract class SoundPlayback implements Runnable {
    * @return Whether this playback has sound to play
    */
   public boolean isPlaying() {
-    return this.line.isOpen();
+    return !this.cancelled && !this.finished;
   }
 
   /**
@@ -162,10 +168,10 @@ public abstract class SoundPlayback implements Runnable {
     if (!this.started) {
       throw new IllegalStateException("not started");
     }
-    if (!this.cancelled && this.line.isOpen()) {
-      this.line.stop();
+    if (!this.cancelled && !this.finished) {
       this.cancelled = true;
-      this.line.flush();
+      this.mixer.remove(this);
+      this.closeStream();
       SoundEvent event = new SoundEvent(this, null);
       for (SoundPlaybackListener listener : this.listeners) {
         listener.cancelled(event);
@@ -180,10 +186,7 @@ public abstract class SoundPlayback implements Runnable {
    * @return The current volume.
    */
   public float getMasterVolume() {
-    if (this.muteControl.getValue()) {
-      return 0f;
-    }
-    return (float) Math.pow(10.0, this.gainControl.getValue() / 20.0);
+    return this.gain;
   }
 
   /**
@@ -205,6 +208,37 @@ public abstract class SoundPlayback implements Runnable {
     this.masterVolume.set(volume);
   }
 
+  /**
+   * Gets the pan of this playback.
+   *
+   * @return The pan, ranging from -1 (left) to 1 (right).
+   */
+  public float getPan() {
+    return this.pan;
+  }
+
+  /**
+   * Gets the priority of this playback when competing for the voices of the mixer.
+   *
+   * @return The priority of this playback.
+   * @see AudioMixer
+   */
+  public int getPriority() {
+    return this.priority;
+  }
+
+  /**
+   * Sets the priority of this playback when competing for the voices of the mixer. If all voices are
+   * in use, a playback that is started takes over the voice of the oldest playback with the lowest
+   * priority that does not exceed its own. This should be set before the playback is started.
+   *
+   * @param priority The priority of this playback.
+   * @see AudioMixer
+   */
+  public void setPriority(int priority) {
+    this.priority = priority;
+  }
+
   public VolumeControl createVolumeControl() {
     VolumeControl control = new VolumeControl();
     this.volumeControls.add(control);
@@ -215,47 +249,111 @@ public abstract class SoundPlayback implements Runnable {
     return this.volumeControls;
   }
 
+  void setPan(float pan) {
+    this.pan = Math.clamp(pan, -1f, 1f);
+  }
+
   void play() {
-    SoundEngine.EXECUTOR.submit(this);
+    if (!this.mixer.add(this)) {
+      // all voices are used by playbacks with a higher priority
+      this.cancel();
+    }
+  }
+
+  /**
+   * Gets the next sound of this playback. This is called on the audio thread of the mixer whenever
+   * the previous sound has been played completely.
+   *
+   * @return The next sound to play, or null if the playback is finished.
+   */
+  abstract Sound nextSound();
+
+  /**
+   * Determines whether the sounds of this playback are decoded incrementally on the audio thread
+   * instead of playing back their fully decoded data. Streaming only keeps a small buffer of decoded
+   * frames in memory, which is preferable for long sounds like music.
+   *
+   * @return True if the sounds of this playback are streamed; otherwise false.
+   */
+  boolean isStreamed() {
+    return false;
   }
 
   /**
-   * Plays a sound to this object's data line.
+   * Adds the next sample frames of this playback to the specified stereo buffer. The sounds are
+   * resampled to the output rate by linear interpolation and the gain of the playback is ramped
+   * over the block to avoid clicks when the volume or pan changes.
    *
-   * @param sound The sound to play
-   * @return Whether the sound was cancelled while playing
+   * @param buffer     The interleaved stereo buffer to which the samples are added.
+   * @param frames     The number of frames to render.
+   * @param sampleRate The sample rate of the mixer output.
+   * @return False if this playback has ended; otherwise true.
    */
-  boolean play(Sound sound) throws LineUnavailableException {
-    this.line.open();
-    this.line.start();
-    byte[] data = sound.getStreamData();
-    int len = this.line.getFormat().getFrameSize();
-    // math hacks here: we're getting just over half the buffer size, but it needs to be an integral
-    // number of sample frames
-    len = (this.line.getBufferSize() / len / 2 + 1) * len;
-    for (int i = 0; i < data.length;
-      i += this.line.write(data, i, Math.min(len, data.length - i))) {
-      if (this.cancelled || !line.isOpen()) {
-        return true;
+  boolean render(float[] buffer, int frames, float sampleRate) {
+    if (this.cancelled || (this.frameSize == 0 && !this.nextData())) {
+      return false;
+    }
+
+    if (this.paused) {
+      return true;
+    }
+
+    final float volume = this.gain;
+    final float currentPan = this.pan;
+    final float targetLeft = currentPan > 0 ? volume * (1 - currentPan) : volume;
+    final float targetRight = currentPan < 0 ? volume * (1 + currentPan) : volume;
+    if (Float.isNaN(this.leftGain)) {
+      this.leftGain = targetLeft;
+      this.rightGain = targetRight;
+    }
+
+    final float leftStep = (targetLeft - this.leftGain) / frames;
+    final float rightStep = (targetRight - this.rightGain) / frames;
+    final double step = this.dataSampleRate / sampleRate;
+    for (int i = 0; i < frames; i++) {
+      long frame = (long) this.position;
+      if (!this.isAvailable(frame)) {
+        if (!this.nextData() || !this.isAvailable((long) this.position)) {
+          return false;
+        }
+
+        frame = (long) this.position;
       }
+
+      final float fraction = (float) (this.position - frame);
+      final long next = this.isAvailable(frame + 1) ? frame + 1 : frame;
+      final float left = this.getSample(frame, 0);
+      final float right = this.stereo ? this.getSample(frame, 1) : left;
+      final float nextLeft = this.getSample(next, 0);
+      final float nextRight = this.stereo ? this.getSample(next, 1) : nextLeft;
+
+      this.leftGain += leftStep;
+      this.rightGain += rightStep;
+      buffer[i * 2] += (left + (nextLeft - left) * fraction) * this.leftGain;
+      buffer[i * 2 + 1] += (right + (nextRight - right) * fraction) * this.rightGain;
+      this.position += step;
     }
-    return this.cancelled;
+
+    this.leftGain = targetLeft;
+    this.rightGain = targetRight;
+    return true;
   }
 
   /**
    * Finishes the playback. If this playback was not cancelled in the process, it will notify
    * listeners.
    */
-  void finish() {
-    this.line.drain();
-    synchronized (this) {
-      cancel();
-      if (!this.cancelled) {
-        SoundEvent event = new SoundEvent(this, null);
-        for (SoundPlaybackListener listener : this.listeners) {
-          listener.finished(event);
-        }
-      }
+  synchronized void finish() {
+    if (this.cancelled || this.finished) {
+      return;
+    }
+
+    this.finished = true;
+    this.mixer.remove(this);
+    this.closeStream();
+    SoundEvent event = new SoundEvent(this, null);
+    for (SoundPlaybackListener listener : this.listeners) {
+      listener.finished(event);
     }
   }
 
@@ -265,16 +363,75 @@ public abstract class SoundPlayback implements Runnable {
       for (VolumeControl control : this.volumeControls) {
         volume *= control.get();
       }
-      float dbGain = (float) (20.0 * Math.log10(volume));
-      if (dbGain < this.gainControl.getMinimum()) {
-        this.muteControl.setValue(true);
-      } else {
-        this.gainControl.setValue(dbGain);
-        this.muteControl.setValue(false);
+      this.gain = volume;
+    }
+  }
+
+  /**
+   * Switches to the data of the next sound, keeping the fractional position so that consecutive
+   * sounds are played back seamlessly. Streamed playbacks only switch if the format changes,
+   * because sounds with matching formats are decoded back to back into the same buffer.
+   */
+  private boolean nextData() {
+    if (this.isStreamed()) {
+      if (this.stream == null) {
+        this.stream = new SoundStream(this::nextSound, SoundStream.DEFAULT_CAPACITY);
+      }
+
+      final long end = this.stream.getDecodedFrames();
+      if (!this.stream.nextSegment()) {
+        return false;
       }
+
+      this.position = Math.max(0, this.position - end);
+      this.setFormat(this.stream.getFormat());
+      return true;
+    }
+
+    final Sound sound = this.nextSound();
+    // sounds without data (e.g. if they could not be decoded) end the playback
+    if (sound == null || sound.getFormat() == null || sound.getStreamData().length == 0) {
+      return false;
+    }
+
+    this.position = Math.max(0, this.position - this.dataFrames);
+    this.data = sound.getStreamData();
+    this.setFormat(sound.getFormat());
+    this.dataFrames = this.data.length / this.frameSize;
+    return this.dataFrames > 0;
+  }
+
+  private void setFormat(AudioFormat format) {
+    this.frameSize = format.getFrameSize();
+    this.stereo = format.getChannels() > 1;
+    this.bigEndian = format.isBigEndian();
+    this.dataSampleRate = format.getSampleRate();
+  }
+
+  private boolean isAvailable(long frame) {
+    return this.stream != null ? this.stream.fill(frame) : frame < this.dataFrames;
+  }
+
+  private void closeStream() {
+    if (this.stream != null) {
+      this.stream.close();
     }
   }
 
+  /**
+   * Gets the 16 bit sample at the specified frame and channel as float.
+   */
+  private float getSample(long frame, int channel) {
+    if (this.stream != null) {
+      return this.stream.getSample(frame, channel);
+    }
+
+    final int index = (int) frame * this.frameSize + channel * 2;
+    final int low = this.bigEndian ? this.data[index + 1] : this.data[index];
+    final int high = this.bigEndian ? this.data[index] : this.data[index + 1];
+    return (short) ((high << 8) | (low & 0xff)) / 32768f;
+  }
+
 
   /**
    * An object for controlling the volume of a {@code SoundPlayback}. Each distinct instance
@@ -0,0 +1,224 @@
+package de.gurkenlabs.litiengine.sound;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * Decodes a sequence of sounds incrementally into a small ring buffer of PCM frames. This is used
+ * by streamed playbacks, e.g. music, so that the decoded data of a sound never has to be held in
+ * memory entirely.
+ *
+ * <p>
+ * Frames are addressed by their position in the current segment. Consecutive sounds with matching
+ * formats are decoded into the same segment, so that loops and transitions from an intro to the
+ * looped sound are played back without any gap. A sound with a different format starts a new
+ * segment once all frames of the current one have been consumed.
+ *
+ * <p>
+ * The stream is not thread-safe and is only accessed by the audio thread of the mixer.
+ */
+final class SoundStream implements AutoCloseable {
+  /** The default number of frames that the ring buffer can hold. */
+  static final int DEFAULT_CAPACITY = 4096;
+
+  private static final Logger log = Logger.getLogger(SoundStream.class.getName());
+
+  // limits the amount of data decoded at once to spread the work over several blocks
+  private static final int MAX_READ_FRAMES = 1024;
+
+  private final Supplier<Sound> sounds;
+  private final int capacity;
+  private final int mask;
+
+  private byte[] buffer = new byte[0];
+  private AudioFormat format;
+  private int frameSize;
+  private AudioInputStream input;
+  private Sound pending;
+  private long written;
+
+  /**
+   * Initializes a new instance of the {@code SoundStream} class.
+   *
+   * @param sounds   Supplies the sounds to decode and returns null once there are no more sounds.
+   * @param capacity The number of frames that the ring buffer can hold, which is rounded up to the
+   *     next power of two.
+   */
+  SoundStream(Supplier<Sound> sounds, int capacity) {
+    if (capacity < 2) {
+      throw new IllegalArgumentException("The capacity must be at least 2 frames.");
+    }
+
+    this.sounds = sounds;
+    this.capacity = Integer.highestOneBit(capacity - 1) << 1;
+    this.mask = this.capacity - 1;
+  }
+
+  /**
+   * Gets the format of the current segment.
+   *
+   * @return The format of the decoded frames or null if no segment has been started.
+   */
+  AudioFormat getFormat() {
+    return this.format;
+  }
+
+  /**
+   * Gets the number of frames that the ring buffer can hold.
+   *
+   * @return The capacity of this stream in frames.
+   */
+  int getCapacity() {
+    return this.capacity;
+  }
+
+  /**
+   * Gets the number of frames of the current segment that have been decoded so far. Once
+   * {@link #fill(long)} fails, this is the length of the segment.
+   *
+   * @return The number of decoded frames.
+   */
+  long getDecodedFrames() {
+    return this.written;
+  }
+
+  /**
+   * Starts decoding the next segment. All frames of the previous segment are discarded.
+   *
+   * @return False if there are no more sounds to decode or the next sound cannot be decoded;
+   *     otherwise true.
+   */
+  boolean nextSegment() {
+    this.closeInput();
+    final Sound sound = this.pending != null ? this.pending : this.next();
+    this.pending = null;
+    if (sound == null || !this.open(sound)) {
+      return false;
+    }
+
+    this.format = this.input.getFormat();
+    this.frameSize = this.format.getFrameSize();
+    if (this.buffer.length < this.capacity * this.frameSize) {
+      this.buffer = new byte[this.capacity * this.frameSize];
+    }
+
+    this.written = 0;
+    return true;
+  }
+
+  /**
+   * Decodes the current segment until the specified frame is available. Frames before the
+   * preceding frame may be overwritten in the process and cannot be accessed anymore.
+   *
+   * @param frame The frame to make available.
+   * @return False if the frame is beyond the end of the current segment; otherwise true.
+   */
+  boolean fill(long frame) {
+    while (this.written <= frame) {
+      if (!this.decode(frame - 1)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Gets the 16 bit sample at the specified frame and channel as float. The frame must have been
+   * made available by {@link #fill(long)}.
+   */
+  float getSample(long frame, int channel) {
+    final int index = (int) (frame & this.mask) * this.frameSize + channel * 2;
+    final int low = this.format.isBigEndian() ? this.buffer[index + 1] : this.buffer[index];
+    final int high = this.format.isBigEndian() ? this.buffer[index] : this.buffer[index + 1];
+    return (short) ((high << 8) | (low & 0xff)) / 32768f;
+  }
+
+  @Override
+  public void close() {
+    this.closeInput();
+    this.pending = null;
+  }
+
+  private boolean decode(long oldest) {
+    boolean opened = false;
+    while (this.input != null) {
+      final int start = (int) (this.written & this.mask);
+      final int free = this.capacity - (int) Math.max(0, this.written - Math.max(0, oldest));
+      final int frames = Math.min(MAX_READ_FRAMES, Math.min(free, this.capacity - start));
+      try {
+        final int offset = start * this.frameSize;
+        int read = this.input.read(this.buffer, offset, frames * this.frameSize);
+        while (read > 0 && read % this.frameSize != 0) {
+          // complete a partially read frame
+          final int remaining = this.input.read(this.buffer, offset + read, this.frameSize - read % this.frameSize);
+          if (remaining <= 0) {
+            read -= read % this.frameSize;
+          } else {
+            read += remaining;
+          }
+        }
+
+        if (read > 0) {
+          this.written += read / this.frameSize;
+          return true;
+        }
+      } catch (IOException e) {
+        log.log(Level.SEVERE, "audio decoding failed", e);
+      }
+
+      // the current sound has ended, so continue seamlessly with the next one if its format matches
+      this.closeInput();
+      if (opened) {
+        // the next sound didn't contain any frames, which would otherwise loop forever
+        return false;
+      }
+
+      final Sound sound = this.next();
+      if (sound != null && sound.getFormat() != null && sound.getFormat().matches(this.format)) {
+        opened = this.open(sound);
+      } else {
+        this.pending = sound;
+      }
+    }
+
+    return false;
+  }
+
+  private Sound next() {
+    return this.sounds.get();
+  }
+
+  private boolean open(Sound sound) {
+    if (sound.getFormat() == null) {
+      return false;
+    }
+
+    try {
+      this.input = sound.openStream();
+      return true;
+    } catch (IOException | UnsupportedAudioFileException e) {
+      log.log(Level.SEVERE, "The audio stream of {0} could not be opened: {1}", new Object[] {sound, e.getMessage()});
+      return false;
+    }
+  }
+
+  private void closeInput() {
+    if (this.input == null) {
+      return;
+    }
+
+    try {
+      this.input.close();
+    } catch (IOException e) {
+      log.log(Level.WARNING, e.getMessage(), e);
+    }
+
+    this.input = null;
+  }
+}
@@ -0,0 +1,71 @@
+package de.gurkenlabs.litiengine.sound;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+/**
+ * An {@code AudioSink} that outputs the mixed audio to a single {@code SourceDataLine} of the
+ * default audio device.
+ */
+public class SourceDataLineSink implements AudioSink {
+  /** The default size of the line buffer in milliseconds. */
+  public static final int DEFAULT_BUFFER_DURATION = 50;
+
+  private final int bufferDuration;
+  private SourceDataLine line;
+
+  /**
+   * Initializes a new instance of the {@code SourceDataLineSink} class with a line buffer of
+   * {@link #DEFAULT_BUFFER_DURATION} milliseconds.
+   */
+  public SourceDataLineSink() {
+    this(DEFAULT_BUFFER_DURATION);
+  }
+
+  /**
+   * Initializes a new instance of the {@code SourceDataLineSink} class.
+   *
+   * @param bufferDuration The size of the line buffer in milliseconds. Smaller buffers reduce the
+   *                       latency but are more prone to dropouts.
+   */
+  public SourceDataLineSink(int bufferDuration) {
+    if (bufferDuration <= 0) {
+      throw new IllegalArgumentException("The buffer duration must be positive.");
+    }
+
+    this.bufferDuration = bufferDuration;
+  }
+
+  @Override
+  public synchronized void open(AudioFormat format) throws LineUnavailableException {
+    if (this.line != null) {
+      return;
+    }
+
+    final SourceDataLine newLine = AudioSystem.getSourceDataLine(format);
+    final int frames = Math.max(1, (int) (format.getFrameRate() * this.bufferDuration / 1000));
+    newLine.open(format, frames * format.getFrameSize());
+    newLine.start();
+    this.line = newLine;
+  }
+
+  @Override
+  public void write(byte[] buffer, int offset, int length) {
+    final SourceDataLine currentLine = this.line;
+    if (currentLine != null) {
+      currentLine.write(buffer, offset, length);
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    if (this.line != null) {
+      this.line.stop();
+      this.line.flush();
+      this.line.close();
+      this.line = null;
+    }
+  }
+}
@@ -3,6 +3,7 @@ package de.gurkenlabs.litiengine.tweening;
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.ILaunchable;
 import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.UpdatePhase;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -153,6 +154,11 @@ public class TweenEngine implements IUpdateable, ILaunchable {
     Game.loop().detach(this);
   }
 
+  @Override
+  public UpdatePhase getUpdatePhase() {
+    return UpdatePhase.ANIMATION;
+  }
+
   /**
    * Updates all registered Tweens by applying the {@code TweenEquation}.
    */
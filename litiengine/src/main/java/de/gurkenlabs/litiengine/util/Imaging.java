@@ -391,6 +391,11 @@ public final class Imaging {
       return null;
     }
 
+    if (GraphicsEnvironment.isHeadless()) {
+      // there is no screen device to be compatible with, e.g. when rendering offscreen on a build server
+      return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+
     if (graphicsConfig == null) {
       final GraphicsEnvironment env = GraphicsEnvironment.getLocalGraphicsEnvironment();
       final GraphicsDevice device = env.getDefaultScreenDevice();
@@ -0,0 +1,196 @@
+package de.gurkenlabs.litiengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ActionSchedulerTests {
+
+  @Test
+  void testActionsAreExecutedWhenDue() {
+    // arrange
+    ActionScheduler scheduler = new ActionScheduler();
+    List<String> executed = new ArrayList<>();
+    scheduler.schedule(5, () -> executed.add("b"));
+    scheduler.schedule(2, () -> executed.add("a"));
+    scheduler.schedule(5, () -> executed.add("c"));
+
+    // act
+    scheduler.execute(1);
+    List<String> beforeDue = new ArrayList<>(executed);
+    scheduler.execute(2);
+    scheduler.execute(10);
+
+    // assert
+    assertTrue(beforeDue.isEmpty());
+    assertEquals(List.of("a", "b", "c"), executed);
+    assertEquals(0, scheduler.size());
+  }
+
+  @Test
+  void testCancelAndReschedule() {
+    // arrange
+    ActionScheduler scheduler = new ActionScheduler();
+    List<String> executed = new ArrayList<>();
+    int cancelled = scheduler.schedule(1, () -> executed.add("cancelled"));
+    int delayed = scheduler.schedule(1, () -> executed.add("delayed"));
+    scheduler.schedule(2, () -> executed.add("regular"));
+
+    // act
+    assertTrue(scheduler.cancel(cancelled));
+    assertTrue(scheduler.reschedule(delayed, 3));
+    scheduler.execute(2);
+
+    // assert
+    assertEquals(List.of("regular"), executed);
+    assertEquals(3, scheduler.getExecutionTick(delayed));
+    assertFalse(scheduler.cancel(cancelled));
+
+    scheduler.execute(3);
+    assertEquals(List.of("regular", "delayed"), executed);
+    assertFalse(scheduler.isScheduled(delayed));
+    assertFalse(scheduler.reschedule(delayed, 10));
+  }
+
+  @Test
+  void testRepeatingActions() {
+    // arrange
+    ActionScheduler scheduler = new ActionScheduler();
+    List<Long> executions = new ArrayList<>();
+    long[] tick = new long[1];
+    int id = scheduler.schedule(2, 3, () -> executions.add(tick[0]));
+
+    // act
+    for (tick[0] = 0; tick[0] <= 10; tick[0]++) {
+      scheduler.execute(tick[0]);
+    }
+
+    scheduler.cancel(id);
+    scheduler.execute(11);
+
+    // assert
+    assertEquals(List.of(2L, 5L, 8L), executions);
+    assertEquals(0, scheduler.size());
+  }
+
+  @Test
+  void testActionsScheduledByActionsRunWithNextExecution() {
+    // arrange
+    ActionScheduler scheduler = new ActionScheduler();
+    List<String> executed = new ArrayList<>();
+    int[] victim = new int[1];
+    scheduler.schedule(1, () -> {
+      executed.add("first");
+      scheduler.cancel(victim[0]);
+      scheduler.schedule(1, () -> executed.add("scheduled"));
+    });
+    victim[0] = scheduler.schedule(1, () -> executed.add("victim"));
+
+    // act
+    scheduler.execute(1);
+    List<String> afterFirst = new ArrayList<>(executed);
+    scheduler.execute(2);
+
+    // assert
+    assertEquals(List.of("first"), afterFirst);
+    assertEquals(List.of("first", "scheduled"), executed);
+  }
+
+  @Test
+  void testRemainingActionsAreExecutedAfterRethrownException() {
+    // arrange
+    ActionScheduler scheduler = new ActionScheduler();
+    List<String> executed = new ArrayList<>();
+    scheduler.schedule(1, () -> executed.add("a"));
+    scheduler.schedule(1, () -> {
+      throw new IllegalStateException("test");
+    });
+    int remaining = scheduler.schedule(1, () -> executed.add("c"));
+    scheduler.schedule(2, () -> executed.add("d"));
+
+    boolean exitOnError = Game.config().client().exitOnError();
+    Game.config().client().setExitOnError(true);
+    try {
+      // act
+      assertThrows(IllegalStateException.class, () -> scheduler.execute(1));
+      List<String> beforeRetry = new ArrayList<>(executed);
+      scheduler.execute(2);
+
+      // assert
+      assertEquals(List.of("a"), beforeRetry);
+      assertEquals(List.of("a", "c", "d"), executed);
+      assertFalse(scheduler.isScheduled(remaining));
+      assertEquals(0, scheduler.size());
+    } finally {
+      Game.config().client().setExitOnError(exitOnError);
+    }
+  }
+
+  @Test
+  void testRandomOperationsKeepTickOrder() {
+    // arrange
+    ActionScheduler scheduler = new ActionScheduler();
+    Random random = new Random(42);
+    List<Long> executed = new ArrayList<>();
+    List<Integer> ids = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      long tick = random.nextInt(500);
+      ids.add(scheduler.schedule(tick, () -> executed.add(tick)));
+    }
+
+    for (int i = 0; i < 500; i++) {
+      scheduler.cancel(ids.get(random.nextInt(ids.size())));
+    }
+
+    for (int i = 0; i < 500; i++) {
+      int id = ids.get(random.nextInt(ids.size()));
+      long tick = random.nextInt(500);
+      if (scheduler.cancel(id)) {
+        ids.add(scheduler.schedule(tick, () -> executed.add(tick)));
+      }
+    }
+
+    int remaining = scheduler.size();
+
+    // act
+    scheduler.execute(Long.MAX_VALUE);
+
+    // assert
+    assertEquals(remaining, executed.size());
+    for (int i = 1; i < executed.size(); i++) {
+      assertTrue(executed.get(i - 1) <= executed.get(i));
+    }
+  }
+
+  @Test
+  void testConcurrentScheduling() throws InterruptedException {
+    // arrange
+    ActionScheduler scheduler = new ActionScheduler();
+    AtomicInteger executed = new AtomicInteger();
+    CountDownLatch done = new CountDownLatch(4);
+    for (int t = 0; t < 4; t++) {
+      new Thread(() -> {
+        for (int i = 0; i < 1000; i++) {
+          scheduler.schedule(i % 10, executed::incrementAndGet);
+        }
+
+        done.countDown();
+      }).start();
+    }
+
+    // act
+    done.await();
+    scheduler.execute(10);
+
+    // assert
+    assertEquals(4000, executed.get());
+  }
+}
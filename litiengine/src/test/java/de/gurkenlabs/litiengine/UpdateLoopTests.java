@@ -0,0 +1,281 @@
+package de.gurkenlabs.litiengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class UpdateLoopTests {
+
+  @Test
+  void testStepUsesFixedDeltaTime() {
+    // arrange
+    UpdateLoop loop = new UpdateLoop("test", 50);
+    List<Long> deltas = new CopyOnWriteArrayList<>();
+    loop.attach(() -> deltas.add(loop.getDeltaTime()));
+
+    // act
+    loop.step(10);
+
+    // assert
+    assertEquals(10, loop.getTicks());
+    assertEquals(10, deltas.size());
+    assertTrue(deltas.stream().allMatch(delta -> delta == 20));
+  }
+
+  @Test
+  void testStepUsesPreciseDeltaTimeAtUnevenTickRate() {
+    // arrange
+    UpdateLoop loop = new UpdateLoop("test", 60);
+    double[] simulated = new double[1];
+    loop.attach(() -> simulated[0] += loop.getPreciseDeltaTime());
+
+    // act
+    loop.step(600);
+
+    // assert
+    assertEquals(17, loop.getDeltaTime());
+    assertEquals(1000 / 60.0, loop.getPreciseDeltaTime(), 1e-5);
+    assertEquals(10000, simulated[0], 1e-2);
+  }
+
+  @Test
+  void testSeededSimulationsWithRealTicksAreIdentical() throws InterruptedException {
+    // arrange
+    double[] first = new double[2];
+    double[] second = new double[2];
+    UpdateLoop firstLoop = createSimulation(4711, 30, first);
+    UpdateLoop secondLoop = createSimulation(4711, 30, second);
+
+    // act
+    firstLoop.start();
+    secondLoop.start();
+    long timeout = System.currentTimeMillis() + 5000;
+    while ((firstLoop.getTicks() < 30 || secondLoop.getTicks() < 30) && System.currentTimeMillis() < timeout) {
+      Thread.sleep(5);
+    }
+
+    firstLoop.terminate();
+    secondLoop.terminate();
+    firstLoop.join(1000);
+    secondLoop.join(1000);
+
+    // assert
+    assertTrue(firstLoop.getTicks() >= 30 && secondLoop.getTicks() >= 30);
+    assertEquals(500, first[0], 1e-3);
+    assertEquals(500, second[0], 1e-3);
+    assertEquals(Double.doubleToLongBits(first[1]), Double.doubleToLongBits(second[1]));
+  }
+
+  @Test
+  void testFixedTimestepLoopSeesConstantDeltaTime() throws InterruptedException {
+    // arrange
+    UpdateLoop loop = new UpdateLoop("test", 200);
+    loop.setFixedTimestep(true);
+    List<Long> deltas = new CopyOnWriteArrayList<>();
+    loop.attach(() -> deltas.add(loop.getDeltaTime()));
+
+    // act
+    loop.start();
+    long timeout = System.currentTimeMillis() + 5000;
+    while (deltas.size() < 20 && System.currentTimeMillis() < timeout) {
+      Thread.sleep(5);
+    }
+
+    loop.terminate();
+    loop.join(1000);
+
+    // assert
+    assertTrue(deltas.size() >= 20);
+    assertTrue(deltas.stream().allMatch(delta -> delta == 5));
+    assertTrue(loop.getInterpolationAlpha() >= 0 && loop.getInterpolationAlpha() < 1);
+  }
+
+  @Test
+  void testInvalidCatchUpTicks() {
+    UpdateLoop loop = new UpdateLoop("test", 60);
+
+    assertThrows(IllegalArgumentException.class, () -> loop.setMaxCatchUpTicks(0));
+  }
+
+  @Test
+  void testUpdatablesAreUpdatedByPhaseInAttachOrder() {
+    // arrange
+    UpdateLoop loop = new UpdateLoop("test", 60);
+    List<String> updated = new ArrayList<>();
+    loop.attach(createUpdatable(UpdatePhase.LATE, false, () -> updated.add("camera")));
+    loop.attach(createUpdatable(UpdatePhase.MOVEMENT, false, () -> updated.add("movement 1")));
+    loop.attach(() -> updated.add("logic"));
+    loop.attach(createUpdatable(UpdatePhase.AI, false, () -> updated.add("ai")));
+    loop.attach(createUpdatable(UpdatePhase.MOVEMENT, false, () -> updated.add("movement 2")));
+    loop.attach(createUpdatable(UpdatePhase.INPUT, false, () -> updated.add("input")));
+
+    // act
+    loop.step(1);
+
+    // assert
+    assertEquals(List.of("input", "ai", "logic", "movement 1", "movement 2", "camera"), updated);
+    assertEquals(6, loop.getUpdatableCount());
+  }
+
+  @Test
+  void testDetachedUpdatablesAreNotUpdated() {
+    // arrange
+    UpdateLoop loop = new UpdateLoop("test", 60);
+    AtomicInteger updates = new AtomicInteger();
+    IUpdateable updatable = createUpdatable(UpdatePhase.PHYSICS, false, updates::incrementAndGet);
+    loop.attach(updatable);
+    loop.attach(updatable);
+
+    // act
+    loop.step(2);
+    loop.detach(updatable);
+    loop.step(2);
+
+    // assert
+    assertEquals(2, updates.get());
+    assertEquals(0, loop.getUpdatableCount());
+  }
+
+  @Test
+  void testUpdatablesDetachedDuringTickAreNotUpdated() {
+    // arrange
+    UpdateLoop loop = new UpdateLoop("test", 60);
+    AtomicInteger updates = new AtomicInteger();
+    IUpdateable detached = createUpdatable(UpdatePhase.PHYSICS, false, updates::incrementAndGet);
+    loop.attach(createUpdatable(UpdatePhase.AI, false, () -> loop.detach(detached)));
+    loop.attach(detached);
+
+    // act
+    loop.step(1);
+
+    // assert
+    assertEquals(0, updates.get());
+    assertEquals(1, loop.getUpdatableCount());
+  }
+
+  @Test
+  void testTerminatedLoopUpdatesParallelSafeUpdatablesSequentially() {
+    // arrange
+    UpdateLoop loop = new UpdateLoop("test", 60);
+    loop.setParallelUpdates(true);
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    for (int i = 0; i < 100; i++) {
+      loop.attach(createUpdatable(UpdatePhase.ANIMATION, true, () -> threads.add(Thread.currentThread())));
+    }
+
+    loop.step(1);
+    assertFalse(threads.contains(Thread.currentThread()));
+
+    // act
+    loop.terminate();
+    threads.clear();
+    loop.step(1);
+
+    // assert
+    assertEquals(Set.of(Thread.currentThread()), threads);
+  }
+
+  @Test
+  void testParallelSafeUpdatablesAreUpdatedByWorkers() {
+    // arrange
+    UpdateLoop loop = new UpdateLoop("test", 60);
+    loop.setParallelUpdates(true);
+    Set<Thread> workers = ConcurrentHashMap.newKeySet();
+    AtomicInteger parallelUpdates = new AtomicInteger();
+    List<String> phases = new CopyOnWriteArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      loop.attach(createUpdatable(UpdatePhase.ANIMATION, true, () -> {
+        workers.add(Thread.currentThread());
+        parallelUpdates.incrementAndGet();
+      }));
+    }
+
+    List<Thread> sequentialThreads = new CopyOnWriteArrayList<>();
+    loop.attach(createUpdatable(UpdatePhase.MOVEMENT, false, () -> phases.add("movement")));
+    loop.attach(createUpdatable(UpdatePhase.ANIMATION, false, () -> {
+      sequentialThreads.add(Thread.currentThread());
+      phases.add("animation " + parallelUpdates.get());
+    }));
+    loop.attach(createUpdatable(UpdatePhase.LATE, false, () -> phases.add("late " + parallelUpdates.get())));
+
+    // act
+    loop.step(3);
+
+    // assert
+    assertEquals(600, parallelUpdates.get());
+    assertFalse(workers.contains(Thread.currentThread()));
+    assertTrue(sequentialThreads.stream().allMatch(thread -> thread == Thread.currentThread()));
+    assertEquals(List.of("movement", "animation 200", "late 200", "movement", "animation 400", "late 400", "movement", "animation 600", "late 600"), phases);
+    assertTrue(loop.getPhaseTime(UpdatePhase.ANIMATION) > 0);
+    assertEquals(0, loop.getPhaseTime(UpdatePhase.PHYSICS));
+  }
+
+  @Test
+  void testParallelSafeUpdatablesAreUpdatedSequentiallyByDefault() {
+    // arrange
+    UpdateLoop loop = new UpdateLoop("test", 60);
+    List<Integer> updated = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      int index = i;
+      loop.attach(createUpdatable(UpdatePhase.LOGIC, true, () -> updated.add(index)));
+    }
+
+    // act
+    loop.step(1);
+
+    // assert
+    assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), updated);
+  }
+
+  private static IUpdateable createUpdatable(UpdatePhase phase, boolean parallelSafe, Runnable update) {
+    return new IUpdateable() {
+      @Override
+      public void update() {
+        update.run();
+      }
+
+      @Override
+      public UpdatePhase getUpdatePhase() {
+        return phase;
+      }
+
+      @Override
+      public boolean isParallelSafe() {
+        return parallelSafe;
+      }
+    };
+  }
+
+  /**
+   * Creates a loop with a fixed timestep at 60 ticks per second that simulates a random walk for the specified number of
+   * ticks. The simulated time is stored in the first element of the result and the position in the second.
+   */
+  private static UpdateLoop createSimulation(long seed, int ticks, double[] result) {
+    UpdateLoop loop = new UpdateLoop("simulation", 60);
+    loop.setFixedTimestep(true);
+    GameRandom random = new GameRandom();
+    random.setSeed(seed);
+    double[] velocity = new double[1];
+    loop.attach(() -> {
+      if (loop.getTicks() > ticks) {
+        return;
+      }
+
+      velocity[0] += random.nextGaussian() * 0.1;
+      result[0] += loop.getPreciseDeltaTime();
+      result[1] += velocity[0] * loop.getPreciseDeltaTime();
+    });
+
+    return loop;
+  }
+
+}
@@ -198,6 +198,34 @@ class LightSourceTests {
     }
   }
 
+  @Test
+  void updateAmbientLayers_includesPreviousRegion() {
+    // arrange
+    LightSource lightSource = spy(new LightSource(10, Color.WHITE, LightSource.Type.ELLIPSE, true));
+    lightSource.setSize(10, 10);
+    when(lightSource.isLoaded()).thenReturn(true);
+
+    GameWorld actualWorld = spy(Game.world());
+    try (var gameMockedStatic = mockStatic(Game.class)) {
+      gameMockedStatic
+        .when(Game::world)
+        .thenReturn(actualWorld); // otherwise it is null because of the mock
+      Environment environmentMock = mock(Environment.class);
+      when(actualWorld.environment()).thenReturn(environmentMock);
+
+      AmbientLight ambientLightMock = mock(AmbientLight.class);
+      when(environmentMock.getAmbientLight()).thenReturn(ambientLightMock);
+
+      // act
+      lightSource.setLocation(new Point2D.Double(0, 0));
+      lightSource.setLocation(new Point2D.Double(20, 5));
+
+      // assert
+      verify(ambientLightMock, times(1)).updateSection(new Rectangle2D.Double(0, 0, 10, 10));
+      verify(ambientLightMock, times(1)).updateSection(new Rectangle2D.Double(0, 0, 30, 15));
+    }
+  }
+
   @Test
   void updateAmbientLayers_doesNothingWhenNotLoaded() {
     // arrange
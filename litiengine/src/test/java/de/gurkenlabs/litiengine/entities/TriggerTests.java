@@ -1,5 +1,6 @@
 package de.gurkenlabs.litiengine.entities;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -140,7 +141,7 @@ class TriggerTests {
     // collisionentity that is colliding with the trigger
     mockCollisionEntity(111, 8, 8);
 
-    trigger.update();
+    Game.physics().update();
 
     assertTrue(trigger.isActivated());
   }
@@ -158,7 +159,7 @@ class TriggerTests {
     // collisionentity that is colliding with the trigger
     mockCollisionEntity(111, 16, 16);
 
-    trigger.update();
+    Game.physics().update();
 
     assertFalse(trigger.isActivated());
   }
@@ -195,6 +196,93 @@ class TriggerTests {
     trigger.update();
   }
 
+  @Test
+  void testCollisionTriggerEnterAndExit() {
+    // arrange
+    Trigger trigger = createCollisionTrigger();
+    List<IEntity> activated = new ArrayList<>();
+    List<IEntity> deactivated = new ArrayList<>();
+    trigger.addActivatedListener(e -> activated.add(e.getEntity()));
+    trigger.addDeactivatedListener(e -> deactivated.add(e.getEntity()));
+    CollisionBox entity = createCollisionEntity(111, 50, 50);
+
+    // act
+    entity.setLocation(4, 4);
+    Game.physics().update();
+    entity.setLocation(6, 6);
+    Game.physics().update();
+    entity.setLocation(50, 50);
+    Game.physics().update();
+
+    // assert
+    assertEquals(List.of(entity), activated);
+    assertEquals(List.of(entity), deactivated);
+  }
+
+  @Test
+  void testCollisionTriggerRemovedWhileEntityInside() {
+    // arrange
+    Trigger trigger = createCollisionTrigger();
+    List<IEntity> activated = new ArrayList<>();
+    List<IEntity> deactivated = new ArrayList<>();
+    trigger.addActivatedListener(e -> activated.add(e.getEntity()));
+    trigger.addDeactivatedListener(e -> deactivated.add(e.getEntity()));
+    CollisionBox entity = createCollisionEntity(111, 4, 4);
+    Game.physics().update();
+
+    // act
+    this.testEnvironment.remove(trigger);
+    Game.physics().update();
+
+    // assert
+    assertEquals(List.of(entity), activated);
+    assertEquals(List.of(entity), deactivated);
+
+    // the entity activates the trigger again once it is added back
+    this.testEnvironment.add(trigger);
+    Game.physics().update();
+    assertEquals(List.of(entity, entity), activated);
+  }
+
+  @Test
+  void testCollisionTriggerRetriesAfterCooldown() {
+    // arrange
+    Trigger trigger = createCollisionTrigger();
+    List<IEntity> activated = new ArrayList<>();
+    trigger.addActivatedListener(e -> activated.add(e.getEntity()));
+    CollisionBox first = createCollisionEntity(111, 2, 2);
+    Game.physics().update();
+    trigger.setCooldown(100);
+
+    // act
+    CollisionBox second = createCollisionEntity(222, 6, 6);
+    Game.physics().update();
+    trigger.update();
+
+    // assert
+    assertEquals(List.of(first), activated);
+
+    // the entity that stayed in the collision box activates the trigger once the cooldown has passed
+    Game.loop().step(Game.loop().getTickRate() / 5);
+    assertEquals(List.of(first, second), activated);
+  }
+
+  private Trigger createCollisionTrigger() {
+    Trigger trigger = new Trigger(TriggerActivation.COLLISION, "testrigger", "testmessage");
+    trigger.setSize(16, 16);
+    trigger.setLocation(0, 0);
+    this.testEnvironment.add(trigger);
+    Game.world().loadEnvironment(this.testEnvironment);
+    return trigger;
+  }
+
+  private CollisionBox createCollisionEntity(int id, double x, double y) {
+    CollisionBox entity = new CollisionBox(x, y, 4, 4);
+    entity.setMapId(id);
+    this.testEnvironment.add(entity);
+    return entity;
+  }
+
   private IEntity mockEntity(int id) {
     IEntity entity = mock(IEntity.class);
     when(entity.getMapId()).thenReturn(id);
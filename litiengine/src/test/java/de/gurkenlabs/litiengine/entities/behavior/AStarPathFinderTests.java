@@ -3,11 +3,20 @@ package de.gurkenlabs.litiengine.entities.behavior;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import de.gurkenlabs.litiengine.entities.IMobileEntity;
 import de.gurkenlabs.litiengine.environment.tilemap.IMap;
 import java.awt.Dimension;
 import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.Mockito.mock;
@@ -85,4 +94,155 @@ class AStarPathFinderTests {
     assertEquals(new Point2D.Double(10, 10), path.getStart());
     assertEquals(new Point2D.Double(90, 90), path.getTarget());
   }
+
+  @Test
+  void testFindPathBetweenNodesAvoidsObstacles() {
+    // arrange
+    AStarPathFinder pathFinder = new AStarPathFinder(new Dimension(100, 100), 10);
+    AStarNode[][] nodes = pathFinder.getGrid().getGrid();
+    for (int y = 0; y < 9; y++) {
+      nodes[5][y].setWalkable(false);
+    }
+
+    // act
+    Path path = pathFinder.findPath(nodes[0][0], nodes[9][0]);
+
+    // assert
+    assertNotNull(path);
+    assertEquals(nodes[0][0].getLocation(), path.getStart());
+    assertEquals(nodes[9][0].getLocation(), path.getTarget());
+    assertTrue(path.getPoints().contains(nodes[5][9].getLocation()));
+    for (Point2D point : path.getPoints()) {
+      assertTrue(pathFinder.getGrid().getNode(point).isWalkable());
+    }
+  }
+
+  @Test
+  void testFindPathBetweenNodesWithoutConnection() {
+    // arrange
+    AStarPathFinder pathFinder = new AStarPathFinder(new Dimension(100, 100), 10);
+    AStarNode[][] nodes = pathFinder.getGrid().getGrid();
+    for (int y = 0; y < 10; y++) {
+      nodes[5][y].setWalkable(false);
+    }
+
+    // act, assert
+    assertNull(pathFinder.findPath(nodes[0][0], nodes[9][0]));
+    assertNotNull(pathFinder.findPath(nodes[0][0], nodes[4][9]));
+  }
+
+  @Test
+  void testFindPathBetweenSameNode() {
+    // arrange
+    AStarPathFinder pathFinder = new AStarPathFinder(new Dimension(100, 100), 10);
+    AStarNode node = pathFinder.getGrid().getGrid()[3][4];
+
+    // act
+    Path path = pathFinder.findPath(node, node);
+
+    // assert
+    assertNotNull(path);
+    assertEquals(node.getLocation(), path.getStart());
+    assertEquals(node.getLocation(), path.getTarget());
+    assertTrue(path.getPoints().isEmpty());
+  }
+
+  @Test
+  void testSearchPoolIsLimitedToWorkerCount() {
+    // arrange
+    AStarPathFinder pathFinder = new AStarPathFinder(new Dimension(100, 100), 10);
+    List<AStarSearch> searches = new ArrayList<>();
+    for (int i = 0; i < PathFindingService.WORKER_COUNT + 3; i++) {
+      searches.add(pathFinder.acquireSearch());
+    }
+
+    // act
+    searches.forEach(pathFinder::releaseSearch);
+
+    // assert
+    assertEquals(PathFindingService.WORKER_COUNT, pathFinder.getPooledSearchCount());
+    assertSame(searches.getFirst(), pathFinder.acquireSearch());
+    assertEquals(PathFindingService.WORKER_COUNT - 1, pathFinder.getPooledSearchCount());
+  }
+
+  @Test
+  void testFindPathBetweenNodesIsOptimal() {
+    // arrange
+    AStarPathFinder pathFinder = new AStarPathFinder(new Dimension(300, 300), 10);
+    AStarGrid grid = pathFinder.getGrid();
+    AStarNode[][] nodes = grid.getGrid();
+    Random random = new Random(1);
+    for (AStarNode[] column : nodes) {
+      for (AStarNode node : column) {
+        node.setWalkable(random.nextDouble() > 0.3);
+      }
+    }
+
+    for (int i = 0; i < 20; i++) {
+      AStarNode start = nodes[random.nextInt(30)][random.nextInt(30)];
+      AStarNode target = nodes[random.nextInt(30)][random.nextInt(30)];
+      start.setWalkable(true);
+      target.setWalkable(true);
+      if (start == target) {
+        continue;
+      }
+
+      // act
+      Path path = pathFinder.findPath(start, target);
+
+      // assert
+      double expectedCost = getShortestPathCost(grid, start, target);
+      if (Double.isInfinite(expectedCost)) {
+        assertNull(path);
+        continue;
+      }
+
+      assertNotNull(path);
+      AStarNode previous = start;
+      double actualCost = 0;
+      for (Point2D point : path.getPoints()) {
+        AStarNode node = grid.getNode(point);
+        assertTrue(grid.getNeighbors(previous).contains(node));
+        actualCost += previous.getCosts(node);
+        previous = node;
+      }
+
+      assertTrue(grid.getNeighbors(previous).contains(target));
+      actualCost += previous.getCosts(target);
+      assertEquals(expectedCost, actualCost, 1e-9);
+      assertEquals(0, start.getGCost());
+    }
+  }
+
+  private static double getShortestPathCost(AStarGrid grid, AStarNode start, AStarNode target) {
+    // plain Dijkstra as reference for the A* search
+    Map<AStarNode, Double> costs = new HashMap<>();
+    PriorityQueue<Map.Entry<AStarNode, Double>> queue = new PriorityQueue<>(Map.Entry.comparingByValue());
+    costs.put(start, 0.0);
+    queue.add(Map.entry(start, 0.0));
+    while (!queue.isEmpty()) {
+      Map.Entry<AStarNode, Double> current = queue.poll();
+      if (current.getKey() == target) {
+        return current.getValue();
+      }
+
+      if (current.getValue() > costs.get(current.getKey())) {
+        continue;
+      }
+
+      for (AStarNode neighbor : grid.getNeighbors(current.getKey())) {
+        if (!neighbor.isWalkable()) {
+          continue;
+        }
+
+        double cost = current.getValue() + current.getKey().getCosts(neighbor);
+        if (cost < costs.getOrDefault(neighbor, Double.POSITIVE_INFINITY)) {
+          costs.put(neighbor, cost);
+          queue.add(Map.entry(neighbor, cost));
+        }
+      }
+    }
+
+    return Double.POSITIVE_INFINITY;
+  }
 }
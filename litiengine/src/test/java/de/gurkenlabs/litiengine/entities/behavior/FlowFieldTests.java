@@ -0,0 +1,196 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Dimension;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class FlowFieldTests {
+  private static final int NODE_SIZE = 10;
+  private static final int WIDTH = 40;
+  private static final int HEIGHT = 30;
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void testCostsMatchAStar(boolean allowCuttingCorners) {
+    // arrange
+    AStarGrid grid = createGrid(new Random(5), allowCuttingCorners);
+    AStarNode[][] nodes = grid.getGrid();
+    AStarNode target = nodes[20][15];
+    target.setWalkable(true);
+    AStarPathFinder pathFinder = new AStarPathFinder(grid);
+
+    // act
+    FlowField flowField = new FlowField(grid, target);
+
+    // assert
+    assertEquals(0, flowField.getCosts(target));
+    assertNull(flowField.getNextNode(target));
+    for (int x = 0; x < WIDTH; x++) {
+      for (int y = 0; y < HEIGHT; y++) {
+        AStarNode node = nodes[x][y];
+        if (!node.isWalkable() || node == target) {
+          continue;
+        }
+
+        Path path = pathFinder.findPath(node, target);
+        if (path == null) {
+          assertFalse(flowField.isReachable(node));
+          assertNull(flowField.getNextNode(node));
+          continue;
+        }
+
+        assertEquals(getCosts(grid, node, path, target), flowField.getCosts(node), 1e-3);
+        assertFollowsToTarget(flowField, node);
+      }
+    }
+  }
+
+  @Test
+  void testIncrementalUpdateMatchesRecalculation() {
+    // arrange
+    Random random = new Random(11);
+    AStarGrid grid = createGrid(random, false);
+    AStarNode[][] nodes = grid.getGrid();
+    AStarNode target = nodes[5][5];
+    target.setWalkable(true);
+    FlowField flowField = new FlowField(grid, target);
+
+    for (int i = 0; i < 30; i++) {
+      int x = random.nextInt(WIDTH - 3);
+      int y = random.nextInt(HEIGHT - 3);
+      int width = 1 + random.nextInt(3);
+      int height = 1 + random.nextInt(3);
+      boolean walkable = random.nextBoolean();
+      for (int nodeX = x; nodeX < x + width; nodeX++) {
+        for (int nodeY = y; nodeY < y + height; nodeY++) {
+          nodes[nodeX][nodeY].setWalkable(walkable);
+        }
+      }
+
+      // act
+      flowField.update(new Rectangle2D.Double(x * NODE_SIZE, y * NODE_SIZE, width * NODE_SIZE - 1, height * NODE_SIZE - 1));
+
+      // assert
+      FlowField expected = new FlowField(grid, target);
+      for (AStarNode[] column : nodes) {
+        for (AStarNode node : column) {
+          assertEquals(expected.getCosts(node), flowField.getCosts(node), 1e-3, "node " + node.getGridX() + "," + node.getGridY());
+          if (flowField.isReachable(node)) {
+            assertFollowsToTarget(flowField, node);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  void testIncrementalUpdateFreesObstacle() {
+    // arrange
+    AStarGrid grid = new AStarGrid(new Dimension(WIDTH * NODE_SIZE, HEIGHT * NODE_SIZE), NODE_SIZE);
+    AStarNode[][] nodes = grid.getGrid();
+    for (int y = 0; y < HEIGHT; y++) {
+      nodes[20][y].setWalkable(false);
+    }
+
+    AStarNode target = nodes[30][10];
+    FlowField flowField = new FlowField(grid, target);
+    FlowField expected = new FlowField(grid, target);
+    assertFalse(flowField.isReachable(nodes[20][12]));
+    assertFalse(flowField.isReachable(nodes[0][0]));
+
+    // act
+    nodes[20][12].setWalkable(true);
+    flowField.update(new Rectangle2D.Double(20 * NODE_SIZE, 12 * NODE_SIZE, NODE_SIZE - 1, NODE_SIZE - 1));
+    expected.recompute();
+
+    // assert
+    assertTrue(flowField.isReachable(nodes[20][12]));
+    assertTrue(flowField.isReachable(nodes[0][0]));
+    for (AStarNode[] column : nodes) {
+      for (AStarNode node : column) {
+        assertEquals(expected.getCosts(node), flowField.getCosts(node), 1e-3, "node " + node.getGridX() + "," + node.getGridY());
+        if (flowField.isReachable(node)) {
+          assertFollowsToTarget(flowField, node);
+        }
+      }
+    }
+  }
+
+  @Test
+  void testGeneratorCachesAndUpdatesFlowFields() {
+    // arrange
+    AStarGrid grid = new AStarGrid(new Dimension(WIDTH * NODE_SIZE, HEIGHT * NODE_SIZE), NODE_SIZE);
+    AStarNode[][] nodes = grid.getGrid();
+    for (int y = 0; y < HEIGHT; y++) {
+      nodes[20][y].setWalkable(false);
+    }
+
+    FlowFieldGenerator generator = new FlowFieldGenerator(grid, 2);
+    Point2D target = nodes[30][10].getLocation();
+
+    // act
+    FlowField flowField = generator.getFlowField(target);
+
+    // assert
+    assertSame(flowField, generator.getFlowField(nodes[30][10]));
+    assertFalse(flowField.isReachable(nodes[0][0]));
+
+    grid.updateWalkable(nodes[20][5].getBounds());
+    assertTrue(flowField.isReachable(nodes[0][0]));
+    assertEquals(nodes[21][5].getLocation().getX(), flowField.getNextLocation(nodes[20][5].getLocation()).getX());
+
+    generator.getFlowField(nodes[1][1]);
+    generator.getFlowField(nodes[2][2]);
+    assertEquals(2, generator.getCachedFlowFields());
+    assertNotSame(flowField, generator.getFlowField(target));
+
+    generator.dispose();
+    assertEquals(0, generator.getCachedFlowFields());
+  }
+
+  private static AStarGrid createGrid(Random random, boolean allowCuttingCorners) {
+    AStarGrid grid = new AStarGrid(new Dimension(WIDTH * NODE_SIZE, HEIGHT * NODE_SIZE), NODE_SIZE);
+    grid.setAllowCuttingCorners(allowCuttingCorners);
+    for (AStarNode[] column : grid.getGrid()) {
+      for (AStarNode node : column) {
+        node.setWalkable(random.nextDouble() > 0.3);
+      }
+    }
+
+    return grid;
+  }
+
+  private static void assertFollowsToTarget(FlowField flowField, AStarNode node) {
+    AStarNode current = node;
+    for (int steps = 0; current != flowField.getTarget(); steps++) {
+      AStarNode next = flowField.getNextNode(current);
+      assertTrue(next.isWalkable() || next == flowField.getTarget());
+      assertTrue(flowField.getGrid().getNeighbors(current).contains(next));
+      assertTrue(steps < WIDTH * HEIGHT);
+      current = next;
+    }
+  }
+
+  private static double getCosts(AStarGrid grid, AStarNode start, Path path, AStarNode target) {
+    AStarNode previous = start;
+    double costs = 0;
+    for (Point2D point : path.getPoints()) {
+      AStarNode node = grid.getNode(point);
+      costs += previous.getCosts(node);
+      previous = node;
+    }
+
+    return costs + previous.getCosts(target);
+  }
+}
@@ -0,0 +1,127 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Dimension;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Random;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.jupiter.api.Test;
+
+class HierarchicalPathFinderTests {
+  private static final int NODE_SIZE = 10;
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void testFindPathMatchesAStar(boolean allowCuttingCorners) {
+    // arrange
+    AStarGrid grid = new AStarGrid(new Dimension(60 * NODE_SIZE, 50 * NODE_SIZE), NODE_SIZE);
+    grid.setAllowCuttingCorners(allowCuttingCorners);
+    AStarNode[][] nodes = grid.getGrid();
+    Random random = new Random(3);
+    for (AStarNode[] column : nodes) {
+      for (AStarNode node : column) {
+        node.setWalkable(random.nextDouble() > 0.3);
+      }
+    }
+
+    AStarPathFinder aStar = new AStarPathFinder(grid);
+    HierarchicalPathFinder pathFinder = new HierarchicalPathFinder(grid, 8);
+
+    for (int i = 0; i < 50; i++) {
+      AStarNode start = nodes[random.nextInt(60)][random.nextInt(50)];
+      AStarNode target = nodes[random.nextInt(60)][random.nextInt(50)];
+      if (start == target || !start.isWalkable() || !target.isWalkable()) {
+        continue;
+      }
+
+      // act
+      Path expected = aStar.findPath(start, target);
+      Path actual = pathFinder.findPath(start, target);
+
+      // assert
+      if (expected == null) {
+        assertNull(actual);
+        continue;
+      }
+
+      assertNotNull(actual);
+      assertEquals(start.getLocation(), actual.getStart());
+      assertEquals(target.getLocation(), actual.getTarget());
+      assertTrue(getCosts(grid, start, actual, target) <= getCosts(grid, start, expected, target) * 1.25);
+    }
+  }
+
+  @Test
+  void testUpdateWalkableRebuildsAffectedClusters() {
+    // arrange
+    AStarGrid grid = new AStarGrid(new Dimension(64 * NODE_SIZE, 64 * NODE_SIZE), NODE_SIZE);
+    AStarNode[][] nodes = grid.getGrid();
+    for (int y = 0; y < 64; y++) {
+      nodes[30][y].setWalkable(false);
+    }
+
+    HierarchicalPathFinder pathFinder = new HierarchicalPathFinder(grid, 8);
+    assertNull(pathFinder.findPath(nodes[0][0], nodes[63][63]));
+
+    // act
+    Rectangle2D area = nodes[30][40].getBounds();
+    grid.updateWalkable(area);
+
+    // assert
+    assertTrue(nodes[30][40].isWalkable());
+    assertEquals(1, pathFinder.getDirtyClusterCount());
+
+    Path path = pathFinder.findPath(nodes[0][0], nodes[63][63]);
+    assertNotNull(path);
+    assertTrue(path.getPoints().contains(nodes[30][40].getLocation()));
+    assertEquals(0, pathFinder.getDirtyClusterCount());
+  }
+
+  @Test
+  void testInvalidateAfterDirectChanges() {
+    // arrange
+    AStarGrid grid = new AStarGrid(new Dimension(32 * NODE_SIZE, 32 * NODE_SIZE), NODE_SIZE);
+    AStarNode[][] nodes = grid.getGrid();
+    HierarchicalPathFinder pathFinder = new HierarchicalPathFinder(grid, 8);
+    assertNotNull(pathFinder.findPath(nodes[0][0], nodes[31][0]));
+
+    // act
+    for (int y = 0; y < 32; y++) {
+      nodes[16][y].setWalkable(false);
+    }
+
+    pathFinder.invalidate(new Rectangle2D.Double(16 * NODE_SIZE, 0, NODE_SIZE, 32 * NODE_SIZE));
+
+    // assert
+    assertNull(pathFinder.findPath(nodes[0][0], nodes[31][0]));
+    assertNotNull(pathFinder.findPath(nodes[0][0], nodes[15][31]));
+  }
+
+  @Test
+  void testInvalidClusterSize() {
+    AStarGrid grid = new AStarGrid(new Dimension(100, 100), NODE_SIZE);
+    assertThrows(IllegalArgumentException.class, () -> new HierarchicalPathFinder(grid, 0));
+  }
+
+  private static double getCosts(AStarGrid grid, AStarNode start, Path path, AStarNode target) {
+    AStarNode previous = start;
+    double costs = 0;
+    for (Point2D point : path.getPoints()) {
+      AStarNode node = grid.getNode(point);
+      assertTrue(node.isWalkable());
+      assertTrue(grid.getNeighbors(previous).contains(node));
+      costs += previous.getCosts(node);
+      previous = node;
+    }
+
+    assertTrue(grid.getNeighbors(previous).contains(target));
+    return costs + previous.getCosts(target);
+  }
+}
@@ -0,0 +1,111 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import de.gurkenlabs.litiengine.entities.ICollisionEntity;
+import de.gurkenlabs.litiengine.entities.IMobileEntity;
+import java.awt.Dimension;
+import java.awt.geom.Point2D;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PathFindingServiceTests {
+  private AStarPathFinder pathFinder;
+  private IMobileEntity entity;
+
+  @BeforeEach
+  void setUp() {
+    // always search a path instead of checking the collision boxes of the environment
+    pathFinder = new AStarPathFinder(new Dimension(100, 100), 10) {
+      @Override
+      protected boolean intersectsWithAnyCollisionBox(ICollisionEntity entity, Point2D start, Point2D target) {
+        return true;
+      }
+    };
+
+    AStarNode[][] nodes = pathFinder.getGrid().getGrid();
+    for (int y = 0; y < 9; y++) {
+      nodes[5][y].setWalkable(false);
+    }
+
+    entity = mock(IMobileEntity.class);
+    when(entity.getCollisionBoxCenter()).thenReturn(new Point2D.Double(5, 5));
+  }
+
+  @Test
+  void testSearchIsSplitIntoSlices() {
+    // arrange
+    PathFindingService service = new PathFindingService(Runnable::run, 5);
+    Path expected = pathFinder.findPath(entity, new Point2D.Double(95, 5));
+
+    // act
+    CompletableFuture<Path> future = service.findPath(pathFinder, entity, new Point2D.Double(95, 5));
+    service.update();
+
+    // assert
+    assertFalse(future.isDone());
+    assertEquals(1, service.getPendingSearches());
+
+    for (int i = 0; i < 100 && !future.isDone(); i++) {
+      service.update();
+    }
+
+    Path actual = future.join();
+    assertNotNull(actual);
+    assertEquals(expected.getPoints(), actual.getPoints());
+    assertEquals(0, service.getPendingSearches());
+  }
+
+  @Test
+  void testSearchWithoutPath() {
+    // arrange
+    pathFinder.getGrid().getGrid()[5][9].setWalkable(false);
+    PathFindingService service = new PathFindingService(Runnable::run, PathFindingService.DEFAULT_EXPANSIONS_PER_TICK);
+
+    // act
+    CompletableFuture<Path> future = service.findPath(pathFinder, entity, new Point2D.Double(95, 5));
+    service.update();
+    service.update();
+
+    // assert
+    assertTrue(future.isDone());
+    assertNull(future.join());
+  }
+
+  @Test
+  void testCancelledSearchIsRemoved() {
+    // arrange
+    PathFindingService service = new PathFindingService(Runnable::run, 1);
+    CompletableFuture<Path> future = service.findPath(pathFinder, entity, new Point2D.Double(95, 5));
+    service.update();
+
+    // act
+    future.cancel(false);
+    service.update();
+
+    // assert
+    assertEquals(0, service.getPendingSearches());
+    assertTrue(future.isCancelled());
+  }
+
+  @Test
+  void testSearchIsNotRequired() {
+    // arrange
+    PathFindingService service = new PathFindingService(Runnable::run, 1);
+
+    // act
+    CompletableFuture<Path> future = service.findPath(pathFinder, entity, new Point2D.Double(8, 8));
+
+    // assert
+    assertTrue(future.isDone());
+    assertNull(future.join());
+    assertEquals(0, service.getPendingSearches());
+  }
+}
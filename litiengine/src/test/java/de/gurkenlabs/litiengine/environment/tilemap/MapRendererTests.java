@@ -0,0 +1,157 @@
+package de.gurkenlabs.litiengine.environment.tilemap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.GameTest;
+import de.gurkenlabs.litiengine.resources.Resources;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class MapRendererTests {
+  private static final int TILESET_WIDTH = 24;
+  private static final int TILESET_HEIGHT = 30;
+  private static final int OFFSET_X = -7;
+  private static final int OFFSET_Y = 5;
+
+  @ParameterizedTest
+  @MethodSource("getVisibleTilesParameters")
+  void testVisibleTilesContainAllIntersectingTiles(IMapOrientation orientation, StaggerAxis axis, StaggerIndex index, int hexSideLength) {
+    // arrange
+    IMap map = createMap(orientation, axis, index, hexSideLength, 40, 50);
+    Random random = new Random(7);
+
+    for (int i = 0; i < 100; i++) {
+      Rectangle2D viewport = new Rectangle2D.Double(random.nextDouble() * 800 - 200, random.nextDouble() * 800 - 200, random.nextDouble() * 300,
+          random.nextDouble() * 300);
+
+      // act
+      Rectangle visibleTiles = MapRenderer.getVisibleTiles(map, viewport);
+
+      // assert
+      for (int x = 0; x < map.getWidth(); x++) {
+        for (int y = 0; y < map.getHeight(); y++) {
+          Point location = orientation.getLocation(x, y, map);
+          if (viewport.intersects(location.x + OFFSET_X, location.y - TILESET_HEIGHT + OFFSET_Y, TILESET_WIDTH, TILESET_HEIGHT)) {
+            assertTrue(visibleTiles.contains(x, y), "tile " + x + "," + y + " is visible in " + viewport + " but not within " + visibleTiles);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  void testVisibleTilesAreCulled() {
+    // arrange
+    IMap map = createMap(MapOrientations.ORTHOGONAL, null, null, 0, 1024, 1024);
+
+    // act
+    Rectangle visibleTiles = MapRenderer.getVisibleTiles(map, new Rectangle2D.Double(1000, 2000, 200, 100));
+
+    // assert
+    assertTrue(visibleTiles.width * visibleTiles.height < 500);
+    assertTrue(visibleTiles.contains(1000 / 10, 2000 / 14));
+  }
+
+  @Test
+  void testVisibleTilesOutsideOfMap() {
+    // arrange
+    IMap map = createMap(MapOrientations.ORTHOGONAL, null, null, 0, 40, 50);
+
+    // act
+    Rectangle visibleTiles = MapRenderer.getVisibleTiles(map, new Rectangle2D.Double(-1000, -1000, 200, 100));
+
+    // assert
+    assertTrue(visibleTiles.isEmpty());
+    assertEquals(new Rectangle(0, 0, 40, 50), MapRenderer.getVisibleTiles(map, new Rectangle2D.Double(-1000, -1000, 5000, 5000)));
+  }
+
+  @Test
+  void testUnloadedEnvironmentReleasesCachedTileLayers() {
+    // arrange
+    Game.init(Game.COMMANDLINE_ARG_NOGUI);
+    Game.config().graphics().setCacheTileLayers(true);
+    try {
+      IMap first = Resources.maps().get("de/gurkenlabs/litiengine/environment/tilemap/xml/test-map.tmx");
+      IMap second = Resources.maps().get("de/gurkenlabs/litiengine/environment/tilemap/xml/test-mapobject.tmx");
+      Game.world().loadEnvironment(first);
+      render(first);
+      ITileLayer firstLayer = first.getTileLayers().getFirst();
+      assertTrue(MapRenderer.getTileLayerCache().isObserved(firstLayer));
+
+      // act
+      Game.world().loadEnvironment(second);
+
+      // assert
+      assertFalse(MapRenderer.getTileLayerCache().isObserved(firstLayer));
+      assertEquals(0, MapRenderer.getTileLayerCache().size());
+    } finally {
+      Game.config().graphics().setCacheTileLayers(false);
+      GameTest.terminateGame();
+    }
+  }
+
+  private static Stream<Arguments> getVisibleTilesParameters() {
+    // arrange
+    return Stream.of(
+        Arguments.of(MapOrientations.ORTHOGONAL, null, null, 0),
+        Arguments.of(MapOrientations.ISOMETRIC, null, null, 0),
+        Arguments.of(MapOrientations.ISOMETRIC_STAGGERED, StaggerAxis.X, StaggerIndex.ODD, 0),
+        Arguments.of(MapOrientations.ISOMETRIC_STAGGERED, StaggerAxis.X, StaggerIndex.EVEN, 0),
+        Arguments.of(MapOrientations.ISOMETRIC_STAGGERED, StaggerAxis.Y, StaggerIndex.ODD, 0),
+        Arguments.of(MapOrientations.ISOMETRIC_STAGGERED, StaggerAxis.Y, StaggerIndex.EVEN, 0),
+        Arguments.of(MapOrientations.HEXAGONAL, StaggerAxis.X, StaggerIndex.ODD, 4),
+        Arguments.of(MapOrientations.HEXAGONAL, StaggerAxis.X, StaggerIndex.EVEN, 10),
+        Arguments.of(MapOrientations.HEXAGONAL, StaggerAxis.Y, StaggerIndex.ODD, 10),
+        Arguments.of(MapOrientations.HEXAGONAL, StaggerAxis.Y, StaggerIndex.EVEN, 20));
+  }
+
+  private static IMap createMap(IMapOrientation orientation, StaggerAxis axis, StaggerIndex index, int hexSideLength, int width, int height) {
+    ITileOffset offset = mock(ITileOffset.class);
+    when(offset.getX()).thenReturn(OFFSET_X);
+    when(offset.getY()).thenReturn(OFFSET_Y);
+
+    ITileset tileset = mock(ITileset.class);
+    when(tileset.getTileWidth()).thenReturn(TILESET_WIDTH);
+    when(tileset.getTileHeight()).thenReturn(TILESET_HEIGHT);
+    when(tileset.getTileOffset()).thenReturn(offset);
+
+    IMap map = mock(IMap.class);
+    when(map.getOrientation()).thenReturn(orientation);
+    when(map.getStaggerAxis()).thenReturn(axis);
+    when(map.getStaggerIndex()).thenReturn(index);
+    when(map.getHexSideLength()).thenReturn(hexSideLength);
+    when(map.getTileWidth()).thenReturn(10);
+    when(map.getTileHeight()).thenReturn(14);
+    when(map.getTileSize()).thenReturn(new Dimension(10, 14));
+    when(map.getWidth()).thenReturn(width);
+    when(map.getHeight()).thenReturn(height);
+    when(map.getSizeInTiles()).thenReturn(new Dimension(width, height));
+    when(map.getTilesets()).thenReturn(List.of(tileset));
+    return map;
+  }
+
+  private static void render(IMap map) {
+    Graphics2D g = new BufferedImage(200, 200, BufferedImage.TYPE_INT_ARGB).createGraphics();
+    try {
+      MapRenderer.render(g, map, new Rectangle2D.Double(0, 0, 200, 200), Game.world().environment());
+    } finally {
+      g.dispose();
+    }
+  }
+}
@@ -0,0 +1,183 @@
+package de.gurkenlabs.litiengine.environment.tilemap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class TileLayerCacheTests {
+  private static final int TILE_SIZE = 8;
+
+  private IMap map;
+  private ITileset tileset;
+  private ITileLayer layer;
+
+  @BeforeEach
+  void setUp() {
+    tileset = mock(ITileset.class);
+    when(tileset.getTileWidth()).thenReturn(TILE_SIZE);
+    when(tileset.getTileHeight()).thenReturn(TILE_SIZE);
+
+    map = mock(IMap.class);
+    when(map.getOrientation()).thenReturn(MapOrientations.ORTHOGONAL);
+    when(map.getTileWidth()).thenReturn(TILE_SIZE);
+    when(map.getTileHeight()).thenReturn(TILE_SIZE);
+    when(map.getTileSize()).thenReturn(new Dimension(TILE_SIZE, TILE_SIZE));
+    when(map.getWidth()).thenReturn(40);
+    when(map.getHeight()).thenReturn(30);
+    when(map.getTilesets()).thenReturn(List.of(tileset));
+
+    ITile[] tiles = {createTile(Color.RED, null), createTile(Color.GREEN, null), createTile(Color.BLUE, mock(ITileAnimation.class))};
+    layer = mock(ITileLayer.class);
+    when(layer.getSharedTile(anyInt(), anyInt())).thenAnswer(invocation -> {
+      int x = invocation.getArgument(0);
+      int y = invocation.getArgument(1);
+      return (x * 7 + y * 3) % 5 == 0 ? null : tiles[(x + y) % tiles.length];
+    });
+  }
+
+  @Test
+  void testCanCache() {
+    // arrange, act, assert
+    assertTrue(TileLayerCache.canCache(map));
+
+    when(map.getOrientation()).thenReturn(MapOrientations.ISOMETRIC);
+    assertFalse(TileLayerCache.canCache(map));
+
+    when(map.getOrientation()).thenReturn(MapOrientations.ORTHOGONAL);
+    when(tileset.getTileHeight()).thenReturn(TILE_SIZE * 2);
+    assertFalse(TileLayerCache.canCache(map));
+  }
+
+  @Test
+  void testCachedRenderingMatchesTileRendering() {
+    // arrange
+    TileLayerCache cache = new TileLayerCache(4, 64);
+    Rectangle2D viewport = new Rectangle2D.Double(37, 21, 100, 80);
+    Rectangle visibleTiles = MapRenderer.getVisibleTiles(map, viewport);
+
+    BufferedImage expected = new BufferedImage(100, 80, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D expectedGraphics = expected.createGraphics();
+    for (int y = visibleTiles.y; y < visibleTiles.y + visibleTiles.height; y++) {
+      for (int x = visibleTiles.x; x < visibleTiles.x + visibleTiles.width; x++) {
+        MapRenderer.drawTile(expectedGraphics, layer, x, y, map, viewport);
+      }
+    }
+    expectedGraphics.dispose();
+
+    // act
+    BufferedImage actual = new BufferedImage(100, 80, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D actualGraphics = actual.createGraphics();
+    cache.render(actualGraphics, layer, map, viewport, visibleTiles);
+    cache.render(actualGraphics, layer, map, viewport, visibleTiles);
+    actualGraphics.dispose();
+
+    // assert
+    for (int x = 0; x < expected.getWidth(); x++) {
+      for (int y = 0; y < expected.getHeight(); y++) {
+        assertEquals(expected.getRGB(x, y), actual.getRGB(x, y), "pixel " + x + "," + y);
+      }
+    }
+  }
+
+  @Test
+  void testTileChangeInvalidatesChunk() {
+    // arrange
+    TileLayerCache cache = new TileLayerCache(4, 64);
+    Graphics2D graphics = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+    cache.render(graphics, layer, map, new Rectangle2D.Double(0, 0, 64, 32), new Rectangle(0, 0, 8, 4));
+    ArgumentCaptor<TileChangedListener> listener = ArgumentCaptor.forClass(TileChangedListener.class);
+    verify(layer).onTileChanged(listener.capture());
+
+    // act
+    listener.getValue().tileChanged(layer, 5, 2);
+
+    // assert
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  void testLeastRecentlyUsedChunksAreEvicted() {
+    // arrange
+    TileLayerCache cache = new TileLayerCache(4, 2);
+    Graphics2D graphics = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+
+    // act
+    for (int x = 0; x < 40; x += 8) {
+      for (int y = 0; y < 24; y += 8) {
+        cache.render(graphics, layer, map, new Rectangle2D.Double(x * TILE_SIZE, y * TILE_SIZE, 64, 64), new Rectangle(x, y, 8, 8));
+      }
+    }
+
+    // assert
+    // the 2x2 visible chunks plus a border of one chunk
+    assertEquals(16, cache.getCapacity());
+    assertEquals(16, cache.size());
+
+    cache.clear();
+    assertEquals(0, cache.size());
+    verify(layer).removeTileChangedListener(any());
+  }
+
+  @Test
+  void testVisibleChunksOfAllLayersFitIntoCache() {
+    // arrange
+    TileLayerCache cache = new TileLayerCache(4, 2);
+    Graphics2D graphics = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+    List<ITileLayer> layers = List.of(layer, createLayer(), createLayer(), createLayer());
+    Rectangle visibleTiles = new Rectangle(0, 0, 40, 30);
+    Rectangle2D viewport = new Rectangle2D.Double(0, 0, 40 * TILE_SIZE, 30 * TILE_SIZE);
+
+    // act
+    for (int frame = 0; frame < 2; frame++) {
+      for (ITileLayer tileLayer : layers) {
+        cache.render(graphics, tileLayer, map, viewport, visibleTiles);
+      }
+    }
+
+    // assert
+    // the chunks are only built once, although they don't fit into the minimum capacity
+    assertEquals(4 * 10 * 8, cache.size());
+    verify(layers.get(1), times(40 * 30)).getSharedTile(anyInt(), anyInt());
+  }
+
+  private ITileLayer createLayer() {
+    ITileLayer tileLayer = mock(ITileLayer.class);
+    ITile tile = createTile(Color.YELLOW, null);
+    when(tileLayer.getSharedTile(anyInt(), anyInt())).thenReturn(tile);
+    return tileLayer;
+  }
+
+  private ITile createTile(Color color, ITileAnimation animation) {
+    BufferedImage image = new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D graphics = image.createGraphics();
+    graphics.setColor(color);
+    graphics.fillRect(1, 1, TILE_SIZE - 2, TILE_SIZE - 2);
+    graphics.dispose();
+
+    ITilesetEntry entry = mock(ITilesetEntry.class);
+    when(entry.getTileset()).thenReturn(tileset);
+    when(entry.getAnimation()).thenReturn(animation);
+
+    ITile tile = mock(ITile.class);
+    when(tile.getImage()).thenReturn(image);
+    when(tile.getTilesetEntry()).thenReturn(entry);
+    return tile;
+  }
+}
@@ -0,0 +1,134 @@
+package de.gurkenlabs.litiengine.environment.tilemap.xml;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.gurkenlabs.litiengine.environment.tilemap.IMapObject;
+import de.gurkenlabs.litiengine.resources.Maps;
+import de.gurkenlabs.litiengine.resources.Resources;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+import java.io.StringWriter;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class BinaryMapTests {
+  @TempDir
+  Path tempDir;
+
+  @BeforeEach
+  public void clearResources() {
+    Resources.maps().clear();
+    Resources.tilesets().clear();
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"test-map.tmx", "test-infinite-map.tmx", "test-mapobject.tmx", "test-imagelayer.tmx", "test-tileset.tmx"})
+  void testConvertedMapIsEqualToTmx(String fileName) throws Exception {
+    // arrange
+    URL location = BinaryMapTests.class.getResource(fileName);
+    Path binary = this.tempDir.resolve(fileName + "." + BinaryMap.FILE_EXTENSION);
+
+    // act
+    BinaryMap.convert(Path.of(location.toURI()), binary);
+    TmxMap map = BinaryMap.read(binary.toUri().toURL());
+    TmxMap tmx = TmxReader.readMap(location);
+
+    // the relative paths of the map are resolved against the original location
+    map.finish(location);
+    tmx.finish(location);
+
+    // assert
+    assertMapsAreEqual(tmx, map);
+  }
+
+  @Test
+  void testWrittenMapIsEqualToOriginal() throws Exception {
+    // arrange
+    URL location = BinaryMapTests.class.getResource("test-mapobject.tmx");
+    TmxMap original = TmxReader.readMap(location);
+    original.finish(location);
+
+    // act
+    Path file = Maps.saveBinary(original, this.tempDir.resolve("written"));
+    TmxMap map = BinaryMap.read(file.toUri().toURL());
+    map.finish(location);
+
+    // assert
+    assertEquals(BinaryMap.FILE_EXTENSION, file.getFileName().toString().substring("written.".length()));
+    assertMapsAreEqual(original, map);
+  }
+
+  @Test
+  void testMapIsLoadedByMaps() throws Exception {
+    // arrange
+    URL location = BinaryMapTests.class.getResource("test-imagelayer.tmx");
+    Path binary = this.tempDir.resolve("test-imagelayer." + BinaryMap.FILE_EXTENSION);
+    BinaryMap.convert(Path.of(location.toURI()), binary);
+
+    // act
+    TmxMap map = (TmxMap) Resources.maps().get(binary.toUri().toURL());
+
+    // assert
+    assertEquals(TmxReader.readMap(location).getName(), map.getName());
+    assertEquals(1, map.getImageLayers().size());
+  }
+
+  @Test
+  void testInvalidFileFails() throws Exception {
+    // arrange
+    Path file = this.tempDir.resolve("invalid." + BinaryMap.FILE_EXTENSION);
+    Files.writeString(file, "<map/>");
+    URL location = file.toUri().toURL();
+
+    // assert
+    assertThrows(TmxException.class, () -> BinaryMap.read(location));
+  }
+
+  @Test
+  void testOtherVersionFails() throws Exception {
+    // arrange
+    Path file = this.tempDir.resolve("version." + BinaryMap.FILE_EXTENSION);
+    Files.write(file, ByteBuffer.allocate(12).putInt(0x4C4D4150).putInt(BinaryMap.VERSION + 1).putInt(0).array());
+    URL location = file.toUri().toURL();
+
+    // assert
+    assertThrows(TmxException.class, () -> BinaryMap.read(location));
+  }
+
+  private static void assertMapsAreEqual(TmxMap expected, TmxMap actual) throws Exception {
+    // the binary format doesn't keep the whitespace around the encoded tile data
+    assertEquals(stripWhitespace(marshal(expected)), stripWhitespace(marshal(actual)));
+    assertEquals(expected.getTileLayers().size(), actual.getTileLayers().size());
+    for (int i = 0; i < expected.getTileLayers().size(); i++) {
+      assertArrayEquals(((TileLayer) expected.getTileLayers().get(i)).getRawTileData().getGridIds(),
+        ((TileLayer) actual.getTileLayers().get(i)).getRawTileData().getGridIds());
+      assertEquals(expected.getTileLayers().get(i).getTiles(), actual.getTileLayers().get(i).getTiles());
+    }
+
+    assertEquals(expected.getMapObjects().size(), actual.getMapObjects().size());
+    for (IMapObject mapObject : expected.getMapObjects()) {
+      assertEquals(mapObject.getProperties(), actual.getMapObject(mapObject.getId()).getProperties());
+    }
+  }
+
+  private static String stripWhitespace(String xml) {
+    return xml.replaceAll(">\\s+", ">").replaceAll("\\s+<", "<");
+  }
+
+  private static String marshal(Object object) throws Exception {
+    Marshaller marshaller = JAXBContext.newInstance(object.getClass()).createMarshaller();
+    marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+    StringWriter writer = new StringWriter();
+    marshaller.marshal(object, writer);
+    return writer.toString();
+  }
+}
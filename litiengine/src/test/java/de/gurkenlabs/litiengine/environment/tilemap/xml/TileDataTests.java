@@ -2,6 +2,8 @@ package de.gurkenlabs.litiengine.environment.tilemap.xml;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
@@ -111,6 +113,26 @@ class TileDataTests {
     assertEquals(18, tiles.get(127).getGridId());
   }
 
+  @Test
+  void testCsvWithWhitespaceAndFlags() throws InvalidTileLayerException {
+    List<Tile> tiles = TileData.parseCsvData(" 1 ,\t2,\n3221225474\r\n, 0 ");
+
+    assertEquals(4, tiles.size());
+    assertEquals(2, tiles.get(1).getGridId());
+    assertEquals(2, tiles.get(2).getGridId());
+    assertTrue(tiles.get(2).isFlippedHorizontally());
+    assertTrue(tiles.get(2).isFlippedVertically());
+    assertSame(Tile.EMPTY, tiles.get(3));
+  }
+
+  @Test
+  void testInvalidCsvIsRejected() {
+    assertThrows(InvalidTileLayerException.class, () -> TileData.parseCsvData("1,2;3"));
+    assertThrows(InvalidTileLayerException.class, () -> TileData.parseCsvData("1,,2"));
+    assertThrows(InvalidTileLayerException.class, () -> TileData.parseCsvData("4294967296"));
+    assertThrows(InvalidTileLayerException.class, () -> TileData.parseCsvData(""));
+  }
+
   @ParameterizedTest(name = "testEncode {0}, encoding={1}, compression={2}")
   @MethodSource("getEncodeArguments")
   void testEncode(String name, String encoding, String compression, String expectedEncoded)
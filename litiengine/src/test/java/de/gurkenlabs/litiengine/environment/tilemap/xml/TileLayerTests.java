@@ -0,0 +1,137 @@
+package de.gurkenlabs.litiengine.environment.tilemap.xml;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.gurkenlabs.litiengine.environment.tilemap.ITile;
+import java.awt.Point;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TileLayerTests {
+  private TileLayer layer;
+
+  @BeforeEach
+  void setup() throws TmxException {
+    List<Tile> tiles = new ArrayList<>();
+    for (int i = 0; i < 12; i++) {
+      tiles.add(new Tile(i % 3));
+    }
+
+    // flipped horizontally and vertically
+    tiles.set(5, new Tile(0xC0000002));
+
+    this.layer = new TileLayer(new TileData(tiles, 4, 3, TileData.Encoding.CSV, TileData.Compression.NONE));
+    this.layer.setWidth(4);
+    this.layer.setHeight(3);
+  }
+
+  @Test
+  void testGetTile() {
+    // act
+    ITile tile = this.layer.getTile(1, 1);
+
+    // assert
+    assertEquals(2, tile.getGridId());
+    assertTrue(tile.isFlippedHorizontally());
+    assertTrue(tile.isFlippedVertically());
+    assertFalse(tile.isFlippedDiagonally());
+    assertEquals(new Point(1, 1), tile.getTileCoordinate());
+    assertEquals(0xC0000002, this.layer.getGridIdBitmask(1, 1));
+    assertEquals(1, this.layer.getTile(1, 0).getGridId());
+  }
+
+  @Test
+  void testGetTileOutsideOfLayer() {
+    assertNull(this.layer.getTile(-1, 0));
+    assertNull(this.layer.getTile(4, 0));
+    assertNull(this.layer.getTile(0, 3));
+    assertEquals(Tile.NONE, this.layer.getGridIdBitmask(4, 3));
+  }
+
+  @Test
+  void testGetSharedTile() {
+    // act
+    Tile shared = this.layer.getSharedTile(1, 0);
+
+    // assert
+    assertEquals(1, shared.getGridId());
+    assertNull(shared.getTileCoordinate());
+    assertSame(shared, this.layer.getSharedTile(0, 1));
+    assertSame(this.layer.getSharedTile(1, 1), this.layer.getSharedTile(1, 1));
+    assertEquals(this.layer.getTile(1, 1), this.layer.getSharedTile(1, 1));
+    assertNull(this.layer.getSharedTile(4, 0));
+  }
+
+  @Test
+  void testTilePropertiesAreSharedByCellsWithSameGridId() {
+    // arrange
+    TilesetEntry entry = new TilesetEntry(new Tileset(), 1);
+    this.layer.getSharedTile(1, 0).setTilesetEntry(entry);
+    ITile tile = this.layer.getTile(1, 0);
+
+    // act
+    tile.setValue("name", "value");
+
+    // assert
+    assertEquals("value", entry.getStringValue("name"));
+    assertEquals("value", this.layer.getTile(0, 1).getStringValue("name"));
+    assertFalse(this.layer.getTile(2, 0).hasCustomProperty("name"));
+  }
+
+  @Test
+  void testGetTileByLocation() {
+    assertEquals(new Point(3, 2), this.layer.getTileByLocation(new Point2D.Double(3, 2)).getTileCoordinate());
+    assertNull(this.layer.getTileByLocation(new Point2D.Double(1.5, 2)));
+  }
+
+  @Test
+  void testSetTileKeepsFlipFlagsAndNotifiesListeners() {
+    // arrange
+    List<Point> changed = new ArrayList<>();
+    this.layer.onTileChanged((l, x, y) -> changed.add(new Point(x, y)));
+
+    // act
+    this.layer.setTile(1, 1, 7);
+
+    // assert
+    ITile tile = this.layer.getTile(1, 1);
+    assertEquals(7, tile.getGridId());
+    assertTrue(tile.isFlippedHorizontally());
+    assertTrue(tile.isFlippedVertically());
+    assertEquals(List.of(new Point(1, 1)), changed);
+    assertEquals(7, this.layer.getRawTileData().getTiles().get(5).getGridId());
+  }
+
+  @Test
+  void testGetTilesIsViewOnLayer() {
+    // act
+    List<ITile> tiles = this.layer.getTiles();
+    this.layer.setTile(0, 2, 9);
+
+    // assert
+    assertEquals(12, tiles.size());
+    assertEquals(new Point(2, 1), tiles.get(6).getTileCoordinate());
+    assertEquals(9, tiles.get(8).getGridId());
+  }
+
+  @Test
+  void testCopyIsIndependent() {
+    // arrange
+    TileLayer copy = new TileLayer(this.layer);
+
+    // act
+    copy.setTile(0, 0, 5);
+
+    // assert
+    assertEquals(5, copy.getTile(0, 0).getGridId());
+    assertEquals(0, this.layer.getTile(0, 0).getGridId());
+    assertEquals(this.layer.getTile(1, 1), copy.getTile(1, 1));
+  }
+}
@@ -0,0 +1,98 @@
+package de.gurkenlabs.litiengine.environment.tilemap.xml;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.gurkenlabs.litiengine.environment.tilemap.IMapObject;
+import de.gurkenlabs.litiengine.resources.Resources;
+import de.gurkenlabs.litiengine.util.io.XmlUtilities;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+import java.io.StringWriter;
+import java.net.URL;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class TmxReaderTests {
+  @BeforeEach
+  public void clearResources() {
+    Resources.maps().clear();
+    Resources.tilesets().clear();
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"test-map.tmx", "test-infinite-map.tmx", "test-mapobject.tmx", "test-imagelayer.tmx", "test-tileset.tmx"})
+  void testMapIsEqualToJaxbResult(String fileName) throws Exception {
+    // arrange
+    URL location = TmxReaderTests.class.getResource(fileName);
+
+    // act
+    TmxMap stax = TmxReader.readMap(location);
+    TmxMap jaxb = XmlUtilities.read(TmxMap.class, location);
+    stax.finish(location);
+    jaxb.finish(location);
+
+    // assert
+    assertEquals(marshal(jaxb), marshal(stax));
+    assertEquals(jaxb.getMapObjects().size(), stax.getMapObjects().size());
+    for (int i = 0; i < jaxb.getTileLayers().size(); i++) {
+      assertEquals(jaxb.getTileLayers().get(i).getTiles(), stax.getTileLayers().get(i).getTiles());
+    }
+  }
+
+  @Test
+  void testExternalTilesetIsEqualToJaxbResult() throws Exception {
+    // arrange
+    URL location = TmxReaderTests.class.getResource("res/external-tileset.tsx");
+
+    // act
+    Tileset stax = TmxReader.readTileset(location);
+    Tileset jaxb = XmlUtilities.read(Tileset.class, location);
+    stax.finish(location);
+    jaxb.finish(location);
+
+    // assert
+    assertEquals(marshal(jaxb), marshal(stax));
+    assertEquals(jaxb.getImage().getAbsoluteSourcePath(), stax.getImage().getAbsoluteSourcePath());
+  }
+
+  @Test
+  void testMapObjectsAreRead() throws TmxException {
+    // arrange
+    URL location = TmxReaderTests.class.getResource("test-mapobject.tmx");
+
+    // act
+    TmxMap map = TmxReader.readMap(location);
+    map.finish(location);
+
+    // assert
+    for (IMapObject mapObject : map.getMapObjects()) {
+      assertNotNull(mapObject.getLayer());
+    }
+  }
+
+  @Test
+  void testInvalidRootElementFails() {
+    URL location = TmxReaderTests.class.getResource("res/external-tileset.tsx");
+
+    assertThrows(TmxException.class, () -> TmxReader.readMap(location));
+  }
+
+  @Test
+  void testMissingFileFails() throws Exception {
+    URL location = new URL(TmxReaderTests.class.getResource("test-map.tmx"), "does-not-exist.tmx");
+
+    assertThrows(TmxException.class, () -> TmxReader.readMap(location));
+  }
+
+  private static String marshal(Object object) throws Exception {
+    Marshaller marshaller = JAXBContext.newInstance(object.getClass()).createMarshaller();
+    marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+    StringWriter writer = new StringWriter();
+    marshaller.marshal(object, writer);
+    return writer.toString();
+  }
+}
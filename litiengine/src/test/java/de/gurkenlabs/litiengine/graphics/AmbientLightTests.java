@@ -0,0 +1,134 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.GameTest;
+import de.gurkenlabs.litiengine.entities.LightSource;
+import de.gurkenlabs.litiengine.entities.StaticShadow;
+import de.gurkenlabs.litiengine.environment.Environment;
+import de.gurkenlabs.litiengine.environment.tilemap.IMap;
+import de.gurkenlabs.litiengine.test.GameTestSuite;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(GameTestSuite.class)
+class AmbientLightTests {
+  private static final Color AMBIENT_COLOR = new Color(10, 10, 40, 200);
+
+  private IMap map;
+  private Environment environment;
+  private LightSource light;
+
+  @BeforeAll
+  public static void setup() {
+    Game.init(Game.COMMANDLINE_ARG_NOGUI);
+  }
+
+  @AfterAll
+  public static void terminateGame() {
+    GameTest.terminateGame();
+  }
+
+  @BeforeEach
+  public void initEnvironment() {
+    this.map = mock(IMap.class);
+    when(this.map.getSizeInPixels()).thenReturn(new Dimension(200, 200));
+    when(this.map.getSizeInTiles()).thenReturn(new Dimension(20, 20));
+    when(this.map.getBounds()).thenReturn(new Rectangle(0, 0, 200, 200));
+    this.environment = new Environment(this.map);
+
+    this.light = new LightSource(150, new Color(255, 200, 100, 180), LightSource.Type.ELLIPSE, true);
+    this.light.setSize(60, 40);
+    this.light.setLocation(20.5, 30.25);
+    this.environment.add(this.light);
+  }
+
+  @Test
+  void testLightMapsAreReused() {
+    // arrange
+    AmbientLight ambientLight = new AmbientLight(this.environment, AMBIENT_COLOR);
+    int[] expected = pixels(ambientLight.getImage());
+
+    // act
+    ambientLight.updateSection(this.map.getBounds());
+
+    // assert
+    assertEquals(1, ambientLight.getCachedLightMaps());
+    assertArrayEquals(expected, pixels(ambientLight.getImage()));
+  }
+
+  @Test
+  void testMovedLightIsRecomposedInDirtyRegion() {
+    // arrange
+    AmbientLight ambientLight = new AmbientLight(this.environment, AMBIENT_COLOR);
+    int ambient = ambientLight.getImage().getRGB(0, 0);
+
+    // act
+    this.light.setLocation(120.5, 130.25);
+    ambientLight.updateSection(new Rectangle(20, 30, 161, 141));
+
+    // assert
+    assertEquals(ambient, ambientLight.getImage().getRGB(50, 50));
+    assertNotEquals(ambient, ambientLight.getImage().getRGB(150, 150));
+    assertArrayEquals(pixels(new AmbientLight(this.environment, AMBIENT_COLOR).getImage()), pixels(ambientLight.getImage()));
+  }
+
+  @Test
+  void testChangedLightIsRasterizedAgain() {
+    // arrange
+    AmbientLight ambientLight = new AmbientLight(this.environment, AMBIENT_COLOR);
+    int litPixel = ambientLight.getImage().getRGB(50, 50);
+
+    // act
+    this.light.setColor(new Color(0, 100, 255, 180));
+    ambientLight.updateSection(this.light.getBoundingBox());
+
+    // assert
+    assertNotEquals(litPixel, ambientLight.getImage().getRGB(50, 50));
+    assertArrayEquals(pixels(new AmbientLight(this.environment, AMBIENT_COLOR).getImage()), pixels(ambientLight.getImage()));
+  }
+
+  @Test
+  void testStaticShadowsInvalidateLightMaps() {
+    // arrange
+    AmbientLight ambientLight = new AmbientLight(this.environment, AMBIENT_COLOR);
+    int[] unshadowed = pixels(ambientLight.getImage());
+
+    // act
+    this.environment.add(new StaticShadow(55, 45, 10, 10, StaticShadowType.DOWN));
+    ambientLight.updateSection(this.light.getBoundingBox());
+
+    // assert
+    assertNotEquals(unshadowed[52 * 200 + 75], ambientLight.getImage().getRGB(75, 52));
+    assertArrayEquals(pixels(new AmbientLight(this.environment, AMBIENT_COLOR).getImage()), pixels(ambientLight.getImage()));
+  }
+
+  @Test
+  void testRemovedLightsAreEvicted() {
+    // arrange
+    AmbientLight ambientLight = new AmbientLight(this.environment, AMBIENT_COLOR);
+
+    // act
+    this.environment.remove(this.light);
+    ambientLight.updateSection(this.map.getBounds());
+
+    // assert
+    assertEquals(0, ambientLight.getCachedLightMaps());
+  }
+
+  private static int[] pixels(BufferedImage image) {
+    return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+  }
+}
@@ -0,0 +1,37 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.gurkenlabs.litiengine.graphics.animation.AnimationController;
+import de.gurkenlabs.litiengine.graphics.animation.AnimationListener;
+import org.junit.jupiter.api.Test;
+
+class AnimationControllerTests {
+
+  @Test
+  void testControllerWithoutListenersIsParallelSafe() {
+    // arrange
+    AnimationController controller = new AnimationController();
+
+    // act, assert
+    assertTrue(controller.isParallelSafe());
+
+    controller.addListener(new AnimationListener() {});
+    assertFalse(controller.isParallelSafe());
+  }
+
+  @Test
+  void testDerivedControllerIsNotParallelSafe() {
+    // arrange
+    AnimationController controller = new AnimationController() {
+      @Override
+      public void update() {
+        super.update();
+      }
+    };
+
+    // act, assert
+    assertFalse(controller.isParallelSafe());
+  }
+}
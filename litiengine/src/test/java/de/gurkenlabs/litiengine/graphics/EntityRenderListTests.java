@@ -0,0 +1,190 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.gurkenlabs.litiengine.entities.Creature;
+import de.gurkenlabs.litiengine.entities.Entity;
+import de.gurkenlabs.litiengine.entities.EntityYComparator;
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.graphics.emitters.Emitter;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class EntityRenderListTests {
+  private static final Rectangle2D EVERYTHING = new Rectangle2D.Double(-10000, -10000, 20000, 20000);
+
+  @Test
+  void testEntitiesAreSortedByY() {
+    // arrange
+    EntityRenderList list = new EntityRenderList(true);
+    IEntity bottom = createEntity(0, 100);
+    IEntity top = createEntity(0, 10);
+    IEntity middle = createEntity(0, 50);
+
+    // act
+    list.add(bottom);
+    list.add(top);
+    list.add(middle);
+
+    // assert
+    assertEquals(List.of(top, middle, bottom), collect(list, EVERYTHING));
+  }
+
+  @Test
+  void testOrderIsRepairedWhenEntitiesMove() {
+    // arrange
+    EntityRenderList list = new EntityRenderList(true);
+    IEntity first = createEntity(0, 10);
+    IEntity second = createEntity(0, 20);
+    IEntity third = createEntity(0, 30);
+    list.add(first);
+    list.add(second);
+    list.add(third);
+    assertEquals(List.of(first, second, third), collect(list, EVERYTHING));
+
+    // act
+    first.setY(25);
+    third.setSize(16, 1);
+
+    // assert
+    assertEquals(List.of(third, second, first), collect(list, EVERYTHING));
+  }
+
+  @Test
+  void testCollisionBoxDefinesOrder() {
+    // arrange
+    EntityRenderList list = new EntityRenderList(true);
+    Creature tall = new Creature();
+    tall.setSize(16, 64);
+    tall.setCollisionBoxHeight(8);
+    tall.setLocation(0, 0);
+    IEntity small = createEntity(0, 40);
+
+    // act
+    list.add(tall);
+    list.add(small);
+
+    // assert
+    assertEquals(List.of(small, tall), collect(list, EVERYTHING));
+    assertEquals(-1, new EntityYComparator().compare(small, tall));
+  }
+
+  @Test
+  void testOrderMatchesComparatorAfterRandomMoves() {
+    // arrange
+    EntityRenderList list = new EntityRenderList(true);
+    List<IEntity> entities = new ArrayList<>();
+    Random random = new Random(42);
+    for (int i = 0; i < 500; i++) {
+      IEntity entity = createEntity(random.nextInt(1000), random.nextInt(1000));
+      entities.add(entity);
+      list.add(entity);
+    }
+
+    EntityYComparator comparator = new EntityYComparator();
+    for (int frame = 0; frame < 20; frame++) {
+      // act
+      for (int i = 0; i < 50; i++) {
+        IEntity entity = entities.get(random.nextInt(entities.size()));
+        entity.setY(entity.getY() + random.nextInt(21) - 10);
+      }
+
+      // assert
+      List<IEntity> rendered = collect(list, EVERYTHING);
+      assertEquals(entities.size(), rendered.size());
+      for (int i = 1; i < rendered.size(); i++) {
+        assertTrue(comparator.compare(rendered.get(i - 1), rendered.get(i)) <= 0);
+      }
+    }
+  }
+
+  @Test
+  void testEntitiesOutsideViewportAreCulled() {
+    // arrange
+    EntityRenderList list = new EntityRenderList(true);
+    IEntity visible = createEntity(100, 100);
+    IEntity above = createEntity(100, -100);
+    IEntity below = createEntity(100, 500);
+    IEntity beside = createEntity(-100, 100);
+    IEntity partiallyVisible = createEntity(100, -10);
+    Emitter emitter = new Emitter(100, 1000);
+    list.add(visible);
+    list.add(above);
+    list.add(below);
+    list.add(beside);
+    list.add(partiallyVisible);
+    list.add(emitter);
+
+    // act
+    List<IEntity> rendered = collect(list, new Rectangle2D.Double(0, 0, 300, 300));
+
+    // assert
+    assertEquals(List.of(partiallyVisible, visible, emitter), rendered);
+  }
+
+  @Test
+  void testUnsortedListKeepsInsertionOrder() {
+    // arrange
+    EntityRenderList list = new EntityRenderList(false);
+    IEntity bottom = createEntity(0, 100);
+    IEntity top = createEntity(0, 10);
+    IEntity middle = createEntity(0, 50);
+    list.add(bottom);
+    list.add(top);
+    list.add(middle);
+
+    // act
+    List<IEntity> unsorted = collect(list, EVERYTHING);
+    list.setSorted(true);
+    List<IEntity> sorted = collect(list, EVERYTHING);
+    list.setSorted(false);
+
+    // assert
+    assertEquals(List.of(bottom, top, middle), unsorted);
+    assertEquals(List.of(top, middle, bottom), sorted);
+    assertEquals(List.of(bottom, top, middle), collect(list, EVERYTHING));
+  }
+
+  @Test
+  void testRemoveAndClear() {
+    // arrange
+    EntityRenderList list = new EntityRenderList(true);
+    IEntity first = createEntity(0, 10);
+    IEntity second = createEntity(0, 20);
+    list.add(first);
+    list.add(first);
+    list.add(second);
+
+    // act
+    boolean removed = list.remove(first);
+
+    // assert
+    assertTrue(removed);
+    assertFalse(list.remove(first));
+    assertFalse(list.contains(first));
+    assertEquals(1, list.size());
+    assertEquals(List.of(second), collect(list, EVERYTHING));
+
+    list.clear();
+    assertEquals(0, list.size());
+    assertTrue(collect(list, EVERYTHING).isEmpty());
+  }
+
+  private static List<IEntity> collect(EntityRenderList list, Rectangle2D viewport) {
+    List<IEntity> rendered = new ArrayList<>();
+    list.forEachVisible(viewport, rendered::add);
+    return rendered;
+  }
+
+  private static IEntity createEntity(double x, double y) {
+    Entity entity = new Entity() {};
+    entity.setSize(16, 16);
+    entity.setLocation(x, y);
+    return entity;
+  }
+}
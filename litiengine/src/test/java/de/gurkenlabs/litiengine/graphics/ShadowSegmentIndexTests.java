@@ -0,0 +1,97 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.gurkenlabs.litiengine.entities.StaticShadow;
+import java.awt.geom.Path2D;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ShadowSegmentIndexTests {
+  private static final Rectangle2D LIGHT_BOUNDS = new Rectangle2D.Double(0, 0, 200, 200);
+  private static final Point2D CENTER = new Point2D.Double(100, 100);
+
+  @Test
+  void testUnoccludedLightIsNotCut() {
+    // arrange
+    ShadowSegmentIndex index = new ShadowSegmentIndex(List.of(new StaticShadow(500, 500, 20, 20, StaticShadowType.DOWN)));
+
+    // act
+    Path2D visibility = index.computeVisibilityPolygon(CENTER, LIGHT_BOUNDS);
+
+    // assert
+    assertEquals(LIGHT_BOUNDS, visibility.getBounds2D());
+    assertTrue(visibility.contains(190, 190));
+  }
+
+  @Test
+  void testAreaBehindShadowIsOccluded() {
+    // arrange
+    ShadowSegmentIndex index = new ShadowSegmentIndex(List.of(new StaticShadow(140, 90, 10, 20, StaticShadowType.DOWN)));
+
+    // act
+    Path2D visibility = index.computeVisibilityPolygon(CENTER, LIGHT_BOUNDS);
+
+    // assert
+    assertFalse(visibility.contains(180, 100));
+    assertTrue(visibility.contains(120, 100));
+    assertTrue(visibility.contains(180, 150));
+    assertTrue(visibility.contains(20, 100));
+  }
+
+  @Test
+  void testBoxBelowLightIsDarkened() {
+    // arrange
+    StaticShadow below = new StaticShadow(90, 150, 20, 20, StaticShadowType.DOWN);
+    StaticShadow above = new StaticShadow(90, 20, 20, 20, StaticShadowType.DOWN);
+    StaticShadow around = new StaticShadow(80, 80, 40, 40, StaticShadowType.DOWN);
+    ShadowSegmentIndex index = new ShadowSegmentIndex(List.of(below, above));
+    ShadowSegmentIndex roomIndex = new ShadowSegmentIndex(List.of(around));
+
+    // act
+    List<Rectangle2D> darkened = index.getDarkenedBoxes(CENTER, LIGHT_BOUNDS);
+    List<Rectangle2D> room = roomIndex.getDarkenedBoxes(CENTER, LIGHT_BOUNDS);
+
+    // assert
+    assertEquals(List.of(below.getBoundingBox()), darkened);
+    assertTrue(room.isEmpty());
+  }
+
+  @Test
+  void testCollectBoxesOnlyReturnsIntersectingBoxes() {
+    // arrange
+    ShadowSegmentIndex index = new ShadowSegmentIndex(List.of(
+      new StaticShadow(10, 10, 10, 10, StaticShadowType.DOWN),
+      new StaticShadow(1000, 1000, 10, 10, StaticShadowType.DOWN),
+      new StaticShadow(150, 10, 10, 10, StaticShadowType.DOWN)));
+    double[] boxes = new double[index.size() * 4];
+
+    // act
+    int count = index.collectBoxes(LIGHT_BOUNDS, boxes);
+
+    // assert
+    assertEquals(2, count);
+    assertEquals(10, boxes[0]);
+    assertEquals(150, boxes[4]);
+  }
+
+  @Test
+  void testSignatureDependsOnShadowsOnly() {
+    // arrange
+    StaticShadow first = new StaticShadow(10, 10, 10, 10, StaticShadowType.DOWN);
+    StaticShadow second = new StaticShadow(50, 10, 10, 20, StaticShadowType.DOWN);
+
+    // act
+    long signature = new ShadowSegmentIndex(List.of(first, second)).getSignature();
+
+    // assert
+    assertEquals(signature, ShadowSegmentIndex.getSignature(List.of(second, first)));
+    second.setLocation(60, 10);
+    assertNotEquals(signature, ShadowSegmentIndex.getSignature(List.of(first, second)));
+  }
+}
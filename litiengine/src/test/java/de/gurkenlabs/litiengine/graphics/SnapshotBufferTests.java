@@ -0,0 +1,176 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.gurkenlabs.litiengine.entities.Entity;
+import de.gurkenlabs.litiengine.entities.IEntity;
+import java.awt.geom.Point2D;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class SnapshotBufferTests {
+
+  @Test
+  void testNoStateBeforeFirstSnapshot() {
+    SnapshotBuffer buffer = new SnapshotBuffer();
+
+    assertNull(buffer.interpolate(0));
+  }
+
+  @Test
+  void testInterpolatesBetweenLatestSnapshots() {
+    // arrange
+    SnapshotBuffer buffer = new SnapshotBuffer();
+    IEntity entity = createEntity(0, 0);
+    buffer.publish(StateSnapshot.capture(1, 0, null, List.of(entity)));
+    entity.setLocation(10, 20);
+    buffer.publish(StateSnapshot.capture(2, 100, null, List.of(entity)));
+
+    // act
+    RenderState start = buffer.interpolate(100);
+    RenderState half = buffer.interpolate(150);
+    RenderState end = buffer.interpolate(300);
+
+    // assert
+    assertEquals(0, start.getAlpha());
+    assertEquals(new Point2D.Double(0, 0), start.getLocation(entity));
+    assertEquals(0.5, half.getAlpha());
+    assertEquals(new Point2D.Double(5, 10), half.getLocation(entity));
+    assertEquals(1, end.getAlpha());
+    assertEquals(new Point2D.Double(10, 20), end.getLocation(entity));
+  }
+
+  @Test
+  void testOnlyKeepsTwoSnapshots() {
+    // arrange
+    SnapshotBuffer buffer = new SnapshotBuffer();
+    IEntity entity = createEntity(0, 0);
+    for (int tick = 1; tick <= 3; tick++) {
+      entity.setX(tick * 10.0);
+      buffer.publish(StateSnapshot.capture(tick, tick * 100L, null, List.of(entity)));
+    }
+
+    // act
+    RenderState state = buffer.interpolate(300);
+
+    // assert
+    assertEquals(2, state.getPreviousSnapshot().getTick());
+    assertEquals(3, state.getSnapshot().getTick());
+    assertEquals(20, state.getLocation(entity).getX());
+  }
+
+  @Test
+  void testNewEntitiesAreNotInterpolated() {
+    // arrange
+    SnapshotBuffer buffer = new SnapshotBuffer();
+    IEntity entity = createEntity(0, 0);
+    IEntity spawned = createEntity(50, 50);
+    buffer.publish(StateSnapshot.capture(1, 0, null, List.of(entity)));
+    buffer.publish(StateSnapshot.capture(2, 100, null, List.of(entity, spawned)));
+
+    // act
+    RenderState state = buffer.interpolate(150);
+
+    // assert
+    assertEquals(new Point2D.Double(50, 50), state.getLocation(spawned));
+    assertNull(state.getLocation(createEntity(0, 0)));
+  }
+
+  @Test
+  void testRenderStateIsBoundToRenderingThread() throws InterruptedException {
+    // arrange
+    SnapshotBuffer buffer = new SnapshotBuffer();
+    IEntity entity = createEntity(0, 0);
+    buffer.publish(StateSnapshot.capture(1, 0, null, List.of(entity)));
+    entity.setLocation(10, 10);
+    buffer.publish(StateSnapshot.capture(2, 100, null, List.of(entity)));
+    entity.setLocation(100, 100);
+
+    // act
+    AtomicReference<Point2D> otherThread = new AtomicReference<>();
+    buffer.beginFrame(150);
+    Point2D rendered = RenderState.getRenderLocation(entity);
+    Thread thread = new Thread(() -> otherThread.set(RenderState.getRenderLocation(entity)));
+    thread.start();
+    thread.join();
+    buffer.endFrame();
+
+    // assert
+    assertEquals(new Point2D.Double(5, 5), rendered);
+    assertEquals(new Point2D.Double(100, 100), otherThread.get());
+    assertEquals(new Point2D.Double(100, 100), RenderState.getRenderLocation(entity));
+    assertNull(RenderState.current());
+  }
+
+  @Test
+  void testOnlyEntitiesNearViewportAreCaptured() {
+    // arrange
+    Camera camera = createCamera();
+    camera.setFocus(50, 25);
+    camera.updateFocus();
+    IEntity visible = createEntity(10, 10);
+    IEntity near = createEntity(120, 60);
+    IEntity far = createEntity(500, 10);
+
+    // act
+    StateSnapshot snapshot = StateSnapshot.capture(1, 0, camera, List.of(visible, near, far));
+
+    // assert
+    assertEquals(2, snapshot.getEntityCount());
+    assertTrue(snapshot.get(visible).hasFrame());
+    assertFalse(snapshot.get(near).hasFrame());
+    assertFalse(snapshot.contains(far));
+  }
+
+  @Test
+  void testCameraUsesInterpolatedViewport() {
+    // arrange
+    Camera camera = createCamera();
+
+    SnapshotBuffer buffer = new SnapshotBuffer();
+    camera.setFocus(50, 25);
+    camera.updateFocus();
+    buffer.publish(StateSnapshot.capture(1, 0, camera, null));
+    camera.setFocus(150, 25);
+    camera.updateFocus();
+    buffer.publish(StateSnapshot.capture(2, 100, camera, null));
+    camera.setFocus(1000, 25);
+    camera.updateFocus();
+
+    // act
+    buffer.beginFrame(150);
+    double renderedOffset = camera.getPixelOffsetX();
+    double renderedViewportX = camera.getViewport().getX();
+    buffer.endFrame();
+
+    // assert
+    assertEquals(-50, renderedOffset, 0.0001);
+    assertEquals(50, renderedViewportX, 0.0001);
+    assertEquals(950, camera.getViewport().getX(), 0.0001);
+  }
+
+  private static Camera createCamera() {
+    return new Camera() {
+      @Override
+      protected double getViewportWidth() {
+        return 100;
+      }
+
+      @Override
+      protected double getViewportHeight() {
+        return 50;
+      }
+    };
+  }
+
+  private static IEntity createEntity(double x, double y) {
+    Entity entity = new Entity() {};
+    entity.setSize(16, 16);
+    entity.setLocation(x, y);
+    return entity;
+  }
+}
@@ -0,0 +1,195 @@
+package de.gurkenlabs.litiengine.graphics.emitters;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.GameTest;
+import de.gurkenlabs.litiengine.entities.CollisionBox;
+import de.gurkenlabs.litiengine.graphics.emitters.particles.ParticleBuffer;
+import de.gurkenlabs.litiengine.graphics.emitters.particles.ParticleType;
+import de.gurkenlabs.litiengine.graphics.emitters.xml.EmitterData;
+import de.gurkenlabs.litiengine.graphics.emitters.xml.ParticleParameter;
+import de.gurkenlabs.litiengine.physics.Collision;
+import de.gurkenlabs.litiengine.test.GameTestSuite;
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(GameTestSuite.class)
+class ParticleSimulationTests {
+  private static final int TICKS = 30;
+
+  @BeforeAll
+  public static void setup() {
+    Game.init(Game.COMMANDLINE_ARG_NOGUI);
+  }
+
+  @AfterAll
+  public static void terminateGame() {
+    GameTest.terminateGame();
+  }
+
+  @AfterEach
+  void tearDown() {
+    Game.world().particles().setEnabled(false);
+    Game.world().particles().setPool(ForkJoinPool.commonPool());
+    Game.world().particles().setChunkSize(ParticleSimulation.DEFAULT_CHUNK_SIZE);
+    Game.physics().clear();
+  }
+
+  @Test
+  void testSimulationMatchesEmitterUpdates() {
+    // arrange
+    Game.physics().add(new CollisionBox(90, 90, 10, 30));
+    Game.physics().add(new CollisionBox(300, 300, 20, 20));
+
+    // act
+    double[] expected = simulateSequentially();
+
+    Game.world().particles().setChunkSize(7);
+    double[] singleThreaded;
+    double[] multiThreaded;
+    try (ForkJoinPool single = new ForkJoinPool(1); ForkJoinPool multiple = new ForkJoinPool(4)) {
+      Game.world().particles().setPool(single);
+      singleThreaded = simulateInParallel();
+
+      Game.world().particles().setPool(multiple);
+      multiThreaded = simulateInParallel();
+    }
+
+    // assert
+    assertTrue(expected.length > 100);
+    assertArrayEquals(expected, singleThreaded);
+    assertArrayEquals(expected, multiThreaded);
+  }
+
+  @Test
+  void testActivatedEmittersAreRegistered() {
+    // arrange
+    Emitter emitter = new Emitter(0, 0, createData(ParticleType.RECTANGLE, Collision.NONE));
+
+    // act
+    emitter.activate();
+    boolean registered = Game.world().particles().getEmitters().contains(emitter);
+    emitter.deactivate();
+
+    // assert
+    assertTrue(registered);
+    assertFalse(Game.world().particles().getEmitters().contains(emitter));
+  }
+
+  @Test
+  void testEmitterDoesNotUpdateItselfWhileSimulationIsEnabled() {
+    // arrange
+    Emitter emitter = new Emitter(0, 0, createData(ParticleType.RECTANGLE, Collision.NONE));
+    Game.world().particles().setEnabled(true);
+    emitter.activate();
+
+    try {
+      // act
+      emitter.update();
+      int ownUpdate = emitter.getParticleCount();
+      Game.world().particles().update();
+
+      // assert
+      assertEquals(0, ownUpdate);
+      assertEquals(50, emitter.getParticleCount());
+    } finally {
+      emitter.deactivate();
+    }
+  }
+
+  @Test
+  void testInvalidSettingsAreRejected() {
+    // arrange
+    ParticleSimulation simulation = Game.world().particles();
+
+    // assert
+    assertThrows(IllegalArgumentException.class, () -> simulation.setChunkSize(0));
+    assertThrows(IllegalArgumentException.class, () -> simulation.setPool(null));
+  }
+
+  private static double[] simulateSequentially() {
+    List<Emitter> emitters = createEmitters();
+    for (int tick = 0; tick < TICKS; tick++) {
+      for (Emitter emitter : emitters) {
+        emitter.update();
+      }
+    }
+
+    return state(emitters);
+  }
+
+  private static double[] simulateInParallel() {
+    List<Emitter> emitters = createEmitters();
+    Game.world().particles().setEnabled(true);
+    emitters.forEach(Emitter::activate);
+    try {
+      for (int tick = 0; tick < TICKS; tick++) {
+        Game.world().particles().update();
+      }
+
+      return state(emitters);
+    } finally {
+      emitters.forEach(Emitter::deactivate);
+      Game.world().particles().setEnabled(false);
+    }
+  }
+
+  private static List<Emitter> createEmitters() {
+    Game.random().setSeed(1337);
+    List<Emitter> emitters = new ArrayList<>();
+    emitters.add(new Emitter(100, 100, createData(ParticleType.RECTANGLE, Collision.STATIC)));
+    emitters.add(new Emitter(80, 120, createData(ParticleType.ELLIPSE, Collision.ANY)));
+    emitters.add(new Emitter(300, 280, createData(ParticleType.TRIANGLE, Collision.NONE)));
+    return emitters;
+  }
+
+  private static double[] state(List<Emitter> emitters) {
+    List<Double> values = new ArrayList<>();
+    for (Emitter emitter : emitters) {
+      ParticleBuffer buffer = emitter.getParticleBuffer();
+      for (int i = 0; i < buffer.size(); i++) {
+        values.add((double) buffer.getX(i));
+        values.add((double) buffer.getY(i));
+        values.add((double) buffer.getWidth(i));
+        values.add((double) buffer.getHeight(i));
+        values.add((double) buffer.getAngle(i));
+      }
+    }
+
+    return values.stream().mapToDouble(Double::doubleValue).toArray();
+  }
+
+  private static EmitterData createData(ParticleType type, Collision collision) {
+    EmitterData data = new EmitterData();
+    data.setParticleType(type);
+    data.setCollision(collision);
+    data.setColors(Color.RED);
+    data.setSpawnAmount(50);
+    data.setSpawnRate(0);
+    data.setMaxParticles(1000);
+    data.setParticleWidth(new ParticleParameter(2, 6));
+    data.setParticleHeight(new ParticleParameter(2, 6));
+    data.setParticleOffsetX(new ParticleParameter(-10, 10));
+    data.setParticleOffsetY(new ParticleParameter(-10, 10));
+    data.setVelocityX(new ParticleParameter(-2, 2));
+    data.setVelocityY(new ParticleParameter(-2, 2));
+    data.setAccelerationX(new ParticleParameter(-0.1f, 0.1f));
+    data.setAccelerationY(new ParticleParameter(-0.1f, 0.1f));
+    data.setAngle(new ParticleParameter(0, 360));
+    data.setDeltaRotation(new ParticleParameter(-5, 5));
+    data.setParticleTTL(new ParticleParameter(0));
+    return data;
+  }
+}
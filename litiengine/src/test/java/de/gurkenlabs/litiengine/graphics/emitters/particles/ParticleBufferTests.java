@@ -0,0 +1,263 @@
+package de.gurkenlabs.litiengine.graphics.emitters.particles;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.GameTest;
+import de.gurkenlabs.litiengine.GameTime;
+import de.gurkenlabs.litiengine.graphics.ICamera;
+import de.gurkenlabs.litiengine.graphics.emitters.Emitter;
+import de.gurkenlabs.litiengine.graphics.emitters.xml.EmitterData;
+import de.gurkenlabs.litiengine.graphics.emitters.xml.ParticleParameter;
+import de.gurkenlabs.litiengine.test.GameTestSuite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.MockedStatic;
+
+@ExtendWith(GameTestSuite.class)
+class ParticleBufferTests {
+  private static final Point2D ORIGIN = new Point2D.Double(100, 100);
+  private static final Rectangle2D EVERYTHING = new Rectangle2D.Double(-10000, -10000, 20000, 20000);
+
+  @BeforeAll
+  public static void setup() {
+    Game.init(Game.COMMANDLINE_ARG_NOGUI);
+  }
+
+  @AfterAll
+  public static void terminateGame() {
+    GameTest.terminateGame();
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = ParticleType.class, names = {"RECTANGLE", "ELLIPSE", "TRIANGLE", "DIAMOND", "LINE"})
+  void testSimulationMatchesParticleObjects(ParticleType type) {
+    // arrange
+    EmitterData data = createData(type);
+    Game.random().setSeed(42);
+    Particle particle = createParticle(data);
+    Game.random().setSeed(42);
+    ParticleBuffer buffer = new ParticleBuffer();
+
+    // act
+    buffer.spawn(data);
+    for (int i = 0; i < 50; i++) {
+      particle.update(ORIGIN, 0.5f);
+      buffer.update(ORIGIN, 0.5f);
+    }
+
+    // assert
+    assertEquals(1, buffer.size());
+    assertEquals(particle.getX(), buffer.getX(0));
+    assertEquals(particle.getY(), buffer.getY(0));
+    assertEquals(particle.getWidth(), buffer.getWidth(0));
+    assertEquals(particle.getHeight(), buffer.getHeight(0));
+    assertEquals(particle.getAngle(), buffer.getAngle(0));
+    assertEquals(particle.getOpacity(), buffer.getOpacity(0));
+
+    Rectangle2D expected = particle.getBoundingBox(ORIGIN);
+    Rectangle2D actual = buffer.getBoundingBox(0, ORIGIN);
+    assertEquals(expected.getX(), actual.getX(), 0.01);
+    assertEquals(expected.getY(), actual.getY(), 0.01);
+    assertEquals(expected.getWidth(), actual.getWidth(), 0.01);
+    assertEquals(expected.getHeight(), actual.getHeight(), 0.01);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+    "RECTANGLE, false",
+    "RECTANGLE, true",
+    "ELLIPSE, false",
+    "ELLIPSE, true",
+    "TRIANGLE, false",
+    "DIAMOND, true",
+    "LINE, false"
+  })
+  void testRenderingMatchesParticleObjects(ParticleType type, boolean outlineOnly) {
+    // arrange
+    EmitterData data = createData(type);
+    data.setOutlineOnly(outlineOnly);
+    data.setParticleTTL(new ParticleParameter(1000));
+
+    // the particles are rendered around the center of the image
+    ICamera camera = Game.world().camera();
+    Point2D origin = new Point2D.Double(100 / camera.getRenderScale() - camera.getPixelOffsetX(), 100 / camera.getRenderScale() - camera.getPixelOffsetY());
+
+    BufferedImage expected = new BufferedImage(200, 200, BufferedImage.TYPE_INT_ARGB);
+    BufferedImage actual = new BufferedImage(200, 200, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D expectedGraphics = expected.createGraphics();
+    Graphics2D actualGraphics = actual.createGraphics();
+    ParticleBuffer buffer = new ParticleBuffer();
+
+    // act
+    for (int i = 0; i < 20; i++) {
+      Game.random().setSeed(i);
+      Particle particle = createParticle(data);
+      Game.random().setSeed(i);
+      buffer.spawn(data);
+      for (int j = 0; j < 10; j++) {
+        particle.update(origin, 1f);
+      }
+
+      particle.render(expectedGraphics, origin);
+    }
+
+    for (int j = 0; j < 10; j++) {
+      buffer.update(origin, 1f);
+    }
+
+    buffer.render(actualGraphics, origin, EVERYTHING);
+    expectedGraphics.dispose();
+    actualGraphics.dispose();
+
+    // assert
+    int[] expectedPixels = expected.getRGB(0, 0, 200, 200, null, 0, 200);
+    assertTrue(Arrays.stream(expectedPixels).anyMatch(p -> p != 0));
+    assertArrayEquals(expectedPixels, actual.getRGB(0, 0, 200, 200, null, 0, 200));
+  }
+
+  @Test
+  void testExpiredParticlesAreSwapRemoved() {
+    // arrange
+    EmitterData data = createData(ParticleType.RECTANGLE);
+    data.setVelocityX(new ParticleParameter(1));
+    data.setVelocityY(new ParticleParameter(0));
+    data.setAccelerationX(new ParticleParameter(0));
+    data.setParticleOffsetX(new ParticleParameter(0));
+    ParticleBuffer buffer = new ParticleBuffer();
+    GameTime time = mock(GameTime.class);
+
+    try (MockedStatic<Game> gameMockedStatic = mockStatic(Game.class, CALLS_REAL_METHODS)) {
+      gameMockedStatic.when(Game::time).thenReturn(time);
+      when(time.now()).thenReturn(1L);
+      when(time.since(1L)).thenReturn(0L);
+
+      for (int ttl : new int[] {100, 10, 100, 100}) {
+        data.setParticleTTL(new ParticleParameter(ttl));
+        buffer.spawn(data);
+      }
+
+      buffer.update(ORIGIN, 1f);
+
+      // act
+      when(time.since(1L)).thenReturn(10L);
+      buffer.update(ORIGIN, 1f);
+      buffer.update(ORIGIN, 1f);
+
+      // assert
+      // the last particle was moved into the slot of the expired one and still updated with the same frame
+      assertEquals(3, buffer.size());
+      for (int i = 0; i < buffer.size(); i++) {
+        assertEquals(3, buffer.getX(i));
+      }
+
+      assertThrows(IndexOutOfBoundsException.class, () -> buffer.getX(3));
+    }
+  }
+
+  @Test
+  void testUnsupportedTypesAreRejected() {
+    // arrange
+    ParticleBuffer buffer = new ParticleBuffer();
+
+    // assert
+    assertFalse(ParticleBuffer.supports(ParticleType.SPRITE));
+    assertFalse(ParticleBuffer.supports(ParticleType.TEXT));
+    assertThrows(IllegalArgumentException.class, () -> buffer.spawn(createData(ParticleType.TEXT)));
+    assertEquals(0, buffer.size());
+  }
+
+  @Test
+  void testEmitterStoresShapeParticlesInBuffer() {
+    // arrange
+    EmitterData shapes = createData(ParticleType.ELLIPSE);
+    shapes.setSpawnAmount(10);
+    shapes.setSpawnRate(0);
+    shapes.setMaxParticles(100);
+    EmitterData texts = createData(ParticleType.TEXT);
+    texts.setSpawnAmount(10);
+    texts.setSpawnRate(0);
+    texts.setMaxParticles(100);
+    texts.setTexts(List.of("text"));
+    Emitter shapeEmitter = new Emitter(0, 0, shapes);
+    Emitter textEmitter = new Emitter(0, 0, texts);
+    Emitter customEmitter = new Emitter(0, 0, shapes) {
+      @Override
+      protected Particle createNewParticle() {
+        return new RectangleParticle(1, 1);
+      }
+    };
+
+    // act
+    shapeEmitter.update();
+    textEmitter.update();
+    customEmitter.update();
+
+    // assert
+    assertEquals(10, shapeEmitter.getParticleCount());
+    assertEquals(10, shapeEmitter.getParticleBuffer().size());
+    assertTrue(shapeEmitter.getParticles().isEmpty());
+
+    assertEquals(10, textEmitter.getParticleCount());
+    assertEquals(10, textEmitter.getParticles().size());
+    assertEquals(0, textEmitter.getParticleBuffer().size());
+
+    assertEquals(10, customEmitter.getParticles().size());
+    assertEquals(0, customEmitter.getParticleBuffer().size());
+  }
+
+  private static EmitterData createData(ParticleType type) {
+    EmitterData data = new EmitterData();
+    data.setParticleType(type);
+    data.setColors(Color.RED, new Color(0, 128, 255, 200));
+    data.setParticleWidth(new ParticleParameter(4, 12));
+    data.setParticleHeight(new ParticleParameter(4, 12));
+    data.setParticleOffsetX(new ParticleParameter(-20, 20));
+    data.setParticleOffsetY(new ParticleParameter(-20, 20));
+    data.setVelocityX(new ParticleParameter(-1, 1));
+    data.setVelocityY(new ParticleParameter(-1, 1));
+    data.setAccelerationX(new ParticleParameter(-0.1f, 0.1f));
+    data.setAccelerationY(new ParticleParameter(-0.1f, 0.1f));
+    data.setDeltaWidth(new ParticleParameter(-0.1f, 0.1f));
+    data.setDeltaHeight(new ParticleParameter(-0.1f, 0.1f));
+    data.setAngle(new ParticleParameter(0, 360));
+    data.setDeltaRotation(new ParticleParameter(-5, 5));
+    data.setOutlineThickness(new ParticleParameter(1, 3));
+    data.setAntiAliasing(true);
+    data.setParticleTTL(new ParticleParameter(0));
+    return data;
+  }
+
+  private static Particle createParticle(EmitterData data) {
+    // the same random values are drawn in the same order as by the emitter
+    float width = (float) data.getParticleWidth().get();
+    float height = (float) data.getParticleHeight().get();
+    return switch (data.getParticleType()) {
+      case ELLIPSE -> new EllipseParticle(width, height).init(data);
+      case TRIANGLE -> new PolygonParticle(width, height, 3).init(data);
+      case DIAMOND -> new PolygonParticle(width, height, 4).init(data);
+      case LINE -> new LineParticle(width, height).init(data);
+      default -> new RectangleParticle(width, height).init(data);
+    };
+  }
+}
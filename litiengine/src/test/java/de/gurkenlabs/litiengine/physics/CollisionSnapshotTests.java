@@ -0,0 +1,88 @@
+package de.gurkenlabs.litiengine.physics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.entities.CollisionBox;
+import de.gurkenlabs.litiengine.test.GameTestSuite;
+import java.awt.geom.Rectangle2D;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(GameTestSuite.class)
+class CollisionSnapshotTests {
+
+  @BeforeEach
+  void setUp() {
+    Game.init(Game.COMMANDLINE_ARG_NOGUI);
+  }
+
+  @AfterEach
+  void tearDown() {
+    Game.physics().clear();
+  }
+
+  @Test
+  void testSnapshotMatchesPhysicsEngine() {
+    // arrange
+    Random random = new Random(1337);
+    for (int i = 0; i < 500; i++) {
+      CollisionBox box = new CollisionBox(random.nextDouble() * 2000, random.nextDouble() * 2000, 1 + random.nextDouble() * 40, 1 + random.nextDouble() * 40);
+      box.setCollisionType(random.nextBoolean() ? Collision.STATIC : Collision.DYNAMIC);
+      Game.physics().add(box);
+    }
+
+    // a box that covers most of the grid
+    CollisionBox large = new CollisionBox(1500, 100, 400, 1800);
+    Game.physics().add(large);
+
+    // act
+    CollisionSnapshot snapshot = Game.physics().snapshot();
+
+    // assert
+    assertEquals(501, snapshot.size());
+    for (int i = 0; i < 5000; i++) {
+      Rectangle2D rect = new Rectangle2D.Double(random.nextDouble() * 2100 - 50, random.nextDouble() * 2100 - 50, random.nextDouble() * 20, random.nextDouble() * 20);
+      for (Collision collision : Collision.values()) {
+        assertEquals(Game.physics().collides(rect, collision), snapshot.collides(rect, collision), rect + " " + collision);
+      }
+    }
+  }
+
+  @Test
+  void testSnapshotIsNotAffectedByLaterChanges() {
+    // arrange
+    CollisionBox box = new CollisionBox(10, 10, 10, 10);
+    Game.physics().add(box);
+    Rectangle2D rect = new Rectangle2D.Double(12, 12, 2, 2);
+
+    // act
+    CollisionSnapshot snapshot = Game.physics().snapshot();
+    box.setLocation(100, 100);
+    Game.physics().remove(box);
+
+    // assert
+    assertTrue(snapshot.collides(rect, Collision.ANY));
+    assertFalse(Game.physics().collides(rect, Collision.ANY));
+  }
+
+  @Test
+  void testRectanglesOutsideOfBoundsCollide() {
+    // arrange
+    Game.physics().setBounds(new Rectangle2D.Double(0, 0, 100, 100));
+
+    // act
+    CollisionSnapshot snapshot = Game.physics().snapshot();
+    Game.physics().setBounds(null);
+
+    // assert
+    assertEquals(0, snapshot.size());
+    assertTrue(snapshot.collides(new Rectangle2D.Double(200, 200, 10, 10), Collision.NONE));
+    assertFalse(snapshot.collides(new Rectangle2D.Double(50, 50, 10, 10), Collision.ANY));
+  }
+}
@@ -0,0 +1,140 @@
+package de.gurkenlabs.litiengine.physics;
+
+import de.gurkenlabs.litiengine.entities.CollisionBox;
+import de.gurkenlabs.litiengine.entities.ICollisionEntity;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GridSpatialIndexTests {
+  private GridSpatialIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new GridSpatialIndex(10);
+  }
+
+  @Test
+  void testInvalidCellSize() {
+    // arrange, act, assert
+    assertThrows(IllegalArgumentException.class, () -> new GridSpatialIndex(0));
+    assertThrows(IllegalArgumentException.class, () -> new GridSpatialIndex(Double.NaN));
+  }
+
+  @Test
+  void testQueryReportsEntitiesOnce() {
+    // arrange
+    ICollisionEntity large = new CollisionBox(5, 5, 35, 35);
+    index.add(large, large.getCollisionBox());
+
+    // act
+    List<ICollisionEntity> candidates = new ArrayList<>();
+    index.query(new Rectangle2D.Double(0, 0, 50, 50), candidates::add);
+
+    // assert
+    assertEquals(List.of(large), candidates);
+  }
+
+  @Test
+  void testUpdateMovesEntityToNewCells() {
+    // arrange
+    ICollisionEntity entity = new CollisionBox(0, 0, 5, 5);
+    index.add(entity, entity.getCollisionBox());
+
+    // act
+    index.update(entity, new Rectangle2D.Double(100, 100, 5, 5));
+
+    // assert
+    assertEquals(1, index.size());
+    assertFalse(index.anyMatch(new Rectangle2D.Double(0, 0, 5, 5), e -> true));
+    assertTrue(index.anyMatch(new Rectangle2D.Double(101, 101, 1, 1), e -> e == entity));
+  }
+
+  @Test
+  void testUpdateIgnoresUnknownEntities() {
+    // arrange
+    ICollisionEntity entity = new CollisionBox(0, 0, 5, 5);
+
+    // act
+    index.update(entity, entity.getCollisionBox());
+
+    // assert
+    assertEquals(0, index.size());
+    assertFalse(index.anyMatch(new Rectangle2D.Double(0, 0, 5, 5), e -> true));
+  }
+
+  @Test
+  void testRemove() {
+    // arrange
+    ICollisionEntity entity = new CollisionBox(0, 0, 5, 5);
+    index.add(entity, entity.getCollisionBox());
+
+    // act
+    index.remove(entity);
+
+    // assert
+    assertEquals(0, index.size());
+    assertFalse(index.anyMatch(new Rectangle2D.Double(0, 0, 5, 5), e -> true));
+  }
+
+  @Test
+  void testOversizedEntityIsAlwaysACandidate() {
+    // arrange
+    ICollisionEntity huge = new CollisionBox(-10000, -10000, 20000, 20000);
+    index.add(huge, huge.getCollisionBox());
+
+    // act, assert
+    assertTrue(index.anyMatch(new Rectangle2D.Double(0, 0, 1, 1), e -> e == huge));
+    assertTrue(index.anyMatch(new Line2D.Double(0, 0, 500, 300), e -> e == huge));
+  }
+
+  @Test
+  void testQueriesMatchLinearScan() {
+    // arrange
+    Random random = new Random(42);
+    List<ICollisionEntity> entities = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      ICollisionEntity entity = new CollisionBox(random.nextDouble() * 1000 - 500, random.nextDouble() * 1000 - 500, 1 + random.nextDouble() * 40,
+        1 + random.nextDouble() * 40);
+      entities.add(entity);
+      index.add(entity, entity.getCollisionBox());
+    }
+
+    for (int i = 0; i < 200; i++) {
+      Rectangle2D area = new Rectangle2D.Double(random.nextDouble() * 1000 - 500, random.nextDouble() * 1000 - 500, random.nextDouble() * 200,
+        random.nextDouble() * 200);
+      Line2D line = new Line2D.Double(random.nextDouble() * 1000 - 500, random.nextDouble() * 1000 - 500, random.nextDouble() * 1000 - 500,
+        random.nextDouble() * 1000 - 500);
+
+      // act
+      Set<ICollisionEntity> areaCandidates = new HashSet<>();
+      index.query(area, e -> assertTrue(areaCandidates.add(e), "entity reported twice"));
+      Set<ICollisionEntity> lineCandidates = new HashSet<>();
+      index.query(line, e -> assertTrue(lineCandidates.add(e), "entity reported twice"));
+
+      // assert
+      for (ICollisionEntity entity : entities) {
+        if (entity.getCollisionBox().intersects(area)) {
+          assertTrue(areaCandidates.contains(entity));
+        }
+
+        if (entity.getCollisionBox().intersectsLine(line)) {
+          assertTrue(lineCandidates.contains(entity));
+        }
+      }
+    }
+  }
+}
@@ -76,7 +76,7 @@ class MovementControllerTests {
     try (MockedStatic<Game> gameMockedStatic = mockStatic(Game.class)) {
       IGameLoop mockGameLoop = mock(IGameLoop.class);
       PhysicsEngine physicsEngine = new PhysicsEngine();
-      when(mockGameLoop.getDeltaTime()).thenReturn(10L);
+      when(mockGameLoop.getPreciseDeltaTime()).thenReturn(10d);
       when(mockGameLoop.getTimeScale()).thenReturn(2f);
 
       gameMockedStatic.when(Game::loop).thenReturn(mockGameLoop);
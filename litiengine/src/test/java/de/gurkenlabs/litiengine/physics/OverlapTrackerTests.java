@@ -0,0 +1,148 @@
+package de.gurkenlabs.litiengine.physics;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.entities.CollisionBox;
+import de.gurkenlabs.litiengine.entities.ICollisionEntity;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OverlapTrackerTests {
+  private OverlapTracker tracker;
+  private ICollisionEntity region;
+  private List<String> events;
+
+  @BeforeEach
+  void setUp() {
+    tracker = Game.physics().getOverlapTracker();
+    region = new CollisionBox(0, 0, 20, 20);
+    events = new ArrayList<>();
+    tracker.add(region, new RecordingListener(events));
+  }
+
+  @AfterEach
+  void tearDown() {
+    tracker.remove(region);
+    Game.physics().clear();
+    Game.physics().update();
+  }
+
+  @Test
+  void testEnterStayExit() {
+    // arrange
+    ICollisionEntity entity = createEntity("entity", 50, 50);
+    tracker.update();
+
+    // act
+    entity.setLocation(5, 5);
+    tracker.update();
+    entity.setLocation(8, 8);
+    tracker.update();
+    entity.setLocation(50, 50);
+    tracker.update();
+
+    // assert
+    assertEquals(List.of("entered entity", "stayed entity", "exited entity"), events);
+  }
+
+  @Test
+  void testEntitiesAtRestCauseNoEvents() {
+    // arrange
+    createEntity("resting", 5, 5);
+    ICollisionEntity outside = createEntity("outside", 100, 100);
+    tracker.update();
+
+    // act
+    for (int i = 0; i < 10; i++) {
+      outside.setLocation(100 + i, 100);
+      tracker.update();
+    }
+
+    // assert
+    assertEquals(List.of("entered resting"), events);
+    assertEquals(1, tracker.getOverlaps(region).size());
+  }
+
+  @Test
+  void testMovingRegionDeterminesItsOverlaps() {
+    // arrange
+    createEntity("first", 5, 5);
+    createEntity("second", 45, 5);
+    tracker.update();
+
+    // act
+    region.setLocation(40, 0);
+    tracker.update();
+
+    // assert
+    assertEquals(List.of("entered first", "exited first", "entered second"), events);
+  }
+
+  @Test
+  void testRemovedEntitiesExit() {
+    // arrange
+    ICollisionEntity entity = createEntity("entity", 5, 5);
+    tracker.update();
+
+    // act
+    Game.physics().remove(entity);
+    tracker.update();
+
+    // assert
+    assertEquals(List.of("entered entity", "exited entity"), events);
+    assertTrue(tracker.getOverlaps(region).isEmpty());
+  }
+
+  @Test
+  void testRemovedRegionsAreNotNotified() {
+    // arrange
+    ICollisionEntity entity = createEntity("entity", 50, 50);
+    tracker.update();
+
+    // act
+    tracker.remove(region);
+    entity.setLocation(5, 5);
+    tracker.update();
+
+    // assert
+    assertTrue(events.isEmpty());
+    assertEquals(0, tracker.size());
+  }
+
+  private static ICollisionEntity createEntity(String name, double x, double y) {
+    CollisionBox entity = new CollisionBox(x, y, 5, 5);
+    entity.setName(name);
+    Game.physics().add(entity);
+    return entity;
+  }
+
+  private static final class RecordingListener implements OverlapListener {
+    private final List<String> events;
+
+    private RecordingListener(List<String> events) {
+      this.events = events;
+    }
+
+    @Override
+    public void entered(ICollisionEntity entity) {
+      events.add("entered " + entity.getName());
+    }
+
+    @Override
+    public void stayed(ICollisionEntity entity) {
+      events.add("stayed " + entity.getName());
+    }
+
+    @Override
+    public void exited(ICollisionEntity entity) {
+      events.add("exited " + entity.getName());
+    }
+  }
+}
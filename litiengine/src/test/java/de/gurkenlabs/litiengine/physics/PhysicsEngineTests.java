@@ -19,9 +19,12 @@ import java.awt.geom.Rectangle2D;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(GameTestSuite.class)
 class PhysicsEngineTests {
@@ -238,6 +241,51 @@ class PhysicsEngineTests {
     assertNull(hit);
   }
 
+  @Test
+  void testSpatialIndexFollowsMovedEntity() {
+    // arrange
+    ICollisionEntity entity = new CollisionBox(0, 0, 5, 5);
+    Game.physics().add(entity);
+
+    // act
+    entity.setLocation(200, 200);
+
+    // assert
+    assertFalse(Game.physics().collides(new Rectangle2D.Double(1, 1, 2, 2)));
+    assertTrue(Game.physics().collides(new Rectangle2D.Double(201, 201, 2, 2)));
+  }
+
+  @Test
+  void testRaycastReturnsClosestHit() {
+    // arrange
+    ICollisionEntity far = new CollisionBox(300, 0, 10, 10);
+    ICollisionEntity near = new CollisionBox(100, 0, 10, 10);
+    Game.physics().add(far);
+    Game.physics().add(near);
+
+    // act
+    RaycastHit hit = Game.physics().raycast(new Line2D.Double(0, 5, 500, 5));
+
+    // assert
+    assertEquals(near, hit.entity());
+    assertEquals(100, hit.distance(), 0.0001d);
+  }
+
+  @Test
+  void testSetSpatialIndexKeepsEntities() {
+    // arrange
+    ICollisionEntity entity = new CollisionBox(10, 10, 5, 5);
+    Game.physics().add(entity);
+
+    // act
+    Game.physics().setSpatialIndex(LinearSpatialIndex::new);
+
+    // assert
+    assertInstanceOf(LinearSpatialIndex.class, Game.physics().getSpatialIndex(Collision.STATIC));
+    assertTrue(Game.physics().collides(new Rectangle2D.Double(11, 11, 1, 1)));
+    Game.physics().setSpatialIndex(GridSpatialIndex::new);
+  }
+
   @SuppressWarnings("unused")
   private static Stream<Arguments> getRaycastCollisionArguments() {
     return Stream.of(Arguments.of(new Line2D.Double(3.5d, 3.5d, 10, 10), 7, 7), Arguments.of(new Line2D.Double(10, 10, 3.5, 3.5d), 8, 8));
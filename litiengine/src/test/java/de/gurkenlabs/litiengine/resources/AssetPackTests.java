@@ -0,0 +1,159 @@
+package de.gurkenlabs.litiengine.resources;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.gurkenlabs.litiengine.environment.tilemap.IMap;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.Tileset;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.TmxMap;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.TmxReader;
+import de.gurkenlabs.litiengine.graphics.Spritesheet;
+import de.gurkenlabs.litiengine.sound.Sound;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AssetPackTests {
+  @TempDir
+  Path tempDir;
+
+  private TmxMap map;
+  private URL pack;
+
+  @BeforeEach
+  void setup() throws Exception {
+    Resources.clearAll();
+
+    URL mapLocation = AssetPackTests.class.getResource("/de/gurkenlabs/litiengine/environment/tilemap/xml/test-map.tmx");
+    URL tilesetLocation = AssetPackTests.class.getResource("/de/gurkenlabs/litiengine/environment/tilemap/xml/res/external-tileset.tsx");
+
+    ResourceBundle bundle = new ResourceBundle();
+    Tileset tileset = TmxReader.readTileset(tilesetLocation);
+    tileset.finish(tilesetLocation);
+    bundle.getTilesets().add(tileset);
+
+    this.map = TmxReader.readMap(mapLocation);
+    this.map.finish(mapLocation);
+    bundle.getMaps().add(this.map);
+
+    SpritesheetResource sprite = new SpritesheetResource(new BufferedImage(16, 8, BufferedImage.TYPE_INT_ARGB), "hero", 8, 8);
+    sprite.setKeyframes(new int[] {100, 200});
+    bundle.getSpriteSheets().add(sprite);
+
+    try (InputStream sound = Resources.get("de/gurkenlabs/litiengine/resources/bip.ogg")) {
+      bundle.getSounds().add(new SoundResource(sound, "bip", SoundFormat.OGG));
+    }
+
+    Path file = this.tempDir.resolve("game." + AssetPack.FILE_EXTENSION);
+    AssetPack.write(bundle, file);
+    this.pack = file.toUri().toURL();
+
+    // the resources of the bundle have been added to the containers while creating them
+    Resources.clearAll();
+  }
+
+  @AfterEach
+  void clearResources() {
+    Resources.clearAll();
+  }
+
+  @Test
+  void testOpen() throws Exception {
+    // act
+    AssetPack assets = AssetPack.open(this.pack);
+
+    // assert
+    assertEquals(List.of("test-map", "external-tileset", "hero", "bip"), assets.getNames());
+  }
+
+  @Test
+  void testMountDoesNotLoadAssets() {
+    // act
+    Resources.load(this.pack);
+
+    // assert
+    assertTrue(Resources.maps().contains("test-map"));
+    assertTrue(Resources.tilesets().contains("external-tileset"));
+    assertTrue(Resources.spritesheets().contains("hero"));
+    assertTrue(Resources.sounds().contains("bip"));
+    assertEquals(0, Resources.maps().count());
+    assertEquals(0, Resources.tilesets().count());
+    assertTrue(Resources.spritesheets().getAll().isEmpty());
+    assertEquals(0, Resources.sounds().count());
+    assertArrayEquals(new int[] {100, 200}, Resources.spritesheets().getCustomKeyFrameDurations("hero"));
+  }
+
+  @Test
+  void testMapIsLoadedOnDemand() {
+    // arrange
+    Resources.load(this.pack);
+
+    // act
+    IMap loaded = Resources.maps().get("test-map");
+
+    // assert
+    assertNotNull(loaded);
+    assertEquals(1, Resources.maps().count());
+    assertEquals(this.map.getTileLayers().size(), loaded.getTileLayers().size());
+    for (int i = 0; i < this.map.getTileLayers().size(); i++) {
+      assertEquals(this.map.getTileLayers().get(i).getTiles(), loaded.getTileLayers().get(i).getTiles());
+    }
+
+    // the external tileset is resolved from the pack as well
+    assertEquals("external-tileset", loaded.getTilesets().get(1).getName());
+    assertEquals(1, Resources.tilesets().count());
+  }
+
+  @Test
+  void testSpritesheetAndSoundAreLoadedOnDemand() {
+    // arrange
+    Resources.load(this.pack);
+
+    // act
+    Spritesheet spritesheet = Resources.spritesheets().get("hero");
+    Sound sound = Resources.sounds().get("bip");
+
+    // assert
+    assertNotNull(spritesheet);
+    assertEquals(8, spritesheet.getSpriteWidth());
+    assertEquals(2, spritesheet.getColumns());
+    assertEquals(spritesheet, Resources.spritesheets().get("hero"));
+    assertNotNull(sound);
+    assertEquals("bip", sound.getName());
+  }
+
+  @Test
+  void testClearRemovesMountedAssets() {
+    // arrange
+    Resources.load(this.pack);
+
+    // act
+    Resources.maps().clear();
+
+    // assert
+    assertFalse(Resources.maps().contains("test-map"));
+  }
+
+  @Test
+  void testInvalidPackFails() throws Exception {
+    // arrange
+    Path file = this.tempDir.resolve("invalid." + AssetPack.FILE_EXTENSION);
+    Files.writeString(file, "<litidata/>");
+    URL location = file.toUri().toURL();
+
+    // assert
+    assertThrows(IOException.class, () -> AssetPack.open(location));
+  }
+}
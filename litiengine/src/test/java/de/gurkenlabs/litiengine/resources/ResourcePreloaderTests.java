@@ -0,0 +1,178 @@
+package de.gurkenlabs.litiengine.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.gurkenlabs.litiengine.environment.tilemap.IMap;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.TmxReader;
+import de.gurkenlabs.litiengine.util.io.Codec;
+import java.awt.image.BufferedImage;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResourcePreloaderTests {
+  @TempDir
+  Path tempDir;
+
+  private URL mapLocation;
+  private ResourceBundle bundle;
+  private final List<PreloadEvent> loaded = new CopyOnWriteArrayList<>();
+  private final List<PreloadEvent> failed = new CopyOnWriteArrayList<>();
+  private final List<PreloadEvent> finished = new CopyOnWriteArrayList<>();
+  private ResourcePreloader preloader;
+
+  @BeforeEach
+  void setup() throws Exception {
+    Resources.clearAll();
+
+    this.mapLocation = ResourcePreloaderTests.class.getResource("/de/gurkenlabs/litiengine/environment/tilemap/xml/test-map.tmx");
+    URL tilesetLocation = ResourcePreloaderTests.class.getResource("/de/gurkenlabs/litiengine/environment/tilemap/xml/res/external-tileset.tsx");
+
+    // the resources of a bundle have not been finished before they are preloaded
+    this.bundle = new ResourceBundle();
+    this.bundle.getMaps().add(TmxReader.readMap(this.mapLocation));
+    this.bundle.getTilesets().add(TmxReader.readTileset(tilesetLocation));
+    this.bundle.getSpriteSheets().add(new SpritesheetResource(new BufferedImage(32, 16, BufferedImage.TYPE_INT_ARGB), "tiles-test", 16, 16));
+    this.bundle.getSpriteSheets().add(new SpritesheetResource(new BufferedImage(16, 8, BufferedImage.TYPE_INT_ARGB), "hero", 8, 8));
+    try (InputStream sound = Resources.get("de/gurkenlabs/litiengine/resources/bip.ogg")) {
+      this.bundle.getSounds().add(new SoundResource(sound, "bip", SoundFormat.OGG));
+    }
+
+    Resources.clearAll();
+
+    this.preloader = new ResourcePreloader(4);
+    this.preloader.addListener(new PreloadListener() {
+      @Override
+      public void loaded(PreloadEvent event) {
+        ResourcePreloaderTests.this.loaded.add(event);
+      }
+
+      @Override
+      public void failed(PreloadEvent event) {
+        ResourcePreloaderTests.this.failed.add(event);
+      }
+
+      @Override
+      public void finished(PreloadEvent event) {
+        ResourcePreloaderTests.this.finished.add(event);
+      }
+    });
+  }
+
+  @AfterEach
+  void clearResources() {
+    Resources.clearAll();
+  }
+
+  @Test
+  void testPreloadRegistersResources() throws Exception {
+    // act
+    ResourceBundle result = this.preloader.preload(this.bundle, this.mapLocation).get(10, TimeUnit.SECONDS);
+
+    // assert
+    assertSame(this.bundle, result);
+    assertEquals(1, Resources.maps().count());
+    assertEquals(1, Resources.tilesets().count());
+    assertEquals(2, Resources.spritesheets().getAll().size());
+    assertEquals(1, Resources.sounds().count());
+
+    IMap map = Resources.maps().get("test-map");
+    assertNotNull(map);
+    assertEquals("external-tileset", map.getTilesets().get(1).getName());
+  }
+
+  @Test
+  void testPreloadReportsProgress() throws Exception {
+    // act
+    this.preloader.preload(this.bundle, this.mapLocation).get(10, TimeUnit.SECONDS);
+
+    // assert
+    assertEquals(5, this.loaded.size());
+    assertTrue(this.failed.isEmpty());
+    assertEquals(1, this.finished.size());
+    assertEquals(5, this.finished.get(0).getCompleted());
+    assertEquals(1f, this.finished.get(0).getProgress());
+    assertNull(this.finished.get(0).getResourceName());
+
+    for (PreloadEvent event : this.loaded) {
+      assertEquals(5, event.getTotal());
+      assertNotNull(event.getResource());
+      assertSame(this.preloader, event.getSource());
+    }
+  }
+
+  @Test
+  void testPreloadRespectsDependencies() throws Exception {
+    // act
+    this.preloader.preload(this.bundle, this.mapLocation).get(10, TimeUnit.SECONDS);
+
+    // assert
+    List<String> order = this.loaded.stream().map(PreloadEvent::getResourceName).toList();
+    assertTrue(order.indexOf("tiles-test") < order.indexOf("external-tileset"));
+    assertTrue(order.indexOf("external-tileset") < order.indexOf("test-map"));
+  }
+
+  @Test
+  void testPreloadContinuesAfterFailure() throws Exception {
+    // arrange
+    SoundResource broken = new SoundResource();
+    broken.setName("broken");
+    broken.setFormat(SoundFormat.OGG);
+    broken.setData(Codec.encode(new byte[] {1, 2, 3}));
+    this.bundle.getSounds().add(broken);
+
+    // act
+    this.preloader.preload(this.bundle, this.mapLocation).get(10, TimeUnit.SECONDS);
+
+    // assert
+    assertEquals(5, this.loaded.size());
+    assertEquals(1, this.failed.size());
+    assertEquals("broken", this.failed.get(0).getResourceName());
+    assertNotNull(this.failed.get(0).getError());
+    assertEquals(6, this.finished.get(0).getCompleted());
+  }
+
+  @Test
+  void testPreloadFromFile() throws Exception {
+    // arrange
+    Path file = this.tempDir.resolve("game.litidata");
+    this.bundle.getMaps().clear();
+    this.bundle.getTilesets().clear();
+    this.bundle.save(file.toString(), false);
+
+    // act
+    this.preloader.preload(file.toUri().toURL()).get(10, TimeUnit.SECONDS);
+
+    // assert
+    assertEquals(3, this.loaded.size());
+    assertNotNull(Resources.spritesheets().get("hero"));
+    assertEquals(1, Resources.sounds().count());
+  }
+
+  @Test
+  void testPreloadInvalidFileFails() throws Exception {
+    // arrange
+    URL location = this.tempDir.resolve("missing.litidata").toUri().toURL();
+
+    // assert
+    assertThrows(ExecutionException.class, () -> this.preloader.preload(location).get(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void testInvalidParallelism() {
+    assertThrows(IllegalArgumentException.class, () -> new ResourcePreloader(0));
+  }
+}
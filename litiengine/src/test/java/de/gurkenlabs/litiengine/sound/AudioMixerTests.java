@@ -0,0 +1,406 @@
+package de.gurkenlabs.litiengine.sound;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.gurkenlabs.litiengine.resources.Resources;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import org.junit.jupiter.api.Test;
+
+class AudioMixerTests {
+
+  @Test
+  void testMixAppliesGainAndPan() throws Exception {
+    // arrange
+    CapturingSink sink = new CapturingSink();
+    AudioMixer mixer = new AudioMixer(sink);
+    SoundPlayback left = createPlayback(mixer, createSound(44100f, 0.25f, 4096), false);
+    left.setPan(-1f);
+    SoundPlayback center = createPlayback(mixer, createSound(44100f, 0.5f, 4096), false);
+    center.setVolume(0.5f);
+    left.start();
+    center.start();
+
+    // act
+    mixer.mix(AudioMixer.BLOCK_FRAMES);
+
+    // assert
+    assertEquals(2, mixer.getActiveVoices());
+    assertEquals(AudioMixer.BLOCK_FRAMES, sink.getFrames());
+    for (int frame = 0; frame < AudioMixer.BLOCK_FRAMES; frame++) {
+      assertEquals(0.5f, sink.getSample(frame, 0), 1e-3f);
+      assertEquals(0.25f, sink.getSample(frame, 1), 1e-3f);
+    }
+  }
+
+  @Test
+  void testMixClipsOutput() throws Exception {
+    // arrange
+    CapturingSink sink = new CapturingSink();
+    AudioMixer mixer = new AudioMixer(sink);
+    Sound sound = createSound(44100f, 0.5f, 4096);
+    for (int i = 0; i < 3; i++) {
+      createPlayback(mixer, sound, false).start();
+    }
+
+    // act
+    mixer.mix(64);
+
+    // assert
+    assertEquals(Short.MAX_VALUE / 32768f, sink.getSample(10, 0), 1e-4f);
+    assertEquals(Short.MAX_VALUE / 32768f, sink.getSample(10, 1), 1e-4f);
+  }
+
+  @Test
+  void testPlaybackIsResampledAndFinished() throws Exception {
+    // arrange
+    NullAudioSink sink = new NullAudioSink();
+    AudioMixer mixer = new AudioMixer(sink);
+    SoundPlayback playback = createPlayback(mixer, createSound(22050f, 0.25f, 1000), false);
+    List<SoundEvent> finished = new ArrayList<>();
+    playback.addSoundPlaybackListener(
+        new SoundPlaybackListener() {
+          @Override
+          public void finished(SoundEvent event) {
+            finished.add(event);
+          }
+        });
+    playback.start();
+
+    // act
+    mixer.mix(1900);
+
+    // assert
+    assertTrue(playback.isPlaying());
+    assertEquals(1900, sink.getFramesWritten());
+
+    mixer.mix(200);
+    assertFalse(playback.isPlaying());
+    assertEquals(1, finished.size());
+    assertEquals(0, mixer.getActiveVoices());
+    assertEquals(2100, sink.getFramesWritten());
+  }
+
+  @Test
+  void testLoopingPlaybackContinues() throws Exception {
+    // arrange
+    AudioMixer mixer = new AudioMixer(new NullAudioSink());
+    SoundPlayback playback = createPlayback(mixer, createSound(44100f, 0.25f, 100), true);
+    playback.start();
+
+    // act
+    mixer.mix(10000);
+
+    // assert
+    assertTrue(playback.isPlaying());
+    playback.cancel();
+    assertFalse(playback.isPlaying());
+    assertEquals(0, mixer.getActiveVoices());
+  }
+
+  @Test
+  void testPausedPlaybackIsSilent() throws Exception {
+    // arrange
+    CapturingSink sink = new CapturingSink();
+    AudioMixer mixer = new AudioMixer(sink);
+    SoundPlayback playback = createPlayback(mixer, createSound(44100f, 0.25f, 4096), false);
+    playback.start();
+    playback.pausePlayback();
+
+    // act
+    mixer.mix(64);
+
+    // assert
+    assertTrue(playback.isPaused());
+    assertTrue(playback.isPlaying());
+    assertEquals(0f, sink.getSample(10, 0));
+
+    playback.resumePlayback();
+    mixer.mix(64);
+    assertEquals(0.25f, sink.getSample(74, 0), 1e-3f);
+  }
+
+  @Test
+  void testVoiceStealingByPriority() throws Exception {
+    // arrange
+    AudioMixer mixer = new AudioMixer(new NullAudioSink(), AudioMixer.DEFAULT_SAMPLE_RATE, 2);
+    Sound sound = createSound(44100f, 0.25f, 4096);
+    SoundPlayback first = createPlayback(mixer, sound, false);
+    SoundPlayback second = createPlayback(mixer, sound, false);
+    SoundPlayback important = createPlayback(mixer, sound, false);
+    important.setPriority(1);
+    SoundPlayback third = createPlayback(mixer, sound, false);
+    SoundPlayback unimportant = createPlayback(mixer, sound, false);
+    unimportant.setPriority(-1);
+
+    List<SoundEvent> cancelled = new ArrayList<>();
+    SoundPlaybackListener listener =
+        new SoundPlaybackListener() {
+          @Override
+          public void cancelled(SoundEvent event) {
+            cancelled.add(event);
+          }
+        };
+    first.addSoundPlaybackListener(listener);
+    unimportant.addSoundPlaybackListener(listener);
+
+    // act
+    first.start();
+    second.start();
+    important.start();
+
+    // assert
+    assertFalse(first.isPlaying());
+    assertEquals(first, cancelled.get(0).getSource());
+    assertTrue(second.isPlaying());
+    assertTrue(important.isPlaying());
+
+    third.start();
+    assertFalse(second.isPlaying());
+    assertTrue(important.isPlaying());
+    assertTrue(third.isPlaying());
+
+    unimportant.start();
+    assertFalse(unimportant.isPlaying());
+    assertEquals(unimportant, cancelled.get(1).getSource());
+    assertEquals(2, mixer.getActiveVoices());
+  }
+
+  @Test
+  void testStreamedPlaybackMatchesDecodedData() throws Exception {
+    // arrange
+    CapturingSink sink = new CapturingSink();
+    AudioMixer mixer = new AudioMixer(sink);
+    short[] ramp = new short[5 * SoundStream.DEFAULT_CAPACITY];
+    for (int i = 0; i < ramp.length; i++) {
+      ramp[i] = (short) (i % 2000 * 10);
+    }
+
+    SoundPlayback playback = createStreamedPlayback(mixer, List.of(createSound(44100f, ramp)).iterator());
+    playback.start();
+
+    // act
+    mixer.mix(ramp.length);
+
+    // assert
+    for (int frame = 0; frame < ramp.length; frame++) {
+      assertEquals(ramp[frame] / 32768f, sink.getSample(frame, 0), 1e-4f);
+    }
+
+    mixer.mix(AudioMixer.BLOCK_FRAMES);
+    assertFalse(playback.isPlaying());
+  }
+
+  @Test
+  void testStreamedOggMatchesDecodedData() throws Exception {
+    // arrange
+    Sound sound;
+    try (InputStream ogg = Resources.get("de/gurkenlabs/litiengine/resources/bip.ogg")) {
+      sound = new Sound(ogg, "bip");
+    }
+
+    AudioFormat format = sound.getFormat();
+    byte[] decoded = sound.getStreamData();
+    int frames = decoded.length / format.getFrameSize();
+    CapturingSink sink = new CapturingSink();
+    AudioMixer mixer = new AudioMixer(sink, format.getSampleRate(), 1);
+    createStreamedPlayback(mixer, List.of(sound).iterator()).start();
+
+    // act
+    mixer.mix(frames);
+
+    // assert
+    byte[] mixed = sink.getData();
+    for (int frame = 0; frame < frames; frame++) {
+      int index = frame * format.getFrameSize();
+      int mixedIndex = frame * 4;
+      assertEquals((short) ((decoded[index + 1] << 8) | (decoded[index] & 0xff)),
+          (short) ((mixed[mixedIndex + 1] << 8) | (mixed[mixedIndex] & 0xff)), 1);
+    }
+  }
+
+  @Test
+  void testStreamedLoopIsSeamless() throws Exception {
+    // arrange
+    CapturingSink sink = new CapturingSink();
+    AudioMixer mixer = new AudioMixer(sink);
+    LoopedTrack track = new LoopedTrack(createSound(22050f, 0.25f, 100));
+    SoundPlayback playback = createStreamedPlayback(mixer, track.iterator());
+    playback.start();
+
+    // act
+    mixer.mix(10000);
+
+    // assert
+    assertTrue(playback.isPlaying());
+    for (int frame = 0; frame < 10000; frame++) {
+      assertEquals(0.25f, sink.getSample(frame, 0), 1e-3f);
+    }
+  }
+
+  @Test
+  void testStreamedIntroContinuesWithLoop() throws Exception {
+    // arrange
+    CapturingSink sink = new CapturingSink();
+    AudioMixer mixer = new AudioMixer(sink);
+    IntroTrack track = new IntroTrack(createSound(44100f, 0.5f, 300), createSound(44100f, 0.25f, 100));
+    SoundPlayback playback = createStreamedPlayback(mixer, track.iterator());
+    playback.start();
+
+    // act
+    mixer.mix(1000);
+
+    // assert
+    assertTrue(playback.isPlaying());
+    for (int frame = 0; frame < 1000; frame++) {
+      assertEquals(frame < 300 ? 0.5f : 0.25f, sink.getSample(frame, 0), 1e-3f);
+    }
+  }
+
+  @Test
+  void testStreamedPlaybackSwitchesFormat() throws Exception {
+    // arrange
+    CapturingSink sink = new CapturingSink();
+    AudioMixer mixer = new AudioMixer(sink);
+    Iterator<Sound> sounds = List.of(createSound(22050f, 0.5f, 500), createSound(44100f, 0.25f, 500)).iterator();
+    SoundPlayback playback = createStreamedPlayback(mixer, sounds);
+    playback.start();
+
+    // act
+    mixer.mix(1500);
+
+    // assert
+    assertEquals(0.5f, sink.getSample(900, 0), 1e-3f);
+    assertEquals(0.25f, sink.getSample(1100, 0), 1e-3f);
+    assertTrue(playback.isPlaying());
+
+    mixer.mix(AudioMixer.BLOCK_FRAMES);
+    assertFalse(playback.isPlaying());
+  }
+
+  @Test
+  void testLongEffectIsStreamed() throws Exception {
+    // arrange
+    AudioMixer mixer = new AudioMixer(new NullAudioSink());
+    Sound sound = createSound(8000f, 0.25f, 8000 * ((int) Sound.MAX_PRELOAD_DURATION + 1));
+    SFXPlayback playback = new SFXPlayback(sound, () -> null, false, 0, 1f, mixer);
+
+    // act
+    boolean playing = playback.render(new float[AudioMixer.BLOCK_FRAMES * 2], AudioMixer.BLOCK_FRAMES, 44100f);
+
+    // assert
+    assertTrue(playback.isStreamed());
+    assertTrue(playing);
+    assertFalse(sound.isDecoded());
+    assertFalse(new SFXPlayback(createSound(44100f, 0.25f, 100), () -> null, false, 0, 1f, mixer).isStreamed());
+  }
+
+  @Test
+  void testInvalidVoiceLimit() {
+    AudioMixer mixer = new AudioMixer(new NullAudioSink());
+    assertThrows(IllegalArgumentException.class, () -> mixer.setMaxVoices(0));
+  }
+
+  private static SoundPlayback createPlayback(AudioMixer mixer, Sound sound, boolean loop) {
+    return new SoundPlayback(mixer) {
+      private boolean played;
+
+      @Override
+      Sound nextSound() {
+        if (this.played && !loop) {
+          return null;
+        }
+
+        this.played = true;
+        return sound;
+      }
+    };
+  }
+
+  private static SoundPlayback createStreamedPlayback(AudioMixer mixer, Iterator<Sound> sounds) {
+    return new SoundPlayback(mixer) {
+      @Override
+      Sound nextSound() {
+        return sounds.hasNext() ? sounds.next() : null;
+      }
+
+      @Override
+      boolean isStreamed() {
+        return true;
+      }
+    };
+  }
+
+  private static Sound createSound(float sampleRate, float value, int frames)
+      throws IOException, UnsupportedAudioFileException {
+    short[] samples = new short[frames];
+    Arrays.fill(samples, (short) (value * 32768));
+    return createSound(sampleRate, samples);
+  }
+
+  private static Sound createSound(float sampleRate, short[] samples)
+      throws IOException, UnsupportedAudioFileException {
+    AudioFormat format = new AudioFormat(sampleRate, 16, 1, true, false);
+    byte[] pcm = new byte[samples.length * 2];
+    for (int i = 0; i < samples.length; i++) {
+      pcm[i * 2] = (byte) samples[i];
+      pcm[i * 2 + 1] = (byte) (samples[i] >> 8);
+    }
+
+    ByteArrayOutputStream wave = new ByteArrayOutputStream();
+    AudioSystem.write(
+        new AudioInputStream(new ByteArrayInputStream(pcm), format, samples.length),
+        AudioFileFormat.Type.WAVE,
+        wave);
+    return new Sound(new ByteArrayInputStream(wave.toByteArray()), "test");
+  }
+
+  private static class CapturingSink implements AudioSink {
+    private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+
+    @Override
+    public void open(AudioFormat format) throws LineUnavailableException {
+      assertEquals(2, format.getChannels());
+      assertEquals(16, format.getSampleSizeInBits());
+    }
+
+    @Override
+    public void write(byte[] buffer, int offset, int length) {
+      this.data.write(buffer, offset, length);
+    }
+
+    @Override
+    public void close() {
+      // nothing to release
+    }
+
+    int getFrames() {
+      return this.data.size() / 4;
+    }
+
+    byte[] getData() {
+      return this.data.toByteArray();
+    }
+
+    float getSample(int frame, int channel) {
+      byte[] bytes = this.data.toByteArray();
+      int index = frame * 4 + channel * 2;
+      return (short) ((bytes[index + 1] << 8) | (bytes[index] & 0xff)) / 32768f;
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package de.gurkenlabs.litiengine.sound;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import org.junit.jupiter.api.Test;
+
+class SoundTests {
+
+  @Test
+  void testShortSoundsAreDecodedWhenLoaded() throws Exception {
+    // act
+    Sound sound = createSound(44100, 1);
+
+    // assert
+    assertTrue(sound.isDecoded());
+    assertTrue(sound.getStreamData().length > 0);
+  }
+
+  @Test
+  void testShortOggIsDecodedWhenLoaded() throws Exception {
+    // act
+    Sound sound;
+    try (InputStream in = SoundTests.class.getResourceAsStream("/de/gurkenlabs/litiengine/resources/bip.ogg")) {
+      sound = new Sound(in, "bip");
+    }
+
+    // assert
+    assertTrue(sound.isDecoded());
+  }
+
+  @Test
+  void testLongSoundsAreDecodedWhenPlayed() throws Exception {
+    // arrange
+    Sound sound = createSound(8000, (int) Sound.MAX_PRELOAD_DURATION + 1);
+    assertFalse(sound.isDecoded());
+
+    // act
+    byte[] data = sound.getStreamData();
+
+    // assert
+    assertTrue(sound.isDecoded());
+    assertArrayEquals(data, sound.getStreamData());
+  }
+
+  private static Sound createSound(int sampleRate, int seconds) throws IOException, UnsupportedAudioFileException {
+    AudioFormat format = new AudioFormat(sampleRate, 16, 1, true, false);
+    byte[] pcm = new byte[sampleRate * seconds * 2];
+    ByteArrayOutputStream wave = new ByteArrayOutputStream();
+    AudioSystem.write(new AudioInputStream(new ByteArrayInputStream(pcm), format, sampleRate * seconds), AudioFileFormat.Type.WAVE, wave);
+    return new Sound(new ByteArrayInputStream(wave.toByteArray()), "test");
+  }
+}